@@ -0,0 +1,727 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.config;
+
+import com.firefly.commons.ecm.interfaces.enums.StorageTier;
+import com.firefly.commons.ecm.interfaces.enums.StorageType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration properties for the content upload and download pipelines.
+ *
+ * These settings control how document bytes move between the HTTP layer and the
+ * ECM content ports. They live under {@code firefly.ecm.integration.content} and are
+ * independent of the provider settings managed by library-ecm-core.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "firefly.ecm.integration.content")
+public class EcmContentProperties {
+
+    /**
+     * Upload pipeline configuration
+     */
+    private Upload upload = new Upload();
+
+    /**
+     * Parallel multipart uploads to adapters that support them
+     */
+    private Multipart multipart = new Multipart();
+
+    /**
+     * Local upload staging area configuration
+     */
+    private Staging staging = new Staging();
+
+    /**
+     * Checksum computation and content deduplication configuration
+     */
+    private Deduplication deduplication = new Deduplication();
+
+    /**
+     * Transparent compression of content at rest
+     */
+    private Compression compression = new Compression();
+
+    /**
+     * Encryption of content at rest for documents and versions flagged as encrypted
+     */
+    private Encryption encryption = new Encryption();
+
+    /**
+     * Built-in local filesystem content engine configuration
+     */
+    private Local local = new Local();
+
+    /**
+     * Local read-through cache for content served from remote content ports
+     */
+    private Cache cache = new Cache();
+
+    /**
+     * Coalescing of concurrent downloads of the same content
+     */
+    private Coalescing coalescing = new Coalescing();
+
+    /**
+     * Parallel ranged reads of large content from adapters that support ranged reads
+     */
+    private RangedDownload rangedDownload = new RangedDownload();
+
+    /**
+     * Resumable chunked upload sessions
+     */
+    private Sessions sessions = new Sessions();
+
+    /**
+     * Direct transfers between clients and the storage backend through pre-signed URLs
+     */
+    private DirectTransfer directTransfer = new DirectTransfer();
+
+    /**
+     * Streaming ZIP export of folders and document selections
+     */
+    private Export export = new Export();
+
+    /**
+     * Bulk ingest of many files in one request
+     */
+    private Bulk bulk = new Bulk();
+
+    /**
+     * Chunked delta storage of document versions
+     */
+    private Delta delta = new Delta();
+
+    /**
+     * Background verification of stored content against its recorded checksum
+     */
+    private Scrub scrub = new Scrub();
+
+    /**
+     * Access tracking and migration of document content between storage tiers
+     */
+    private Tiering tiering = new Tiering();
+
+    /**
+     * Embedded full-text search index
+     */
+    private Search search = new Search();
+
+    /**
+     * Keyset (cursor) pagination and streaming of list endpoints
+     */
+    private Paging paging = new Paging();
+
+    @Data
+    public static class Upload {
+        /**
+         * Whether uploads are streamed to adapters that support streaming.
+         * When disabled, every upload is materialized into a byte array first.
+         */
+        private Boolean streamingEnabled = true;
+
+        /**
+         * Number of data buffers requested ahead from the client while streaming
+         */
+        private Integer prefetch = 4;
+    }
+
+    @Data
+    public static class Multipart {
+        /**
+         * Whether large uploads to adapters implementing MultipartContentPort are split into parts
+         */
+        private Boolean enabled = true;
+
+        /**
+         * Uploads of at least this size in bytes are uploaded in parts. Uploads of unknown size are
+         * uploaded in parts once they exceed both this size and one part.
+         */
+        private Long threshold = 16L * 1024 * 1024;
+
+        /**
+         * Part size in bytes, used when the adapter does not prefer its own
+         */
+        private Long partSize = 8L * 1024 * 1024;
+
+        /**
+         * Maximum number of parts of one upload in flight at the same time
+         */
+        private Integer maxConcurrentParts = 4;
+
+        /**
+         * Number of times a failed part is uploaded again
+         */
+        private Integer maxRetries = 3;
+
+        /**
+         * Initial delay before a failed part is retried, doubled on every attempt
+         */
+        private Duration retryBackoff = Duration.ofMillis(500);
+    }
+
+    @Data
+    public static class Staging {
+        /**
+         * Whether uploads for non-streaming adapters are staged (and spooled to disk when large)
+         */
+        private Boolean enabled = true;
+
+        /**
+         * Directory holding spool files. Defaults to a folder in the system temp directory.
+         */
+        private String directory;
+
+        /**
+         * Uploads up to this size in bytes stay on the heap, larger ones are spooled to disk
+         */
+        private Long memoryThreshold = 4L * 1024 * 1024;
+
+        /**
+         * Maximum number of bytes held in spool files at any time
+         */
+        private Long maxDiskUsage = 10L * 1024 * 1024 * 1024;
+
+        /**
+         * Maximum number of spooled uploads materialized on the heap at the same time
+         */
+        private Integer maxConcurrentMaterializations = 4;
+
+        /**
+         * Buffer size in bytes used when streaming spool files back
+         */
+        private Integer readBufferSize = 64 * 1024;
+
+        /**
+         * Age after which an unmodified spool file is considered orphaned and removed
+         */
+        private Duration orphanTtl = Duration.ofHours(1);
+    }
+
+    @Data
+    public static class Deduplication {
+        /**
+         * Whether identical content within a tenant is stored once and shared by reference
+         */
+        private Boolean enabled = true;
+
+        /**
+         * MessageDigest algorithm used for content checksums. Algorithms such as BLAKE3 can be
+         * used when a JCA provider offering them is registered.
+         */
+        private String algorithm = "SHA-256";
+
+        /**
+         * Time an unreferenced blob is kept before its content is deleted from storage
+         */
+        private Duration purgeDelay = Duration.ofHours(1);
+    }
+
+    @Data
+    public static class Compression {
+        /**
+         * Whether content of compressible MIME types is stored gzip compressed when a probe shows it pays off
+         */
+        private Boolean enabled = true;
+
+        /**
+         * MIME types considered for compression. A trailing {@code *} matches any suffix.
+         */
+        private List<String> mimeTypes = new ArrayList<>(List.of(
+                "text/*", "application/json", "application/x-ndjson", "application/xml", "application/xhtml+xml",
+                "application/javascript", "application/x-yaml", "application/yaml", "application/sql",
+                "application/rtf", "application/pdf", "application/postscript", "application/msword",
+                "application/vnd.ms-excel", "application/vnd.ms-powerpoint", "image/svg+xml", "image/bmp", "image/tiff"));
+
+        /**
+         * Deflate compression level, from 1 (fastest) to 9 (smallest)
+         */
+        private Integer level = 6;
+
+        /**
+         * Content whose first buffer is smaller than this size in bytes is stored as is
+         */
+        private Integer minSize = 1024;
+
+        /**
+         * Number of leading bytes compressed by the probe
+         */
+        private Integer probeSize = 64 * 1024;
+
+        /**
+         * Content is only compressed if the probe shrinks to at most this fraction of its size
+         */
+        private Double maxRatio = 0.9;
+    }
+
+    @Data
+    public static class Encryption {
+        /**
+         * Plaintext bytes sealed per chunk. Byte ranges are decrypted in whole chunks. Changing it only
+         * affects content encrypted afterwards.
+         */
+        private Integer chunkSize = 64 * 1024;
+
+        /**
+         * ID of the master key the data keys of new content are encrypted with
+         */
+        private String activeKeyId;
+
+        /**
+         * Base64 encoded AES master keys by key ID. Keys no longer active must be kept as long as
+         * content encrypted with them is stored.
+         */
+        private Map<String, String> masterKeys = new HashMap<>();
+    }
+
+    @Data
+    public static class Local {
+        /**
+         * Whether content of LOCAL_FILESYSTEM documents is stored by the built-in local filesystem engine
+         * instead of the ECM content port
+         */
+        private Boolean enabled = false;
+
+        /**
+         * Root directory of the local content store
+         */
+        private String directory = "ecm-content";
+
+        /**
+         * Number of directory levels derived from the content ID
+         */
+        private Integer shardDepth = 2;
+
+        /**
+         * Number of hex characters of the content ID used per directory level
+         */
+        private Integer shardWidth = 2;
+
+        /**
+         * Buffer size in bytes used when local content is streamed rather than transferred with zero-copy
+         */
+        private Integer readBufferSize = 64 * 1024;
+
+        /**
+         * Whether downloads of local content are sent with zero-copy file transfer when the server supports it
+         */
+        private Boolean zeroCopyEnabled = true;
+    }
+
+    @Data
+    public static class Cache {
+        /**
+         * Whether content downloaded from the ECM content port is cached on local disk
+         */
+        private Boolean enabled = false;
+
+        /**
+         * Directory holding cached content. Defaults to a folder in the system temp directory.
+         */
+        private String directory;
+
+        /**
+         * Maximum number of bytes held in the cache
+         */
+        private Long maxSize = 1024L * 1024 * 1024;
+
+        /**
+         * Content larger than this size in bytes is never cached
+         */
+        private Long maxEntrySize = 256L * 1024 * 1024;
+
+        /**
+         * Buffer size in bytes used when cached content is streamed back
+         */
+        private Integer readBufferSize = 64 * 1024;
+    }
+
+    @Data
+    public static class Coalescing {
+        /**
+         * Whether concurrent downloads of the same content share one read from the content port
+         */
+        private Boolean enabled = true;
+
+        /**
+         * Content larger than this size in bytes is never coalesced, as it is held in memory
+         * until every download sharing it has completed
+         */
+        private Long maxSize = 32L * 1024 * 1024;
+    }
+
+    @Data
+    public static class RangedDownload {
+        /**
+         * Whether large content is read as byte ranges fetched in parallel
+         */
+        private Boolean enabled = true;
+
+        /**
+         * Minimum content size in bytes to read in parallel ranges. Smaller content is read as a single stream.
+         */
+        private Long threshold = 64L * 1024 * 1024;
+
+        /**
+         * Size of each range in bytes
+         */
+        private Long rangeSize = 8L * 1024 * 1024;
+
+        /**
+         * Number of ranges fetched at the same time per download, which also bounds the
+         * number of ranges held in memory while they wait for their turn
+         */
+        private Integer maxConcurrentRanges = 4;
+
+        /**
+         * Maximum number of retries for a failed range
+         */
+        private Integer maxRetries = 3;
+
+        /**
+         * Initial backoff between range retries, doubled on every retry
+         */
+        private Duration retryBackoff = Duration.ofMillis(500);
+    }
+
+    @Data
+    public static class Sessions {
+        /**
+         * Time an upload session may stay incomplete before it is discarded
+         */
+        private Duration ttl = Duration.ofHours(24);
+
+        /**
+         * Maximum total size in bytes of content uploaded through a session
+         */
+        private Long maxSize = 10L * 1024 * 1024 * 1024;
+
+        /**
+         * Maximum size in bytes of a single chunk
+         */
+        private Long maxChunkSize = 64L * 1024 * 1024;
+
+        /**
+         * Maximum number of chunks of one session received at the same time
+         */
+        private Integer maxConcurrentChunks = 4;
+
+        /**
+         * Name of this instance, recorded on each session whose chunks it spools.
+         * Defaults to the host name, so it must be unique among the instances.
+         */
+        private String nodeId;
+    }
+
+    @Data
+    public static class DirectTransfer {
+        /**
+         * Whether pre-signed URLs are issued by adapters that support them
+         */
+        private Boolean enabled = true;
+
+        /**
+         * Time a pre-signed URL stays valid
+         */
+        private Duration urlTtl = Duration.ofMinutes(15);
+
+        /**
+         * Time after which a direct upload that was not completed is discarded
+         */
+        private Duration completionTtl = Duration.ofHours(24);
+    }
+
+    @Data
+    public static class Export {
+        /**
+         * Number of upcoming entries whose content is opened ahead of the entry being written
+         */
+        private Integer prefetchEntries = 2;
+
+        /**
+         * Number of data buffers read ahead per entry
+         */
+        private Integer prefetchBuffers = 8;
+
+        /**
+         * Deflate compression level, from 1 (fastest) to 9 (smallest)
+         */
+        private Integer compressionLevel = 6;
+
+        /**
+         * MIME types of already compressed content, written without compression.
+         * A trailing {@code *} matches any suffix.
+         */
+        private List<String> storedMimeTypes = new ArrayList<>(List.of(
+                "image/jpeg", "image/png", "image/gif", "image/webp", "image/heic",
+                "audio/*", "video/*",
+                "application/pdf", "application/zip", "application/gzip", "application/x-gzip",
+                "application/x-7z-compressed", "application/x-rar-compressed", "application/x-bzip2",
+                "application/vnd.openxmlformats-officedocument.*", "application/vnd.oasis.opendocument.*"));
+    }
+
+    @Data
+    public static class Bulk {
+        /**
+         * Maximum number of documents created in one batch
+         */
+        private Integer batchSize = 100;
+
+        /**
+         * Maximum time to wait for a batch to fill before it is written
+         */
+        private Duration batchWindow = Duration.ofMillis(200);
+
+        /**
+         * Maximum number of files stored at the same time
+         */
+        private Integer maxConcurrentUploads = 8;
+    }
+
+    @Data
+    public static class Delta {
+        /**
+         * Whether version content is split into content-defined chunks shared with the other
+         * versions of the tenant, so a new version only stores the chunks that changed.
+         * Requires deduplication.
+         */
+        private Boolean enabled = false;
+
+        /**
+         * Minimum chunk size in bytes
+         */
+        private Integer minChunkSize = 16 * 1024;
+
+        /**
+         * Targeted average chunk size in bytes, rounded down to a power of two
+         */
+        private Integer averageChunkSize = 64 * 1024;
+
+        /**
+         * Maximum chunk size in bytes
+         */
+        private Integer maxChunkSize = 256 * 1024;
+
+        /**
+         * Every this many versions, starting with the first, a version is stored whole so it can
+         * be read with a single request. Zero disables snapshots.
+         */
+        private Integer snapshotInterval = 10;
+
+        /**
+         * Number of chunks fetched ahead while a chunked version is read
+         */
+        private Integer readConcurrency = 4;
+    }
+
+    @Data
+    public static class Scrub {
+        /**
+         * Whether stored content is periodically read back and verified against its checksum
+         */
+        private Boolean enabled = false;
+
+        /**
+         * Cron expression of scrub runs, best placed outside peak hours
+         */
+        private String cron = "0 0 1 * * *";
+
+        /**
+         * Time after which a run stops. The next run resumes from the last checkpoint.
+         */
+        private Duration maxDuration = Duration.ofHours(4);
+
+        /**
+         * Bytes read per second across all content verified at once. Zero or less disables the limit.
+         */
+        private Long bytesPerSecond = 20L * 1024 * 1024;
+
+        /**
+         * Number of documents or versions verified at once
+         */
+        private Integer parallelism = 2;
+
+        /**
+         * Number of documents or versions fetched per batch. A checkpoint is saved after every batch.
+         */
+        private Integer batchSize = 100;
+    }
+
+    @Data
+    public static class Tiering {
+        /**
+         * Whether content is moved to the cold tier once rarely accessed, and back once accessed often again
+         */
+        private Boolean enabled = false;
+
+        /**
+         * Whether document downloads are counted, so access stats are in place before tiering is enabled
+         */
+        private Boolean trackAccess = true;
+
+        /**
+         * Time after which an access counts half in the access score
+         */
+        private Duration halfLife = Duration.ofDays(7);
+
+        /**
+         * Access score below which content is moved to the cold tier
+         */
+        private Double coldBelow = 0.5;
+
+        /**
+         * Access score from which cold content is moved back to the hot tier. Keep it well above
+         * {@code coldBelow}, so content does not move back and forth.
+         */
+        private Double hotFrom = 4.0;
+
+        /**
+         * Documents younger than this are never moved to the cold tier
+         */
+        private Duration minAge = Duration.ofDays(30);
+
+        /**
+         * Storage type of hot content, null to keep the storage type content was written with
+         */
+        private StorageType hotStorageType;
+
+        /**
+         * Storage type of cold content, null to keep the storage type content was written with
+         */
+        private StorageType coldStorageType;
+
+        /**
+         * Tier cold content is stored in by adapters that support tiers
+         */
+        private StorageTier coldTier = StorageTier.COLD;
+
+        /**
+         * Number of documents fetched per batch
+         */
+        private Integer batchSize = 50;
+
+        /**
+         * Number of documents moved at once
+         */
+        private Integer maxConcurrentMoves = 2;
+
+        /**
+         * Bytes copied per second across all moves. Zero or less disables the limit.
+         */
+        private Long bytesPerSecond = 20L * 1024 * 1024;
+
+        /**
+         * Time after which a migration run stops, leaving the remaining documents to the next run
+         */
+        private Duration maxDuration = Duration.ofMinutes(30);
+    }
+
+    @Data
+    public static class Search {
+        /**
+         * Whether documents are indexed in the embedded full-text index and searchable through it
+         */
+        private Boolean enabled = true;
+
+        /**
+         * Directory holding one index per tenant. Blank keeps the indexes in memory, so they
+         * are lost on restart and have to be rebuilt.
+         */
+        private String directory = "ecm-search-index";
+
+        /**
+         * Time after which indexed changes become visible to searches
+         */
+        private Duration refreshInterval = Duration.ofSeconds(1);
+
+        /**
+         * Time after which indexed changes are committed to disk
+         */
+        private Duration commitInterval = Duration.ofSeconds(30);
+
+        /**
+         * Whether the text of document content is extracted and indexed. Encrypted content is never indexed.
+         */
+        private Boolean extractContent = true;
+
+        /**
+         * MIME types of content whose text is indexed. A trailing {@code *} matches any suffix.
+         */
+        private List<String> textMimeTypes = new ArrayList<>(List.of(
+                "text/*", "application/json", "application/xml", "application/yaml", "application/x-yaml",
+                "application/javascript", "application/csv"));
+
+        /**
+         * Maximum number of content bytes read for indexing, the rest of the content is not searchable
+         */
+        private Long maxExtractedSize = 1024L * 1024;
+
+        /**
+         * Maximum number of results per page
+         */
+        private Integer maxPageSize = 100;
+
+        /**
+         * Number of documents read per batch when the index is rebuilt
+         */
+        private Integer rebuildBatchSize = 200;
+
+        /**
+         * Maximum number of values returned per facet, the most frequent ones
+         */
+        private Integer maxFacetValues = 100;
+
+        /**
+         * Time for which the facet counts of all documents of a tenant are cached. Counts of
+         * filtered searches are never cached.
+         */
+        private Duration facetCacheTtl = Duration.ofSeconds(30);
+
+        /**
+         * Maximum number of cached facet counts
+         */
+        private Long facetCacheSize = 1000L;
+    }
+
+    @Data
+    public static class Paging {
+        /**
+         * Page size used when a request does not specify one
+         */
+        private Integer defaultPageSize = 20;
+
+        /**
+         * Maximum number of results per page, larger requested sizes are capped
+         */
+        private Integer maxPageSize = 1000;
+
+        /**
+         * Number of rows read from the database cursor at a time while results are streamed
+         */
+        private Integer streamFetchSize = 500;
+    }
+}
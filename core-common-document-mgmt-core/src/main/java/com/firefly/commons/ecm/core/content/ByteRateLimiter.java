@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Paces content streams to a budget of bytes per second shared by every stream it is applied to.
+ *
+ * Each buffer reserves the time its bytes take at the configured rate, after the reservations
+ * made before it, and is passed on once that time has come. Bursts are smoothed rather than
+ * rejected, concurrent streams split the budget, and idle time is not saved up for later.
+ */
+final class ByteRateLimiter {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long bytesPerSecond;
+    private final LongSupplier nanoClock;
+    private final AtomicLong nextFreeAt;
+
+    ByteRateLimiter(long bytesPerSecond) {
+        this(bytesPerSecond, System::nanoTime);
+    }
+
+    ByteRateLimiter(long bytesPerSecond, LongSupplier nanoClock) {
+        this.bytesPerSecond = bytesPerSecond;
+        this.nanoClock = nanoClock;
+        this.nextFreeAt = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Pace a content stream to the budget.
+     *
+     * @param content The content stream
+     * @return The same content, delayed as needed
+     */
+    Flux<DataBuffer> limit(Flux<DataBuffer> content) {
+        if (bytesPerSecond <= 0) {
+            return content;
+        }
+        return content.concatMap(buffer -> {
+                    Duration wait = reserve(buffer.readableByteCount());
+                    return wait.isZero() ? Mono.just(buffer) : Mono.delay(wait).thenReturn(buffer);
+                })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * Reserve the budget for a number of bytes.
+     *
+     * @param bytes The number of bytes
+     * @return The time to wait before the bytes may pass
+     */
+    Duration reserve(int bytes) {
+        long cost = bytes * NANOS_PER_SECOND / bytesPerSecond;
+        long now = nanoClock.getAsLong();
+        long reservedAt = Math.max(now, nextFreeAt.getAndUpdate(next -> Math.max(next, now) + cost));
+        return Duration.ofNanos(reservedAt - now);
+    }
+}
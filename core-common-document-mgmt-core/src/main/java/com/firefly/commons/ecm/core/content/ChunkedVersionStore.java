@@ -0,0 +1,222 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.models.entities.DocumentVersion;
+import com.firefly.commons.ecm.models.entities.VersionChunk;
+import com.firefly.commons.ecm.models.repositories.VersionChunkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.ecm.port.document.DocumentContentPort;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Delta storage of document versions as content-defined chunks.
+ *
+ * The content of a chunked version is split by the {@link ContentChunker} and every chunk is
+ * stored as a shared content blob through the {@link ContentBlobStore}. Chunks the tenant
+ * already stores, typically everything a new version did not change, only gain a reference,
+ * so a heavily versioned document costs roughly its size plus the edits made to it. The
+ * version keeps an ordered manifest of its chunks and is reassembled from it while it streams
+ * to the client, with a few chunks fetched ahead.
+ *
+ * Manifests never refer to other versions, so reading a version costs the same however many
+ * versions came before it. Every few versions one is stored whole instead, so it can be read
+ * with a single request.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChunkedVersionStore {
+
+    private static final String CHUNK_MIME_TYPE = "application/octet-stream";
+
+    private final EcmContentProperties contentProperties;
+    private final ContentBlobStore contentBlobStore;
+    private final ContentDownloadPipeline contentDownloadPipeline;
+    private final VersionChunkRepository chunkRepository;
+
+    /**
+     * Whether chunked delta storage is enabled. Chunks are shared blobs, so deduplication must be enabled as well.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(contentProperties.getDelta().getEnabled()) && contentBlobStore.isEnabled();
+    }
+
+    /**
+     * Whether the content of a version is stored as chunks, or whole as a snapshot.
+     *
+     * @param version The version
+     * @return true if the content should be chunked
+     */
+    public boolean shouldChunk(DocumentVersion version) {
+        // Encrypted content is never shared, so it is stored whole
+        if (!isEnabled() || Boolean.TRUE.equals(version.getIsEncrypted())) {
+            return false;
+        }
+        Integer interval = contentProperties.getDelta().getSnapshotInterval();
+        if (interval == null || interval <= 0 || version.getVersionNumber() == null) {
+            return true;
+        }
+        return Math.floorMod(version.getVersionNumber() - 1, interval) != 0;
+    }
+
+    /**
+     * Store the content of a version as chunks, replacing the chunks it held before.
+     *
+     * @param port The ECM content port
+     * @param version The version
+     * @param content The content stream
+     * @return A Mono emitting the stored content, carrying the checksum and size of the whole content
+     */
+    public Mono<StoredContent> store(DocumentContentPort port, DocumentVersion version, Flux<DataBuffer> content) {
+        UUID versionId = version.getId();
+        ContentDigest digest = contentBlobStore.newDigest();
+        // Chunks are stored one at a time, as they share the transaction's connection
+        return newChunker().split(digest.tap(content))
+                .concatMap(bytes -> contentBlobStore.storeBytes(port, version.getTenantId(), bytes, CHUNK_MIME_TYPE))
+                .collectList()
+                .flatMap(chunks -> replaceChunks(versionId, toVersionChunks(versionId, chunks))
+                        .then(Mono.fromSupplier(() -> {
+                            long reused = chunks.stream().filter(StoredContent::isDeduplicated).count();
+                            log.debug("Stored version {} as {} chunk(s), {} shared with stored content",
+                                    versionId, chunks.size(), reused);
+                            return StoredContent.builder()
+                                    .checksum(digest.getChecksum())
+                                    .size(digest.getSize())
+                                    .deduplicated(!chunks.isEmpty() && reused == chunks.size())
+                                    .build();
+                        })));
+    }
+
+    /**
+     * Read the full content of a chunked version.
+     *
+     * @param port The ECM content port
+     * @param versionId The version ID
+     * @return A Flux of DataBuffer containing the reassembled content
+     */
+    public Flux<DataBuffer> read(DocumentContentPort port, UUID versionId) {
+        return readChunks(port, chunkRepository.findByVersionIdOrderByChunkIndex(versionId));
+    }
+
+    /**
+     * Read the full content of a chunked version straight from storage, bypassing the cache.
+     *
+     * @param port The ECM content port
+     * @param versionId The version ID
+     * @return A Flux of DataBuffer containing the reassembled content
+     */
+    public Flux<DataBuffer> readFromStorage(DocumentContentPort port, UUID versionId) {
+        return readChunks(chunkRepository.findByVersionIdOrderByChunkIndex(versionId),
+                chunk -> contentDownloadPipeline.readFromStorage(port, referenceOf(chunk)));
+    }
+
+    /**
+     * Read a byte range of a chunked version. Only the chunks overlapping the range are read.
+     *
+     * @param port The ECM content port
+     * @param versionId The version ID
+     * @param offset The zero-based offset of the first byte
+     * @param length The number of bytes to read
+     * @return A Flux of DataBuffer containing the requested range
+     */
+    public Flux<DataBuffer> readRange(DocumentContentPort port, UUID versionId, long offset, long length) {
+        long end = length > Long.MAX_VALUE - offset ? Long.MAX_VALUE : offset + length;
+        return chunkRepository.findOverlapping(versionId, offset, end)
+                .switchOnFirst((first, chunks) -> {
+                    if (!first.hasValue()) {
+                        return readChunks(port, chunks);
+                    }
+                    long skipped = offset - first.get().getChunkOffset();
+                    return DataBufferUtils.takeUntilByteCount(
+                            DataBufferUtils.skipUntilByteCount(readChunks(port, chunks), skipped), length);
+                });
+    }
+
+    /**
+     * Release the chunks held by a version and remove its manifest.
+     *
+     * @param versionId The version ID
+     * @return A Mono completing when the chunks have been released
+     */
+    public Mono<Void> release(UUID versionId) {
+        return contentBlobStore.releaseVersionChunks(versionId)
+                .then(chunkRepository.deleteByVersionId(versionId))
+                .then();
+    }
+
+    private Mono<Void> replaceChunks(UUID versionId, List<VersionChunk> chunks) {
+        // The new chunks already hold their references, so chunks kept by the new content are never released to zero
+        return release(versionId)
+                .thenMany(chunkRepository.saveAll(chunks))
+                .then();
+    }
+
+    private List<VersionChunk> toVersionChunks(UUID versionId, List<StoredContent> chunks) {
+        List<VersionChunk> versionChunks = new ArrayList<>(chunks.size());
+        long offset = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            StoredContent chunk = chunks.get(i);
+            versionChunks.add(VersionChunk.builder()
+                    .versionId(versionId)
+                    .chunkIndex(i)
+                    .chunkOffset(offset)
+                    .chunkSize((int) chunk.getSize())
+                    .blobId(chunk.getBlobId())
+                    .checksum(chunk.getChecksum())
+                    .contentEncoding(chunk.getEncoding())
+                    .build());
+            offset += chunk.getSize();
+        }
+        return versionChunks;
+    }
+
+    private Flux<DataBuffer> readChunks(DocumentContentPort port, Flux<VersionChunk> chunks) {
+        return readChunks(chunks, chunk -> contentDownloadPipeline.read(port, referenceOf(chunk)));
+    }
+
+    private Flux<DataBuffer> readChunks(Flux<VersionChunk> chunks, Function<VersionChunk, Flux<DataBuffer>> reader) {
+        Integer readConcurrency = contentProperties.getDelta().getReadConcurrency();
+        int concurrency = readConcurrency != null && readConcurrency > 0 ? readConcurrency : 1;
+        return chunks.flatMapSequential(reader, concurrency)
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    private ContentReference referenceOf(VersionChunk chunk) {
+        return ContentReference.of(chunk.getBlobId(), chunk.getChecksum(), chunk.getChunkSize().longValue(), null,
+                chunk.getContentEncoding());
+    }
+
+    private ContentChunker newChunker() {
+        EcmContentProperties.Delta delta = contentProperties.getDelta();
+        return new ContentChunker(delta.getMinChunkSize(), delta.getAverageChunkSize(), delta.getMaxChunkSize());
+    }
+}
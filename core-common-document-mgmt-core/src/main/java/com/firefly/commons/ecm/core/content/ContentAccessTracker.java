@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.models.repositories.DocumentAccessStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts accesses to document content for tiered storage.
+ *
+ * Accesses are counted in memory and merged into {@code document_access_stats} periodically,
+ * one row per accessed document, so downloads never wait for a database write. Each row keeps
+ * the last access and an access score: a hit count whose hits count half after every
+ * configured half-life, so recent accesses outweigh old ones. Accesses counted since the last
+ * merge are lost if the instance stops, which only delays when content is considered hot.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentAccessTracker {
+
+    private static final int FLUSH_CONCURRENCY = 4;
+
+    private final EcmContentProperties contentProperties;
+    private final DocumentAccessStatsRepository accessStatsRepository;
+    private final Map<UUID, PendingAccesses> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Count an access to the content of a document.
+     *
+     * @param documentId The document ID
+     */
+    public void recordAccess(UUID documentId) {
+        if (Boolean.FALSE.equals(contentProperties.getTiering().getTrackAccess())) {
+            return;
+        }
+        LocalDateTime accessedAt = LocalDateTime.now();
+        // Counted inside compute, so an access is never added to an entry that is being merged
+        pending.compute(documentId, (id, accesses) -> (accesses != null ? accesses : new PendingAccesses()).record(accessedAt));
+    }
+
+    /**
+     * @return The number of documents with accesses not yet merged into their stats
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Merge the accesses counted since the last flush into the access stats.
+     */
+    @Scheduled(fixedDelayString = "${firefly.ecm.integration.content.tiering.flush-interval:PT30S}")
+    public void flush() {
+        Long merged = drain()
+                .count()
+                .onErrorResume(error -> {
+                    log.warn("Failed to merge document access stats: {}", error.getMessage());
+                    return Mono.just(0L);
+                })
+                .block();
+        if (merged != null && merged > 0) {
+            log.debug("Merged access stats of {} document(s)", merged);
+        }
+    }
+
+    /**
+     * Merge the pending accesses of every document into the access stats.
+     *
+     * @return A Flux emitting the IDs of the documents whose stats were merged
+     */
+    Flux<UUID> drain() {
+        double halfLifeSeconds = Math.max(1, contentProperties.getTiering().getHalfLife().toSeconds());
+        return Flux.fromIterable(pending.keySet())
+                .flatMap(documentId -> {
+                    PendingAccesses accesses = pending.remove(documentId);
+                    if (accesses == null) {
+                        return Mono.empty();
+                    }
+                    return accessStatsRepository.recordAccesses(documentId, accesses.lastAccessedAt, accesses.hits, halfLifeSeconds)
+                            .thenReturn(documentId);
+                }, FLUSH_CONCURRENCY);
+    }
+
+    private static final class PendingAccesses {
+
+        private long hits;
+        private LocalDateTime lastAccessedAt;
+
+        PendingAccesses record(LocalDateTime accessedAt) {
+            hits++;
+            lastAccessedAt = accessedAt;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,371 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.interfaces.enums.StorageType;
+import com.firefly.commons.ecm.models.entities.ContentBlob;
+import com.firefly.commons.ecm.models.repositories.ContentBlobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.ecm.port.document.DocumentContentPort;
+import org.fireflyframework.ecm.service.EcmPortProvider;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Content-addressed store for uploaded content.
+ *
+ * Every upload is digested while it streams. Identical content within a tenant is kept once
+ * as a {@link ContentBlob} and shared by reference counting. When the upload has to be staged
+ * for a byte-array adapter the checksum is known before anything is written, so duplicates
+ * are never sent to storage. Streaming adapters receive the content as it arrives and a
+ * redundant copy is removed once the upload turns out to be a duplicate.
+ *
+ * Checksums are computed over the uploaded content, before it is compressed by
+ * {@link ContentCompression}, and a blob records the encoding its content is stored with.
+ * Content encrypted by {@link ContentEncryption} is not deduplicated.
+ *
+ * Blobs whose last reference was released are purged after a grace period, so a concurrent
+ * upload of the same content can still pick them up.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentBlobStore {
+
+    private final EcmContentProperties contentProperties;
+    private final ContentUploadPipeline contentUploadPipeline;
+    private final UploadStagingArea stagingArea;
+    private final ContentBlobRepository blobRepository;
+    private final EcmPortProvider ecmPortProvider;
+    private final LocalFilesystemContentEngine localContentEngine;
+    private final ContentCompression contentCompression;
+    private final ContentEncryption contentEncryption;
+
+    /**
+     * Whether identical content is deduplicated into shared blobs.
+     *
+     * @return true if deduplication is enabled
+     */
+    public boolean isEnabled() {
+        return !Boolean.FALSE.equals(contentProperties.getDeduplication().getEnabled());
+    }
+
+    /**
+     * Create a digest using the configured checksum algorithm.
+     *
+     * @return A new digest
+     */
+    public ContentDigest newDigest() {
+        return ContentDigest.create(contentProperties.getDeduplication().getAlgorithm());
+    }
+
+    /**
+     * Store uploaded content, computing its checksum and size on the way.
+     *
+     * When deduplication is enabled the content is stored under the ID of a shared blob and
+     * the returned result carries that blob ID. Otherwise it is stored under the given content ID.
+     *
+     * @param port The ECM content port
+     * @param tenantId The tenant owning the content
+     * @param contentId The ID to store the content under when deduplication is disabled
+     * @param content The content stream
+     * @param mimeType The MIME type of the content
+     * @param contentLength The content length in bytes, or null if unknown
+     * @return A Mono emitting the stored content
+     */
+    public Mono<StoredContent> store(DocumentContentPort port, String tenantId, UUID contentId,
+                                     Flux<DataBuffer> content, String mimeType, Long contentLength) {
+        return store(port, tenantId, contentId, content, mimeType, contentLength, false);
+    }
+
+    /**
+     * Store uploaded content, computing its checksum and size on the way, optionally encrypted.
+     *
+     * Encrypted content is always stored under the given content ID with a data key of its own,
+     * so it is never deduplicated.
+     *
+     * @param port The ECM content port
+     * @param tenantId The tenant owning the content
+     * @param contentId The ID to store the content under when deduplication is disabled or the content is encrypted
+     * @param content The content stream
+     * @param mimeType The MIME type of the content
+     * @param contentLength The content length in bytes, or null if unknown
+     * @param encrypt Whether to encrypt the content
+     * @return A Mono emitting the stored content
+     */
+    public Mono<StoredContent> store(DocumentContentPort port, String tenantId, UUID contentId,
+                                     Flux<DataBuffer> content, String mimeType, Long contentLength, boolean encrypt) {
+        ContentDigest digest = newDigest();
+        ContentEncoder encoder = contentCompression.newEncoder(mimeType);
+        Flux<DataBuffer> digested = encoder.encode(digest.tap(content));
+        // The length of compressed content is only known once it has been written
+        Long storedLength = encoder.mayEncode() ? null : contentLength;
+
+        if (encrypt) {
+            ContentEncryptor encryptor = contentEncryption.newEncryptor();
+            return contentUploadPipeline.store(port, contentId, encryptor.encrypt(digested), mimeType, null)
+                    .map(storagePath -> StoredContent.builder()
+                            .storagePath(storagePath)
+                            .checksum(digest.getChecksum())
+                            .size(digest.getSize())
+                            .encoding(encoder.getEncoding())
+                            .encryptionKeyId(encryptor.getKeyId())
+                            .build());
+        }
+
+        if (!isEnabled()) {
+            return contentUploadPipeline.store(port, contentId, digested, mimeType, storedLength)
+                    .map(storagePath -> toStoredContent(null, storagePath, digest.getChecksum(), digest.getSize(), false,
+                            encoder.getEncoding()));
+        }
+
+        UUID blobId = UUID.randomUUID();
+        if (contentUploadPipeline.supportsStreaming(port)) {
+            return contentUploadPipeline.store(port, blobId, digested, mimeType, storedLength)
+                    .flatMap(storagePath -> acquire(tenantId, digest)
+                            .flatMap(existing -> discard(port, blobId).thenReturn(existing))
+                            .switchIfEmpty(Mono.defer(() -> register(port, tenantId, blobId, storagePath, digest, encoder.getEncoding()))));
+        }
+
+        if (!stagingArea.isEnabled()) {
+            return contentUploadPipeline.toByteArray(digested)
+                    .flatMap(bytes -> acquire(tenantId, digest)
+                            .switchIfEmpty(Mono.defer(() -> port.storeContent(blobId, bytes, mimeType)
+                                    .flatMap(storagePath -> register(port, tenantId, blobId, storagePath, digest, encoder.getEncoding())))));
+        }
+        return Mono.usingWhen(
+                stagingArea.stage(digested),
+                staged -> acquire(tenantId, digest)
+                        .switchIfEmpty(Mono.defer(() -> stagingArea.materialize(staged, bytes -> port.storeContent(blobId, bytes, mimeType))
+                                .flatMap(storagePath -> register(port, tenantId, blobId, storagePath, digest, encoder.getEncoding())))),
+                StagedContent::release);
+    }
+
+    /**
+     * Store content held in memory, such as one chunk of a chunked version. The checksum is
+     * computed first, so content already stored by the tenant is never sent to storage again.
+     *
+     * @param port The ECM content port
+     * @param tenantId The tenant owning the content
+     * @param content The content
+     * @param mimeType The MIME type of the content
+     * @return A Mono emitting the stored content
+     */
+    public Mono<StoredContent> storeBytes(DocumentContentPort port, String tenantId, byte[] content, String mimeType) {
+        ContentDigest digest = newDigest();
+        digest.update(content);
+        UUID blobId = UUID.randomUUID();
+        return acquire(tenantId, digest)
+                .switchIfEmpty(Mono.defer(() -> port.storeContent(blobId, content, mimeType)
+                        .flatMap(storagePath -> register(port, tenantId, blobId, storagePath, digest, null))));
+    }
+
+    /**
+     * Adopt content written straight to storage under a new ID, such as a direct upload, as a
+     * blob. If the tenant already holds identical content, that blob is referenced instead and
+     * the new copy is deleted.
+     *
+     * @param port The ECM content port holding the content
+     * @param tenantId The tenant owning the content
+     * @param contentId The ID the content is stored under, which becomes the blob ID
+     * @param storagePath The storage path of the content
+     * @param checksum The hex encoded checksum of the content as stored, computed with the configured algorithm
+     * @param size The content length in bytes
+     * @return A Mono emitting the stored content
+     */
+    public Mono<StoredContent> adopt(DocumentContentPort port, String tenantId, UUID contentId, String storagePath,
+                                     String checksum, long size) {
+        String algorithm = newDigest().getAlgorithm();
+        return acquire(tenantId, algorithm, checksum, size)
+                .flatMap(existing -> discard(port, contentId).thenReturn(existing))
+                .switchIfEmpty(Mono.defer(() -> register(port, tenantId, contentId, storagePath, algorithm, checksum, size, null)));
+    }
+
+    /**
+     * Reference the content of a blob from another document without transferring it.
+     *
+     * Within the blob's tenant the blob itself gains a reference. For another tenant, that
+     * tenant's blob with the same checksum is referenced if there is one, otherwise the content
+     * is copied inside the storage backend into a new blob of that tenant.
+     *
+     * @param port The ECM content port holding the blob
+     * @param blobId The blob ID
+     * @param tenantId The tenant of the referencing document
+     * @return A Mono emitting the referenced content
+     */
+    public Mono<StoredContent> share(DocumentContentPort port, UUID blobId, String tenantId) {
+        return blobRepository.findById(blobId)
+                .switchIfEmpty(Mono.error(new RuntimeException("Content blob not found with ID: " + blobId)))
+                .flatMap(blob -> {
+                    long size = blob.getFileSize() != null ? blob.getFileSize() : 0;
+                    if (Objects.equals(blob.getTenantId(), tenantId)) {
+                        return blobRepository.incrementRefCount(blobId)
+                                .filter(updated -> updated > 0)
+                                .switchIfEmpty(Mono.error(new RuntimeException("Content blob not found with ID: " + blobId)))
+                                .map(updated -> toStoredContent(blobId, blob.getStoragePath(), blob.getChecksum(), size, true,
+                                        blob.getContentEncoding()));
+                    }
+                    UUID copyId = UUID.randomUUID();
+                    return acquire(tenantId, blob.getChecksumAlgorithm(), blob.getChecksum(), size)
+                            .switchIfEmpty(Mono.defer(() -> copy(port, blobId, copyId)
+                                    .flatMap(storagePath -> register(port, tenantId, copyId, storagePath,
+                                            blob.getChecksumAlgorithm(), blob.getChecksum(), size, blob.getContentEncoding()))));
+                });
+    }
+
+    /**
+     * Copy stored content inside the storage backend.
+     *
+     * @param port The ECM content port
+     * @param sourceContentId The ID the content is stored under
+     * @param targetContentId The ID to store the copy under
+     * @return A Mono emitting the storage path of the copy, or an error if the port cannot copy content
+     */
+    public Mono<String> copy(DocumentContentPort port, UUID sourceContentId, UUID targetContentId) {
+        if (!(port instanceof CopyableContentPort copyablePort)) {
+            return Mono.error(new IllegalStateException("Server-side copy is not supported by the configured content port"));
+        }
+        return copyablePort.copyContent(sourceContentId, targetContentId)
+                .doOnSuccess(storagePath -> log.debug("Copied content {} to {}", sourceContentId, targetContentId));
+    }
+
+    /**
+     * Release a reference to a blob. The content is deleted by the purge job once no references remain.
+     *
+     * @param blobId The blob ID
+     * @return A Mono completing when the reference has been released
+     */
+    public Mono<Void> release(UUID blobId) {
+        return blobRepository.decrementRefCount(blobId)
+                .doOnNext(updated -> log.debug("Released reference to content blob: {}", blobId))
+                .then();
+    }
+
+    /**
+     * Release the references held by all versions of a document.
+     *
+     * @param documentId The document ID
+     * @return A Mono completing when the references have been released
+     */
+    public Mono<Void> releaseDocumentVersions(UUID documentId) {
+        return blobRepository.decrementRefCountForDocumentVersions(documentId)
+                .doOnNext(updated -> log.debug("Released {} content blob(s) held by versions of document: {}", updated, documentId))
+                .then(blobRepository.decrementRefCountForDocumentVersionChunks(documentId))
+                .doOnNext(updated -> log.debug("Released {} chunk blob(s) held by versions of document: {}", updated, documentId))
+                .then();
+    }
+
+    /**
+     * Release the references held by the chunks of a chunked version.
+     *
+     * @param versionId The version ID
+     * @return A Mono completing when the references have been released
+     */
+    public Mono<Void> releaseVersionChunks(UUID versionId) {
+        return blobRepository.decrementRefCountForVersionChunks(versionId)
+                .doOnNext(updated -> log.debug("Released {} chunk blob(s) held by version: {}", updated, versionId))
+                .then();
+    }
+
+    /**
+     * Delete the content of blobs that have been unreferenced for longer than the purge delay.
+     */
+    @Scheduled(fixedDelayString = "${firefly.ecm.integration.content.deduplication.purge-interval:PT15M}")
+    public void purgeUnreferencedBlobs() {
+        if (!isEnabled()) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(contentProperties.getDeduplication().getPurgeDelay());
+        Long purged = blobRepository.findByRefCountLessThanEqualAndUpdatedAtBefore(0, cutoff)
+                .concatMap(blob -> blobRepository.deleteIfUnreferenced(blob.getId())
+                        .filter(deleted -> deleted > 0)
+                        // Blobs are shared across storage types, so remove local and ECM copies alike
+                        .flatMap(deleted -> localContentEngine.resolvePort(StorageType.LOCAL_FILESYSTEM, ecmPortProvider.getDocumentContentPort())
+                                .map(port -> discard(port, blob.getId()))
+                                .orElse(Mono.empty())
+                                .thenReturn(blob)))
+                .count()
+                .onErrorResume(error -> {
+                    log.warn("Failed to purge unreferenced content blobs: {}", error.getMessage());
+                    return Mono.just(0L);
+                })
+                .block();
+        if (purged != null && purged > 0) {
+            log.info("Purged {} unreferenced content blob(s)", purged);
+        }
+    }
+
+    private Mono<StoredContent> acquire(String tenantId, ContentDigest digest) {
+        return acquire(tenantId, digest.getAlgorithm(), digest.getChecksum(), digest.getSize());
+    }
+
+    private Mono<StoredContent> acquire(String tenantId, String algorithm, String checksum, long size) {
+        return blobRepository.findByTenantIdAndChecksumAlgorithmAndChecksum(tenantId, algorithm, checksum)
+                .flatMap(blob -> blobRepository.incrementRefCount(blob.getId())
+                        .filter(updated -> updated > 0)
+                        .map(updated -> {
+                            log.debug("Reusing content blob {} for checksum {}", blob.getId(), checksum);
+                            return toStoredContent(blob.getId(), blob.getStoragePath(), checksum, size, true,
+                                    blob.getContentEncoding());
+                        }));
+    }
+
+    private Mono<StoredContent> register(DocumentContentPort port, String tenantId, UUID blobId,
+                                         String storagePath, ContentDigest digest, String encoding) {
+        return register(port, tenantId, blobId, storagePath, digest.getAlgorithm(), digest.getChecksum(), digest.getSize(), encoding);
+    }
+
+    private Mono<StoredContent> register(DocumentContentPort port, String tenantId, UUID blobId, String storagePath,
+                                         String algorithm, String checksum, long size, String encoding) {
+        return blobRepository.insertIfAbsent(blobId, tenantId, algorithm, checksum, size, storagePath, encoding)
+                .map(savedId -> toStoredContent(savedId, storagePath, checksum, size, false, encoding))
+                // A concurrent upload of the same content registered its blob first
+                .switchIfEmpty(Mono.defer(() -> acquire(tenantId, algorithm, checksum, size)
+                        .flatMap(existing -> discard(port, blobId).thenReturn(existing))
+                        .switchIfEmpty(Mono.error(new IllegalStateException(
+                                "Content blob with checksum " + checksum + " is neither registered nor insertable")))));
+    }
+
+    private Mono<Void> discard(DocumentContentPort port, UUID contentId) {
+        return port.deleteContent(contentId)
+                .doOnError(error -> log.warn("Failed to delete redundant content {}: {}", contentId, error.getMessage()))
+                .onErrorComplete()
+                .then();
+    }
+
+    private StoredContent toStoredContent(UUID blobId, String storagePath, String checksum, long size,
+                                          boolean deduplicated, String encoding) {
+        return StoredContent.builder()
+                .blobId(blobId)
+                .storagePath(storagePath)
+                .checksum(checksum)
+                .size(size)
+                .deduplicated(deduplicated)
+                .encoding(encoding)
+                .build();
+    }
+}
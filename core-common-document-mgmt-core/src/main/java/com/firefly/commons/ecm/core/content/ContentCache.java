@@ -0,0 +1,290 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Local read-through cache for content served from remote content ports.
+ *
+ * Entries are keyed by content ID and checksum, so replaced content is never served from a
+ * stale entry. The cache is bounded by the total size of the cached files and evicts with
+ * Caffeine's frequency-aware W-TinyLFU policy, so a burst of one-off downloads does not push
+ * out frequently requested content. On a miss the content is written to a cache file while it
+ * streams to the client, and the entry only becomes visible once the file is complete.
+ *
+ * Hits, misses, evictions and the cached byte count are published to Micrometer under
+ * {@code cache="ecm.content"}.
+ */
+@Slf4j
+@Component
+public class ContentCache {
+
+    private static final String CACHE_NAME = "ecm.content";
+    private static final String FILE_SUFFIX = ".content";
+
+    private final EcmContentProperties contentProperties;
+    private final Cache<String, CachedFile> entries;
+
+    public ContentCache(EcmContentProperties contentProperties, Optional<MeterRegistry> meterRegistry) {
+        this.contentProperties = contentProperties;
+        EcmContentProperties.Cache cache = contentProperties.getCache();
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(cache.getMaxSize() != null ? Math.max(0, cache.getMaxSize()) : 0)
+                .weigher((String key, CachedFile file) -> (int) Math.min(Integer.MAX_VALUE, file.size()))
+                .removalListener((String key, CachedFile file, RemovalCause cause) -> {
+                    if (file != null) {
+                        log.debug("Removing cached content {} ({})", key, cause);
+                        deleteQuietly(file.path());
+                    }
+                })
+                .executor(task -> Schedulers.boundedElastic().schedule(task))
+                .recordStats()
+                .build();
+
+        meterRegistry.ifPresent(registry -> {
+            CaffeineCacheMetrics.monitor(registry, entries, CACHE_NAME);
+            Gauge.builder("cache.size.bytes", entries, ContentCache::weightedSize)
+                    .tag("cache", CACHE_NAME)
+                    .description("Number of bytes held in cached content files")
+                    .baseUnit("bytes")
+                    .register(registry);
+        });
+    }
+
+    /**
+     * Whether the content cache is enabled.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(contentProperties.getCache().getEnabled());
+    }
+
+    /**
+     * Remove cache files left behind by a previous run, which the in-memory index no longer knows about.
+     */
+    @PostConstruct
+    public void clearStaleFiles() {
+        Path directory = cacheDirectory();
+        if (!isEnabled() || !Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                deleteQuietly(file);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to clear content cache directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    /**
+     * Read content through the cache. Hits are served from the cache file, misses from the
+     * source while the content is written to the cache.
+     *
+     * @param content The content being read
+     * @param source Supplier of the content stream from the content port
+     * @return A Flux of DataBuffer containing the content
+     */
+    public Flux<DataBuffer> read(ContentReference content, Supplier<Flux<DataBuffer>> source) {
+        if (!isCacheable(content)) {
+            return source.get();
+        }
+        String key = keyOf(content);
+        return lookup(key)
+                .map(path -> readFile(path, 0, Long.MAX_VALUE)
+                        // The entry was evicted between lookup and read
+                        .onErrorResume(NoSuchFileException.class, error -> source.get()))
+                .switchIfEmpty(Mono.fromSupplier(() -> fill(key, content, source.get())))
+                .flatMapMany(stream -> stream);
+    }
+
+    /**
+     * Locate the cache file holding the given content.
+     *
+     * @param content The content being read
+     * @return A Mono emitting the cache file, or empty if the content is not cached
+     */
+    public Mono<Path> locate(ContentReference content) {
+        if (!isCacheable(content)) {
+            return Mono.empty();
+        }
+        return lookup(keyOf(content));
+    }
+
+    /**
+     * Read a byte range of a cache file.
+     *
+     * @param path The cache file
+     * @param offset The zero-based offset of the first byte
+     * @param length The number of bytes to read
+     * @return A Flux of DataBuffer containing the requested range
+     */
+    public Flux<DataBuffer> readFile(Path path, long offset, long length) {
+        Flux<DataBuffer> content = DataBufferUtils.readAsynchronousFileChannel(
+                () -> AsynchronousFileChannel.open(path, StandardOpenOption.READ),
+                offset, DefaultDataBufferFactory.sharedInstance, getReadBufferSize());
+        return length == Long.MAX_VALUE ? content : DataBufferUtils.takeUntilByteCount(content, length);
+    }
+
+    /**
+     * @return The number of bytes currently held in cache files
+     */
+    public long getCachedBytes() {
+        entries.cleanUp();
+        return weightedSize(entries);
+    }
+
+    private boolean isCacheable(ContentReference content) {
+        if (!isEnabled() || content.getChecksum() == null) {
+            return false;
+        }
+        Long maxEntrySize = contentProperties.getCache().getMaxEntrySize();
+        return content.getSize() == null || maxEntrySize == null || content.getSize() <= maxEntrySize;
+    }
+
+    private Mono<Path> lookup(String key) {
+        return Mono.fromCallable(() -> {
+                    CachedFile file = entries.getIfPresent(key);
+                    if (file != null && !Files.isRegularFile(file.path())) {
+                        entries.asMap().remove(key, file);
+                        return null;
+                    }
+                    return file != null ? file.path() : null;
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Flux<DataBuffer> fill(String key, ContentReference content, Flux<DataBuffer> source) {
+        Path file = cacheDirectory().resolve(UUID.randomUUID() + FILE_SUFFIX);
+        return Mono.fromCallable(() -> {
+                    Files.createDirectories(file.getParent());
+                    return Optional.of(AsynchronousFileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(IOException.class, error -> {
+                    log.warn("Cannot write content cache file {}, serving uncached: {}", file, error.getMessage());
+                    return Mono.just(Optional.empty());
+                })
+                .flatMapMany(channel -> channel.isEmpty() ? source : tee(key, content, source, file, channel.get()));
+    }
+
+    private Flux<DataBuffer> tee(String key, ContentReference content, Flux<DataBuffer> source,
+                                 Path file, AsynchronousFileChannel channel) {
+        AtomicLong written = new AtomicLong();
+        Long maxEntrySize = contentProperties.getCache().getMaxEntrySize();
+        return Flux.usingWhen(
+                Mono.just(channel),
+                target -> DataBufferUtils.write(source, target)
+                        .doOnNext(buffer -> written.addAndGet(buffer.readableByteCount())),
+                target -> Mono.fromRunnable(() -> {
+                    close(target);
+                    long size = written.get();
+                    if ((content.getSize() != null && content.getSize() != size)
+                            || (maxEntrySize != null && size > maxEntrySize)) {
+                        log.debug("Not caching content {}: {} bytes read", key, size);
+                        deleteQuietly(file);
+                    } else if (entries.asMap().putIfAbsent(key, new CachedFile(file, size)) != null) {
+                        // A concurrent download filled the same entry first
+                        deleteQuietly(file);
+                    } else {
+                        log.debug("Cached content {} ({} bytes)", key, size);
+                    }
+                }).subscribeOn(Schedulers.boundedElastic()).then(),
+                (target, error) -> abort(target, file),
+                target -> abort(target, file));
+    }
+
+    private Mono<Void> abort(AsynchronousFileChannel channel, Path file) {
+        return Mono.fromRunnable(() -> {
+            close(channel);
+            deleteQuietly(file);
+        }).subscribeOn(Schedulers.boundedElastic()).then();
+    }
+
+    private String keyOf(ContentReference content) {
+        return content.getContentId() + ":" + content.getChecksum();
+    }
+
+    private Path cacheDirectory() {
+        String directory = contentProperties.getCache().getDirectory();
+        if (directory != null && !directory.isBlank()) {
+            return Paths.get(directory);
+        }
+        return Paths.get(System.getProperty("java.io.tmpdir"), "ecm-content-cache");
+    }
+
+    private int getReadBufferSize() {
+        Integer size = contentProperties.getCache().getReadBufferSize();
+        return size != null && size > 0 ? size : 64 * 1024;
+    }
+
+    private static long weightedSize(Cache<String, CachedFile> cache) {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    private void close(AsynchronousFileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close content cache file: {}", e.getMessage());
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete content cache file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private record CachedFile(Path path, long size) {
+    }
+}
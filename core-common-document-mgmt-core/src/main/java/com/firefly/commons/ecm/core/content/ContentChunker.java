@@ -0,0 +1,145 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Splits content into content-defined chunks.
+ *
+ * Chunk boundaries are placed where a gear rolling hash over the last 64 bytes matches a mask,
+ * so they depend on the content around them rather than on its position. An edit only changes
+ * the chunks it touches, and the chunks before and after it are found again unchanged in the
+ * edited content. The mask is stricter below the average chunk size and looser above it, which
+ * keeps chunk sizes close to the average, and chunks are bounded by a minimum and maximum size.
+ *
+ * The gear table is derived from a fixed seed, so boundaries are stable across restarts and
+ * releases. Changing it would stop new versions from sharing chunks with stored ones.
+ */
+public final class ContentChunker {
+
+    private static final long[] GEAR = gearTable(0x2F6B3A5E1C9D4F87L);
+
+    private final int minSize;
+    private final int averageSize;
+    private final int maxSize;
+    private final long strictMask;
+    private final long looseMask;
+
+    /**
+     * Create a chunker.
+     *
+     * @param minSize The minimum chunk size in bytes
+     * @param averageSize The targeted average chunk size in bytes, rounded down to a power of two
+     * @param maxSize The maximum chunk size in bytes
+     * @throws IllegalArgumentException if the sizes are not positive and ordered
+     */
+    public ContentChunker(int minSize, int averageSize, int maxSize) {
+        if (minSize <= 0 || averageSize < minSize || maxSize < averageSize) {
+            throw new IllegalArgumentException("Chunk sizes must satisfy 0 < min <= average <= max, got "
+                    + minSize + ", " + averageSize + ", " + maxSize);
+        }
+        int bits = 31 - Integer.numberOfLeadingZeros(averageSize);
+        this.minSize = minSize;
+        this.averageSize = 1 << bits;
+        this.maxSize = maxSize;
+        this.strictMask = topBits(bits + 2);
+        this.looseMask = topBits(Math.max(1, bits - 2));
+    }
+
+    /**
+     * Split a content stream into chunks. The buffers of the stream are released once copied.
+     *
+     * @param content The content stream
+     * @return A Flux emitting the chunks in content order
+     */
+    public Flux<byte[]> split(Flux<DataBuffer> content) {
+        return Flux.defer(() -> {
+            Splitter splitter = new Splitter();
+            return content.concatMapIterable(buffer -> {
+                        try {
+                            return splitter.update(buffer);
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                    })
+                    .concatWith(Mono.fromSupplier(splitter::finish));
+        }).doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    private static long topBits(int bits) {
+        return bits >= 64 ? -1L : -1L << (64 - bits);
+    }
+
+    private static long[] gearTable(long seed) {
+        // SplitMix64, spelled out so the table never depends on a JDK implementation
+        long[] table = new long[256];
+        long state = seed;
+        for (int i = 0; i < table.length; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            long z = state;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            table[i] = z ^ (z >>> 31);
+        }
+        return table;
+    }
+
+    /**
+     * Boundary search state of a single content stream.
+     */
+    private final class Splitter {
+
+        private final byte[] chunk = new byte[maxSize];
+        private int length;
+        private long hash;
+
+        List<byte[]> update(DataBuffer buffer) {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            List<byte[]> chunks = new ArrayList<>();
+            for (int i = 0; i < bytes.length; i++) {
+                chunk[length++] = bytes[i];
+                hash = (hash << 1) + GEAR[bytes[i] & 0xff];
+                if (length >= minSize
+                        && (length >= maxSize || (hash & (length < averageSize ? strictMask : looseMask)) == 0)) {
+                    chunks.add(Arrays.copyOf(chunk, length));
+                    length = 0;
+                    hash = 0;
+                }
+            }
+            return chunks;
+        }
+
+        byte[] finish() {
+            if (length == 0) {
+                return null;
+            }
+            byte[] last = Arrays.copyOf(chunk, length);
+            length = 0;
+            return last;
+        }
+    }
+}
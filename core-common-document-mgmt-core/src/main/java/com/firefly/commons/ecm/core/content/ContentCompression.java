@@ -0,0 +1,337 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Transparent compression of content at rest.
+ *
+ * Uploads of compressible MIME types are gzip compressed on their way to the content port when
+ * a quick probe of the first buffer shows the content shrinks, so text-heavy formats take a
+ * fraction of their size in storage while already compressed content is stored as is. The
+ * chosen encoding is recorded with the content and downloads are decompressed while they
+ * stream. Stored gzip content is a standard gzip member and can be sent to clients accepting
+ * it without decompressing.
+ */
+@Component
+public class ContentCompression {
+
+    /**
+     * Content encoding of gzip compressed content, as used in the Content-Encoding header
+     */
+    public static final String GZIP = "gzip";
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int GZIP_TRAILER_LENGTH = 8;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final EcmContentProperties contentProperties;
+
+    public ContentCompression(EcmContentProperties contentProperties) {
+        this.contentProperties = contentProperties;
+    }
+
+    /**
+     * Whether compression at rest is enabled.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(contentProperties.getCompression().getEnabled());
+    }
+
+    /**
+     * Whether content of the given MIME type is considered for compression.
+     *
+     * @param mimeType The MIME type, or null if unknown
+     * @return true if the content may be compressed
+     */
+    public boolean isCompressible(String mimeType) {
+        if (!isEnabled() || mimeType == null) {
+            return false;
+        }
+        int parameters = mimeType.indexOf(';');
+        String type = (parameters >= 0 ? mimeType.substring(0, parameters) : mimeType).trim().toLowerCase(Locale.ROOT);
+        List<String> mimeTypes = contentProperties.getCompression().getMimeTypes();
+        if (mimeTypes == null) {
+            return false;
+        }
+        for (String compressible : mimeTypes) {
+            String pattern = compressible.trim().toLowerCase(Locale.ROOT);
+            if (pattern.endsWith("*") ? type.startsWith(pattern.substring(0, pattern.length() - 1)) : type.equals(pattern)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Create an encoder for a single upload.
+     *
+     * @param mimeType The MIME type of the content, or null if unknown
+     * @return A new encoder, which leaves the content untouched if it is not compressible
+     */
+    public ContentEncoder newEncoder(String mimeType) {
+        EcmContentProperties.Compression compression = contentProperties.getCompression();
+        return new ContentEncoder(this, isCompressible(mimeType) ? GZIP : null,
+                compression.getMinSize() != null ? compression.getMinSize() : 0,
+                compression.getProbeSize() != null && compression.getProbeSize() > 0 ? compression.getProbeSize() : BUFFER_SIZE,
+                compression.getMaxRatio() != null ? compression.getMaxRatio() : 1.0);
+    }
+
+    /**
+     * Encode a content stream.
+     *
+     * @param content The content stream, whose buffers are released once encoded
+     * @param encoding The content encoding, or null to leave the content untouched
+     * @return The encoded content stream
+     */
+    public Flux<DataBuffer> encode(Flux<DataBuffer> content, String encoding) {
+        if (encoding == null) {
+            return content;
+        }
+        if (!GZIP.equals(encoding)) {
+            return Flux.error(unsupported(encoding));
+        }
+        return Flux.defer(() -> {
+                    GzipDeflation deflation = new GzipDeflation(getLevel());
+                    return Flux.concat(
+                                    Mono.fromSupplier(() -> wrap(GZIP_HEADER.clone())),
+                                    content.concatMapIterable(deflation::update),
+                                    Mono.fromSupplier(deflation::finish).flatMapIterable(buffers -> buffers))
+                            .doFinally(signal -> deflation.close());
+                })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * Decode a stored content stream.
+     *
+     * @param content The stored content stream, whose buffers are released once decoded
+     * @param encoding The content encoding, or null if the content is stored as is
+     * @return The decoded content stream
+     */
+    public Flux<DataBuffer> decode(Flux<DataBuffer> content, String encoding) {
+        if (encoding == null) {
+            return content;
+        }
+        if (!GZIP.equals(encoding)) {
+            return Flux.error(unsupported(encoding));
+        }
+        return Flux.defer(() -> {
+                    GzipInflation inflation = new GzipInflation();
+                    return content.concatMapIterable(inflation::update)
+                            .concatWith(Mono.fromRunnable(inflation::finish))
+                            .doFinally(signal -> inflation.close());
+                })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * Estimate whether a sample of content shrinks enough to be worth compressing.
+     *
+     * @param sample The leading bytes of the content
+     * @param length The number of sample bytes
+     * @param maxRatio The largest compressed to original size ratio accepted
+     * @return true if the sample compresses to at most the given ratio
+     */
+    boolean isWorthCompressing(byte[] sample, int length, double maxRatio) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(sample, 0, length);
+            deflater.finish();
+            byte[] output = new byte[BUFFER_SIZE];
+            long compressed = 0;
+            while (!deflater.finished()) {
+                compressed += deflater.deflate(output);
+            }
+            return compressed <= length * maxRatio;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private int getLevel() {
+        Integer level = contentProperties.getCompression().getLevel();
+        return level != null && level >= 1 && level <= 9 ? level : Deflater.DEFAULT_COMPRESSION;
+    }
+
+    private static IllegalStateException unsupported(String encoding) {
+        return new IllegalStateException("Unsupported content encoding: " + encoding);
+    }
+
+    private static byte[] read(DataBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        try {
+            buffer.read(bytes);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+        return bytes;
+    }
+
+    private static DataBuffer wrap(byte[] bytes) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(bytes);
+    }
+
+    /**
+     * Compression state of a single content stream.
+     */
+    private static final class GzipDeflation {
+
+        private final Deflater deflater;
+        private final CRC32 crc = new CRC32();
+        private final byte[] output = new byte[BUFFER_SIZE];
+        private long size;
+
+        GzipDeflation(int level) {
+            this.deflater = new Deflater(level, true);
+        }
+
+        List<DataBuffer> update(DataBuffer buffer) {
+            byte[] bytes = read(buffer);
+            crc.update(bytes);
+            size += bytes.length;
+            deflater.setInput(bytes);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            while (!deflater.needsInput()) {
+                compressed.write(output, 0, deflater.deflate(output));
+            }
+            return compressed.size() > 0 ? List.of(wrap(compressed.toByteArray())) : List.of();
+        }
+
+        List<DataBuffer> finish() {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            deflater.finish();
+            while (!deflater.finished()) {
+                compressed.write(output, 0, deflater.deflate(output));
+            }
+            ByteBuffer trailer = ByteBuffer.allocate(GZIP_TRAILER_LENGTH).order(ByteOrder.LITTLE_ENDIAN)
+                    .putInt((int) crc.getValue())
+                    .putInt((int) size);
+            compressed.writeBytes(trailer.array());
+            return List.of(wrap(compressed.toByteArray()));
+        }
+
+        void close() {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Decompression state of a single stored content stream.
+     */
+    private static final class GzipInflation {
+
+        private final Inflater inflater = new Inflater(true);
+        private final CRC32 crc = new CRC32();
+        private final byte[] output = new byte[BUFFER_SIZE];
+        private final byte[] header = new byte[GZIP_HEADER.length];
+        private final byte[] trailer = new byte[GZIP_TRAILER_LENGTH];
+        private int headerLength;
+        private int trailerLength;
+        private long size;
+
+        List<DataBuffer> update(DataBuffer buffer) {
+            byte[] bytes = read(buffer);
+            List<DataBuffer> decompressed = new ArrayList<>(2);
+            int position = 0;
+            while (position < bytes.length) {
+                if (headerLength < header.length) {
+                    int count = Math.min(header.length - headerLength, bytes.length - position);
+                    System.arraycopy(bytes, position, header, headerLength, count);
+                    headerLength += count;
+                    position += count;
+                    if (headerLength == header.length) {
+                        checkHeader();
+                    }
+                } else if (!inflater.finished()) {
+                    inflater.setInput(bytes, position, bytes.length - position);
+                    inflate(decompressed);
+                    position = bytes.length - inflater.getRemaining();
+                } else if (trailerLength < trailer.length) {
+                    int count = Math.min(trailer.length - trailerLength, bytes.length - position);
+                    System.arraycopy(bytes, position, trailer, trailerLength, count);
+                    trailerLength += count;
+                    position += count;
+                } else {
+                    throw new IllegalStateException("Unexpected data after the end of gzip content");
+                }
+            }
+            return decompressed;
+        }
+
+        void finish() {
+            if (!inflater.finished() || trailerLength < trailer.length) {
+                throw new IllegalStateException("Stored gzip content is truncated");
+            }
+            ByteBuffer expected = ByteBuffer.wrap(trailer).order(ByteOrder.LITTLE_ENDIAN);
+            if (expected.getInt() != (int) crc.getValue() || expected.getInt() != (int) size) {
+                throw new IllegalStateException("Stored gzip content is corrupt: checksum mismatch");
+            }
+        }
+
+        void close() {
+            inflater.end();
+        }
+
+        private void checkHeader() {
+            if (header[0] != GZIP_HEADER[0] || header[1] != GZIP_HEADER[1] || header[2] != Deflater.DEFLATED || header[3] != 0) {
+                throw new IllegalStateException("Stored content is not in the expected gzip format");
+            }
+        }
+
+        private void inflate(List<DataBuffer> decompressed) {
+            ByteArrayOutputStream inflated = new ByteArrayOutputStream();
+            try {
+                while (!inflater.finished() && !inflater.needsInput()) {
+                    int count = inflater.inflate(output);
+                    if (count == 0 && inflater.needsDictionary()) {
+                        throw new IllegalStateException("Stored gzip content requires a preset dictionary");
+                    }
+                    crc.update(output, 0, count);
+                    size += count;
+                    inflated.write(output, 0, count);
+                }
+            } catch (DataFormatException e) {
+                throw new IllegalStateException("Stored gzip content is corrupt: " + e.getMessage(), e);
+            }
+            if (inflated.size() > 0) {
+                decompressed.add(wrap(inflated.toByteArray()));
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Computes a checksum and byte count over content while it streams through an upload.
+ *
+ * Buffers are inspected without changing their read position, so the digest can be attached
+ * to any content stream without affecting its consumer. An instance covers a single upload.
+ */
+public final class ContentDigest {
+
+    private final String algorithm;
+    private final MessageDigest messageDigest;
+    private long size;
+    private String checksum;
+
+    private ContentDigest(String algorithm, MessageDigest messageDigest) {
+        this.algorithm = algorithm;
+        this.messageDigest = messageDigest;
+    }
+
+    /**
+     * Create a digest for the given MessageDigest algorithm.
+     *
+     * @param algorithm The algorithm name, for example SHA-256
+     * @return A new digest
+     * @throws IllegalStateException if the algorithm is not available
+     */
+    public static ContentDigest create(String algorithm) {
+        try {
+            return new ContentDigest(algorithm, MessageDigest.getInstance(algorithm));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Checksum algorithm not available: " + algorithm, e);
+        }
+    }
+
+    /**
+     * Attach the digest to a content stream. Every buffer is added to the digest as it passes.
+     *
+     * @param content The content stream
+     * @return The same content stream
+     */
+    public Flux<DataBuffer> tap(Flux<DataBuffer> content) {
+        return content.doOnNext(this::update);
+    }
+
+    /**
+     * Add the readable bytes of a buffer to the digest.
+     *
+     * @param buffer The buffer
+     */
+    public void update(DataBuffer buffer) {
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            while (iterator.hasNext()) {
+                ByteBuffer byteBuffer = iterator.next();
+                size += byteBuffer.remaining();
+                messageDigest.update(byteBuffer);
+            }
+        }
+    }
+
+    /**
+     * Add bytes to the digest.
+     *
+     * @param bytes The bytes
+     */
+    public void update(byte[] bytes) {
+        size += bytes.length;
+        messageDigest.update(bytes);
+    }
+
+    /**
+     * @return The digest algorithm
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * @return The number of bytes digested so far
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Complete the digest. Must only be called once all content has been digested.
+     *
+     * @return The hex encoded checksum
+     */
+    public String getChecksum() {
+        if (checksum == null) {
+            checksum = HexFormat.of().formatHex(messageDigest.digest());
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.ecm.port.document.DocumentContentPort;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Reads stored content from an ECM content port for downloads.
+ *
+ * Content held by the {@link LocalFilesystemContentEngine} is always read locally, whichever
+ * port it was requested through. Other content is read through the {@link ContentCache} when
+ * its checksum is known, and concurrent full reads of the same content share one upstream
+ * read through the {@link DownloadCoalescer}. Byte ranges of uncached content are read
+ * natively from adapters implementing {@link RangeReadableContentPort}. For other adapters
+ * the full stream is opened and the bytes outside the range are skipped. Large reads of known
+ * size from such adapters are split into ranges fetched in parallel by the {@link ParallelRangeReader}.
+ *
+ * Content stored with a content encoding is read as stored, which is also what the cache
+ * holds, and decoded while it streams. Byte ranges of such content are cut from the decoded
+ * stream. Encrypted content is cached encrypted and decrypted while it streams; byte ranges of
+ * it only read the chunks they overlap.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentDownloadPipeline {
+
+    private final LocalFilesystemContentEngine localContentEngine;
+    private final ContentCache contentCache;
+    private final DownloadCoalescer downloadCoalescer;
+    private final ContentCompression contentCompression;
+    private final ContentEncryption contentEncryption;
+    private final ParallelRangeReader parallelRangeReader;
+
+    /**
+     * Read the full content.
+     *
+     * @param port The ECM content port
+     * @param contentId The ID the content is stored under
+     * @return A Flux of DataBuffer containing the content
+     */
+    public Flux<DataBuffer> read(DocumentContentPort port, UUID contentId) {
+        return read(port, ContentReference.of(contentId, null, null, null));
+    }
+
+    /**
+     * Read the full content.
+     *
+     * @param port The ECM content port
+     * @param content The content to read
+     * @return A Flux of DataBuffer containing the content
+     */
+    public Flux<DataBuffer> read(DocumentContentPort port, ContentReference content) {
+        return readRange(port, content, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * Read a byte range of the content.
+     *
+     * @param port The ECM content port
+     * @param contentId The ID the content is stored under
+     * @param offset The zero-based offset of the first byte
+     * @param length The number of bytes to read
+     * @return A Flux of DataBuffer containing the requested range
+     */
+    public Flux<DataBuffer> readRange(DocumentContentPort port, UUID contentId, long offset, long length) {
+        return readRange(port, ContentReference.of(contentId, null, null, null), offset, length);
+    }
+
+    /**
+     * Read a byte range of the content.
+     *
+     * @param port The ECM content port
+     * @param content The content to read
+     * @param offset The zero-based offset of the first byte
+     * @param length The number of bytes to read
+     * @return A Flux of DataBuffer containing the requested range
+     */
+    public Flux<DataBuffer> readRange(DocumentContentPort port, ContentReference content, long offset, long length) {
+        if (content.getEncoding() != null) {
+            Flux<DataBuffer> decoded = contentCompression.decode(readStored(port, content), content.getEncoding());
+            if (offset == 0 && length == Long.MAX_VALUE) {
+                return decoded;
+            }
+            return DataBufferUtils.takeUntilByteCount(DataBufferUtils.skipUntilByteCount(decoded, offset), length);
+        }
+        if (content.isEncrypted()) {
+            if (offset == 0 && length == Long.MAX_VALUE) {
+                return readStored(port, content);
+            }
+            ContentReference stored = storedReferenceOf(content);
+            return contentEncryption.decryptRange((storedOffset, storedLength) -> readStoredRange(port, stored, storedOffset, storedLength),
+                    content.getSize(), offset, length);
+        }
+        return readStoredRange(port, content, offset, length);
+    }
+
+    /**
+     * Read the content as stored, without decoding its content encoding. Encrypted content is decrypted.
+     *
+     * @param port The ECM content port
+     * @param content The content to read
+     * @return A Flux of DataBuffer containing the stored content
+     */
+    public Flux<DataBuffer> readStored(DocumentContentPort port, ContentReference content) {
+        if (content.getEncoding() == null && !content.isEncrypted()) {
+            return readStoredRange(port, content, 0, Long.MAX_VALUE);
+        }
+        Flux<DataBuffer> stored = readStoredRange(port, storedReferenceOf(content), 0, Long.MAX_VALUE);
+        return content.isEncrypted() ? contentEncryption.decrypt(stored) : stored;
+    }
+
+    /**
+     * Read the full content straight from storage, bypassing the cache and download coalescing,
+     * so the bytes read are the bytes stored. Encrypted content is decrypted and encoded content decoded.
+     *
+     * @param port The ECM content port
+     * @param content The content to read
+     * @return A Flux of DataBuffer containing the content
+     */
+    public Flux<DataBuffer> readFromStorage(DocumentContentPort port, ContentReference content) {
+        UUID contentId = content.getContentId();
+        Flux<DataBuffer> stored = localContentEngine.locate(contentId)
+                .map(path -> localContentEngine.read(path, 0, Long.MAX_VALUE))
+                .switchIfEmpty(Mono.fromSupplier(() -> port.getContentStream(contentId)))
+                .flatMapMany(stream -> stream);
+        Flux<DataBuffer> decrypted = content.isEncrypted() ? contentEncryption.decrypt(stored) : stored;
+        return content.getEncoding() != null ? contentCompression.decode(decrypted, content.getEncoding()) : decrypted;
+    }
+
+    /**
+     * The recorded size is the size of the uploaded content, the size of encoded or encrypted
+     * content as stored is unknown.
+     */
+    private ContentReference storedReferenceOf(ContentReference content) {
+        return ContentReference.of(content.getContentId(), content.getChecksum(), null, content.getVersion(), content.getEncoding());
+    }
+
+    private Flux<DataBuffer> readStoredRange(DocumentContentPort port, ContentReference content, long offset, long length) {
+        return localContentEngine.locate(content.getContentId())
+                .map(path -> localContentEngine.read(path, offset, length))
+                .switchIfEmpty(Mono.defer(() -> readRemote(port, content, offset, length)))
+                .flatMapMany(stream -> stream);
+    }
+
+    /**
+     * Locate the local file holding the content, for zero-copy transfer.
+     *
+     * @param contentId The ID the content is stored under
+     * @return A Mono emitting the file path, or empty if the content is not held locally or zero-copy is disabled
+     */
+    public Mono<Path> locateLocalFile(UUID contentId) {
+        if (!localContentEngine.isZeroCopyEnabled()) {
+            return Mono.empty();
+        }
+        return localContentEngine.locate(contentId);
+    }
+
+    private Mono<Flux<DataBuffer>> readRemote(DocumentContentPort port, ContentReference content, long offset, long length) {
+        if (offset == 0 && length == Long.MAX_VALUE) {
+            return Mono.just(downloadCoalescer.read(content,
+                    () -> contentCache.read(content, () -> readFromPort(port, content, offset, length))));
+        }
+        // Ranges are served from the cache when present but never fill it
+        return contentCache.locate(content)
+                .map(path -> contentCache.readFile(path, offset, length))
+                .switchIfEmpty(Mono.fromSupplier(() -> readFromPort(port, content, offset, length)));
+    }
+
+    private Flux<DataBuffer> readFromPort(DocumentContentPort port, ContentReference content, long offset, long length) {
+        UUID contentId = content.getContentId();
+        // Only content of known size is split, so no range extends past its end
+        if (port instanceof RangeReadableContentPort rangePort && content.getSize() != null && offset < content.getSize()) {
+            long readable = Math.min(length, content.getSize() - offset);
+            if (parallelRangeReader.appliesTo(readable)) {
+                return parallelRangeReader.read(rangePort, contentId, offset, readable);
+            }
+        }
+        if (offset == 0 && length == Long.MAX_VALUE) {
+            return port.getContentStream(contentId);
+        }
+        if (port instanceof RangeReadableContentPort rangePort) {
+            return rangePort.getContentRange(contentId, offset, length);
+        }
+
+        log.debug("Adapter does not support ranged reads, skipping {} bytes of content ID: {}", offset, contentId);
+        Flux<DataBuffer> skipped = DataBufferUtils.skipUntilByteCount(port.getContentStream(contentId), offset);
+        return DataBufferUtils.takeUntilByteCount(skipped, length);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Chooses and applies the content encoding of a single upload.
+ *
+ * The first buffer of the upload is probed without changing its read position: content that
+ * is too small or does not shrink enough is stored as is. Like {@link ContentDigest}, the
+ * outcome is available once the content has streamed through.
+ */
+public final class ContentEncoder {
+
+    private final ContentCompression compression;
+    private final String candidateEncoding;
+    private final int minSize;
+    private final int probeSize;
+    private final double maxRatio;
+    private volatile String encoding;
+
+    ContentEncoder(ContentCompression compression, String candidateEncoding, int minSize, int probeSize, double maxRatio) {
+        this.compression = compression;
+        this.candidateEncoding = candidateEncoding;
+        this.minSize = minSize;
+        this.probeSize = probeSize;
+        this.maxRatio = maxRatio;
+    }
+
+    /**
+     * Whether the content may end up encoded, in which case its stored length is not known up front.
+     *
+     * @return true if the content is a candidate for encoding
+     */
+    public boolean mayEncode() {
+        return candidateEncoding != null;
+    }
+
+    /**
+     * Attach the encoder to a content stream.
+     *
+     * @param content The content stream
+     * @return The content stream as it is to be stored
+     */
+    public Flux<DataBuffer> encode(Flux<DataBuffer> content) {
+        if (candidateEncoding == null) {
+            return content;
+        }
+        return content.switchOnFirst((first, stream) -> {
+            if (first.hasValue() && isWorthEncoding(first.get())) {
+                encoding = candidateEncoding;
+                return compression.encode(stream, candidateEncoding);
+            }
+            return stream;
+        });
+    }
+
+    /**
+     * Must only be called once all content has streamed through.
+     *
+     * @return The encoding the content was stored with, or null if it was stored as is
+     */
+    public String getEncoding() {
+        return encoding;
+    }
+
+    private boolean isWorthEncoding(DataBuffer first) {
+        int available = first.readableByteCount();
+        if (available < minSize) {
+            return false;
+        }
+        byte[] sample = new byte[Math.min(available, probeSize)];
+        int length = 0;
+        try (DataBuffer.ByteBufferIterator iterator = first.readableByteBuffers()) {
+            while (iterator.hasNext() && length < sample.length) {
+                ByteBuffer byteBuffer = iterator.next();
+                int count = Math.min(byteBuffer.remaining(), sample.length - length);
+                byteBuffer.get(sample, length, count);
+                length += count;
+            }
+        }
+        return compression.isWorthCompressing(sample, length, maxRatio);
+    }
+}
@@ -0,0 +1,471 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Chunked AES-GCM encryption of content at rest.
+ *
+ * Every encrypted stream gets its own data key from the {@link ContentKeyProvider}, stored in
+ * encrypted form in the header of the stream. The content is cut into chunks of a fixed
+ * plaintext size that are sealed independently, each with a nonce made of a random prefix and
+ * the chunk index. The last chunk is marked in its associated data, so reordered, truncated or
+ * extended streams fail authentication. As the position of every chunk follows from its index,
+ * byte ranges are decrypted from the chunks they overlap only.
+ *
+ * Each stream reuses one cipher and one chunk array, so the only allocation per chunk is the
+ * buffer handed downstream.
+ */
+@Component
+public class ContentEncryption {
+
+    /**
+     * Upper bound of the header length, so byte ranges can read the header with a single request
+     */
+    static final int MAX_HEADER_LENGTH = 1024;
+
+    private static final byte[] MAGIC = {'F', 'F', 'C', 'E'};
+    private static final byte FORMAT_VERSION = 1;
+    // Magic, format version, chunk size, nonce prefix and the lengths of the key ID and encrypted key
+    private static final int FIXED_HEADER_LENGTH = MAGIC.length + 1 + Integer.BYTES + 8 + 2 * Short.BYTES;
+    private static final int NONCE_PREFIX_LENGTH = 8;
+    private static final int NONCE_LENGTH = 12;
+    private static final int TAG_LENGTH = 16;
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final byte[] INTERMEDIATE_CHUNK = {0};
+    private static final byte[] FINAL_CHUNK = {1};
+    private static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    private final EcmContentProperties contentProperties;
+    private final ContentKeyProvider keyProvider;
+    private final SecureRandom random = new SecureRandom();
+
+    public ContentEncryption(EcmContentProperties contentProperties, ContentKeyProvider keyProvider) {
+        this.contentProperties = contentProperties;
+        this.keyProvider = keyProvider;
+    }
+
+    /**
+     * Create an encryptor for a single upload.
+     *
+     * @return A new encryptor
+     */
+    public ContentEncryptor newEncryptor() {
+        return new ContentEncryptor(this);
+    }
+
+    /**
+     * Encrypt a content stream with a new data key.
+     *
+     * @param content The content stream, whose buffers are released once encrypted
+     * @param dataKey The data key of the stream
+     * @return The encrypted stream, starting with its header
+     */
+    Flux<DataBuffer> encrypt(Flux<DataBuffer> content, ContentKeyProvider.DataKey dataKey) {
+        return Flux.defer(() -> {
+                    byte[] noncePrefix = new byte[NONCE_PREFIX_LENGTH];
+                    random.nextBytes(noncePrefix);
+                    Header header = new Header(getChunkSize(), noncePrefix, dataKey.keyId(), dataKey.encryptedKey());
+                    ChunkSealer sealer = new ChunkSealer(header, dataKey.key());
+                    return Flux.concat(
+                            Mono.fromSupplier(() -> wrap(header.toBytes())),
+                            content.concatMapIterable(sealer::update),
+                            Mono.fromSupplier(sealer::finish));
+                })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * Generate the data key of a new encrypted stream.
+     *
+     * @return A Mono emitting the data key
+     */
+    Mono<ContentKeyProvider.DataKey> generateDataKey() {
+        return keyProvider.generateDataKey();
+    }
+
+    /**
+     * Decrypt a complete encrypted stream.
+     *
+     * @param stored The encrypted stream, whose buffers are released once decrypted
+     * @return The decrypted content stream
+     */
+    public Flux<DataBuffer> decrypt(Flux<DataBuffer> stored) {
+        return Flux.defer(() -> {
+                    StreamDecryption decryption = new StreamDecryption();
+                    return stored.concatMap(decryption::update)
+                            .concatWith(Flux.defer(decryption::finish));
+                })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * Decrypt a byte range of encrypted content, reading only the header and the chunks the
+     * range overlaps.
+     *
+     * @param stored Reader of byte ranges of the encrypted stream
+     * @param size The size of the decrypted content, or null if unknown
+     * @param offset The zero-based offset of the first decrypted byte
+     * @param length The number of decrypted bytes
+     * @return A Flux of DataBuffer containing the requested range of the decrypted content
+     */
+    public Flux<DataBuffer> decryptRange(BiFunction<Long, Long, Flux<DataBuffer>> stored, Long size,
+                                         long offset, long length) {
+        if (size == null) {
+            Flux<DataBuffer> content = decrypt(stored.apply(0L, Long.MAX_VALUE));
+            return length == Long.MAX_VALUE
+                    ? DataBufferUtils.skipUntilByteCount(content, offset)
+                    : DataBufferUtils.takeUntilByteCount(DataBufferUtils.skipUntilByteCount(content, offset), length);
+        }
+        if (offset >= size || length <= 0) {
+            return Flux.empty();
+        }
+        long end = offset + Math.min(length, size - offset);
+        return DataBufferUtils.join(stored.apply(0L, (long) MAX_HEADER_LENGTH))
+                .map(buffer -> {
+                    try {
+                        byte[] bytes = new byte[buffer.readableByteCount()];
+                        buffer.read(bytes);
+                        Header header = Header.parse(bytes, bytes.length);
+                        if (header == null) {
+                            throw new IllegalStateException("Encrypted content header is truncated");
+                        }
+                        return header;
+                    } finally {
+                        DataBufferUtils.release(buffer);
+                    }
+                })
+                .flatMapMany(header -> keyProvider.decryptDataKey(header.keyId(), header.encryptedKey())
+                        .flatMapMany(key -> {
+                            long chunkSize = header.chunkSize();
+                            long sealedChunkSize = chunkSize + TAG_LENGTH;
+                            long first = offset / chunkSize;
+                            long last = (end - 1) / chunkSize;
+                            long finalIndex = size == 0 ? 0 : (size - 1) / chunkSize;
+                            ChunkOpener opener = new ChunkOpener(header, key, first, finalIndex);
+                            Flux<DataBuffer> chunks = stored.apply(header.length() + first * sealedChunkSize,
+                                            (last - first + 1) * sealedChunkSize)
+                                    .concatMapIterable(opener::update)
+                                    .concatWith(Flux.defer(() -> Flux.fromIterable(opener.finish())));
+                            return DataBufferUtils.takeUntilByteCount(
+                                    DataBufferUtils.skipUntilByteCount(chunks, offset - first * chunkSize), end - offset);
+                        }))
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    private int getChunkSize() {
+        Integer chunkSize = contentProperties.getEncryption().getChunkSize();
+        return chunkSize != null && chunkSize > 0 ? chunkSize : DEFAULT_CHUNK_SIZE;
+    }
+
+    private static Cipher newCipher() {
+        try {
+            return Cipher.getInstance(CIPHER);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES-GCM is not available", e);
+        }
+    }
+
+    private static DataBuffer wrap(byte[] bytes) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(bytes);
+    }
+
+    /**
+     * Header of an encrypted stream.
+     */
+    record Header(int chunkSize, byte[] noncePrefix, String keyId, byte[] encryptedKey) {
+
+        int length() {
+            return FIXED_HEADER_LENGTH + keyId.getBytes(StandardCharsets.UTF_8).length + encryptedKey.length;
+        }
+
+        byte[] toBytes() {
+            byte[] keyIdBytes = keyId.getBytes(StandardCharsets.UTF_8);
+            if (keyIdBytes.length > Short.MAX_VALUE || length() > MAX_HEADER_LENGTH) {
+                throw new IllegalStateException("Key ID and encrypted data key do not fit the encrypted content header");
+            }
+            return ByteBuffer.allocate(length())
+                    .put(MAGIC)
+                    .put(FORMAT_VERSION)
+                    .putInt(chunkSize)
+                    .put(noncePrefix)
+                    .putShort((short) keyIdBytes.length)
+                    .put(keyIdBytes)
+                    .putShort((short) encryptedKey.length)
+                    .put(encryptedKey)
+                    .array();
+        }
+
+        /**
+         * @return The header, or null if the given bytes do not hold all of it yet
+         */
+        static Header parse(byte[] bytes, int available) {
+            if (available < FIXED_HEADER_LENGTH - Short.BYTES) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, available);
+            byte[] magic = new byte[MAGIC.length];
+            buffer.get(magic);
+            if (!Arrays.equals(magic, MAGIC) || buffer.get() != FORMAT_VERSION) {
+                throw new IllegalStateException("Stored content is not in the expected encrypted format");
+            }
+            int chunkSize = buffer.getInt();
+            if (chunkSize <= 0) {
+                throw new IllegalStateException("Encrypted content header is corrupt");
+            }
+            byte[] noncePrefix = new byte[NONCE_PREFIX_LENGTH];
+            buffer.get(noncePrefix);
+            int keyIdLength = buffer.getShort() & 0xffff;
+            if (FIXED_HEADER_LENGTH + keyIdLength > MAX_HEADER_LENGTH) {
+                throw new IllegalStateException("Encrypted content header is corrupt");
+            }
+            if (buffer.remaining() < keyIdLength + Short.BYTES) {
+                return null;
+            }
+            byte[] keyId = new byte[keyIdLength];
+            buffer.get(keyId);
+            int encryptedKeyLength = buffer.getShort() & 0xffff;
+            if (FIXED_HEADER_LENGTH + keyIdLength + encryptedKeyLength > MAX_HEADER_LENGTH) {
+                throw new IllegalStateException("Encrypted content header is corrupt");
+            }
+            if (buffer.remaining() < encryptedKeyLength) {
+                return null;
+            }
+            byte[] encryptedKey = new byte[encryptedKeyLength];
+            buffer.get(encryptedKey);
+            return new Header(chunkSize, noncePrefix, new String(keyId, StandardCharsets.UTF_8), encryptedKey);
+        }
+    }
+
+    /**
+     * Per-stream AES-GCM state shared by sealing and opening.
+     */
+    private abstract static class ChunkCipher {
+
+        private final Cipher cipher = newCipher();
+        private final SecretKey key;
+        private final byte[] nonce = new byte[NONCE_LENGTH];
+        final byte[] chunk;
+        int chunkLength;
+        long index;
+
+        ChunkCipher(Header header, SecretKey key, int chunkCapacity, long firstIndex) {
+            this.key = key;
+            this.chunk = new byte[chunkCapacity];
+            this.index = firstIndex;
+            System.arraycopy(header.noncePrefix(), 0, nonce, 0, NONCE_PREFIX_LENGTH);
+        }
+
+        /**
+         * Seal or open the pending chunk into a new buffer of the given length.
+         */
+        DataBuffer process(int mode, boolean last, int outputLength) {
+            if (index > 0xffffffffL) {
+                throw new IllegalStateException("Encrypted content exceeds the maximum number of chunks");
+            }
+            ByteBuffer.wrap(nonce, NONCE_PREFIX_LENGTH, Integer.BYTES).putInt((int) index);
+            byte[] output = new byte[outputLength];
+            try {
+                cipher.init(mode, key, new GCMParameterSpec(TAG_LENGTH * 8, nonce));
+                cipher.updateAAD(last ? FINAL_CHUNK : INTERMEDIATE_CHUNK);
+                cipher.doFinal(chunk, 0, chunkLength, output, 0);
+            } catch (AEADBadTagException e) {
+                throw new IllegalStateException("Encrypted content failed authentication: it is corrupt, truncated "
+                        + "or was encrypted with another key", e);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Failed to process encrypted content chunk " + index, e);
+            }
+            index++;
+            chunkLength = 0;
+            return wrap(output);
+        }
+    }
+
+    /**
+     * Encryption state of a single content stream. A full chunk is only sealed once more content
+     * arrives, so the last chunk is always known when it is sealed.
+     */
+    private static final class ChunkSealer extends ChunkCipher {
+
+        ChunkSealer(Header header, SecretKey key) {
+            super(header, key, header.chunkSize(), 0);
+        }
+
+        List<DataBuffer> update(DataBuffer buffer) {
+            List<DataBuffer> sealed = List.of();
+            try {
+                while (buffer.readableByteCount() > 0) {
+                    if (chunkLength == chunk.length) {
+                        sealed = append(sealed, process(Cipher.ENCRYPT_MODE, false, chunkLength + TAG_LENGTH));
+                    }
+                    int count = Math.min(chunk.length - chunkLength, buffer.readableByteCount());
+                    buffer.read(chunk, chunkLength, count);
+                    chunkLength += count;
+                }
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+            return sealed;
+        }
+
+        DataBuffer finish() {
+            // Empty content is sealed as a single empty chunk, so it still authenticates
+            return process(Cipher.ENCRYPT_MODE, true, chunkLength + TAG_LENGTH);
+        }
+    }
+
+    /**
+     * Decryption state of a run of consecutive chunks.
+     */
+    private static final class ChunkOpener extends ChunkCipher {
+
+        private final long finalIndex;
+        private boolean opened;
+        private boolean finished;
+
+        /**
+         * @param firstIndex The index of the first chunk of the run
+         * @param finalIndex The index of the last chunk of the content, or -1 if the run ends with it
+         */
+        ChunkOpener(Header header, SecretKey key, long firstIndex, long finalIndex) {
+            super(header, key, header.chunkSize() + TAG_LENGTH, firstIndex);
+            this.finalIndex = finalIndex;
+        }
+
+        List<DataBuffer> update(DataBuffer buffer) {
+            try {
+                return update(buffer, List.of());
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        List<DataBuffer> update(DataBuffer buffer, List<DataBuffer> plain) {
+            while (buffer.readableByteCount() > 0) {
+                if (chunkLength == chunk.length) {
+                    plain = append(plain, open(finalIndex >= 0 && index == finalIndex));
+                }
+                if (finished) {
+                    throw new IllegalStateException("Encrypted content continues after its last chunk");
+                }
+                int count = Math.min(chunk.length - chunkLength, buffer.readableByteCount());
+                buffer.read(chunk, chunkLength, count);
+                chunkLength += count;
+            }
+            return plain;
+        }
+
+        List<DataBuffer> finish() {
+            if (chunkLength == 0) {
+                if (!opened) {
+                    throw new IllegalStateException("Encrypted content is truncated");
+                }
+                return List.of();
+            }
+            if (chunkLength < TAG_LENGTH) {
+                throw new IllegalStateException("Encrypted content is truncated");
+            }
+            return List.of(open(finalIndex < 0 || index == finalIndex));
+        }
+
+        private DataBuffer open(boolean last) {
+            DataBuffer plain = process(Cipher.DECRYPT_MODE, last, chunkLength - TAG_LENGTH);
+            opened = true;
+            finished = last;
+            return plain;
+        }
+    }
+
+    /**
+     * Decryption state of a complete stream, whose header precedes the chunks.
+     */
+    private final class StreamDecryption {
+
+        private final byte[] header = new byte[MAX_HEADER_LENGTH];
+        private int headerLength;
+        private ChunkOpener opener;
+
+        Flux<DataBuffer> update(DataBuffer buffer) {
+            if (opener != null) {
+                return Flux.fromIterable(opener.update(buffer));
+            }
+            try {
+                int count = Math.min(header.length - headerLength, buffer.readableByteCount());
+                buffer.read(header, headerLength, count);
+                headerLength += count;
+                Header parsed = Header.parse(header, headerLength);
+                if (parsed == null) {
+                    if (buffer.readableByteCount() > 0) {
+                        throw new IllegalStateException("Encrypted content header is corrupt");
+                    }
+                    DataBufferUtils.release(buffer);
+                    return Flux.empty();
+                }
+                DataBuffer rest = wrap(Arrays.copyOfRange(header, parsed.length(), headerLength));
+                DataBuffer remaining = buffer;
+                return keyProvider.decryptDataKey(parsed.keyId(), parsed.encryptedKey())
+                        .flatMapIterable(key -> {
+                            opener = new ChunkOpener(parsed, key, 0, -1);
+                            List<DataBuffer> plain = opener.update(rest, List.of());
+                            try {
+                                return opener.update(remaining, plain);
+                            } finally {
+                                DataBufferUtils.release(remaining);
+                            }
+                        })
+                        .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+            } catch (RuntimeException e) {
+                DataBufferUtils.release(buffer);
+                throw e;
+            }
+        }
+
+        Flux<DataBuffer> finish() {
+            if (opener == null) {
+                return Flux.error(new IllegalStateException("Encrypted content header is truncated"));
+            }
+            return Flux.fromIterable(opener.finish());
+        }
+    }
+
+    private static List<DataBuffer> append(List<DataBuffer> buffers, DataBuffer buffer) {
+        List<DataBuffer> appended = buffers.isEmpty() ? new ArrayList<>(2) : buffers;
+        appended.add(buffer);
+        return appended;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+
+/**
+ * Encrypts a single upload with a new data key.
+ *
+ * Like {@link ContentEncoder}, the outcome is available once the content has streamed through.
+ */
+public final class ContentEncryptor {
+
+    private final ContentEncryption encryption;
+    private volatile String keyId;
+
+    ContentEncryptor(ContentEncryption encryption) {
+        this.encryption = encryption;
+    }
+
+    /**
+     * Attach the encryptor to a content stream.
+     *
+     * @param content The content stream
+     * @return The encrypted stream as it is to be stored
+     */
+    public Flux<DataBuffer> encrypt(Flux<DataBuffer> content) {
+        return encryption.generateDataKey()
+                .flatMapMany(dataKey -> {
+                    keyId = dataKey.keyId();
+                    return encryption.encrypt(content, dataKey);
+                });
+    }
+
+    /**
+     * Must only be called once all content has streamed through.
+     *
+     * @return The ID of the master key the data key is encrypted with
+     */
+    public String getKeyId() {
+        return keyId;
+    }
+}
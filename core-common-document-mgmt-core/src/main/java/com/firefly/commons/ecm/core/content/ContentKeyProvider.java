@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import reactor.core.publisher.Mono;
+
+import javax.crypto.SecretKey;
+
+/**
+ * Source of the data keys content is encrypted with.
+ *
+ * Every encrypted content stream gets its own data key. The data key is stored next to the
+ * content encrypted by a master key that never leaves the provider, so a key management
+ * service can stand in for the local provider without changing stored content.
+ */
+public interface ContentKeyProvider {
+
+    /**
+     * Generate a new data key, encrypted by the active master key.
+     *
+     * @return A Mono emitting the data key in plain and encrypted form
+     */
+    Mono<DataKey> generateDataKey();
+
+    /**
+     * Decrypt a data key stored with encrypted content.
+     *
+     * @param keyId The ID of the master key the data key was encrypted with
+     * @param encryptedKey The encrypted data key
+     * @return A Mono emitting the data key
+     */
+    Mono<SecretKey> decryptDataKey(String keyId, byte[] encryptedKey);
+
+    /**
+     * A data key together with its encrypted form.
+     *
+     * @param keyId The ID of the master key the data key is encrypted with
+     * @param key The data key
+     * @param encryptedKey The data key encrypted by the master key
+     */
+    record DataKey(String keyId, SecretKey key, byte[] encryptedKey) {
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import lombok.With;
+
+import java.util.UUID;
+
+/**
+ * Reference to stored content being downloaded.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ContentReference {
+
+    /**
+     * ID the content is stored under in the content port
+     */
+    UUID contentId;
+
+    /**
+     * Hex encoded checksum of the content, or null if unknown
+     */
+    String checksum;
+
+    /**
+     * Size of the content in bytes, or null if unknown
+     */
+    Long size;
+
+    /**
+     * Record version of the owning document or version, or null if unknown
+     */
+    Long version;
+
+    /**
+     * Encoding the content is stored with, such as gzip, or null if it is stored as uploaded
+     */
+    String encoding;
+
+    /**
+     * Whether the content is stored encrypted by {@link ContentEncryption}
+     */
+    @With
+    boolean encrypted;
+
+    public static ContentReference of(UUID contentId, String checksum, Long size, Long version) {
+        return new ContentReference(contentId, checksum, size, version, null, false);
+    }
+
+    public static ContentReference of(UUID contentId, String checksum, Long size, Long version, String encoding) {
+        return new ContentReference(contentId, checksum, size, version, encoding, false);
+    }
+}
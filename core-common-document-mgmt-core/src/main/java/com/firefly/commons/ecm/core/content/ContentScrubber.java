@@ -0,0 +1,360 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.interfaces.enums.ContentIntegrityProblem;
+import com.firefly.commons.ecm.interfaces.enums.StorageType;
+import com.firefly.commons.ecm.models.entities.ContentBlob;
+import com.firefly.commons.ecm.models.entities.ContentIntegrityFinding;
+import com.firefly.commons.ecm.models.entities.Document;
+import com.firefly.commons.ecm.models.entities.DocumentVersion;
+import com.firefly.commons.ecm.models.entities.ScrubCheckpoint;
+import com.firefly.commons.ecm.models.repositories.ContentBlobRepository;
+import com.firefly.commons.ecm.models.repositories.ContentIntegrityFindingRepository;
+import com.firefly.commons.ecm.models.repositories.DocumentRepository;
+import com.firefly.commons.ecm.models.repositories.DocumentVersionRepository;
+import com.firefly.commons.ecm.models.repositories.ScrubCheckpointRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.ecm.port.document.DocumentContentPort;
+import org.fireflyframework.ecm.service.EcmPortProvider;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.FileNotFoundException;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Verifies in the background that stored content still matches its recorded checksum.
+ *
+ * Documents and versions with a checksum are walked in ID order, a batch at a time. Their
+ * content is read straight from storage, bypassing the cache, decrypted and decoded, and its
+ * checksum and size are compared with the recorded ones. Problems are recorded in
+ * {@code content_integrity_findings}, and a finding is removed once its content verifies again.
+ *
+ * Reads share a budget of bytes per second. The last ID verified is saved in
+ * {@code scrub_checkpoints} after every batch, and a run stops once its time is up, so scrubbing
+ * a large store is spread over several runs outside peak hours. The checkpoint row also holds
+ * a lease, so only one instance scrubs a table at a time.
+ *
+ * Verified items, bytes read and completed passes are published to Micrometer as
+ * {@code ecm.content.scrub.items}, {@code ecm.content.scrub.bytes} and {@code ecm.content.scrub.passes}.
+ */
+@Slf4j
+@Component
+public class ContentScrubber {
+
+    static final String DOCUMENTS = "documents";
+    static final String DOCUMENT_VERSIONS = "document_versions";
+
+    private static final String METRIC_PREFIX = "ecm.content.scrub";
+    private static final UUID FIRST_ID = new UUID(0, 0);
+    private static final Duration LEASE_GRACE = Duration.ofMinutes(15);
+    // Passes in progress are resumed first, then the table verified longest ago is started
+    private static final Comparator<ScrubCheckpoint> RESUME_ORDER = Comparator
+            .comparing((ScrubCheckpoint checkpoint) -> checkpoint.getLastId() == null)
+            .thenComparing(ScrubCheckpoint::getLastPassCompletedAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final EcmContentProperties contentProperties;
+    private final DocumentRepository documentRepository;
+    private final DocumentVersionRepository versionRepository;
+    private final ContentBlobRepository blobRepository;
+    private final ScrubCheckpointRepository checkpointRepository;
+    private final ContentIntegrityFindingRepository findingRepository;
+    private final EcmPortProvider ecmPortProvider;
+    private final LocalFilesystemContentEngine localContentEngine;
+    private final ContentDownloadPipeline contentDownloadPipeline;
+    private final ChunkedVersionStore chunkedVersionStore;
+    private final MeterRegistry meterRegistry;
+    private final String owner = UUID.randomUUID().toString();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ContentScrubber(EcmContentProperties contentProperties, DocumentRepository documentRepository,
+                           DocumentVersionRepository versionRepository, ContentBlobRepository blobRepository,
+                           ScrubCheckpointRepository checkpointRepository, ContentIntegrityFindingRepository findingRepository,
+                           EcmPortProvider ecmPortProvider, LocalFilesystemContentEngine localContentEngine,
+                           ContentDownloadPipeline contentDownloadPipeline, ChunkedVersionStore chunkedVersionStore,
+                           Optional<MeterRegistry> meterRegistry) {
+        this.contentProperties = contentProperties;
+        this.documentRepository = documentRepository;
+        this.versionRepository = versionRepository;
+        this.blobRepository = blobRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.findingRepository = findingRepository;
+        this.ecmPortProvider = ecmPortProvider;
+        this.localContentEngine = localContentEngine;
+        this.contentDownloadPipeline = contentDownloadPipeline;
+        this.chunkedVersionStore = chunkedVersionStore;
+        this.meterRegistry = meterRegistry.orElseGet(SimpleMeterRegistry::new);
+        Gauge.builder(METRIC_PREFIX + ".running", running, flag -> flag.get() ? 1 : 0)
+                .description("Whether a content scrub is running on this instance")
+                .register(this.meterRegistry);
+    }
+
+    /**
+     * Whether the content scrubber is enabled.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(contentProperties.getScrub().getEnabled());
+    }
+
+    /**
+     * Start a scrub run unless one is still running on this instance. The run continues in the background.
+     */
+    @Scheduled(cron = "${firefly.ecm.integration.content.scrub.cron:0 0 1 * * *}")
+    public void scheduledScrub() {
+        if (!isEnabled()) {
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.info("Previous content scrub is still running, skipping this run");
+            return;
+        }
+        scrub()
+                .doFinally(signal -> running.set(false))
+                .subscribe(verified -> log.info("Content scrub run verified {} item(s)", verified),
+                        error -> log.warn("Content scrub run failed: {}", error.getMessage()));
+    }
+
+    /**
+     * Verify stored content, resuming from the last checkpoints, until every table has completed
+     * a pass or the configured time is up.
+     *
+     * @return A Mono emitting the number of documents and versions verified
+     */
+    public Mono<Long> scrub() {
+        LocalDateTime deadline = LocalDateTime.now().plus(contentProperties.getScrub().getMaxDuration());
+        ByteRateLimiter rateLimiter = new ByteRateLimiter(getBytesPerSecond());
+        return checkpointRepository.findAll()
+                .filter(checkpoint -> DOCUMENTS.equals(checkpoint.getTarget()) || DOCUMENT_VERSIONS.equals(checkpoint.getTarget()))
+                .sort(RESUME_ORDER)
+                .concatMap(checkpoint -> scrubTarget(checkpoint.getTarget(), deadline, rateLimiter))
+                .reduce(0L, Long::sum);
+    }
+
+    private Mono<Long> scrubTarget(String target, LocalDateTime deadline, ByteRateLimiter rateLimiter) {
+        if (!LocalDateTime.now().isBefore(deadline)) {
+            return Mono.just(0L);
+        }
+        AtomicLong verified = new AtomicLong();
+        return checkpointRepository.claim(target, owner, deadline.plus(LEASE_GRACE))
+                .filter(claimed -> claimed > 0)
+                .switchIfEmpty(Mono.fromRunnable(() -> log.info("Content scrub of {} is running on another instance", target)))
+                // Read the checkpoint again, another instance may have moved it since
+                .flatMap(claimed -> checkpointRepository.findById(target))
+                .flatMap(checkpoint -> {
+                    UUID afterId = checkpoint.getLastId() != null ? checkpoint.getLastId() : FIRST_ID;
+                    log.info("Content scrub of {} starting after ID: {}", target, afterId);
+                    return walk(target, afterId, deadline, rateLimiter, verified)
+                            .onErrorResume(error -> {
+                                log.warn("Content scrub of {} stopped: {}", target, error.getMessage());
+                                return Mono.empty();
+                            })
+                            .then(checkpointRepository.release(target, owner));
+                })
+                .then(Mono.fromSupplier(verified::get));
+    }
+
+    private Mono<Void> walk(String target, UUID afterId, LocalDateTime deadline, ByteRateLimiter rateLimiter,
+                            AtomicLong verified) {
+        if (!LocalDateTime.now().isBefore(deadline)) {
+            log.info("Content scrub of {} ran out of time, the next run resumes after ID: {}", target, afterId);
+            return Mono.empty();
+        }
+        return nextBatch(target, afterId)
+                .collectList()
+                .flatMap(items -> {
+                    if (items.isEmpty()) {
+                        log.info("Content scrub of {} completed a pass", target);
+                        meterRegistry.counter(METRIC_PREFIX + ".passes", "target", target).increment();
+                        return checkpointRepository.completePass(target, owner).then();
+                    }
+                    UUID lastId = items.get(items.size() - 1).targetId();
+                    return Flux.fromIterable(items)
+                            .flatMap(item -> verify(item, rateLimiter), getParallelism())
+                            .doOnNext(item -> verified.incrementAndGet())
+                            .then(checkpointRepository.saveProgress(target, owner, lastId))
+                            .flatMap(saved -> saved > 0
+                                    ? walk(target, lastId, deadline, rateLimiter, verified)
+                                    : Mono.error(new IllegalStateException("Content scrub lease of " + target + " was lost")));
+                });
+    }
+
+    private Flux<ScrubItem> nextBatch(String target, UUID afterId) {
+        int batchSize = getBatchSize();
+        return DOCUMENTS.equals(target)
+                ? documentRepository.findWithChecksumAfter(afterId, batchSize).map(ContentScrubber::itemOf)
+                : versionRepository.findWithChecksumAfter(afterId, batchSize).map(ContentScrubber::itemOf);
+    }
+
+    private Mono<ScrubItem> verify(ScrubItem item, ByteRateLimiter rateLimiter) {
+        Optional<DocumentContentPort> port = localContentEngine.resolvePort(item.storageType(), ecmPortProvider.getDocumentContentPort());
+        if (port.isEmpty()) {
+            log.debug("No content port for {} ID: {}, skipping", item.target(), item.targetId());
+            return Mono.just(item);
+        }
+        return algorithmOf(item)
+                .map(ContentDigest::create)
+                .flatMap(digest -> rateLimiter.limit(read(port.get(), item))
+                        .doOnNext(buffer -> {
+                            digest.update(buffer);
+                            DataBufferUtils.release(buffer);
+                        })
+                        .then(Mono.fromSupplier(() -> check(item, digest)))
+                        .onErrorResume(error -> Mono.just(failure(item, error)))
+                        .doOnNext(finding -> meterRegistry.counter(METRIC_PREFIX + ".bytes", "target", item.target())
+                                .increment(digest.getSize())))
+                .flatMap(finding -> record(item, finding))
+                .onErrorResume(error -> {
+                    log.warn("Failed to verify content of {} ID {}: {}", item.target(), item.targetId(), error.getMessage());
+                    return Mono.just(item);
+                });
+    }
+
+    private Flux<DataBuffer> read(DocumentContentPort port, ScrubItem item) {
+        return item.chunked()
+                ? chunkedVersionStore.readFromStorage(port, item.targetId())
+                : contentDownloadPipeline.readFromStorage(port, item.content());
+    }
+
+    /**
+     * Deduplicated content is digested with the algorithm its blob records, other content with the configured one.
+     */
+    private Mono<String> algorithmOf(ScrubItem item) {
+        String configured = contentProperties.getDeduplication().getAlgorithm();
+        if (item.contentBlobId() == null) {
+            return Mono.just(configured);
+        }
+        return blobRepository.findById(item.contentBlobId())
+                .map(ContentBlob::getChecksumAlgorithm)
+                .defaultIfEmpty(configured);
+    }
+
+    private Optional<ContentIntegrityFinding> check(ScrubItem item, ContentDigest digest) {
+        ContentReference content = item.content();
+        if (content.getSize() != null && content.getSize() != digest.getSize()) {
+            // Some adapters return an empty stream rather than an error for content they do not hold
+            ContentIntegrityProblem problem = digest.getSize() == 0 ? ContentIntegrityProblem.MISSING : ContentIntegrityProblem.SIZE_MISMATCH;
+            return Optional.of(findingOf(item, problem, null, digest.getSize(), null));
+        }
+        String checksum = digest.getChecksum();
+        if (!checksum.equalsIgnoreCase(content.getChecksum())) {
+            return Optional.of(findingOf(item, ContentIntegrityProblem.CHECKSUM_MISMATCH, checksum, digest.getSize(), null));
+        }
+        return Optional.empty();
+    }
+
+    private Optional<ContentIntegrityFinding> failure(ScrubItem item, Throwable error) {
+        return Optional.of(findingOf(item, problemOf(error), null, null, error.getMessage()));
+    }
+
+    private static ContentIntegrityProblem problemOf(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof NoSuchFileException || cause instanceof FileNotFoundException) {
+                return ContentIntegrityProblem.MISSING;
+            }
+            String message = cause.getMessage() != null ? cause.getMessage().toLowerCase(Locale.ROOT) : "";
+            if (message.contains("not found") || message.contains("does not exist")) {
+                return ContentIntegrityProblem.MISSING;
+            }
+        }
+        return ContentIntegrityProblem.UNREADABLE;
+    }
+
+    private ContentIntegrityFinding findingOf(ScrubItem item, ContentIntegrityProblem problem, String actualChecksum,
+                                              Long actualSize, String message) {
+        return ContentIntegrityFinding.builder()
+                .target(item.target())
+                .targetId(item.targetId())
+                .contentId(item.content().getContentId())
+                .tenantId(item.tenantId())
+                .problem(problem)
+                .expectedChecksum(item.content().getChecksum())
+                .actualChecksum(actualChecksum)
+                .expectedSize(item.content().getSize())
+                .actualSize(actualSize)
+                .message(message != null && message.length() > 1000 ? message.substring(0, 1000) : message)
+                .detectedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private Mono<ScrubItem> record(ScrubItem item, Optional<ContentIntegrityFinding> finding) {
+        String result = finding.map(f -> f.getProblem().name().toLowerCase(Locale.ROOT)).orElse("ok");
+        meterRegistry.counter(METRIC_PREFIX + ".items", "target", item.target(), "result", result).increment();
+        Mono<Integer> cleared = findingRepository.deleteByTargetId(item.targetId());
+        if (finding.isEmpty()) {
+            return cleared.thenReturn(item);
+        }
+        log.warn("Content of {} ID {} failed verification: {}", item.target(), item.targetId(), finding.get().getProblem());
+        return cleared.then(findingRepository.save(finding.get())).thenReturn(item);
+    }
+
+    private static ScrubItem itemOf(Document document) {
+        UUID contentId = document.getContentBlobId() != null ? document.getContentBlobId() : document.getId();
+        return new ScrubItem(DOCUMENTS, document.getId(), document.getTenantId(), document.getStorageType(),
+                ContentReference.of(contentId, document.getChecksum(), document.getFileSize(), document.getVersion(),
+                                document.getContentEncoding())
+                        .withEncrypted(document.getEncryptionKeyId() != null),
+                document.getContentBlobId(), false);
+    }
+
+    private static ScrubItem itemOf(DocumentVersion version) {
+        UUID contentId = version.getContentBlobId() != null ? version.getContentBlobId() : version.getId();
+        return new ScrubItem(DOCUMENT_VERSIONS, version.getId(), version.getTenantId(), version.getStorageType(),
+                ContentReference.of(contentId, version.getChecksum(), version.getFileSize(), version.getVersion(),
+                                version.getContentEncoding())
+                        .withEncrypted(version.getEncryptionKeyId() != null),
+                version.getContentBlobId(), Boolean.TRUE.equals(version.getChunked()));
+    }
+
+    private long getBytesPerSecond() {
+        Long bytesPerSecond = contentProperties.getScrub().getBytesPerSecond();
+        return bytesPerSecond != null ? bytesPerSecond : 0;
+    }
+
+    private int getParallelism() {
+        Integer parallelism = contentProperties.getScrub().getParallelism();
+        return parallelism != null && parallelism > 0 ? parallelism : 1;
+    }
+
+    private int getBatchSize() {
+        Integer batchSize = contentProperties.getScrub().getBatchSize();
+        return batchSize != null && batchSize > 0 ? batchSize : 100;
+    }
+
+    private record ScrubItem(String target, UUID targetId, String tenantId, StorageType storageType,
+                             ContentReference content, UUID contentBlobId, boolean chunked) {
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.ecm.port.document.DocumentContentPort;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Moves uploaded content from the HTTP layer into an ECM content port.
+ *
+ * Large content is uploaded in parallel parts to adapters implementing
+ * {@link MultipartContentPort}. Other content is streamed with bounded prefetch to adapters implementing
+ * {@link StreamingContentPort}, so peak memory per upload is a few buffers. Adapters that
+ * only accept a byte array are served through the {@link UploadStagingArea}, which keeps
+ * small uploads on the heap and spools large ones to disk.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentUploadPipeline {
+
+    private final EcmContentProperties contentProperties;
+    private final UploadStagingArea stagingArea;
+    private final MultipartUploadOrchestrator multipartOrchestrator;
+
+    /**
+     * Store content through the given port, streaming it when the adapter supports it.
+     *
+     * @param port The ECM content port
+     * @param contentId The ID the content is stored under
+     * @param content The content stream
+     * @param mimeType The MIME type of the content
+     * @param contentLength The content length in bytes, or null if unknown
+     * @return A Mono emitting the storage path of the stored content
+     */
+    public Mono<String> store(DocumentContentPort port, UUID contentId, Flux<DataBuffer> content,
+                              String mimeType, Long contentLength) {
+        if (supportsMultipart(port)) {
+            MultipartContentPort multipartPort = (MultipartContentPort) port;
+            if (multipartOrchestrator.appliesTo(contentLength)) {
+                log.debug("Uploading content for ID: {} in parallel parts", contentId);
+                return multipartOrchestrator.upload(multipartPort, contentId, content, mimeType);
+            }
+            if (contentLength == null) {
+                return multipartOrchestrator.upload(multipartPort, contentId, content, mimeType,
+                        (whole, length) -> storeWhole(port, contentId, whole, mimeType, length));
+            }
+        }
+        return storeWhole(port, contentId, content, mimeType, contentLength);
+    }
+
+    private Mono<String> storeWhole(DocumentContentPort port, UUID contentId, Flux<DataBuffer> content,
+                                    String mimeType, Long contentLength) {
+        if (supportsStreaming(port)) {
+            StreamingContentPort streamingPort = (StreamingContentPort) port;
+            if (contentLength == null && streamingPort.requiresContentLength() && stagingArea.isEnabled()) {
+                log.debug("Adapter requires a content length, staging content for ID: {}", contentId);
+                return Mono.usingWhen(
+                        stagingArea.stage(content),
+                        staged -> streamingPort.storeContentStream(contentId, staged.content(), mimeType, staged.size()),
+                        StagedContent::release);
+            }
+
+            log.debug("Streaming content for ID: {} to adapter with prefetch {}", contentId, getPrefetch());
+            Flux<DataBuffer> boundedContent = content
+                    .limitRate(getPrefetch())
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+            return streamingPort.storeContentStream(contentId, boundedContent, mimeType, contentLength);
+        }
+
+        log.debug("Adapter does not support streaming, handing over content for ID: {} as a byte array", contentId);
+        return withByteArray(content, bytes -> port.storeContent(contentId, bytes, mimeType));
+    }
+
+    /**
+     * Hand a content stream over as a byte array to an adapter that cannot consume a stream.
+     * Large content is spooled to disk first so only a bounded number of uploads are
+     * materialized on the heap at the same time.
+     *
+     * @param content The content stream
+     * @param consumer The function consuming the bytes
+     * @return A Mono emitting the consumer result
+     */
+    public <T> Mono<T> withByteArray(Flux<DataBuffer> content, Function<byte[], Mono<T>> consumer) {
+        if (!stagingArea.isEnabled()) {
+            return toByteArray(content).flatMap(consumer);
+        }
+        return Mono.usingWhen(
+                stagingArea.stage(content),
+                staged -> stagingArea.materialize(staged, consumer),
+                StagedContent::release);
+    }
+
+    /**
+     * Materialize a content stream into a byte array, releasing every buffer.
+     * Only used for adapters that cannot consume a stream.
+     *
+     * @param content The content stream
+     * @return A Mono emitting the content bytes
+     */
+    public Mono<byte[]> toByteArray(Flux<DataBuffer> content) {
+        return DataBufferUtils.join(content)
+                .map(joined -> {
+                    try {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        return bytes;
+                    } finally {
+                        DataBufferUtils.release(joined);
+                    }
+                })
+                .defaultIfEmpty(new byte[0]);
+    }
+
+    /**
+     * Whether content is streamed to the given port rather than handed over as a byte array.
+     *
+     * @param port The ECM content port
+     * @return true if uploads to the port are streamed
+     */
+    public boolean supportsStreaming(DocumentContentPort port) {
+        return port instanceof StreamingContentPort && isStreamingEnabled();
+    }
+
+    /**
+     * Whether large content is uploaded to the given port in parallel parts.
+     *
+     * @param port The ECM content port
+     * @return true if large uploads to the port are split into parts
+     */
+    public boolean supportsMultipart(DocumentContentPort port) {
+        return port instanceof MultipartContentPort && multipartOrchestrator.isEnabled();
+    }
+
+    private boolean isStreamingEnabled() {
+        return !Boolean.FALSE.equals(contentProperties.getUpload().getStreamingEnabled());
+    }
+
+    private int getPrefetch() {
+        Integer prefetch = contentProperties.getUpload().getPrefetch();
+        return prefetch != null && prefetch > 0 ? prefetch : 1;
+    }
+}
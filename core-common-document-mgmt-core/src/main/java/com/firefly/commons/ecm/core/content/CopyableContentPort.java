@@ -0,0 +1,41 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Optional capability of a {@code DocumentContentPort} adapter that can copy stored content
+ * inside the storage backend, such as S3 CopyObject or Azure Copy Blob, without
+ * transferring the bytes through the application.
+ *
+ * Adapters implementing this interface are detected at runtime when documents are copied.
+ */
+public interface CopyableContentPort {
+
+    /**
+     * Copy stored content to a new content ID.
+     *
+     * @param sourceContentId The ID the content is stored under
+     * @param targetContentId The ID to store the copy under
+     * @return A Mono emitting the storage path of the copy
+     */
+    Mono<String> copyContent(UUID sourceContentId, UUID targetContentId);
+}
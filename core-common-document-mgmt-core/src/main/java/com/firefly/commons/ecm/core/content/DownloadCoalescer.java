@@ -0,0 +1,110 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent downloads of the same content into a single read from the content port.
+ *
+ * The first download of a piece of content opens the upstream stream. Downloads arriving while
+ * it is in flight join it: chunks already read are replayed to them and later chunks are fanned
+ * out as they arrive. Every download consumes the shared chunks at its own pace through its own
+ * buffers. The upstream read is cancelled once every download sharing it has gone away.
+ *
+ * Shared chunks stay on the heap until the last download completes, so only content up to the
+ * configured size is coalesced.
+ */
+@Slf4j
+@Component
+public class DownloadCoalescer {
+
+    private final EcmContentProperties contentProperties;
+    private final Map<String, Flux<byte[]>> inFlight = new ConcurrentHashMap<>();
+
+    public DownloadCoalescer(EcmContentProperties contentProperties) {
+        this.contentProperties = contentProperties;
+    }
+
+    /**
+     * Read content, sharing the read with concurrent downloads of the same content.
+     *
+     * @param content The content being read
+     * @param source Supplier of the content stream, invoked once per shared read
+     * @return A Flux of DataBuffer containing the content
+     */
+    public Flux<DataBuffer> read(ContentReference content, Supplier<Flux<DataBuffer>> source) {
+        if (!isCoalescable(content)) {
+            return source.get();
+        }
+        String key = keyOf(content);
+        return Flux.defer(() -> inFlight.computeIfAbsent(key, k -> share(k, source)))
+                .map(DefaultDataBufferFactory.sharedInstance::wrap);
+    }
+
+    /**
+     * @return The number of reads currently shared between downloads
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private Flux<byte[]> share(String key, Supplier<Flux<DataBuffer>> source) {
+        log.debug("Opening shared read of content {}", key);
+        AtomicReference<Flux<byte[]>> shared = new AtomicReference<>();
+        shared.set(Flux.defer(source)
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                // Later downloads start a new read instead of joining a finished or abandoned one
+                .doFinally(signal -> inFlight.remove(key, shared.get()))
+                .replay()
+                .refCount());
+        return shared.get();
+    }
+
+    private boolean isCoalescable(ContentReference content) {
+        EcmContentProperties.Coalescing coalescing = contentProperties.getCoalescing();
+        if (Boolean.FALSE.equals(coalescing.getEnabled()) || content.getSize() == null) {
+            return false;
+        }
+        if (content.getChecksum() == null && content.getVersion() == null) {
+            return false;
+        }
+        return coalescing.getMaxSize() == null || content.getSize() <= coalescing.getMaxSize();
+    }
+
+    private String keyOf(ContentReference content) {
+        return content.getContentId() + ":" + (content.getChecksum() != null ? content.getChecksum() : "v" + content.getVersion());
+    }
+}
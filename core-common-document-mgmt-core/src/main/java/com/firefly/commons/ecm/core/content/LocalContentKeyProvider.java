@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Content key provider backed by master keys from the application configuration.
+ *
+ * Data keys are 256-bit AES keys, encrypted with AES-GCM under the active master key and bound
+ * to its key ID. Retired master keys stay configured to decrypt content encrypted with them.
+ */
+@Component
+public class LocalContentKeyProvider implements ContentKeyProvider {
+
+    private static final String KEY_ALGORITHM = "AES";
+    private static final String KEY_CIPHER = "AES/GCM/NoPadding";
+    private static final int DATA_KEY_BITS = 256;
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+
+    private final EcmContentProperties contentProperties;
+    private final SecureRandom random = new SecureRandom();
+
+    public LocalContentKeyProvider(EcmContentProperties contentProperties) {
+        this.contentProperties = contentProperties;
+    }
+
+    @Override
+    public Mono<DataKey> generateDataKey() {
+        return Mono.fromCallable(() -> {
+            String keyId = contentProperties.getEncryption().getActiveKeyId();
+            if (keyId == null || keyId.isBlank()) {
+                throw new IllegalStateException("Content encryption requires an active master key to be configured");
+            }
+            SecretKey masterKey = masterKey(keyId);
+            KeyGenerator generator = KeyGenerator.getInstance(KEY_ALGORITHM);
+            generator.init(DATA_KEY_BITS, random);
+            SecretKey dataKey = generator.generateKey();
+
+            byte[] iv = new byte[IV_LENGTH];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(KEY_CIPHER);
+            cipher.init(Cipher.ENCRYPT_MODE, masterKey, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(keyId.getBytes(StandardCharsets.UTF_8));
+            byte[] sealed = cipher.doFinal(dataKey.getEncoded());
+
+            byte[] encryptedKey = Arrays.copyOf(iv, IV_LENGTH + sealed.length);
+            System.arraycopy(sealed, 0, encryptedKey, IV_LENGTH, sealed.length);
+            return new DataKey(keyId, dataKey, encryptedKey);
+        });
+    }
+
+    @Override
+    public Mono<SecretKey> decryptDataKey(String keyId, byte[] encryptedKey) {
+        return Mono.fromCallable(() -> {
+            if (encryptedKey.length <= IV_LENGTH) {
+                throw new IllegalStateException("Encrypted data key is truncated");
+            }
+            Cipher cipher = Cipher.getInstance(KEY_CIPHER);
+            cipher.init(Cipher.DECRYPT_MODE, masterKey(keyId), new GCMParameterSpec(TAG_BITS, encryptedKey, 0, IV_LENGTH));
+            cipher.updateAAD(keyId.getBytes(StandardCharsets.UTF_8));
+            try {
+                return new SecretKeySpec(cipher.doFinal(encryptedKey, IV_LENGTH, encryptedKey.length - IV_LENGTH), KEY_ALGORITHM);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Data key cannot be decrypted with master key " + keyId, e);
+            }
+        });
+    }
+
+    private SecretKey masterKey(String keyId) {
+        String encoded = contentProperties.getEncryption().getMasterKeys().get(keyId);
+        if (encoded == null) {
+            throw new IllegalStateException("Master key not found with ID: " + keyId);
+        }
+        byte[] key;
+        try {
+            key = Base64.getDecoder().decode(encoded.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Master key " + keyId + " is not Base64 encoded", e);
+        }
+        if (key.length != 16 && key.length != 24 && key.length != 32) {
+            throw new IllegalStateException("Master key " + keyId + " must be a 128, 192 or 256-bit AES key");
+        }
+        return new SecretKeySpec(key, KEY_ALGORITHM);
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.interfaces.enums.StorageType;
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.ecm.port.document.DocumentContentPort;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Built-in content engine storing document content on the local filesystem.
+ *
+ * Files are laid out under the configured root directory in shards derived from the
+ * content ID, for example {@code 3f/a2/3fa2...}, so no directory grows beyond a few hundred
+ * entries. Uploads are written through an {@link AsynchronousFileChannel} into a temporary
+ * file that is atomically moved into place, so readers never observe partial content.
+ * Downloads of local files can be sent with zero-copy transfer by the web layer.
+ *
+ * When enabled, content of {@link StorageType#LOCAL_FILESYSTEM} documents is routed here
+ * instead of to the ECM content port, and reads of any content are served locally whenever
+ * the engine holds it.
+ */
+@Slf4j
+@Component
+public class LocalFilesystemContentEngine {
+
+    private final EcmContentProperties contentProperties;
+
+    public LocalFilesystemContentEngine(EcmContentProperties contentProperties) {
+        this.contentProperties = contentProperties;
+    }
+
+    /**
+     * Whether the local filesystem engine is enabled.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(contentProperties.getLocal().getEnabled());
+    }
+
+    /**
+     * Whether content of the given storage type is written to the local store.
+     *
+     * @param storageType The storage type of the document or version, null meaning the schema default
+     * @return true if the engine is enabled and handles the storage type
+     */
+    public boolean isLocal(StorageType storageType) {
+        return isEnabled() && (storageType == null || storageType == StorageType.LOCAL_FILESYSTEM);
+    }
+
+    /**
+     * Select the content port for content of the given storage type.
+     *
+     * @param storageType The storage type of the document or version, null meaning the schema default
+     * @param ecmPort The ECM content port, if configured
+     * @return The local content port for local storage when the engine is enabled, otherwise the ECM port
+     */
+    public Optional<DocumentContentPort> resolvePort(StorageType storageType, Optional<DocumentContentPort> ecmPort) {
+        if (isLocal(storageType)) {
+            return Optional.of(new LocalFilesystemContentPort(this, ecmPort.orElse(null)));
+        }
+        return ecmPort;
+    }
+
+    /**
+     * Resolve the sharded file path for a content ID. The file does not need to exist.
+     *
+     * @param contentId The content ID
+     * @return The file path
+     */
+    public Path resolvePath(UUID contentId) {
+        EcmContentProperties.Local local = contentProperties.getLocal();
+        String hex = contentId.toString().replace("-", "");
+        int depth = Math.max(0, local.getShardDepth() != null ? local.getShardDepth() : 0);
+        int width = Math.max(1, local.getShardWidth() != null ? local.getShardWidth() : 1);
+
+        Path path = rootDirectory();
+        for (int level = 0; level < depth && (level + 1) * width <= hex.length(); level++) {
+            path = path.resolve(hex.substring(level * width, (level + 1) * width));
+        }
+        return path.resolve(contentId.toString());
+    }
+
+    /**
+     * Write content to the local store, replacing any previous content under the same ID.
+     *
+     * @param contentId The content ID
+     * @param content The content stream, released as it is written
+     * @return A Mono emitting the storage path of the written file
+     */
+    public Mono<String> write(UUID contentId, Flux<DataBuffer> content) {
+        Path target = resolvePath(contentId);
+        return Mono.fromCallable(() -> {
+                    Files.createDirectories(target.getParent());
+                    return target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(temporary -> DataBufferUtils.write(content, temporary, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)
+                        .then(Mono.fromCallable(() -> moveIntoPlace(temporary, target)).subscribeOn(Schedulers.boundedElastic()))
+                        .doOnError(error -> deleteQuietly(temporary))
+                        .doOnCancel(() -> deleteQuietly(temporary)))
+                .doOnSuccess(path -> log.debug("Stored content {} at {}", contentId, path))
+                .map(Path::toString);
+    }
+
+    /**
+     * Copy content inside the local store. The copy is a hard link where the filesystem supports
+     * it, which is safe because stored files are only ever replaced, never modified in place.
+     *
+     * @param source The file holding the content
+     * @param targetContentId The content ID of the copy
+     * @return A Mono emitting the storage path of the copy
+     */
+    public Mono<String> copy(Path source, UUID targetContentId) {
+        Path target = resolvePath(targetContentId);
+        return Mono.fromCallable(() -> {
+                    Files.createDirectories(target.getParent());
+                    Path temporary = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+                    try {
+                        try {
+                            Files.createLink(temporary, source);
+                        } catch (UnsupportedOperationException | IOException e) {
+                            log.debug("Cannot link {}, copying it instead: {}", source, e.getMessage());
+                            Files.copy(source, temporary);
+                        }
+                        return moveIntoPlace(temporary, target);
+                    } catch (IOException | RuntimeException e) {
+                        deleteQuietly(temporary);
+                        throw e;
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnSuccess(path -> log.debug("Copied content {} to {}", source, path))
+                .map(Path::toString);
+    }
+
+    /**
+     * Locate the file holding the given content.
+     *
+     * @param contentId The content ID
+     * @return A Mono emitting the file path, or empty if the engine is disabled or does not hold the content
+     */
+    public Mono<Path> locate(UUID contentId) {
+        if (!isEnabled()) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> resolvePath(contentId))
+                .filter(Files::isRegularFile)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Read a byte range of a local file.
+     *
+     * @param path The file path
+     * @param offset The zero-based offset of the first byte
+     * @param length The number of bytes to read
+     * @return A Flux of DataBuffer containing the requested range
+     */
+    public Flux<DataBuffer> read(Path path, long offset, long length) {
+        Flux<DataBuffer> content = DataBufferUtils.readAsynchronousFileChannel(
+                () -> AsynchronousFileChannel.open(path, StandardOpenOption.READ),
+                offset, DefaultDataBufferFactory.sharedInstance, getReadBufferSize());
+        return length == Long.MAX_VALUE ? content : DataBufferUtils.takeUntilByteCount(content, length);
+    }
+
+    /**
+     * Delete content from the local store.
+     *
+     * @param contentId The content ID
+     * @return A Mono emitting true if a file was deleted
+     */
+    public Mono<Boolean> delete(UUID contentId) {
+        if (!isEnabled()) {
+            return Mono.just(false);
+        }
+        return Mono.fromCallable(() -> Files.deleteIfExists(resolvePath(contentId)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Whether local downloads may be sent with zero-copy file transfer.
+     *
+     * @return true if zero-copy transfer is enabled
+     */
+    public boolean isZeroCopyEnabled() {
+        return isEnabled() && !Boolean.FALSE.equals(contentProperties.getLocal().getZeroCopyEnabled());
+    }
+
+    private Path rootDirectory() {
+        String directory = contentProperties.getLocal().getDirectory();
+        return Paths.get(directory != null && !directory.isBlank() ? directory : "ecm-content").toAbsolutePath();
+    }
+
+    private int getReadBufferSize() {
+        Integer size = contentProperties.getLocal().getReadBufferSize();
+        return size != null && size > 0 ? size : 64 * 1024;
+    }
+
+    private Path moveIntoPlace(Path temporary, Path target) throws IOException {
+        try {
+            return Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            return Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary content file {}: {}", file, e.getMessage());
+        }
+    }
+}
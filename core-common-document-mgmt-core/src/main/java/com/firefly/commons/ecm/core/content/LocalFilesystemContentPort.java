@@ -0,0 +1,107 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import org.fireflyframework.ecm.port.document.DocumentContentPort;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Content port backed by the {@link LocalFilesystemContentEngine}.
+ *
+ * Writes always go to the local store. Reads and deletes fall back to the ECM content port,
+ * if one is configured, for content the local store does not hold, such as content uploaded
+ * before the engine was enabled. Instances are created per request by
+ * {@link LocalFilesystemContentEngine#resolvePort} and are not registered as beans, so they
+ * never compete with the adapter selected by library-ecm-core.
+ */
+class LocalFilesystemContentPort implements DocumentContentPort, StreamingContentPort, RangeReadableContentPort,
+        CopyableContentPort {
+
+    private final LocalFilesystemContentEngine engine;
+    private final DocumentContentPort fallback;
+
+    LocalFilesystemContentPort(LocalFilesystemContentEngine engine, DocumentContentPort fallback) {
+        this.engine = engine;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Mono<String> storeContent(UUID contentId, byte[] content, String mimeType) {
+        return engine.write(contentId, Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(content))));
+    }
+
+    @Override
+    public Mono<String> storeContentStream(UUID contentId, Flux<DataBuffer> content, String mimeType, Long contentLength) {
+        return engine.write(contentId, content);
+    }
+
+    @Override
+    public Flux<DataBuffer> getContentStream(UUID contentId) {
+        return getContentRange(contentId, 0, Long.MAX_VALUE);
+    }
+
+    @Override
+    public Flux<DataBuffer> getContentRange(UUID contentId, long offset, long length) {
+        return engine.locate(contentId)
+                .map(path -> engine.read(path, offset, length))
+                .switchIfEmpty(Mono.fromSupplier(() -> readFallback(contentId, offset, length)))
+                .flatMapMany(content -> content);
+    }
+
+    @Override
+    public Mono<String> copyContent(UUID sourceContentId, UUID targetContentId) {
+        return engine.locate(sourceContentId)
+                .flatMap(path -> engine.copy(path, targetContentId))
+                .switchIfEmpty(Mono.defer(() -> copyFallback(sourceContentId, targetContentId)));
+    }
+
+    @Override
+    public Mono<Void> deleteContent(UUID contentId) {
+        Mono<Void> fallbackDeletion = fallback != null
+                ? fallback.deleteContent(contentId).onErrorComplete().then()
+                : Mono.empty();
+        return engine.delete(contentId).then(fallbackDeletion);
+    }
+
+    private Mono<String> copyFallback(UUID sourceContentId, UUID targetContentId) {
+        if (fallback instanceof CopyableContentPort copyablePort) {
+            return copyablePort.copyContent(sourceContentId, targetContentId);
+        }
+        return Mono.error(new RuntimeException("Content not found in local storage: " + sourceContentId));
+    }
+
+    private Flux<DataBuffer> readFallback(UUID contentId, long offset, long length) {
+        if (fallback == null) {
+            return Flux.error(new RuntimeException("Content not found in local storage: " + contentId));
+        }
+        if (fallback instanceof RangeReadableContentPort rangePort) {
+            return rangePort.getContentRange(contentId, offset, length);
+        }
+        Flux<DataBuffer> content = fallback.getContentStream(contentId);
+        if (offset == 0 && length == Long.MAX_VALUE) {
+            return content;
+        }
+        return DataBufferUtils.takeUntilByteCount(DataBufferUtils.skipUntilByteCount(content, offset), length);
+    }
+}
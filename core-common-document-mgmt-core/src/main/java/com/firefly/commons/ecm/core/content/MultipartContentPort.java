@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Optional capability of a {@code DocumentContentPort} adapter that can store content as
+ * separately uploaded parts committed at the end, such as S3 multipart uploads or Azure
+ * block blobs.
+ *
+ * Adapters implementing this interface are detected at runtime by the
+ * {@link ContentUploadPipeline}, which uploads large content through the
+ * {@link MultipartUploadOrchestrator}. Parts may be uploaded concurrently and a failed part
+ * may be uploaded again with the same part number.
+ */
+public interface MultipartContentPort {
+
+    /**
+     * Start a multipart upload.
+     *
+     * @param contentId The ID the content is stored under
+     * @param mimeType The MIME type of the content
+     * @return A Mono emitting the ID of the multipart upload
+     */
+    Mono<String> initiateMultipartUpload(UUID contentId, String mimeType);
+
+    /**
+     * Upload one part. Implementations are responsible for releasing every buffer they consume.
+     *
+     * @param contentId The ID the content is stored under
+     * @param uploadId The ID of the multipart upload
+     * @param partNumber The one-based number of the part
+     * @param content The part content
+     * @param length The part length in bytes
+     * @return A Mono emitting the tag identifying the stored part, such as an ETag or block ID
+     */
+    Mono<String> uploadPart(UUID contentId, String uploadId, int partNumber, Flux<DataBuffer> content, long length);
+
+    /**
+     * Commit the uploaded parts as the content.
+     *
+     * @param contentId The ID the content is stored under
+     * @param uploadId The ID of the multipart upload
+     * @param parts The uploaded parts, ordered by part number
+     * @return A Mono emitting the storage path of the stored content
+     */
+    Mono<String> completeMultipartUpload(UUID contentId, String uploadId, List<UploadedPart> parts);
+
+    /**
+     * Abort a multipart upload and discard the parts uploaded so far.
+     *
+     * @param contentId The ID the content is stored under
+     * @param uploadId The ID of the multipart upload
+     * @return A Mono that completes when the upload is aborted
+     */
+    Mono<Void> abortMultipartUpload(UUID contentId, String uploadId);
+
+    /**
+     * Part size the adapter is configured for, such as {@code s3.multipart-part-size} or
+     * {@code azure-blob.block-size}.
+     *
+     * @return The part size in bytes, or null to use the configured default
+     */
+    default Long getPartSize() {
+        return null;
+    }
+
+    /**
+     * Smallest part size accepted by the storage, except for the last part.
+     *
+     * @return The minimum part size in bytes
+     */
+    default long getMinimumPartSize() {
+        return 0L;
+    }
+}
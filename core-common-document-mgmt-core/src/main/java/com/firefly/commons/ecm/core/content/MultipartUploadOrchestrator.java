@@ -0,0 +1,273 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Uploads content to a {@link MultipartContentPort} as parts sent in parallel.
+ *
+ * The incoming stream is cut into parts of the configured size as it arrives. Up to the
+ * configured number of parts are uploaded at the same time, so upload time scales with the
+ * number of parallel parts rather than the throughput of a single stream, while memory stays
+ * bounded to roughly one part per upload slot. A failed part is retried on its own with
+ * exponential backoff. Once every part is stored the parts list is committed; if the upload
+ * fails or is cancelled it is aborted so no orphaned parts are left in storage.
+ *
+ * Content of unknown length, such as compressed or encrypted uploads, is only split into parts
+ * once more than one part and at least the threshold have arrived. Smaller content is handed
+ * back with its length for a single upload. Parts grow with the bytes received, so the last
+ * or only part is no larger than its content.
+ */
+@Slf4j
+@Component
+public class MultipartUploadOrchestrator {
+
+    private static final int MAX_PART_SIZE = Integer.MAX_VALUE - 8;
+    private static final int INITIAL_PART_CAPACITY = 64 * 1024;
+
+    private final EcmContentProperties contentProperties;
+
+    public MultipartUploadOrchestrator(EcmContentProperties contentProperties) {
+        this.contentProperties = contentProperties;
+    }
+
+    /**
+     * Whether multipart uploads are enabled.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return !Boolean.FALSE.equals(contentProperties.getMultipart().getEnabled());
+    }
+
+    /**
+     * Whether content of the given length is uploaded in parts.
+     *
+     * @param contentLength The content length in bytes, or null if unknown
+     * @return true if the content is known to be large enough to be uploaded in parts
+     */
+    public boolean appliesTo(Long contentLength) {
+        Long threshold = contentProperties.getMultipart().getThreshold();
+        return isEnabled() && contentLength != null && (threshold == null || contentLength >= threshold);
+    }
+
+    /**
+     * Upload content of unknown length in parts once it turns out to be large enough, or hand it
+     * to a single upload otherwise.
+     *
+     * @param port The multipart capable content port
+     * @param contentId The ID the content is stored under
+     * @param content The content stream
+     * @param mimeType The MIME type of the content
+     * @param singleUpload Upload of the whole content and its length, used for small content
+     * @return A Mono emitting the storage path of the stored content
+     */
+    public Mono<String> upload(MultipartContentPort port, UUID contentId, Flux<DataBuffer> content, String mimeType,
+                               BiFunction<Flux<DataBuffer>, Long, Mono<String>> singleUpload) {
+        Long threshold = contentProperties.getMultipart().getThreshold();
+        long limit = Math.max(getPartSize(port), threshold != null ? threshold - 1 : 0);
+        return Mono.defer(() -> {
+            AtomicLong received = new AtomicLong();
+            // Buffers are held back until more than the limit has arrived or the content has ended
+            return content
+                    .bufferUntil(buffer -> received.addAndGet(buffer.readableByteCount()) > limit)
+                    .switchOnFirst((signal, heads) -> {
+                        Flux<DataBuffer> whole = heads.concatMapIterable(Function.identity());
+                        long headSize = signal.hasValue() ? size(signal.get()) : 0;
+                        if (headSize > limit) {
+                            log.debug("Content for ID: {} exceeds {} bytes, uploading it in parts", contentId, limit);
+                            return upload(port, contentId, whole, mimeType);
+                        }
+                        return singleUpload.apply(whole, headSize);
+                    })
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .next();
+        });
+    }
+
+    /**
+     * Upload content in parts and commit them.
+     *
+     * @param port The multipart capable content port
+     * @param contentId The ID the content is stored under
+     * @param content The content stream
+     * @param mimeType The MIME type of the content
+     * @return A Mono emitting the storage path of the stored content
+     */
+    public Mono<String> upload(MultipartContentPort port, UUID contentId, Flux<DataBuffer> content, String mimeType) {
+        int partSize = getPartSize(port);
+        return Mono.usingWhen(
+                port.initiateMultipartUpload(contentId, mimeType),
+                uploadId -> uploadParts(port, contentId, uploadId, content, partSize)
+                        .flatMap(parts -> {
+                            log.debug("Committing {} part(s) of multipart upload {} for content {}", parts.size(), uploadId, contentId);
+                            return port.completeMultipartUpload(contentId, uploadId, parts);
+                        }),
+                uploadId -> Mono.empty(),
+                (uploadId, error) -> abort(port, contentId, uploadId),
+                uploadId -> abort(port, contentId, uploadId));
+    }
+
+    private Mono<List<UploadedPart>> uploadParts(MultipartContentPort port, UUID contentId, String uploadId,
+                                                 Flux<DataBuffer> content, int partSize) {
+        return Flux.defer(() -> {
+                    PartSplitter splitter = new PartSplitter(partSize);
+                    return content
+                            .concatMapIterable(splitter::accept)
+                            .concatWith(Mono.fromSupplier(splitter::finish));
+                })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .flatMap(part -> uploadPart(port, contentId, uploadId, part), getMaxConcurrentParts())
+                .collectSortedList(Comparator.comparingInt(UploadedPart::getPartNumber));
+    }
+
+    private Mono<UploadedPart> uploadPart(MultipartContentPort port, UUID contentId, String uploadId, Part part) {
+        return Mono.defer(() -> port.uploadPart(contentId, uploadId, part.number(), part.content(), part.length()))
+                .retryWhen(Retry.backoff(getMaxRetries(), getRetryBackoff())
+                        .doBeforeRetry(signal -> log.warn("Retrying part {} of multipart upload {} after failure: {}",
+                                part.number(), uploadId, signal.failure().getMessage()))
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .map(tag -> UploadedPart.of(part.number(), tag, part.length()));
+    }
+
+    private Mono<Void> abort(MultipartContentPort port, UUID contentId, String uploadId) {
+        log.debug("Aborting multipart upload {} for content {}", uploadId, contentId);
+        return port.abortMultipartUpload(contentId, uploadId)
+                .onErrorResume(error -> {
+                    log.warn("Failed to abort multipart upload {} for content {}: {}", uploadId, contentId, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private static long size(List<DataBuffer> buffers) {
+        long size = 0;
+        for (DataBuffer buffer : buffers) {
+            size += buffer.readableByteCount();
+        }
+        return size;
+    }
+
+    private int getPartSize(MultipartContentPort port) {
+        Long partSize = port.getPartSize() != null ? port.getPartSize() : contentProperties.getMultipart().getPartSize();
+        long size = Math.max(partSize != null ? partSize : 8L * 1024 * 1024, port.getMinimumPartSize());
+        return (int) Math.min(Math.max(size, 1L), MAX_PART_SIZE);
+    }
+
+    private int getMaxConcurrentParts() {
+        Integer parts = contentProperties.getMultipart().getMaxConcurrentParts();
+        return parts != null && parts > 0 ? parts : 1;
+    }
+
+    private long getMaxRetries() {
+        Integer retries = contentProperties.getMultipart().getMaxRetries();
+        return retries != null && retries > 0 ? retries : 0;
+    }
+
+    private Duration getRetryBackoff() {
+        Duration backoff = contentProperties.getMultipart().getRetryBackoff();
+        return backoff != null ? backoff : Duration.ZERO;
+    }
+
+    /**
+     * A part held on the heap, so it can be sent again when its upload fails.
+     */
+    private record Part(int number, byte[] bytes, int length) {
+
+        Flux<DataBuffer> content() {
+            return Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(ByteBuffer.wrap(bytes, 0, length))));
+        }
+    }
+
+    /**
+     * Copies incoming buffers into fixed size parts, releasing each buffer once copied.
+     * A part starts small and grows up to the part size, and the last part is trimmed to its content.
+     */
+    private static final class PartSplitter {
+
+        private final int partSize;
+        private byte[] current;
+        private int filled;
+        private int nextNumber = 1;
+
+        PartSplitter(int partSize) {
+            this.partSize = partSize;
+        }
+
+        List<Part> accept(DataBuffer buffer) {
+            try {
+                List<Part> parts = new ArrayList<>(1);
+                while (buffer.readableByteCount() > 0) {
+                    int length = Math.min(buffer.readableByteCount(), partSize - filled);
+                    ensureCapacity(filled + length);
+                    buffer.read(current, filled, length);
+                    filled += length;
+                    if (filled == partSize) {
+                        parts.add(new Part(nextNumber++, current, filled));
+                        current = null;
+                        filled = 0;
+                    }
+                }
+                return parts;
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        Part finish() {
+            // Storage requires at least one part, even for empty content
+            if (filled == 0 && nextNumber > 1) {
+                return null;
+            }
+            byte[] bytes = current == null ? new byte[0]
+                    : current.length == filled ? current
+                    : Arrays.copyOf(current, filled);
+            Part last = new Part(nextNumber++, bytes, filled);
+            current = null;
+            filled = 0;
+            return last;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (current == null) {
+                current = new byte[Math.min(partSize, Math.max(capacity, INITIAL_PART_CAPACITY))];
+            } else if (current.length < capacity) {
+                current = Arrays.copyOf(current, (int) Math.min(partSize, Math.max(capacity, 2L * current.length)));
+            }
+        }
+    }
+}
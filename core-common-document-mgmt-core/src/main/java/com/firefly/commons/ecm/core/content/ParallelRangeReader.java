@@ -0,0 +1,132 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Reads large content from a {@link RangeReadableContentPort} as byte ranges fetched in parallel.
+ *
+ * The content is split into ranges of the configured size. Up to the configured number of
+ * ranges are fetched at the same time, so download time scales with the number of parallel
+ * connections rather than the throughput of a single stream. Ranges are emitted in order: a
+ * range that completes early waits until the ranges before it were emitted, and no further
+ * range is requested while the window is full, so memory stays bounded to roughly one range
+ * per slot. Each range is held until it is complete, so a failed range is retried on its own
+ * with exponential backoff without sending any byte twice.
+ */
+@Slf4j
+@Component
+public class ParallelRangeReader {
+
+    private static final int MAX_RANGE_SIZE = Integer.MAX_VALUE - 8;
+
+    private final EcmContentProperties contentProperties;
+
+    public ParallelRangeReader(EcmContentProperties contentProperties) {
+        this.contentProperties = contentProperties;
+    }
+
+    /**
+     * Whether a read of the given length is split into parallel ranges.
+     *
+     * @param length The number of bytes to read
+     * @return true if the read is split into ranges
+     */
+    public boolean appliesTo(long length) {
+        EcmContentProperties.RangedDownload rangedDownload = contentProperties.getRangedDownload();
+        if (Boolean.FALSE.equals(rangedDownload.getEnabled()) || getMaxConcurrentRanges() < 2) {
+            return false;
+        }
+        Long threshold = rangedDownload.getThreshold();
+        return length > getRangeSize() && (threshold == null || length >= threshold);
+    }
+
+    /**
+     * Read a byte range of stored content as ranges fetched in parallel.
+     *
+     * @param port The range readable content port
+     * @param contentId The ID the content is stored under
+     * @param offset The zero-based offset of the first byte
+     * @param length The number of bytes to read, which must not extend past the end of the content
+     * @return A Flux of DataBuffer containing the requested bytes in order
+     */
+    public Flux<DataBuffer> read(RangeReadableContentPort port, UUID contentId, long offset, long length) {
+        int rangeSize = getRangeSize();
+        long ranges = (length + rangeSize - 1) / rangeSize;
+        log.debug("Reading {} bytes of content {} as {} range(s) of up to {} bytes", length, contentId, ranges, rangeSize);
+        return Flux.range(0, (int) Math.min(ranges, Integer.MAX_VALUE))
+                .map(index -> new Range(index, offset + (long) index * rangeSize,
+                        Math.min(rangeSize, length - (long) index * rangeSize)))
+                .flatMapSequential(range -> readRange(port, contentId, range), getMaxConcurrentRanges(), 1)
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    private Mono<DataBuffer> readRange(RangeReadableContentPort port, UUID contentId, Range range) {
+        return DataBufferUtils.join(Flux.defer(() -> port.getContentRange(contentId, range.offset(), range.length())))
+                .switchIfEmpty(Mono.fromSupplier(() -> DefaultDataBufferFactory.sharedInstance.allocateBuffer(0)))
+                .flatMap(buffer -> {
+                    if (buffer.readableByteCount() != range.length()) {
+                        int read = buffer.readableByteCount();
+                        DataBufferUtils.release(buffer);
+                        return Mono.error(new IllegalStateException("Range " + range.index() + " of content " + contentId
+                                + " returned " + read + " bytes, expected " + range.length()));
+                    }
+                    return Mono.just(buffer);
+                })
+                .retryWhen(Retry.backoff(getMaxRetries(), getRetryBackoff())
+                        .doBeforeRetry(signal -> log.warn("Retrying range {} of content {} after failure: {}",
+                                range.index(), contentId, signal.failure().getMessage()))
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    private int getRangeSize() {
+        Long rangeSize = contentProperties.getRangedDownload().getRangeSize();
+        long size = rangeSize != null ? rangeSize : 8L * 1024 * 1024;
+        return (int) Math.min(Math.max(size, 1L), MAX_RANGE_SIZE);
+    }
+
+    private int getMaxConcurrentRanges() {
+        Integer ranges = contentProperties.getRangedDownload().getMaxConcurrentRanges();
+        return ranges != null && ranges > 0 ? ranges : 1;
+    }
+
+    private long getMaxRetries() {
+        Integer retries = contentProperties.getRangedDownload().getMaxRetries();
+        return retries != null && retries > 0 ? retries : 0;
+    }
+
+    private Duration getRetryBackoff() {
+        Duration backoff = contentProperties.getRangedDownload().getRetryBackoff();
+        return backoff != null ? backoff : Duration.ZERO;
+    }
+
+    private record Range(int index, long offset, long length) {
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Optional capability of a {@code DocumentContentPort} adapter that can sign short-lived
+ * requests, such as S3 pre-signed URLs or Azure SAS URLs, so clients transfer content
+ * directly to and from the storage backend without passing it through the service.
+ *
+ * Adapters implementing this interface are detected at runtime by the direct transfer API.
+ * Signed requests must only grant access to the single content ID they were created for.
+ */
+public interface PresignableContentPort {
+
+    /**
+     * Sign a request that downloads stored content.
+     *
+     * @param contentId The ID the content is stored under
+     * @param fileName The file name to offer the content under, or null
+     * @param mimeType The MIME type to serve the content with, or null
+     * @param expiry How long the request stays valid
+     * @return A Mono emitting the signed request
+     */
+    Mono<PresignedRequest> presignDownload(UUID contentId, String fileName, String mimeType, Duration expiry);
+
+    /**
+     * Sign a request that uploads content. Adapters should make the content length and, where
+     * the backend can verify it, the checksum part of the signature, so storage rejects
+     * content that does not match.
+     *
+     * @param contentId The ID to store the content under
+     * @param mimeType The MIME type of the content
+     * @param contentLength The content length in bytes
+     * @param algorithm The checksum algorithm, for example SHA-256
+     * @param checksum The hex encoded checksum of the content
+     * @param expiry How long the request stays valid
+     * @return A Mono emitting the signed request
+     */
+    Mono<PresignedRequest> presignUpload(UUID contentId, String mimeType, long contentLength, String algorithm,
+                                         String checksum, Duration expiry);
+
+    /**
+     * Look up the size of stored content without reading it.
+     *
+     * @param contentId The ID the content is stored under
+     * @return A Mono emitting the content length in bytes, or empty if no content is stored under the ID
+     */
+    Mono<Long> getContentLength(UUID contentId);
+}
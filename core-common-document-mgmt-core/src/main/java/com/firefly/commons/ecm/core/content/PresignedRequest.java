@@ -0,0 +1,51 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * A request signed by a {@link PresignableContentPort}, to be sent by the client as is.
+ */
+@Value
+@Builder
+public class PresignedRequest {
+
+    /**
+     * HTTP method of the request, such as GET or PUT
+     */
+    String method;
+
+    /**
+     * Signed URL of the storage backend
+     */
+    String url;
+
+    /**
+     * Headers the request must be sent with, as they are part of the signature
+     */
+    Map<String, String> headers;
+
+    /**
+     * Storage path the content is stored under once uploaded, or null if unknown
+     */
+    String storagePath;
+}
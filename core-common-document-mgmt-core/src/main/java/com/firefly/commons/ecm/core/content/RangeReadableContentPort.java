@@ -0,0 +1,43 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+/**
+ * Optional capability of a {@code DocumentContentPort} adapter that can read a byte range
+ * of stored content without transferring the whole object.
+ *
+ * Adapters implementing this interface are detected at runtime by the
+ * {@link ContentDownloadPipeline}. Other adapters are served by skipping through the full stream.
+ */
+public interface RangeReadableContentPort {
+
+    /**
+     * Read a byte range of stored content.
+     *
+     * @param contentId The ID the content is stored under
+     * @param offset The zero-based offset of the first byte
+     * @param length The number of bytes to read
+     * @return A Flux of DataBuffer containing the requested range
+     */
+    Flux<DataBuffer> getContentRange(UUID contentId, long offset, long length);
+}
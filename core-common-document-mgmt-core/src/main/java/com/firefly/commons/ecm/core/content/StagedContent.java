@@ -0,0 +1,133 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Upload content held by the {@link UploadStagingArea}, either on the heap (small uploads)
+ * or in a spool file on local disk (large uploads).
+ *
+ * Callers must invoke {@link #release()} once the content has been handed over to the
+ * adapter so the spool file and its disk quota are reclaimed.
+ */
+public final class StagedContent {
+
+    private final byte[] bytes;
+    private final Path file;
+    private final long size;
+    private final int readBufferSize;
+    private final UploadStagingArea stagingArea;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private StagedContent(byte[] bytes, Path file, long size, int readBufferSize, UploadStagingArea stagingArea) {
+        this.bytes = bytes;
+        this.file = file;
+        this.size = size;
+        this.readBufferSize = readBufferSize;
+        this.stagingArea = stagingArea;
+    }
+
+    static StagedContent inMemory(byte[] bytes) {
+        return new StagedContent(bytes, null, bytes.length, bytes.length, null);
+    }
+
+    static StagedContent spooled(Path file, long size, int readBufferSize, UploadStagingArea stagingArea) {
+        return new StagedContent(null, file, size, readBufferSize, stagingArea);
+    }
+
+    /**
+     * @return The content size in bytes
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return Whether the content is held on the heap
+     */
+    public boolean isInMemory() {
+        return file == null;
+    }
+
+    /**
+     * @return The spool file, or null for in-memory content
+     */
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * Read the staged content as a stream. Spooled content is read from disk without
+     * loading the whole file on the heap.
+     *
+     * @return A Flux of DataBuffer containing the content
+     */
+    public Flux<DataBuffer> content() {
+        if (isInMemory()) {
+            return Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(bytes)));
+        }
+        return DataBufferUtils.read(file, DefaultDataBufferFactory.sharedInstance, readBufferSize);
+    }
+
+    /**
+     * Hand the content over as a byte array for adapters that cannot consume a stream.
+     * Spooled content is memory-mapped and copied in a single pass.
+     *
+     * @return A Mono emitting the content bytes
+     */
+    public Mono<byte[]> toByteArray() {
+        if (isInMemory()) {
+            return Mono.just(bytes);
+        }
+        return Mono.fromCallable(() -> {
+                    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                        byte[] content = new byte[Math.toIntExact(size)];
+                        mapped.get(content);
+                        return content;
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Release the staged content, deleting the spool file if there is one.
+     *
+     * @return A Mono completing when the content is released
+     */
+    public Mono<Void> release() {
+        if (isInMemory() || !released.compareAndSet(false, true)) {
+            return Mono.empty();
+        }
+        return Mono.fromRunnable(() -> stagingArea.discard(file, size))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.interfaces.enums.StorageTier;
+import com.firefly.commons.ecm.interfaces.enums.StorageType;
+import com.firefly.commons.ecm.models.entities.Document;
+import com.firefly.commons.ecm.models.repositories.ContentBlobRepository;
+import com.firefly.commons.ecm.models.repositories.DocumentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.ecm.port.document.DocumentContentPort;
+import org.fireflyframework.ecm.service.EcmPortProvider;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Moves document content to a cheaper tier once it is rarely accessed, and back once it is
+ * accessed often again, based on the access scores kept by {@link ContentAccessTracker}.
+ *
+ * A tier is a storage type, and within it an access tier for adapters implementing
+ * {@link TieredContentPort}. Content moving between the local content store and the ECM
+ * content port is copied, throttled to a budget of bytes per second, and the source copy is
+ * removed once the document points at the target. Content staying with the same port only has
+ * its access tier changed. The storage type, path and tier of the document are updated in one
+ * statement that only succeeds if the document was not changed in the meantime, together with
+ * the storage path of its blob. A move that loses that race discards its copy.
+ *
+ * Documents are walked in ID order in batches, hot content first. Content shared with other
+ * documents through deduplication is not moved.
+ */
+@Slf4j
+@Component
+public class StorageTierMigrator {
+
+    private static final String METRIC_NAME = "ecm.content.tiering.moves";
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final EcmContentProperties contentProperties;
+    private final DocumentRepository documentRepository;
+    private final ContentBlobRepository blobRepository;
+    private final EcmPortProvider ecmPortProvider;
+    private final LocalFilesystemContentEngine localContentEngine;
+    private final ContentUploadPipeline contentUploadPipeline;
+    private final TransactionalOperator transactionalOperator;
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public StorageTierMigrator(EcmContentProperties contentProperties, DocumentRepository documentRepository,
+                               ContentBlobRepository blobRepository, EcmPortProvider ecmPortProvider,
+                               LocalFilesystemContentEngine localContentEngine, ContentUploadPipeline contentUploadPipeline,
+                               TransactionalOperator transactionalOperator, Optional<MeterRegistry> meterRegistry) {
+        this.contentProperties = contentProperties;
+        this.documentRepository = documentRepository;
+        this.blobRepository = blobRepository;
+        this.ecmPortProvider = ecmPortProvider;
+        this.localContentEngine = localContentEngine;
+        this.contentUploadPipeline = contentUploadPipeline;
+        this.transactionalOperator = transactionalOperator;
+        this.meterRegistry = meterRegistry.orElseGet(SimpleMeterRegistry::new);
+    }
+
+    /**
+     * Whether content is migrated between tiers.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(contentProperties.getTiering().getEnabled());
+    }
+
+    /**
+     * Start a migration run unless one is still running on this instance. The run continues in the background.
+     */
+    @Scheduled(fixedDelayString = "${firefly.ecm.integration.content.tiering.interval:PT1H}")
+    public void scheduledMigration() {
+        if (!isEnabled() || !running.compareAndSet(false, true)) {
+            return;
+        }
+        migrate()
+                .doFinally(signal -> running.set(false))
+                .subscribe(moved -> {
+                            if (moved > 0) {
+                                log.info("Moved the content of {} document(s) between storage tiers", moved);
+                            }
+                        },
+                        error -> log.warn("Storage tier migration failed: {}", error.getMessage()));
+    }
+
+    /**
+     * Move hot content back to the hot tier, then cold content to the cold tier, until every
+     * candidate was considered or the configured time is up.
+     *
+     * @return A Mono emitting the number of documents whose content was moved
+     */
+    public Mono<Long> migrate() {
+        EcmContentProperties.Tiering tiering = contentProperties.getTiering();
+        LocalDateTime deadline = LocalDateTime.now().plus(tiering.getMaxDuration());
+        double halfLifeSeconds = Math.max(1, tiering.getHalfLife().toSeconds());
+        int batchSize = tiering.getBatchSize() != null && tiering.getBatchSize() > 0 ? tiering.getBatchSize() : 50;
+        ByteRateLimiter rateLimiter = new ByteRateLimiter(tiering.getBytesPerSecond() != null ? tiering.getBytesPerSecond() : 0);
+
+        Flux<Boolean> warmedUp = walk(FIRST_ID, deadline, batchSize, (afterId, limit) -> documentRepository.findWarmedUp(
+                        afterId, tiering.getColdTier(), halfLifeSeconds, tiering.getHotFrom(), limit),
+                document -> move(document, tiering.getHotStorageType(), StorageTier.HOT, rateLimiter, "hot"));
+        Flux<Boolean> cooledDown = walk(FIRST_ID, deadline, batchSize, (afterId, limit) -> documentRepository.findCooledDown(
+                        afterId, LocalDateTime.now().minus(tiering.getMinAge()), halfLifeSeconds, tiering.getColdBelow(), limit),
+                document -> move(document, tiering.getColdStorageType(), tiering.getColdTier(), rateLimiter, "cold"));
+        return Flux.concat(warmedUp, cooledDown)
+                .filter(Boolean::booleanValue)
+                .count();
+    }
+
+    /**
+     * Move the candidates batch by batch, fetching the next batch once the current one is done.
+     */
+    private Flux<Boolean> walk(UUID afterId, LocalDateTime deadline, int batchSize,
+                               BiFunction<UUID, Integer, Flux<Document>> batches, Function<Document, Mono<Boolean>> mover) {
+        return batch(afterId, deadline, batches, batchSize)
+                .flatMapMany(batch -> Flux.fromIterable(batch.documents())
+                        .flatMap(mover, getMaxConcurrentMoves())
+                        .concatWith(batch.documents().size() < batchSize
+                                ? Flux.empty()
+                                : Flux.defer(() -> walk(batch.lastId(), deadline, batchSize, batches, mover))));
+    }
+
+    private Mono<Batch> batch(UUID afterId, LocalDateTime deadline, BiFunction<UUID, Integer, Flux<Document>> batches, int batchSize) {
+        return Mono.defer(() -> {
+            if (!LocalDateTime.now().isBefore(deadline)) {
+                log.info("Storage tier migration ran out of time, the next run continues");
+                return Mono.empty();
+            }
+            return batches.apply(afterId, batchSize)
+                    .collectList()
+                    .filter(documents -> !documents.isEmpty())
+                    .map(documents -> new Batch(documents, documents.get(documents.size() - 1).getId()));
+        });
+    }
+
+    private Mono<Boolean> move(Document document, StorageType configuredType, StorageTier tier, ByteRateLimiter rateLimiter,
+                               String direction) {
+        StorageType targetType = configuredType != null ? configuredType : document.getStorageType();
+        Optional<DocumentContentPort> ecmPort = ecmPortProvider.getDocumentContentPort();
+        Optional<DocumentContentPort> targetPort = localContentEngine.resolvePort(targetType, ecmPort);
+        boolean sourceLocal = localContentEngine.isLocal(document.getStorageType());
+        boolean targetLocal = localContentEngine.isLocal(targetType);
+        boolean copied = sourceLocal != targetLocal;
+        boolean tiered = targetPort.orElse(null) instanceof TieredContentPort;
+        if (targetPort.isEmpty() || (!copied && !tiered)) {
+            log.debug("Content of document {} cannot be moved to {} {}", document.getId(), targetType, tier);
+            return count(direction, "skipped", false);
+        }
+
+        UUID contentId = document.getContentBlobId() != null ? document.getContentBlobId() : document.getId();
+        Mono<String> stored = copied
+                ? copy(document, contentId, sourceLocal, targetPort.get(), ecmPort, rateLimiter)
+                : Mono.justOrEmpty(document.getStoragePath());
+        if (tiered) {
+            TieredContentPort tieredPort = (TieredContentPort) targetPort.get();
+            stored = stored.then(Mono.defer(() -> tieredPort.changeTier(contentId, tier)));
+        }
+        return stored
+                .flatMap(storagePath -> documentRepository.updateStorage(document.getId(), document.getVersion(), targetType, storagePath, tier)
+                        .flatMap(updated -> updated > 0 && document.getContentBlobId() != null
+                                ? blobRepository.updateStoragePath(document.getContentBlobId(), storagePath).thenReturn(updated)
+                                : Mono.just(updated))
+                        .as(transactionalOperator::transactional))
+                .flatMap(updated -> {
+                    if (updated == 0) {
+                        log.debug("Document {} changed while its content moved, discarding the copy", document.getId());
+                        return (copied ? discard(contentId, targetLocal, ecmPort) : Mono.<Void>empty())
+                                .then(count(direction, "conflict", false));
+                    }
+                    log.debug("Moved content of document {} to {} {}", document.getId(), targetType, tier);
+                    return (copied ? discard(contentId, sourceLocal, ecmPort) : Mono.<Void>empty())
+                            .then(count(direction, "moved", true));
+                })
+                .onErrorResume(error -> {
+                    log.warn("Failed to move content of document {} to {} {}: {}", document.getId(), targetType, tier, error.getMessage());
+                    return (copied ? discard(contentId, targetLocal, ecmPort) : Mono.<Void>empty())
+                            .then(count(direction, "failed", false));
+                });
+    }
+
+    /**
+     * Copy content as stored, encoded or encrypted, from the store it is held in to the other one.
+     */
+    private Mono<String> copy(Document document, UUID contentId, boolean sourceLocal, DocumentContentPort targetPort,
+                              Optional<DocumentContentPort> ecmPort, ByteRateLimiter rateLimiter) {
+        Flux<DataBuffer> content = sourceLocal
+                ? localContentEngine.locate(contentId)
+                        .switchIfEmpty(Mono.error(new IllegalStateException("Content not found in local storage: " + contentId)))
+                        .flatMapMany(path -> localContentEngine.read(path, 0, Long.MAX_VALUE))
+                : ecmPort.map(port -> port.getContentStream(contentId))
+                        .orElseGet(() -> Flux.error(new IllegalStateException("Storage tier migration requires ECM DocumentContentPort to be configured")));
+        boolean storedAsUploaded = document.getContentEncoding() == null && document.getEncryptionKeyId() == null;
+        String mimeType = document.getMimeType() != null ? document.getMimeType() : "application/octet-stream";
+        return contentUploadPipeline.store(targetPort, contentId, rateLimiter.limit(content), mimeType,
+                storedAsUploaded ? document.getFileSize() : null);
+    }
+
+    private Mono<Void> discard(UUID contentId, boolean local, Optional<DocumentContentPort> ecmPort) {
+        Mono<?> deletion = local
+                ? localContentEngine.delete(contentId)
+                : ecmPort.map(port -> port.deleteContent(contentId)).orElse(Mono.empty());
+        return deletion
+                .onErrorResume(error -> {
+                    log.warn("Failed to remove moved content {}: {}", contentId, error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<Boolean> count(String direction, String result, boolean moved) {
+        meterRegistry.counter(METRIC_NAME, "tier", direction, "result", result).increment();
+        return Mono.just(moved);
+    }
+
+    private int getMaxConcurrentMoves() {
+        Integer maxConcurrentMoves = contentProperties.getTiering().getMaxConcurrentMoves();
+        return maxConcurrentMoves != null && maxConcurrentMoves > 0 ? maxConcurrentMoves : 1;
+    }
+
+    private record Batch(List<Document> documents, UUID lastId) {
+    }
+}
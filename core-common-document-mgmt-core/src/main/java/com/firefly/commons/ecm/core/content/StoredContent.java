@@ -0,0 +1,67 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Result of storing uploaded content.
+ */
+@Value
+@Builder
+public class StoredContent {
+
+    /**
+     * ID of the shared content blob, or null when deduplication is disabled and the
+     * content is stored under the ID of the document or version itself
+     */
+    UUID blobId;
+
+    /**
+     * Storage path reported by the content port
+     */
+    String storagePath;
+
+    /**
+     * Hex encoded checksum of the content
+     */
+    String checksum;
+
+    /**
+     * Size of the content in bytes
+     */
+    long size;
+
+    /**
+     * Whether existing content was reused instead of storing a new copy
+     */
+    boolean deduplicated;
+
+    /**
+     * Encoding the content is stored with, such as gzip, or null if it is stored as uploaded
+     */
+    String encoding;
+
+    /**
+     * ID of the master key the content's data key is encrypted with, or null if it is stored unencrypted
+     */
+    String encryptionKeyId;
+}
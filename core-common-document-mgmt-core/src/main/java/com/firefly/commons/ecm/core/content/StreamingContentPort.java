@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Optional capability of a {@code DocumentContentPort} adapter that can store content
+ * directly from a reactive stream instead of a fully materialized byte array.
+ *
+ * Adapters implementing this interface are detected at runtime by the
+ * {@link ContentUploadPipeline}. Implementations are responsible for releasing every
+ * buffer they consume once it has been written.
+ */
+public interface StreamingContentPort {
+
+    /**
+     * Store content from a stream of data buffers.
+     *
+     * @param contentId The ID the content is stored under
+     * @param content The content stream
+     * @param mimeType The MIME type of the content
+     * @param contentLength The content length in bytes, or null if unknown
+     * @return A Mono emitting the storage path of the stored content
+     */
+    Mono<String> storeContentStream(UUID contentId, Flux<DataBuffer> content, String mimeType, Long contentLength);
+
+    /**
+     * Whether the adapter needs the content length up front. Uploads of unknown length
+     * are staged locally before being streamed to such adapters.
+     *
+     * @return true if a content length is required
+     */
+    default boolean requiresContentLength() {
+        return false;
+    }
+}
@@ -0,0 +1,413 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a ZIP archive as a stream while the entry contents are being read.
+ *
+ * Neither the archive nor any entry is held in memory or on disk: every entry is written with a
+ * data descriptor, so its CRC and sizes follow the content instead of preceding it. The content
+ * of a bounded number of upcoming entries is opened ahead of the entry being written, so the
+ * latency of opening a stream is hidden without reading far ahead. Every entry is deflated, as
+ * readers such as {@link java.util.zip.ZipInputStream} reject stored entries followed by a data
+ * descriptor. Content whose MIME type is already compressed is deflated without compression,
+ * which wraps it in stored blocks at a few bytes per 64 KiB. ZIP64 records are used for
+ * entries of unknown or very large size and for archives beyond the classic ZIP limits.
+ */
+@Slf4j
+@Component
+public class StreamingZipWriter {
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+
+    // Bit 3: sizes and CRC follow in a data descriptor, bit 11: UTF-8 entry names
+    private static final int FLAGS = 0x0808;
+    private static final int VERSION = 20;
+    private static final int VERSION_ZIP64 = 45;
+    private static final int METHOD_DEFLATED = 8;
+
+    private static final long MAX_32 = 0xFFFFFFFFL;
+    private static final int MAX_16 = 0xFFFF;
+
+    // Entries this large may cross 4 GiB once deflate overhead is added, so they get ZIP64 sizes
+    private static final long ZIP64_SIZE_THRESHOLD = 0xF0000000L;
+
+    private final EcmContentProperties contentProperties;
+
+    public StreamingZipWriter(EcmContentProperties contentProperties) {
+        this.contentProperties = contentProperties;
+    }
+
+    /**
+     * Write the given entries as a ZIP archive.
+     *
+     * @param entries The archive entries, in archive order
+     * @return A Flux of DataBuffer containing the archive
+     */
+    public Flux<DataBuffer> write(Flux<ZipEntrySource> entries) {
+        int prefetchBuffers = getPrefetchBuffers();
+        return Flux.defer(() -> {
+            Archive archive = new Archive();
+            return entries
+                    .flatMapSequential(entry -> Flux.concat(
+                                    Mono.just(Segment.start(entry)),
+                                    Flux.defer(entry.getContent()).map(buffer -> Segment.data(entry, buffer)),
+                                    Mono.just(Segment.end(entry))),
+                            getPrefetchEntries() + 1, prefetchBuffers)
+                    .concatMapIterable(archive::encode, prefetchBuffers)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(archive.finish())))
+                    .doOnDiscard(Segment.class, Segment::release)
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .doFinally(signal -> archive.close());
+        });
+    }
+
+    /**
+     * Whether content of the given MIME type is written without compression.
+     *
+     * @param mimeType The MIME type, or null if unknown
+     * @return true if the content is already compressed
+     */
+    public boolean isStored(String mimeType) {
+        if (mimeType == null) {
+            return false;
+        }
+        int parameters = mimeType.indexOf(';');
+        String type = (parameters >= 0 ? mimeType.substring(0, parameters) : mimeType).trim().toLowerCase(Locale.ROOT);
+        List<String> storedTypes = contentProperties.getExport().getStoredMimeTypes();
+        if (storedTypes == null) {
+            return false;
+        }
+        for (String stored : storedTypes) {
+            String pattern = stored.trim().toLowerCase(Locale.ROOT);
+            if (pattern.endsWith("*") ? type.startsWith(pattern.substring(0, pattern.length() - 1)) : type.equals(pattern)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int getPrefetchEntries() {
+        Integer prefetch = contentProperties.getExport().getPrefetchEntries();
+        return prefetch != null && prefetch > 0 ? prefetch : 0;
+    }
+
+    private int getPrefetchBuffers() {
+        Integer prefetch = contentProperties.getExport().getPrefetchBuffers();
+        return prefetch != null && prefetch > 0 ? prefetch : 1;
+    }
+
+    private int getCompressionLevel() {
+        Integer level = contentProperties.getExport().getCompressionLevel();
+        return level != null && level >= 0 && level <= 9 ? level : Deflater.DEFAULT_COMPRESSION;
+    }
+
+    private static int dosTime(LocalDateTime time) {
+        LocalDateTime value = time != null ? time : LocalDateTime.now();
+        if (value.getYear() < 1980) {
+            value = LocalDateTime.of(1980, 1, 1, 0, 0);
+        } else if (value.getYear() > 2107) {
+            value = LocalDateTime.of(2107, 12, 31, 23, 59, 58);
+        }
+        return (value.getYear() - 1980) << 25
+                | value.getMonthValue() << 21
+                | value.getDayOfMonth() << 16
+                | value.getHour() << 11
+                | value.getMinute() << 5
+                | value.getSecond() >> 1;
+    }
+
+    private static ByteBuffer allocate(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * A piece of the entry stream: the start of an entry, a buffer of its content or its end.
+     */
+    private record Segment(ZipEntrySource entry, DataBuffer buffer, boolean last) {
+
+        static Segment start(ZipEntrySource entry) {
+            return new Segment(entry, null, false);
+        }
+
+        static Segment data(ZipEntrySource entry, DataBuffer buffer) {
+            return new Segment(entry, buffer, false);
+        }
+
+        static Segment end(ZipEntrySource entry) {
+            return new Segment(entry, null, true);
+        }
+
+        void release() {
+            if (buffer != null) {
+                DataBufferUtils.release(buffer);
+            }
+        }
+    }
+
+    /**
+     * Central directory record of a written entry.
+     */
+    private record CentralEntry(byte[] name, int dosTime, long crc, long compressedSize,
+                                long size, long offset, boolean zip64) {
+    }
+
+    /**
+     * Encoding state of one archive. Segments are encoded one at a time.
+     */
+    private final class Archive {
+
+        private final List<CentralEntry> centralEntries = new ArrayList<>();
+        private long offset;
+        private EntryWriter current;
+
+        List<DataBuffer> encode(Segment segment) {
+            if (segment.buffer() != null) {
+                return current.data(segment.buffer());
+            }
+            if (segment.last()) {
+                List<DataBuffer> output = current.finish();
+                current = null;
+                return output;
+            }
+            current = new EntryWriter(segment.entry());
+            return List.of(current.header());
+        }
+
+        List<DataBuffer> finish() {
+            List<DataBuffer> output = new ArrayList<>(centralEntries.size() + 1);
+            long directoryOffset = offset;
+            for (CentralEntry entry : centralEntries) {
+                output.add(centralHeader(entry));
+            }
+            long directorySize = offset - directoryOffset;
+            int count = centralEntries.size();
+
+            boolean zip64 = count >= MAX_16 || directorySize >= MAX_32 || directoryOffset >= MAX_32;
+            int endSize = 22 + (zip64 ? 76 : 0);
+            ByteBuffer end = allocate(endSize);
+            if (zip64) {
+                long zip64EndOffset = offset;
+                end.putInt(ZIP64_END_SIGNATURE).putLong(44)
+                        .putShort((short) VERSION_ZIP64).putShort((short) VERSION_ZIP64)
+                        .putInt(0).putInt(0)
+                        .putLong(count).putLong(count)
+                        .putLong(directorySize).putLong(directoryOffset);
+                end.putInt(ZIP64_LOCATOR_SIGNATURE).putInt(0).putLong(zip64EndOffset).putInt(1);
+            }
+            short entries = (short) Math.min(count, MAX_16);
+            end.putInt(END_SIGNATURE).putShort((short) 0).putShort((short) 0)
+                    .putShort(entries).putShort(entries)
+                    .putInt((int) Math.min(directorySize, MAX_32))
+                    .putInt((int) Math.min(directoryOffset, MAX_32))
+                    .putShort((short) 0);
+            output.add(emit(end));
+            log.debug("Wrote ZIP archive with {} entries ({} bytes)", count, offset);
+            return output;
+        }
+
+        void close() {
+            if (current != null) {
+                current.close();
+                current = null;
+            }
+        }
+
+        private DataBuffer centralHeader(CentralEntry entry) {
+            boolean largeSize = entry.size() >= MAX_32;
+            boolean largeCompressedSize = entry.compressedSize() >= MAX_32;
+            boolean largeOffset = entry.offset() >= MAX_32;
+            int extraDataSize = (largeSize ? 8 : 0) + (largeCompressedSize ? 8 : 0) + (largeOffset ? 8 : 0);
+            int extraSize = extraDataSize > 0 ? 4 + extraDataSize : 0;
+            boolean zip64 = entry.zip64() || extraSize > 0;
+
+            ByteBuffer header = allocate(46 + entry.name().length + extraSize);
+            header.putInt(CENTRAL_HEADER_SIGNATURE)
+                    .putShort((short) VERSION_ZIP64)
+                    .putShort((short) (zip64 ? VERSION_ZIP64 : VERSION))
+                    .putShort((short) FLAGS)
+                    .putShort((short) METHOD_DEFLATED)
+                    .putInt(entry.dosTime())
+                    .putInt((int) entry.crc())
+                    .putInt(largeCompressedSize ? -1 : (int) entry.compressedSize())
+                    .putInt(largeSize ? -1 : (int) entry.size())
+                    .putShort((short) entry.name().length)
+                    .putShort((short) extraSize)
+                    .putShort((short) 0)
+                    .putShort((short) 0)
+                    .putShort((short) 0)
+                    .putInt(0)
+                    .putInt(largeOffset ? -1 : (int) entry.offset())
+                    .put(entry.name());
+            if (extraSize > 0) {
+                header.putShort((short) ZIP64_EXTRA_ID).putShort((short) extraDataSize);
+                if (largeSize) {
+                    header.putLong(entry.size());
+                }
+                if (largeCompressedSize) {
+                    header.putLong(entry.compressedSize());
+                }
+                if (largeOffset) {
+                    header.putLong(entry.offset());
+                }
+            }
+            return emit(header);
+        }
+
+        private DataBuffer emit(ByteBuffer buffer) {
+            buffer.flip();
+            offset += buffer.remaining();
+            return DefaultDataBufferFactory.sharedInstance.wrap(buffer);
+        }
+
+        private DataBuffer emit(byte[] bytes) {
+            offset += bytes.length;
+            return DefaultDataBufferFactory.sharedInstance.wrap(bytes);
+        }
+
+        /**
+         * Writes the local header, content and data descriptor of one entry.
+         */
+        private final class EntryWriter {
+
+            private final byte[] name;
+            private final int dosTime;
+            private final boolean zip64;
+            private final long localOffset;
+            private final CRC32 crc = new CRC32();
+            private final Deflater deflater;
+            private final byte[] deflateBuffer;
+            private long size;
+            private long compressedSize;
+
+            EntryWriter(ZipEntrySource entry) {
+                this.name = entry.getName().getBytes(StandardCharsets.UTF_8);
+                if (name.length > MAX_16) {
+                    throw new IllegalArgumentException("ZIP entry name is too long: " + entry.getName());
+                }
+                this.dosTime = dosTime(entry.getLastModified());
+                this.zip64 = entry.getSize() == null || entry.getSize() >= ZIP64_SIZE_THRESHOLD;
+                this.localOffset = offset;
+                int level = isStored(entry.getMimeType()) ? Deflater.NO_COMPRESSION : getCompressionLevel();
+                this.deflater = new Deflater(level, true);
+                this.deflateBuffer = new byte[8192];
+            }
+
+            DataBuffer header() {
+                ByteBuffer header = allocate(30 + name.length + (zip64 ? 20 : 0));
+                header.putInt(LOCAL_HEADER_SIGNATURE)
+                        .putShort((short) (zip64 ? VERSION_ZIP64 : VERSION))
+                        .putShort((short) FLAGS)
+                        .putShort((short) METHOD_DEFLATED)
+                        .putInt(dosTime)
+                        .putInt(0)
+                        .putInt(zip64 ? -1 : 0)
+                        .putInt(zip64 ? -1 : 0)
+                        .putShort((short) name.length)
+                        .putShort((short) (zip64 ? 20 : 0))
+                        .put(name);
+                if (zip64) {
+                    header.putShort((short) ZIP64_EXTRA_ID).putShort((short) 16).putLong(0).putLong(0);
+                }
+                return emit(header);
+            }
+
+            List<DataBuffer> data(DataBuffer buffer) {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                try {
+                    buffer.read(bytes);
+                } finally {
+                    DataBufferUtils.release(buffer);
+                }
+                crc.update(bytes);
+                size += bytes.length;
+                deflater.setInput(bytes);
+                return deflate(false);
+            }
+
+            List<DataBuffer> finish() {
+                List<DataBuffer> output = new ArrayList<>(deflate(true));
+                deflater.end();
+                if (!zip64 && (size >= MAX_32 || compressedSize >= MAX_32)) {
+                    throw new IllegalStateException("ZIP entry " + new String(name, StandardCharsets.UTF_8)
+                            + " is larger than its declared size");
+                }
+
+                ByteBuffer descriptor = allocate(zip64 ? 24 : 16);
+                descriptor.putInt(DATA_DESCRIPTOR_SIGNATURE).putInt((int) crc.getValue());
+                if (zip64) {
+                    descriptor.putLong(compressedSize).putLong(size);
+                } else {
+                    descriptor.putInt((int) compressedSize).putInt((int) size);
+                }
+                output.add(emit(descriptor));
+                centralEntries.add(new CentralEntry(name, dosTime, crc.getValue(), compressedSize, size, localOffset, zip64));
+                return output;
+            }
+
+            void close() {
+                deflater.end();
+            }
+
+            private List<DataBuffer> deflate(boolean finish) {
+                ByteArrayOutputStream output = new ByteArrayOutputStream();
+                if (finish) {
+                    deflater.finish();
+                    while (!deflater.finished()) {
+                        output.write(deflateBuffer, 0, deflater.deflate(deflateBuffer));
+                    }
+                } else {
+                    while (!deflater.needsInput()) {
+                        output.write(deflateBuffer, 0, deflater.deflate(deflateBuffer));
+                    }
+                }
+                if (output.size() == 0) {
+                    return List.of();
+                }
+                compressedSize += output.size();
+                return List.of(emit(output.toByteArray()));
+            }
+        }
+    }
+}
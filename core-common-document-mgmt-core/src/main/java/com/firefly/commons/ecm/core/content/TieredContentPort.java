@@ -0,0 +1,44 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.interfaces.enums.StorageTier;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Optional capability of a {@code DocumentContentPort} adapter whose backend offers access
+ * tiers, such as S3 storage classes or Azure Blob access tiers, and can move stored content
+ * between them in place.
+ *
+ * Adapters implementing this interface are detected at runtime when content is migrated
+ * between tiers. Every tier must keep content readable without a restore step, so archive
+ * classes such as S3 Glacier Flexible Retrieval or the Azure Archive tier are not suitable.
+ */
+public interface TieredContentPort {
+
+    /**
+     * Move stored content to another tier.
+     *
+     * @param contentId The ID the content is stored under
+     * @param tier The tier to store the content in
+     * @return A Mono emitting the storage path of the content
+     */
+    Mono<String> changeTier(UUID contentId, StorageTier tier);
+}
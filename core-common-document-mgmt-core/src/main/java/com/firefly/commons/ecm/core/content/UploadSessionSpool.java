@@ -0,0 +1,256 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local spool files of resumable upload sessions.
+ *
+ * Each session owns one sparse file in the staging directory. Chunks are written straight to
+ * their offset in the file, so they can arrive in any order and in parallel, and a chunk sent
+ * again after a failure simply overwrites the same region. The number of chunks of one session
+ * written at the same time is bounded.
+ *
+ * Spool files are local to this instance, which is identified by {@link #nodeId()}. Sessions
+ * record the instance spooling their chunks, and chunks or completions reaching another
+ * instance are refused.
+ */
+@Slf4j
+@Component
+public class UploadSessionSpool {
+
+    private static final String SESSION_DIRECTORY = "sessions";
+    private static final String FILE_SUFFIX = ".part";
+
+    private final EcmContentProperties contentProperties;
+    private final UploadStagingArea stagingArea;
+    private final Map<UUID, Integer> activeWrites = new ConcurrentHashMap<>();
+    private final String nodeId;
+
+    public UploadSessionSpool(EcmContentProperties contentProperties, UploadStagingArea stagingArea) {
+        this.contentProperties = contentProperties;
+        this.stagingArea = stagingArea;
+        String configuredNodeId = contentProperties.getSessions().getNodeId();
+        this.nodeId = configuredNodeId != null && !configuredNodeId.isBlank() ? configuredNodeId : localHostName();
+    }
+
+    /**
+     * Name of this instance, which holds the spool files written here.
+     *
+     * @return The node ID
+     */
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Write a chunk to the spool file of a session.
+     *
+     * @param sessionId The session ID
+     * @param offset The zero-based offset of the chunk in the content
+     * @param maxLength The maximum number of bytes the chunk may hold
+     * @param content The chunk content
+     * @return A Mono emitting the number of bytes written
+     */
+    public Mono<Long> write(UUID sessionId, long offset, long maxLength, Flux<DataBuffer> content) {
+        return Mono.usingWhen(
+                Mono.fromCallable(() -> acquire(sessionId)),
+                permit -> Mono.usingWhen(
+                        Mono.fromCallable(() -> open(sessionId)).subscribeOn(Schedulers.boundedElastic()),
+                        channel -> writeTo(channel, offset, maxLength, content),
+                        channel -> Mono.fromRunnable(() -> close(channel))),
+                permit -> Mono.fromRunnable(() -> release(sessionId)));
+    }
+
+    /**
+     * Read the spool file of a session.
+     *
+     * @param sessionId The session ID
+     * @return A Flux of DataBuffer containing the spooled content
+     */
+    public Flux<DataBuffer> read(UUID sessionId) {
+        Path file = spoolFile(sessionId);
+        return DataBufferUtils.readAsynchronousFileChannel(
+                () -> AsynchronousFileChannel.open(file, StandardOpenOption.READ),
+                DefaultDataBufferFactory.sharedInstance, getReadBufferSize());
+    }
+
+    /**
+     * Number of bytes up to the end of the last chunk in the spool file of a session.
+     *
+     * @param sessionId The session ID
+     * @return A Mono emitting the spool file size, or zero if this instance holds no spool file for the session
+     */
+    public Mono<Long> size(UUID sessionId) {
+        Path file = spoolFile(sessionId);
+        return Mono.fromCallable(() -> Files.exists(file) ? Files.size(file) : 0L)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Delete the spool file of a session.
+     *
+     * @param sessionId The session ID
+     * @return A Mono completing once the file is deleted
+     */
+    public Mono<Void> delete(UUID sessionId) {
+        return Mono.fromRunnable(() -> deleteQuietly(spoolFile(sessionId)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    /**
+     * Whether chunks of a session are currently being written.
+     *
+     * @param sessionId The session ID
+     * @return true if at least one chunk is being written
+     */
+    public boolean hasActiveWrites(UUID sessionId) {
+        return activeWrites.containsKey(sessionId);
+    }
+
+    /**
+     * Remove spool files that were not written to within the given age, such as files of
+     * sessions whose document was deleted.
+     *
+     * @param maxAge The age after which an unmodified spool file is removed
+     * @return The number of removed files
+     */
+    public int deleteStaleFiles(Duration maxAge) {
+        Path directory = sessionDirectory();
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        Instant cutoff = Instant.now().minus(maxAge);
+        int removed = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    deleteQuietly(file);
+                    removed++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to clean up upload session directory {}: {}", directory, e.getMessage());
+        }
+        return removed;
+    }
+
+    Path spoolFile(UUID sessionId) {
+        return sessionDirectory().resolve(sessionId + FILE_SUFFIX);
+    }
+
+    private Mono<Long> writeTo(AsynchronousFileChannel channel, long offset, long maxLength, Flux<DataBuffer> content) {
+        AtomicLong written = new AtomicLong();
+        Flux<DataBuffer> bounded = content
+                .<DataBuffer>handle((buffer, sink) -> {
+                    if (written.addAndGet(buffer.readableByteCount()) > maxLength) {
+                        DataBufferUtils.release(buffer);
+                        sink.error(new IllegalArgumentException("Chunk at offset " + offset + " exceeds " + maxLength + " bytes"));
+                    } else {
+                        sink.next(buffer);
+                    }
+                })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+        return DataBufferUtils.write(bounded, channel, offset)
+                .doOnNext(DataBufferUtils::release)
+                .then(Mono.fromCallable(written::get));
+    }
+
+    private Boolean acquire(UUID sessionId) {
+        int limit = getMaxConcurrentChunks();
+        if (activeWrites.merge(sessionId, 1, Integer::sum) > limit) {
+            release(sessionId);
+            throw new IllegalStateException("Upload session " + sessionId + " already has " + limit + " chunk(s) in progress");
+        }
+        return Boolean.TRUE;
+    }
+
+    private void release(UUID sessionId) {
+        activeWrites.computeIfPresent(sessionId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private AsynchronousFileChannel open(UUID sessionId) throws IOException {
+        Path file = spoolFile(sessionId);
+        Files.createDirectories(file.getParent());
+        return AsynchronousFileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    private Path sessionDirectory() {
+        return stagingArea.stagingDirectory().resolve(SESSION_DIRECTORY);
+    }
+
+    private int getMaxConcurrentChunks() {
+        Integer limit = contentProperties.getSessions().getMaxConcurrentChunks();
+        return limit != null && limit > 0 ? limit : 1;
+    }
+
+    private int getReadBufferSize() {
+        Integer size = contentProperties.getStaging().getReadBufferSize();
+        return size != null && size > 0 ? size : 64 * 1024;
+    }
+
+    private void close(AsynchronousFileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close upload session spool file: {}", e.getMessage());
+        }
+    }
+
+    private static String localHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            log.warn("Failed to resolve the host name, upload sessions are spooled as 'localhost': {}", e.getMessage());
+            return "localhost";
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete upload session spool file {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Local staging area for uploads destined to adapters that need a byte array or a known
+ * content length.
+ *
+ * Uploads up to the configured memory threshold stay on the heap. Larger uploads are
+ * spooled to a local file through an {@link AsynchronousFileChannel} and handed over as a
+ * file-backed {@link StagedContent}. Spool files count against a disk quota and files left
+ * behind by failed or abandoned uploads are removed by a scheduled cleanup.
+ */
+@Slf4j
+@Component
+public class UploadStagingArea {
+
+    private static final String SPOOL_PREFIX = "upload-";
+    private static final String SPOOL_SUFFIX = ".spool";
+
+    private final EcmContentProperties contentProperties;
+    private final AtomicLong diskUsage = new AtomicLong();
+    private final Map<Path, Long> activeFiles = new ConcurrentHashMap<>();
+    private final Set<Path> openFiles = ConcurrentHashMap.newKeySet();
+    private final Queue<Sinks.One<Boolean>> permitWaiters = new ArrayDeque<>();
+    private int availablePermits;
+
+    public UploadStagingArea(EcmContentProperties contentProperties) {
+        this.contentProperties = contentProperties;
+        Integer permits = contentProperties.getStaging().getMaxConcurrentMaterializations();
+        this.availablePermits = permits != null && permits > 0 ? permits : 1;
+    }
+
+    /**
+     * @return Whether the staging area is enabled
+     */
+    public boolean isEnabled() {
+        return !Boolean.FALSE.equals(contentProperties.getStaging().getEnabled());
+    }
+
+    /**
+     * @return The number of bytes currently held in spool files
+     */
+    public long getDiskUsage() {
+        return diskUsage.get();
+    }
+
+    /**
+     * Stage a content stream, keeping it on the heap or spooling it to disk depending on its size.
+     *
+     * @param content The content stream
+     * @return A Mono emitting the staged content
+     */
+    public Mono<StagedContent> stage(Flux<DataBuffer> content) {
+        return Mono.defer(() -> {
+            SpoolWriter writer = new SpoolWriter();
+            return content
+                    .concatMap(writer::accept)
+                    .then(Mono.fromCallable(writer::finish))
+                    .doOnError(error -> writer.abort())
+                    .doOnCancel(writer::abort)
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+        });
+    }
+
+    /**
+     * Hand staged content over as a byte array. The number of spooled uploads materialized
+     * on the heap at the same time is bounded, so concurrent large uploads cannot exhaust it.
+     * Uploads over the bound wait in line without holding a thread.
+     *
+     * @param staged The staged content
+     * @param consumer The function consuming the bytes
+     * @return A Mono emitting the consumer result
+     */
+    public <T> Mono<T> materialize(StagedContent staged, Function<byte[], Mono<T>> consumer) {
+        if (staged.isInMemory()) {
+            return staged.toByteArray().flatMap(consumer);
+        }
+        return Mono.usingWhen(
+                acquirePermit(),
+                permit -> staged.toByteArray().flatMap(consumer),
+                permit -> Mono.fromRunnable(this::releasePermit));
+    }
+
+    /**
+     * Take a materialization permit, or wait in line for one to be released.
+     */
+    private Mono<Boolean> acquirePermit() {
+        return Mono.defer(() -> {
+            Sinks.One<Boolean> waiter = Sinks.one();
+            synchronized (permitWaiters) {
+                if (availablePermits > 0) {
+                    availablePermits--;
+                    return Mono.just(Boolean.TRUE);
+                }
+                permitWaiters.add(waiter);
+            }
+            return waiter.asMono().doOnCancel(() -> {
+                boolean waiting;
+                synchronized (permitWaiters) {
+                    waiting = permitWaiters.remove(waiter);
+                }
+                // A waiter cancelled after it was handed the permit passes it on
+                if (!waiting) {
+                    releasePermit();
+                }
+            });
+        });
+    }
+
+    /**
+     * Hand a released permit to the next waiter, or return it if no one is waiting.
+     */
+    private void releasePermit() {
+        Sinks.One<Boolean> next;
+        synchronized (permitWaiters) {
+            next = permitWaiters.poll();
+            if (next == null) {
+                availablePermits++;
+                return;
+            }
+        }
+        next.tryEmitValue(Boolean.TRUE);
+    }
+
+    /**
+     * Remove spool files that were not released, for example after a crash or an abandoned upload.
+     * Files still being written or held by an upload of this instance are left alone, however old.
+     */
+    @Scheduled(fixedDelayString = "${firefly.ecm.integration.content.staging.cleanup-interval:PT15M}")
+    public void cleanupOrphanedSpoolFiles() {
+        Path directory = stagingDirectory();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        Instant cutoff = Instant.now().minus(contentProperties.getStaging().getOrphanTtl());
+        int removed = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SPOOL_PREFIX + "*" + SPOOL_SUFFIX)) {
+            for (Path file : files) {
+                if (!activeFiles.containsKey(file) && !openFiles.contains(file)
+                        && Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    Files.deleteIfExists(file);
+                    removed++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to clean up upload staging directory {}: {}", directory, e.getMessage());
+        }
+
+        if (removed > 0) {
+            log.info("Removed {} orphaned upload spool file(s) from {}", removed, directory);
+        }
+    }
+
+    void discard(Path file, long size) {
+        if (activeFiles.remove(file) != null) {
+            diskUsage.addAndGet(-size);
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete upload spool file {}: {}", file, e.getMessage());
+        }
+    }
+
+    Path stagingDirectory() {
+        String directory = contentProperties.getStaging().getDirectory();
+        return directory != null && !directory.isBlank()
+                ? Paths.get(directory)
+                : Paths.get(System.getProperty("java.io.tmpdir"), "ecm-upload-staging");
+    }
+
+    private long memoryThreshold() {
+        Long threshold = contentProperties.getStaging().getMemoryThreshold();
+        return threshold != null ? threshold : 0L;
+    }
+
+    /**
+     * Accumulates buffers in memory until the threshold is crossed, then writes everything to a spool file.
+     */
+    private final class SpoolWriter {
+
+        private final List<DataBuffer> pending = new ArrayList<>();
+        private long size;
+        private long written;
+        private long reserved;
+        private Path file;
+        private AsynchronousFileChannel channel;
+
+        Mono<Void> accept(DataBuffer buffer) {
+            int readable = buffer.readableByteCount();
+            if (channel == null && size + readable <= memoryThreshold()) {
+                pending.add(buffer);
+                size += readable;
+                return Mono.empty();
+            }
+
+            List<DataBuffer> toWrite = new ArrayList<>(pending);
+            toWrite.add(buffer);
+            pending.clear();
+            size += readable;
+
+            try {
+                if (channel == null) {
+                    open();
+                }
+                reserve(size - written);
+            } catch (IOException | RuntimeException e) {
+                toWrite.forEach(DataBufferUtils::release);
+                return Mono.error(e);
+            }
+
+            long position = written;
+            written = size;
+            return DataBufferUtils.write(Flux.fromIterable(toWrite), channel, position)
+                    .doOnNext(DataBufferUtils::release)
+                    .then();
+        }
+
+        StagedContent finish() throws IOException {
+            if (channel == null) {
+                byte[] bytes = new byte[Math.toIntExact(size)];
+                int offset = 0;
+                for (DataBuffer buffer : pending) {
+                    int length = buffer.readableByteCount();
+                    buffer.read(bytes, offset, length);
+                    offset += length;
+                    DataBufferUtils.release(buffer);
+                }
+                pending.clear();
+                return StagedContent.inMemory(bytes);
+            }
+
+            channel.close();
+            activeFiles.put(file, reserved);
+            openFiles.remove(file);
+            log.debug("Spooled upload of {} bytes to {}", size, file);
+            return StagedContent.spooled(file, size, readBufferSize(), UploadStagingArea.this);
+        }
+
+        void abort() {
+            pending.forEach(DataBufferUtils::release);
+            pending.clear();
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    log.debug("Failed to close upload spool channel: {}", e.getMessage());
+                }
+                diskUsage.addAndGet(-reserved);
+                reserved = 0;
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("Failed to delete upload spool file {}: {}", file, e.getMessage());
+                }
+                openFiles.remove(file);
+            }
+        }
+
+        private void open() throws IOException {
+            Path directory = stagingDirectory();
+            Files.createDirectories(directory);
+            file = directory.resolve(SPOOL_PREFIX + UUID.randomUUID() + SPOOL_SUFFIX);
+            channel = AsynchronousFileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            openFiles.add(file);
+        }
+
+        private void reserve(long bytes) {
+            long usage = diskUsage.addAndGet(bytes);
+            Long quota = contentProperties.getStaging().getMaxDiskUsage();
+            if (quota != null && usage > quota) {
+                diskUsage.addAndGet(-bytes);
+                throw new IllegalStateException("Upload staging disk quota of " + quota + " bytes exceeded");
+            }
+            reserved += bytes;
+        }
+
+        private int readBufferSize() {
+            Integer bufferSize = contentProperties.getStaging().getReadBufferSize();
+            return bufferSize != null && bufferSize > 0 ? bufferSize : 64 * 1024;
+        }
+    }
+}
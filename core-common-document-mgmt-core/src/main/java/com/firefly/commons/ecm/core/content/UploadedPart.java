@@ -0,0 +1,42 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import lombok.Value;
+
+/**
+ * A part of a multipart upload that has been stored.
+ */
+@Value(staticConstructor = "of")
+public class UploadedPart {
+
+    /**
+     * One-based number of the part
+     */
+    int partNumber;
+
+    /**
+     * Tag identifying the stored part, such as an ETag or block ID
+     */
+    String tag;
+
+    /**
+     * Part length in bytes
+     */
+    long size;
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import lombok.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * An entry of a streamed ZIP archive.
+ */
+@Value(staticConstructor = "of")
+public class ZipEntrySource {
+
+    /**
+     * Path of the entry within the archive, using {@code /} as separator
+     */
+    String name;
+
+    /**
+     * MIME type of the content, or null if unknown
+     */
+    String mimeType;
+
+    /**
+     * Size of the content in bytes, or null if unknown
+     */
+    Long size;
+
+    /**
+     * Last modification time of the content, or null if unknown
+     */
+    LocalDateTime lastModified;
+
+    /**
+     * Supplier of the content stream, invoked when the entry is about to be written
+     */
+    Supplier<Flux<DataBuffer>> content;
+}
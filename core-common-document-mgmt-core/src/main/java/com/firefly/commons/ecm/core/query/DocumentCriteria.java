@@ -0,0 +1,57 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.query;
+
+import com.firefly.commons.ecm.interfaces.dtos.DocumentQueryDTO;
+import org.springframework.data.relational.core.query.Criteria;
+
+/**
+ * Translates a {@link DocumentQueryDTO} into query criteria over the Document entity.
+ */
+public final class DocumentCriteria {
+
+    private DocumentCriteria() {
+    }
+
+    /**
+     * Build the criteria selecting the documents matching a query.
+     *
+     * @param query The query, or null to match every document
+     * @return The criteria, empty if the query has no criteria
+     */
+    public static Criteria of(DocumentQueryDTO query) {
+        Criteria criteria = Criteria.empty();
+        if (query == null) {
+            return criteria;
+        }
+        criteria = and(criteria, "tenantId", query.getTenantId());
+        criteria = and(criteria, "folderId", query.getFolderId());
+        criteria = and(criteria, "documentType", query.getDocumentType());
+        criteria = and(criteria, "documentStatus", query.getDocumentStatus());
+        criteria = and(criteria, "securityLevel", query.getSecurityLevel());
+        return and(criteria, "mimeType", query.getMimeType());
+    }
+
+    private static Criteria and(Criteria criteria, String property, Object value) {
+        if (value == null) {
+            return criteria;
+        }
+        Criteria match = Criteria.where(property).is(value);
+        return criteria.isEmpty() ? match : criteria.and(match);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.query;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.core.ReactiveDataAccessStrategy;
+import org.springframework.data.r2dbc.core.StatementMapper;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.r2dbc.core.PreparedOperation;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * Streams every entity matching a query from a single statement.
+ *
+ * The statement runs with a fetch size, so the driver reads its results through a server-side
+ * cursor a batch of rows at a time, and only asks for the next batch once the subscriber has
+ * demanded the rows read so far. Memory stays bounded by the fetch size however many rows
+ * match, and a slow consumer slows down the reads instead of buffering them. The statement
+ * holds its connection until the stream completes or is cancelled.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityStreamer {
+
+    private final R2dbcEntityTemplate entityTemplate;
+    private final EcmContentProperties contentProperties;
+
+    /**
+     * Stream the entities matching the criteria.
+     *
+     * @param entityType The entity type
+     * @param criteria Criteria selecting the entities, empty to stream every entity
+     * @param sort Order of the entities
+     * @param <E> The entity type
+     * @return A Flux of the entities, reading further rows on demand
+     */
+    public <E> Flux<E> stream(Class<E> entityType, Criteria criteria, Sort sort) {
+        return Flux.defer(() -> {
+            ReactiveDataAccessStrategy dataAccessStrategy = entityTemplate.getDataAccessStrategy();
+            StatementMapper statementMapper = dataAccessStrategy.getStatementMapper().forType(entityType);
+            StatementMapper.SelectSpec select = statementMapper.createSelect(dataAccessStrategy.getTableName(entityType))
+                    .withProjection(dataAccessStrategy.getAllColumns(entityType).toArray(new SqlIdentifier[0]))
+                    .withCriteria(criteria != null ? criteria : Criteria.empty())
+                    .withSort(sort);
+            PreparedOperation<?> operation = statementMapper.getMappedObject(select);
+            int fetchSize = getFetchSize();
+
+            return entityTemplate.getDatabaseClient().sql(operation)
+                    .filter(statement -> statement.fetchSize(fetchSize))
+                    .map((row, metadata) -> entityTemplate.getConverter().read(entityType, row, metadata))
+                    .all();
+        });
+    }
+
+    private int getFetchSize() {
+        Integer fetchSize = contentProperties.getPaging().getStreamFetchSize();
+        return fetchSize != null && fetchSize > 0 ? fetchSize : 500;
+    }
+}
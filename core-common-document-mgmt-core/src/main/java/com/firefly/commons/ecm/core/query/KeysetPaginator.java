@@ -0,0 +1,198 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.query;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.interfaces.dtos.CursorPageDTO;
+import com.firefly.commons.ecm.interfaces.dtos.CursorRequestDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Pages entities by keyset instead of by offset.
+ *
+ * Results are ordered by a sort key and the entity ID as tie breaker. Every page is read with a
+ * range condition on that pair, starting after the last result of the previous page, so the
+ * database seeks straight to the page through an index on the pair instead of reading and
+ * discarding every earlier row. One row more than the page size is read to find out whether a
+ * next page exists. The total count is only run on request.
+ *
+ * Results with a null sort key are not paged.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeysetPaginator {
+
+    private static final Set<Class<?>> SORTABLE_TYPES = Set.of(String.class, UUID.class, Long.class, Integer.class,
+            LocalDateTime.class, LocalDate.class, Instant.class, OffsetDateTime.class);
+
+    private final R2dbcEntityTemplate entityTemplate;
+    private final EcmContentProperties contentProperties;
+
+    /**
+     * Read one page of entities.
+     *
+     * @param entityType The entity type
+     * @param filter Criteria selecting the entities, empty to page through every entity
+     * @param request The cursor, size and sort of the page
+     * @param mapper Mapper from entities to results
+     * @param <E> The entity type
+     * @param <D> The result type
+     * @return A Mono emitting the page
+     * @throws IllegalArgumentException if the sort key is not a sortable property or the cursor is
+     *         invalid or was issued for another sort
+     */
+    public <E, D> Mono<CursorPageDTO<D>> page(Class<E> entityType, Criteria filter, CursorRequestDTO request,
+                                             Function<E, D> mapper) {
+        return Mono.defer(() -> {
+            RelationalPersistentEntity<E> entity = persistentEntity(entityType);
+            String sort = request.getSort() != null && !request.getSort().isBlank() ? request.getSort().trim() : "createdAt";
+            boolean descending = sort.startsWith("-");
+            RelationalPersistentProperty key = sortProperty(entity, descending ? sort.substring(1) : sort);
+            RelationalPersistentProperty id = entity.getRequiredIdProperty();
+            boolean byId = key.equals(id);
+            int size = pageSize(request.getSize());
+
+            Criteria selection = filter != null ? filter : Criteria.empty();
+            Criteria paged = byId ? selection : and(selection, Criteria.where(key.getName()).isNotNull());
+            Criteria criteria = paged;
+            if (request.getCursor() != null && !request.getCursor().isBlank()) {
+                PageCursor after = PageCursor.decode(request.getCursor());
+                if (!sort.equals(after.getSort())) {
+                    throw new IllegalArgumentException("Cursor was issued for sort " + after.getSort() + ", not " + sort);
+                }
+                criteria = and(criteria, after(key, id, descending, byId, after));
+            }
+
+            Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+            Query query = Query.query(criteria)
+                    .sort(byId ? Sort.by(direction, id.getName()) : Sort.by(direction, key.getName(), id.getName()))
+                    .limit(size + 1);
+
+            Mono<List<E>> rows = entityTemplate.select(query, entityType).collectList();
+            Mono<Optional<Long>> total = Boolean.TRUE.equals(request.getIncludeTotal())
+                    ? entityTemplate.count(Query.query(paged), entityType).map(Optional::of)
+                    : Mono.just(Optional.empty());
+
+            return Mono.zip(rows, total).map(result -> {
+                List<E> page = result.getT1();
+                String nextCursor = null;
+                if (page.size() > size) {
+                    page = page.subList(0, size);
+                    E last = page.get(size - 1);
+                    Object lastKey = entity.getPropertyAccessor(last).getProperty(key);
+                    Object lastId = entity.getPropertyAccessor(last).getProperty(id);
+                    nextCursor = PageCursor.of(sort, lastKey.toString(), (UUID) lastId).encode();
+                }
+                return CursorPageDTO.<D>builder()
+                        .content(page.stream().map(mapper).toList())
+                        .nextCursor(nextCursor)
+                        .size(size)
+                        .totalElements(result.getT2().orElse(null))
+                        .build();
+            });
+        });
+    }
+
+    private Criteria after(RelationalPersistentProperty key, RelationalPersistentProperty id, boolean descending,
+                           boolean byId, PageCursor cursor) {
+        if (byId) {
+            return descending
+                    ? Criteria.where(id.getName()).lessThan(cursor.getId())
+                    : Criteria.where(id.getName()).greaterThan(cursor.getId());
+        }
+        Object value = parse(cursor.getValue(), key.getType());
+        // Criteria have no row comparison, so (key, id) > (value, cursor ID) is spelled out. The
+        // redundant bound on the key alone lets the planner seek the (key, id) index instead of
+        // filtering the OR across the whole range
+        return descending
+                ? Criteria.where(key.getName()).lessThanOrEquals(value)
+                        .and(Criteria.where(key.getName()).lessThan(value)
+                                .or(Criteria.where(key.getName()).is(value).and(id.getName()).lessThan(cursor.getId())))
+                : Criteria.where(key.getName()).greaterThanOrEquals(value)
+                        .and(Criteria.where(key.getName()).greaterThan(value)
+                                .or(Criteria.where(key.getName()).is(value).and(id.getName()).greaterThan(cursor.getId())));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E> RelationalPersistentEntity<E> persistentEntity(Class<E> entityType) {
+        return (RelationalPersistentEntity<E>) entityTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(entityType);
+    }
+
+    private RelationalPersistentProperty sortProperty(RelationalPersistentEntity<?> entity, String name) {
+        RelationalPersistentProperty property = entity.getPersistentProperty(name);
+        if (property == null || !SORTABLE_TYPES.contains(property.getType())) {
+            throw new IllegalArgumentException("Cannot sort " + entity.getType().getSimpleName() + " by " + name);
+        }
+        return property;
+    }
+
+    private int pageSize(Integer requested) {
+        EcmContentProperties.Paging paging = contentProperties.getPaging();
+        int size = requested != null ? requested : paging.getDefaultPageSize();
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(size, paging.getMaxPageSize());
+    }
+
+    private static Object parse(String value, Class<?> type) {
+        try {
+            if (type == UUID.class) {
+                return UUID.fromString(value);
+            } else if (type == Long.class) {
+                return Long.valueOf(value);
+            } else if (type == Integer.class) {
+                return Integer.valueOf(value);
+            } else if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(value);
+            } else if (type == LocalDate.class) {
+                return LocalDate.parse(value);
+            } else if (type == Instant.class) {
+                return Instant.parse(value);
+            } else if (type == OffsetDateTime.class) {
+                return OffsetDateTime.parse(value);
+            }
+            return value;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private static Criteria and(Criteria criteria, Criteria condition) {
+        return criteria.isEmpty() ? condition : criteria.and(condition);
+    }
+}
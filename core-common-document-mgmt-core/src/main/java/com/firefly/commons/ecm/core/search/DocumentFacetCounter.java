@@ -0,0 +1,210 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.search;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentFacetsDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentQueryDTO;
+import com.firefly.commons.ecm.interfaces.dtos.FacetValueDTO;
+import com.firefly.commons.ecm.interfaces.enums.DocumentFacet;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the documents matching a search by facet.
+ *
+ * All requested facets are counted by a single {@code GROUPING SETS} query over the matching
+ * documents, with one grouping set per facet and an empty one for the total, so the matches
+ * are read once however many facets are requested. Tags are joined only when counted, and
+ * documents are then counted distinctly so their tags do not inflate the other facets.
+ *
+ * Counts of all documents of a tenant, as shown before a search is refined, are cached for a
+ * short time. Concurrent requests for the same uncached counts share one query.
+ */
+@Slf4j
+@Component
+public class DocumentFacetCounter {
+
+    private final R2dbcEntityTemplate entityTemplate;
+    private final EcmContentProperties contentProperties;
+    private final AsyncCache<FacetKey, DocumentFacetsDTO> unfilteredCounts;
+
+    public DocumentFacetCounter(R2dbcEntityTemplate entityTemplate, EcmContentProperties contentProperties) {
+        this.entityTemplate = entityTemplate;
+        this.contentProperties = contentProperties;
+        EcmContentProperties.Search search = contentProperties.getSearch();
+        this.unfilteredCounts = Caffeine.newBuilder()
+                .expireAfterWrite(search.getFacetCacheTtl())
+                .maximumSize(search.getFacetCacheSize())
+                .buildAsync();
+    }
+
+    /**
+     * Count the documents matching a search by facet.
+     *
+     * @param filter The criteria the documents match, including the tenant
+     * @param query Free-text query over the search vector of the documents, or null
+     * @param facets The facets to count
+     * @return A Mono emitting the total and the counts of every facet value
+     */
+    public Mono<DocumentFacetsDTO> count(DocumentQueryDTO filter, String query, Set<DocumentFacet> facets) {
+        Set<DocumentFacet> requested = facets == null || facets.isEmpty()
+                ? EnumSet.allOf(DocumentFacet.class) : EnumSet.copyOf(facets);
+        String text = query != null && !query.isBlank() ? query.trim() : null;
+        if (text == null && isUnfiltered(filter)) {
+            FacetKey key = new FacetKey(filter.getTenantId(), requested);
+            // A cancelled request must not cancel the query shared with concurrent requests
+            return Mono.fromFuture(() -> unfilteredCounts.get(key,
+                    (k, executor) -> load(filter, null, requested).toFuture()), true);
+        }
+        return load(filter, text, requested);
+    }
+
+    private Mono<DocumentFacetsDTO> load(DocumentQueryDTO filter, String query, Set<DocumentFacet> facets) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        String sql = buildQuery(filter, query, facets, bindings);
+        log.debug("Counting facets {} of tenant {}", facets, filter.getTenantId());
+
+        DatabaseClient.GenericExecuteSpec spec = entityTemplate.getDatabaseClient().sql(sql);
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map((row, metadata) -> new FacetRow(
+                        row.get("facet", String.class),
+                        row.get("value", String.class),
+                        row.get("document_count", Long.class)))
+                .all()
+                .collectList()
+                .map(rows -> toFacets(rows, facets));
+    }
+
+    static String buildQuery(DocumentQueryDTO filter, String query, Set<DocumentFacet> facets, Map<String, Object> bindings) {
+        StringBuilder where = new StringBuilder("d.tenant_id = :tenantId");
+        bindings.put("tenantId", filter.getTenantId());
+        if (filter.getFolderId() != null) {
+            where.append(" AND d.folder_id = :folderId");
+            bindings.put("folderId", filter.getFolderId());
+        }
+        if (filter.getDocumentType() != null) {
+            where.append(" AND d.document_type = CAST(:documentType AS document_type)");
+            bindings.put("documentType", filter.getDocumentType().name());
+        }
+        if (filter.getDocumentStatus() != null) {
+            where.append(" AND d.document_status = CAST(:documentStatus AS document_status)");
+            bindings.put("documentStatus", filter.getDocumentStatus().name());
+        }
+        if (filter.getSecurityLevel() != null) {
+            where.append(" AND d.security_level = CAST(:securityLevel AS security_level)");
+            bindings.put("securityLevel", filter.getSecurityLevel().name());
+        }
+        if (filter.getMimeType() != null) {
+            where.append(" AND d.mime_type = :mimeType");
+            bindings.put("mimeType", filter.getMimeType());
+        }
+        if (query != null) {
+            where.append(" AND d.search_vector @@ websearch_to_tsquery('simple', :query)");
+            bindings.put("query", query);
+        }
+
+        boolean byTag = facets.contains(DocumentFacet.TAG);
+        List<String> columns = facets.stream().map(DocumentFacetCounter::columnOf).toList();
+        String facetLabel = facets.stream()
+                .map(facet -> "WHEN GROUPING(" + columnOf(facet) + ") = 0 THEN '" + facet.name() + "'")
+                .collect(Collectors.joining(" ", "CASE ", " END"));
+        String value = columns.stream()
+                .map(column -> column + "::text")
+                .collect(Collectors.joining(", ", "COALESCE(", ")"));
+        String groupingSets = columns.stream()
+                .map(column -> "(" + column + ")")
+                .collect(Collectors.joining(", ", "", ", ()"));
+
+        return "SELECT " + facetLabel + " AS facet, " + value + " AS value, "
+                + (byTag ? "COUNT(DISTINCT d.id)" : "COUNT(*)") + " AS document_count "
+                + "FROM documents d "
+                + (byTag ? "LEFT JOIN document_tags dt ON dt.document_id = d.id " : "")
+                + "WHERE " + where + " "
+                + "GROUP BY GROUPING SETS (" + groupingSets + ")";
+    }
+
+    private DocumentFacetsDTO toFacets(List<FacetRow> rows, Set<DocumentFacet> facets) {
+        Map<DocumentFacet, List<FacetValueDTO>> counts = new EnumMap<>(DocumentFacet.class);
+        facets.forEach(facet -> counts.put(facet, new ArrayList<>()));
+        long total = 0;
+        for (FacetRow row : rows) {
+            if (row.facet() == null) {
+                total = row.count();
+            } else {
+                counts.get(DocumentFacet.valueOf(row.facet())).add(FacetValueDTO.builder()
+                        .value(row.value())
+                        .count(row.count())
+                        .build());
+            }
+        }
+        int maxValues = getMaxFacetValues();
+        counts.replaceAll((facet, values) -> values.stream()
+                .sorted(Comparator.comparing(FacetValueDTO::getCount).reversed()
+                        .thenComparing(FacetValueDTO::getValue, Comparator.nullsLast(Comparator.naturalOrder())))
+                .limit(maxValues)
+                .toList());
+        return DocumentFacetsDTO.builder()
+                .totalDocuments(total)
+                .facets(counts)
+                .build();
+    }
+
+    private static String columnOf(DocumentFacet facet) {
+        return switch (facet) {
+            case DOCUMENT_TYPE -> "d.document_type";
+            case DOCUMENT_STATUS -> "d.document_status";
+            case SECURITY_LEVEL -> "d.security_level";
+            case TAG -> "dt.tag_id";
+            case FOLDER -> "d.folder_id";
+        };
+    }
+
+    private static boolean isUnfiltered(DocumentQueryDTO filter) {
+        return filter.getFolderId() == null && filter.getDocumentType() == null && filter.getDocumentStatus() == null
+                && filter.getSecurityLevel() == null && filter.getMimeType() == null;
+    }
+
+    private int getMaxFacetValues() {
+        Integer maxValues = contentProperties.getSearch().getMaxFacetValues();
+        return maxValues != null && maxValues > 0 ? maxValues : Integer.MAX_VALUE;
+    }
+
+    private record FacetKey(String tenantId, Set<DocumentFacet> facets) {
+    }
+
+    private record FacetRow(String facet, String value, Long count) {
+    }
+}
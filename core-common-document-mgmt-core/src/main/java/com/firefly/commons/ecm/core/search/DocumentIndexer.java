@@ -0,0 +1,250 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.search;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.core.content.ContentDownloadPipeline;
+import com.firefly.commons.ecm.core.content.ContentReference;
+import com.firefly.commons.ecm.core.content.LocalFilesystemContentEngine;
+import com.firefly.commons.ecm.models.entities.Document;
+import com.firefly.commons.ecm.models.entities.DocumentMetadata;
+import com.firefly.commons.ecm.models.repositories.DocumentMetadataRepository;
+import com.firefly.commons.ecm.models.repositories.DocumentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.ecm.port.document.DocumentContentPort;
+import org.fireflyframework.ecm.service.EcmPortProvider;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the {@link LocalSearchIndex} in step with the documents: collects the searchable text of
+ * a document, its names, description, searchable metadata values and the text of its content,
+ * and writes it to the index.
+ *
+ * Only content of a text MIME type is read, up to a configured size. Encrypted content is never
+ * read, so its plain text does not end up in the index. Indexing failures are logged and never
+ * fail the operation that triggered them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DocumentIndexer {
+
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final EcmContentProperties contentProperties;
+    private final LocalSearchIndex searchIndex;
+    private final DocumentRepository documentRepository;
+    private final DocumentMetadataRepository metadataRepository;
+    private final EcmPortProvider ecmPortProvider;
+    private final LocalFilesystemContentEngine localContentEngine;
+    private final ContentDownloadPipeline contentDownloadPipeline;
+
+    /**
+     * Index a document, replacing its earlier entry.
+     *
+     * @param document The document
+     * @return A Mono completing once the document is indexed, or indexing failed
+     */
+    public Mono<Void> index(Document document) {
+        if (!searchIndex.isEnabled()) {
+            return Mono.empty();
+        }
+        return Mono.zip(metadataValues(document), extractText(document).map(Optional::of).defaultIfEmpty(Optional.empty()))
+                .flatMap(searchable -> searchIndex.index(SearchableDocument.builder()
+                        .id(document.getId())
+                        .tenantId(document.getTenantId())
+                        .name(document.getName())
+                        .description(document.getDescription())
+                        .fileName(document.getFileName())
+                        .metadata(searchable.getT1())
+                        .content(searchable.getT2().orElse(null))
+                        .build()))
+                .onErrorResume(error -> {
+                    log.warn("Local indexing failed for document {}: {}", document.getId(), error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Index the current state of a document, for changes made outside the document itself such as its metadata.
+     *
+     * @param documentId The ID of the document
+     * @return A Mono completing once the document is indexed, or indexing failed
+     */
+    public Mono<Void> reindex(UUID documentId) {
+        if (!searchIndex.isEnabled() || documentId == null) {
+            return Mono.empty();
+        }
+        return documentRepository.findById(documentId)
+                .flatMap(this::index);
+    }
+
+    /**
+     * Remove a document from the index.
+     *
+     * @param document The document
+     * @return A Mono completing once the document is removed, or removal failed
+     */
+    public Mono<Void> remove(Document document) {
+        if (!searchIndex.isEnabled()) {
+            return Mono.empty();
+        }
+        return searchIndex.remove(document.getTenantId(), document.getId())
+                .onErrorResume(error -> {
+                    log.warn("Failed to remove document {} from the local index: {}", document.getId(), error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Index every document, for an index that is new or was lost. Entries of documents deleted
+     * in the meantime are not removed, but are never returned by searches.
+     *
+     * @return A Mono emitting the number of documents indexed
+     */
+    public Mono<Long> rebuild() {
+        if (!searchIndex.isEnabled()) {
+            return Mono.error(new IllegalStateException("Local search index is disabled"));
+        }
+        log.info("Rebuilding local search index");
+        AtomicLong indexed = new AtomicLong();
+        return walk(FIRST_ID, indexed)
+                .then(Mono.fromRunnable(searchIndex::refresh))
+                .then(Mono.fromCallable(indexed::get))
+                .doOnSuccess(count -> log.info("Rebuilt local search index with {} documents", count));
+    }
+
+    private Mono<Void> walk(UUID afterId, AtomicLong indexed) {
+        return documentRepository.findAfter(afterId, getRebuildBatchSize())
+                .collectList()
+                .flatMap(batch -> {
+                    if (batch.isEmpty()) {
+                        return Mono.empty();
+                    }
+                    return Flux.fromIterable(batch)
+                            .concatMap(this::index)
+                            .then(Mono.defer(() -> {
+                                indexed.addAndGet(batch.size());
+                                return walk(batch.get(batch.size() - 1).getId(), indexed);
+                            }));
+                });
+    }
+
+    private Mono<List<String>> metadataValues(Document document) {
+        return metadataRepository.findByDocumentId(document.getId())
+                .filter(entry -> !Boolean.FALSE.equals(entry.getIsSearchable()))
+                .map(DocumentMetadata::getValue)
+                .filter(Objects::nonNull)
+                .collectList();
+    }
+
+    private Mono<String> extractText(Document document) {
+        EcmContentProperties.Search search = contentProperties.getSearch();
+        if (!Boolean.TRUE.equals(search.getExtractContent()) || !hasContent(document) || isEncrypted(document)
+                || !isText(document.getMimeType())) {
+            return Mono.empty();
+        }
+        Optional<DocumentContentPort> port = localContentEngine.resolvePort(document.getStorageType(),
+                ecmPortProvider.getDocumentContentPort());
+        if (port.isEmpty()) {
+            return Mono.empty();
+        }
+        long maxSize = search.getMaxExtractedSize() != null && search.getMaxExtractedSize() > 0
+                ? search.getMaxExtractedSize() : Long.MAX_VALUE;
+        Charset charset = charsetOf(document.getMimeType());
+        Flux<DataBuffer> content = contentDownloadPipeline.read(port.get(), contentReferenceOf(document));
+        return DataBufferUtils.join(maxSize == Long.MAX_VALUE ? content : DataBufferUtils.takeUntilByteCount(content, maxSize))
+                .map(buffer -> {
+                    try {
+                        return buffer.toString(charset);
+                    } finally {
+                        DataBufferUtils.release(buffer);
+                    }
+                })
+                // The document stays searchable by its other fields
+                .onErrorResume(error -> {
+                    log.warn("Failed to extract text of document {} for indexing: {}", document.getId(), error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private boolean isText(String mimeType) {
+        List<String> textMimeTypes = contentProperties.getSearch().getTextMimeTypes();
+        if (mimeType == null || textMimeTypes == null) {
+            return false;
+        }
+        int parameters = mimeType.indexOf(';');
+        String type = (parameters >= 0 ? mimeType.substring(0, parameters) : mimeType).trim().toLowerCase(Locale.ROOT);
+        for (String textMimeType : textMimeTypes) {
+            String pattern = textMimeType.trim().toLowerCase(Locale.ROOT);
+            if (pattern.endsWith("*") ? type.startsWith(pattern.substring(0, pattern.length() - 1)) : type.equals(pattern)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Charset charsetOf(String mimeType) {
+        try {
+            MimeType parsed = MimeTypeUtils.parseMimeType(mimeType);
+            return parsed.getCharset() != null ? parsed.getCharset() : StandardCharsets.UTF_8;
+        } catch (InvalidMimeTypeException | IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private boolean hasContent(Document document) {
+        return document.getContentBlobId() != null || document.getStoragePath() != null;
+    }
+
+    private boolean isEncrypted(Document document) {
+        return document.getEncryptionKeyId() != null || Boolean.TRUE.equals(document.getIsEncrypted());
+    }
+
+    private int getRebuildBatchSize() {
+        Integer batchSize = contentProperties.getSearch().getRebuildBatchSize();
+        return batchSize != null && batchSize > 0 ? batchSize : 200;
+    }
+
+    private UUID contentIdOf(Document document) {
+        return document.getContentBlobId() != null ? document.getContentBlobId() : document.getId();
+    }
+
+    private ContentReference contentReferenceOf(Document document) {
+        return ContentReference.of(contentIdOf(document), document.getChecksum(), document.getFileSize(), document.getVersion(),
+                        document.getContentEncoding())
+                .withEncrypted(document.getEncryptionKeyId() != null);
+    }
+}
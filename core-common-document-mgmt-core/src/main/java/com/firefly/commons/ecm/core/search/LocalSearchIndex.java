@@ -0,0 +1,386 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.search;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Embedded Lucene full-text index of document names, descriptions, file names, metadata values
+ * and extracted content.
+ *
+ * Every tenant has its own index partition, in its own directory, so searches never see the
+ * documents of another tenant and a tenant's index can be dropped on its own. Writes go to the
+ * partition's {@link IndexWriter} and become visible to searches near-real-time, on the next
+ * refresh of its {@link SearcherManager}, without waiting for a commit. Commits, which make the
+ * changes durable, happen on their own schedule.
+ *
+ * Results are ranked by BM25 and carry highlighted passages of the matching fields.
+ */
+@Slf4j
+@Component
+public class LocalSearchIndex {
+
+    static final String ID = "id";
+    static final String NAME = "name";
+    static final String DESCRIPTION = "description";
+    static final String FILE_NAME = "fileName";
+    static final String METADATA = "metadata";
+    static final String CONTENT = "content";
+
+    private static final String[] SEARCH_FIELDS = {NAME, FILE_NAME, DESCRIPTION, METADATA, CONTENT};
+    private static final Map<String, Float> BOOSTS = Map.of(NAME, 3f, FILE_NAME, 2f, DESCRIPTION, 1.5f);
+    private static final String DEFAULT_PARTITION = "default";
+    private static final int MAX_PASSAGES = 3;
+
+    /**
+     * Deepest hit a search can page to, as every hit up to it is collected and ranked
+     */
+    static final int MAX_RESULT_WINDOW = 10_000;
+
+    /**
+     * Stored with offsets, so matches are highlighted without analyzing the text again
+     */
+    private static final FieldType HIGHLIGHTED_TEXT = highlightedText();
+
+    private final EcmContentProperties contentProperties;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+
+    public LocalSearchIndex(EcmContentProperties contentProperties) {
+        this.contentProperties = contentProperties;
+    }
+
+    /**
+     * Whether documents are indexed and searchable.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(contentProperties.getSearch().getEnabled());
+    }
+
+    /**
+     * Add a document to the partition of its tenant, replacing an earlier copy of it.
+     *
+     * @param document The document
+     * @return A Mono completing once the document is written, to be visible after the next refresh
+     */
+    public Mono<Void> index(SearchableDocument document) {
+        return Mono.<Void>fromRunnable(() -> {
+                    Partition partition = partitions.computeIfAbsent(partitionName(document.getTenantId()), this::open);
+                    try {
+                        partition.writer().updateDocument(new Term(ID, document.getId().toString()), toLuceneDocument(document));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Remove a document from the partition of a tenant.
+     *
+     * @param tenantId The tenant of the document, or null for the default partition
+     * @param documentId The ID of the document
+     * @return A Mono completing once the document is removed, to take effect after the next refresh
+     */
+    public Mono<Void> remove(String tenantId, UUID documentId) {
+        return Mono.<Void>fromRunnable(() -> {
+                    Partition partition = existingPartition(partitionName(tenantId));
+                    if (partition == null) {
+                        return;
+                    }
+                    try {
+                        partition.writer().deleteDocuments(new Term(ID, documentId.toString()));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Search the partition of a tenant. The query accepts the Lucene query syntax, and is
+     * searched for as plain text if it cannot be parsed.
+     *
+     * @param tenantId The tenant, or null for the default partition
+     * @param query The query
+     * @param offset The number of hits to skip
+     * @param limit The maximum number of hits
+     * @return A Mono emitting the hits ordered by relevance
+     */
+    public Mono<SearchResults> search(String tenantId, String query, int offset, int limit) {
+        if (query == null || query.isBlank()) {
+            return Mono.error(new IllegalArgumentException("Search query must not be blank"));
+        }
+        if (offset < 0 || limit <= 0 || (long) offset + limit > MAX_RESULT_WINDOW) {
+            return Mono.error(new IllegalArgumentException(
+                    "Search results are only available up to hit " + MAX_RESULT_WINDOW));
+        }
+        return Mono.fromCallable(() -> {
+                    Partition partition = existingPartition(partitionName(tenantId));
+                    if (partition == null) {
+                        return SearchResults.of(0, List.of());
+                    }
+                    return search(partition, parse(query), offset, limit);
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Make the changes written since the last refresh visible to searches.
+     */
+    @Scheduled(fixedDelayString = "${firefly.ecm.integration.content.search.refresh-interval:PT1S}")
+    public void refresh() {
+        partitions.forEach((name, partition) -> {
+            try {
+                partition.searcherManager().maybeRefresh();
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to refresh search index partition {}: {}", name, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Commit the changes written since the last commit to disk.
+     */
+    @Scheduled(fixedDelayString = "${firefly.ecm.integration.content.search.commit-interval:PT30S}")
+    public void commit() {
+        partitions.forEach((name, partition) -> {
+            try {
+                if (partition.writer().hasUncommittedChanges()) {
+                    partition.writer().commit();
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to commit search index partition {}: {}", name, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Commit and close every open partition.
+     */
+    @PreDestroy
+    public void close() {
+        partitions.forEach((name, partition) -> {
+            try {
+                partition.searcherManager().close();
+                partition.writer().close();
+                partition.directory().close();
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to close search index partition {}: {}", name, e.getMessage());
+            }
+        });
+        partitions.clear();
+    }
+
+    private SearchResults search(Partition partition, Query query, int offset, int limit) throws IOException {
+        IndexSearcher searcher = partition.searcherManager().acquire();
+        try {
+            TopDocs top = searcher.search(query, offset + limit);
+            ScoreDoc[] page = offset < top.scoreDocs.length
+                    ? Arrays.copyOfRange(top.scoreDocs, offset, Math.min(top.scoreDocs.length, offset + limit))
+                    : new ScoreDoc[0];
+            long totalHits = searcher.count(query);
+            if (page.length == 0) {
+                return SearchResults.of(totalHits, List.of());
+            }
+
+            UnifiedHighlighter highlighter = UnifiedHighlighter.builder(searcher, analyzer)
+                    .withMaxLength(maxHighlightLength())
+                    // Fields without a match are left out instead of showing their leading passages
+                    .withMaxNoHighlightPassages(0)
+                    .build();
+            int[] maxPassages = new int[SEARCH_FIELDS.length];
+            Arrays.fill(maxPassages, MAX_PASSAGES);
+            Map<String, String[]> highlights = highlighter.highlightFields(SEARCH_FIELDS, query,
+                    new TopDocs(top.totalHits, page), maxPassages);
+
+            List<SearchHit> hits = new ArrayList<>(page.length);
+            for (int i = 0; i < page.length; i++) {
+                String id = searcher.storedFields().document(page[i].doc).get(ID);
+                Map<String, List<String>> fragments = new LinkedHashMap<>();
+                for (String field : SEARCH_FIELDS) {
+                    String fragment = highlights.get(field)[i];
+                    if (fragment != null) {
+                        fragments.put(field, List.of(fragment.split(" ")));
+                    }
+                }
+                hits.add(SearchHit.of(UUID.fromString(id), page[i].score, fragments));
+            }
+            return SearchResults.of(totalHits, hits);
+        } finally {
+            partition.searcherManager().release(searcher);
+        }
+    }
+
+    private Query parse(String query) {
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(SEARCH_FIELDS, analyzer, BOOSTS);
+        try {
+            return parser.parse(query);
+        } catch (ParseException e) {
+            try {
+                return parser.parse(QueryParser.escape(query));
+            } catch (ParseException escaped) {
+                throw new IllegalArgumentException("Invalid search query: " + query, escaped);
+            }
+        }
+    }
+
+    private org.apache.lucene.document.Document toLuceneDocument(SearchableDocument document) {
+        org.apache.lucene.document.Document doc = new org.apache.lucene.document.Document();
+        doc.add(new StringField(ID, document.getId().toString(), Field.Store.YES));
+        addText(doc, NAME, document.getName());
+        addText(doc, DESCRIPTION, document.getDescription());
+        addText(doc, FILE_NAME, document.getFileName());
+        if (document.getMetadata() != null) {
+            document.getMetadata().forEach(value -> addText(doc, METADATA, value));
+        }
+        addText(doc, CONTENT, document.getContent());
+        return doc;
+    }
+
+    private void addText(org.apache.lucene.document.Document doc, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            doc.add(new Field(field, value, HIGHLIGHTED_TEXT));
+        }
+    }
+
+    /**
+     * The open partition with the given name, opening it only if its index already exists on disk.
+     */
+    private Partition existingPartition(String name) {
+        Partition partition = partitions.get(name);
+        if (partition != null) {
+            return partition;
+        }
+        Path root = indexRoot();
+        if (root == null || !Files.isDirectory(root.resolve(name))) {
+            return null;
+        }
+        return partitions.computeIfAbsent(name, this::open);
+    }
+
+    private Partition open(String name) {
+        Path root = indexRoot();
+        Directory directory = null;
+        try {
+            if (root != null) {
+                Path path = root.resolve(name);
+                Files.createDirectories(path);
+                directory = FSDirectory.open(path);
+            } else {
+                directory = new ByteBuffersDirectory();
+            }
+            IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            log.debug("Opened search index partition {} ({} documents)", name, writer.getDocStats().numDocs);
+            return new Partition(directory, writer, new SearcherManager(writer, true, true, null));
+        } catch (IOException e) {
+            closeQuietly(directory);
+            throw new UncheckedIOException("Failed to open search index partition " + name, e);
+        }
+    }
+
+    private Path indexRoot() {
+        String directory = contentProperties.getSearch().getDirectory();
+        return directory != null && !directory.isBlank() ? Paths.get(directory) : null;
+    }
+
+    /**
+     * Directory name of the partition of a tenant. Tenant IDs are hex encoded, so any ID maps to
+     * a distinct name that is safe on every filesystem.
+     */
+    private static String partitionName(String tenantId) {
+        if (tenantId == null || tenantId.isBlank()) {
+            return DEFAULT_PARTITION;
+        }
+        return HexFormat.of().formatHex(tenantId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int maxHighlightLength() {
+        Long maxExtractedSize = contentProperties.getSearch().getMaxExtractedSize();
+        return maxExtractedSize != null && maxExtractedSize > 0
+                ? (int) Math.min(Integer.MAX_VALUE - 1, maxExtractedSize)
+                : UnifiedHighlighter.DEFAULT_MAX_LENGTH;
+    }
+
+    private static FieldType highlightedText() {
+        FieldType type = new FieldType(TextField.TYPE_STORED);
+        type.setIndexOptions(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS);
+        type.freeze();
+        return type;
+    }
+
+    private static void closeQuietly(Directory directory) {
+        if (directory == null) {
+            return;
+        }
+        try {
+            directory.close();
+        } catch (IOException e) {
+            log.warn("Failed to close search index directory: {}", e.getMessage());
+        }
+    }
+
+    private record Partition(Directory directory, IndexWriter writer, SearcherManager searcherManager) {
+    }
+}
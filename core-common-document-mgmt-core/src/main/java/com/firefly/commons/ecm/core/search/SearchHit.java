@@ -0,0 +1,42 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.search;
+
+import lombok.Value;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A document matching a search, with its relevance score and the highlighted passages that matched.
+ */
+@Value(staticConstructor = "of")
+public class SearchHit {
+
+    UUID documentId;
+
+    /**
+     * BM25 relevance score, higher is more relevant
+     */
+    float score;
+
+    /**
+     * Highlighted passages by field, separated by an ellipsis, with matched terms wrapped in {@code <b>} tags
+     */
+    Map<String, String> highlights;
+}
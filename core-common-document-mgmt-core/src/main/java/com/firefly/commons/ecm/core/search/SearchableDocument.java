@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.search;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The searchable text of a document, as written to the {@link LocalSearchIndex}.
+ */
+@Value
+@Builder
+public class SearchableDocument {
+
+    /**
+     * ID of the document
+     */
+    UUID id;
+
+    /**
+     * Tenant whose index partition holds the document, or null for the default partition
+     */
+    String tenantId;
+
+    String name;
+
+    String description;
+
+    String fileName;
+
+    /**
+     * Values of the searchable metadata entries of the document
+     */
+    List<String> metadata;
+
+    /**
+     * Text extracted from the document content, or null if the content is not indexed
+     */
+    String content;
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.services;
+
+import com.firefly.commons.ecm.interfaces.dtos.BulkIngestResultDTO;
+import org.springframework.http.codec.multipart.Part;
+import reactor.core.publisher.Flux;
+
+/**
+ * Service interface for ingesting many files with their documents, metadata and tags in one request.
+ */
+public interface BulkIngestService {
+
+    /**
+     * Ingest the files of a multipart stream. Each file part may be preceded by a {@code manifest}
+     * part holding its JSON manifest. Documents are created in batches and files are stored in parallel.
+     *
+     * @param parts The multipart stream
+     * @return A Flux emitting the result of every file as soon as it is known, in completion order
+     */
+    Flux<BulkIngestResultDTO> ingest(Flux<Part> parts);
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.services;
+
+import com.firefly.commons.ecm.interfaces.dtos.DirectTransferDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DirectUploadRequestDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentDTO;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Service interface for transfers of document content directly between clients and the
+ * storage backend through pre-signed URLs, so the content never passes through the service.
+ *
+ * Every request checks the principal's permission on the document first. A direct upload is
+ * completed once the client has sent the content, which commits it to the document in one step.
+ * Requests fail with a {@link SecurityException} if the principal lacks the permission.
+ */
+public interface DirectTransferService {
+
+    /**
+     * Issue a pre-signed URL that downloads the document content.
+     *
+     * @param documentId The ID of the document
+     * @param principalId The ID of the principal requesting the download
+     * @return A Mono emitting the pre-signed request
+     */
+    Mono<DirectTransferDTO> createDownload(UUID documentId, UUID principalId);
+
+    /**
+     * Issue a pre-signed URL that uploads new content for the document.
+     *
+     * @param documentId The ID of the document
+     * @param principalId The ID of the principal requesting the upload
+     * @param request The file name, MIME type, size and checksum of the content
+     * @return A Mono emitting the pre-signed request with the ID of the upload
+     */
+    Mono<DirectTransferDTO> createUpload(UUID documentId, UUID principalId, DirectUploadRequestDTO request);
+
+    /**
+     * Complete a direct upload once the client has sent the content, storing it as the document content.
+     *
+     * @param documentId The ID of the document
+     * @param principalId The ID of the principal completing the upload
+     * @param uploadId The ID of the upload
+     * @return A Mono emitting the updated document
+     */
+    Mono<DocumentDTO> completeUpload(UUID documentId, UUID principalId, UUID uploadId);
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.services;
+
+import com.firefly.commons.ecm.interfaces.dtos.DocumentExportRequestDTO;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+
+/**
+ * Service interface for exporting document content as a streamed ZIP archive.
+ */
+public interface DocumentExportService {
+
+    /**
+     * Export the content of a folder tree or of a selection of documents as a ZIP archive.
+     * The archive is streamed as the content is read and never held in memory or on disk.
+     *
+     * @param request The folder or documents to export
+     * @return A Flux of DataBuffer containing the archive
+     */
+    Flux<DataBuffer> export(DocumentExportRequestDTO request);
+}
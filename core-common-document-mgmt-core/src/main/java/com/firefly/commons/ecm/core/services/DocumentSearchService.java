@@ -18,13 +18,84 @@ package com.firefly.commons.ecm.core.services;
 
 import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
+import com.firefly.commons.ecm.interfaces.dtos.CursorPageDTO;
+import com.firefly.commons.ecm.interfaces.dtos.CursorRequestDTO;
 import com.firefly.commons.ecm.interfaces.dtos.DocumentDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentFacetsDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentQueryDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentSearchHitDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentSearchResultDTO;
+import com.firefly.commons.ecm.interfaces.enums.DocumentFacet;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Set;
+
 /**
- * Simplified document search service using FilterRequest and FilterUtils.
+ * Document search service: column filters using FilterRequest and FilterUtils, and free-text
+ * search through the embedded full-text index.
  */
 public interface DocumentSearchService {
 
     Mono<PaginationResponse<DocumentDTO>> filter(FilterRequest<DocumentDTO> filterRequest);
+
+    /**
+     * Filter documents by exact match, paged by cursor instead of by page number.
+     *
+     * @param query The criteria the documents match
+     * @param request The cursor, size and sort of the page
+     * @return A Mono emitting the page of matching documents
+     */
+    Mono<CursorPageDTO<DocumentDTO>> filterByCursor(DocumentQueryDTO query, CursorRequestDTO request);
+
+    /**
+     * Filter documents by exact match, streaming every match instead of returning pages.
+     *
+     * @param query The criteria the documents match
+     * @return A Flux of the matching documents, oldest first
+     */
+    Flux<DocumentDTO> filterStream(DocumentQueryDTO query);
+
+    /**
+     * Count the documents of a tenant matching a search by document type, status, security
+     * level, tag and folder, in a single pass over the matches.
+     *
+     * @param filter The criteria the documents match, including the tenant
+     * @param query Free-text query in web search syntax, or null to count every document matching the criteria
+     * @param facets The facets to count, or empty for all facets
+     * @return A Mono emitting the number of matching documents and the counts of every facet value
+     */
+    Mono<DocumentFacetsDTO> facets(DocumentQueryDTO filter, String query, Set<DocumentFacet> facets);
+
+    /**
+     * Search the documents of a tenant by free text over their names, file names, descriptions,
+     * searchable metadata values and text content, most relevant first.
+     *
+     * @param tenantId The tenant, or null for documents without a tenant
+     * @param query The query, in Lucene query syntax or plain text
+     * @param page The zero-based page number
+     * @param size The page size
+     * @return A Mono emitting the page of matching documents with highlighted passages
+     */
+    Mono<DocumentSearchResultDTO> search(String tenantId, String query, int page, int size);
+
+    /**
+     * Search the documents of a tenant by free text in the database, over the weighted search
+     * vector of their names, file names, descriptions and searchable metadata values. Results are
+     * ranked by {@code ts_rank_cd} and paged by keyset.
+     *
+     * @param tenantId The tenant
+     * @param query The query, in web search syntax
+     * @param cursor The cursor returned with the previous page, or null for the first page
+     * @param size The page size
+     * @return A Mono emitting the page of matching documents with their rank
+     */
+    Mono<CursorPageDTO<DocumentSearchHitDTO>> searchText(String tenantId, String query, String cursor, int size);
+
+    /**
+     * Index every document in the embedded full-text index, for an index that is new or was lost.
+     *
+     * @return A Mono emitting the number of documents indexed
+     */
+    Mono<Long> rebuildIndex();
 }
@@ -19,12 +19,17 @@ package com.firefly.commons.ecm.core.services;
 
 import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
+import com.firefly.commons.ecm.interfaces.dtos.CursorPageDTO;
+import com.firefly.commons.ecm.interfaces.dtos.CursorRequestDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentCopyRequestDTO;
 import com.firefly.commons.ecm.interfaces.dtos.DocumentDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentQueryDTO;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.codec.multipart.FilePart;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.file.Path;
 import java.util.UUID;
 
 /**
@@ -48,6 +53,24 @@ public interface DocumentService {
      */
     Mono<PaginationResponse<DocumentDTO>> filter(FilterRequest<DocumentDTO> filterRequest);
 
+    /**
+     * List documents paged by cursor, so every page costs the same regardless of its depth.
+     *
+     * @param query The criteria the documents match
+     * @param request The cursor, size and sort of the page
+     * @return A Mono emitting the page of documents
+     */
+    Mono<CursorPageDTO<DocumentDTO>> listByCursor(DocumentQueryDTO query, CursorRequestDTO request);
+
+    /**
+     * Stream every document matching the criteria, oldest first, reading further rows only as the
+     * subscriber demands them.
+     *
+     * @param query The criteria the documents match
+     * @return A Flux of the matching documents
+     */
+    Flux<DocumentDTO> stream(DocumentQueryDTO query);
+
     /**
      * Update an existing document.
      *
@@ -72,6 +95,16 @@ public interface DocumentService {
      */
     Mono<Void> delete(UUID id);
 
+    /**
+     * Copy a document with its metadata, tags and permissions. The content is shared by reference
+     * or copied inside the storage backend and never transferred through the application.
+     *
+     * @param documentId The ID of the document to copy
+     * @param request The folder, tenant and name of the copy
+     * @return A Mono emitting the copy
+     */
+    Mono<DocumentDTO> copy(UUID documentId, DocumentCopyRequestDTO request);
+
     // ECM Port Operations
 
     /**
@@ -83,6 +116,19 @@ public interface DocumentService {
      */
     Mono<DocumentDTO> uploadContent(UUID documentId, FilePart filePart);
 
+    /**
+     * Store a content stream as the content of a document using ECM ports, replacing any previous content.
+     *
+     * @param documentId The ID of the document to store content for
+     * @param content The content stream
+     * @param fileName The file name of the content
+     * @param mimeType The MIME type of the content, or null if unknown
+     * @param contentLength The content length in bytes, or null if unknown
+     * @return A Mono emitting the updated document with storage information
+     */
+    Mono<DocumentDTO> storeContent(UUID documentId, Flux<DataBuffer> content, String fileName,
+                                   String mimeType, Long contentLength);
+
     /**
      * Download document content using ECM ports.
      *
@@ -91,6 +137,33 @@ public interface DocumentService {
      */
     Flux<DataBuffer> downloadContent(UUID documentId);
 
+    /**
+     * Download a byte range of document content using ECM ports.
+     *
+     * @param documentId The ID of the document to download
+     * @param offset The zero-based offset of the first byte
+     * @param length The number of bytes to download
+     * @return A Flux of DataBuffer containing the requested range of the document content
+     */
+    Flux<DataBuffer> downloadContentRange(UUID documentId, long offset, long length);
+
+    /**
+     * Download document content as stored, without decoding its content encoding, so it can be
+     * passed through to clients that accept the encoding.
+     *
+     * @param documentId The ID of the document to download
+     * @return A Flux of DataBuffer containing the stored document content
+     */
+    Flux<DataBuffer> downloadStoredContent(UUID documentId);
+
+    /**
+     * Locate the local file holding the document content, so it can be sent with zero-copy transfer.
+     *
+     * @param documentId The ID of the document
+     * @return A Mono emitting the file path, or empty if the content is not stored on the local filesystem
+     */
+    Mono<Path> locateLocalContent(UUID documentId);
+
     /**
      * Create a new version of a document using ECM ports.
      *
@@ -24,6 +24,7 @@ import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.codec.multipart.FilePart;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import java.nio.file.Path;
 import java.util.UUID;
 /**
  * Service interface for managing DocumentVersion entities in the Enterprise Content Management system.
@@ -89,6 +90,33 @@ public interface DocumentVersionService {
      */
     Flux<DataBuffer> downloadVersionContent(UUID versionId);
 
+    /**
+     * Download a byte range of a document version's content using ECM ports.
+     *
+     * @param versionId The ID of the document version to download
+     * @param offset The zero-based offset of the first byte
+     * @param length The number of bytes to download
+     * @return A Flux of DataBuffer containing the requested range of the version content
+     */
+    Flux<DataBuffer> downloadVersionContentRange(UUID versionId, long offset, long length);
+
+    /**
+     * Download document version content as stored, without decoding its content encoding, so it
+     * can be passed through to clients that accept the encoding.
+     *
+     * @param versionId The ID of the document version to download
+     * @return A Flux of DataBuffer containing the stored version content
+     */
+    Flux<DataBuffer> downloadStoredVersionContent(UUID versionId);
+
+    /**
+     * Locate the local file holding a document version's content, so it can be sent with zero-copy transfer.
+     *
+     * @param versionId The ID of the document version
+     * @return A Mono emitting the file path, or empty if the content is not stored on the local filesystem
+     */
+    Mono<Path> locateLocalVersionContent(UUID versionId);
+
     /**
      * Get document version content metadata using ECM ports.
      *
@@ -19,6 +19,8 @@ package com.firefly.commons.ecm.core.services;
 
 import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
+import com.firefly.commons.ecm.interfaces.dtos.CursorPageDTO;
+import com.firefly.commons.ecm.interfaces.dtos.CursorRequestDTO;
 import com.firefly.commons.ecm.interfaces.dtos.FolderDTO;
 import reactor.core.publisher.Mono;
 import java.util.UUID;
@@ -43,6 +45,16 @@ public interface FolderService {
      */
     Mono<PaginationResponse<FolderDTO>> filter(FilterRequest<FolderDTO> filterRequest);
 
+    /**
+     * List folders paged by cursor, so every page costs the same regardless of its depth.
+     *
+     * @param tenantId The tenant of the folders, or null for folders of every tenant
+     * @param parentFolderId The parent of the folders, or null for folders of every parent
+     * @param request The cursor, size and sort of the page
+     * @return A Mono emitting the page of folders
+     */
+    Mono<CursorPageDTO<FolderDTO>> listByCursor(String tenantId, UUID parentFolderId, CursorRequestDTO request);
+
     /**
      * Update an existing folder.
      *
@@ -19,6 +19,8 @@ package com.firefly.commons.ecm.core.services;
 
 import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
+import com.firefly.commons.ecm.interfaces.dtos.CursorPageDTO;
+import com.firefly.commons.ecm.interfaces.dtos.CursorRequestDTO;
 import com.firefly.commons.ecm.interfaces.dtos.TagDTO;
 import reactor.core.publisher.Mono;
 import java.util.UUID;
@@ -43,6 +45,15 @@ public interface TagService {
      */
     Mono<PaginationResponse<TagDTO>> filter(FilterRequest<TagDTO> filterRequest);
 
+    /**
+     * List tags paged by cursor, so every page costs the same regardless of its depth.
+     *
+     * @param tenantId The tenant of the tags, or null for tags of every tenant
+     * @param request The cursor, size and sort of the page
+     * @return A Mono emitting the page of tags
+     */
+    Mono<CursorPageDTO<TagDTO>> listByCursor(String tenantId, CursorRequestDTO request);
+
     /**
      * Update an existing tag.
      *
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.services;
+
+import com.firefly.commons.ecm.interfaces.dtos.DocumentDTO;
+import com.firefly.commons.ecm.interfaces.dtos.UploadSessionDTO;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Service interface for resumable chunked uploads of document content.
+ *
+ * A session is created with the total size of the content. Chunks are then sent at their
+ * offsets, in any order and in parallel, and a failed chunk is simply sent again. Once every
+ * byte has been received the session is completed, which commits the content to the document
+ * in one step.
+ */
+public interface UploadSessionService {
+
+    /**
+     * Create an upload session for a document.
+     *
+     * @param documentId The ID of the document to upload content for
+     * @param uploadSession The session to create, with file name, MIME type and total size
+     * @return A Mono emitting the created session
+     */
+    Mono<UploadSessionDTO> create(UUID documentId, UploadSessionDTO uploadSession);
+
+    /**
+     * Get an upload session with its progress.
+     *
+     * @param documentId The ID of the document
+     * @param sessionId The session ID
+     * @return A Mono emitting the session if found, or empty if not found
+     */
+    Mono<UploadSessionDTO> getById(UUID documentId, UUID sessionId);
+
+    /**
+     * Receive a chunk of content. A chunk sent again at the same offset replaces the earlier one.
+     *
+     * @param documentId The ID of the document
+     * @param sessionId The session ID
+     * @param offset The zero-based offset of the chunk in the content
+     * @param content The chunk content
+     * @return A Mono emitting the session with its updated progress
+     */
+    Mono<UploadSessionDTO> uploadChunk(UUID documentId, UUID sessionId, long offset, Flux<DataBuffer> content);
+
+    /**
+     * Complete a session whose content has been received in full, storing it as the document content.
+     *
+     * @param documentId The ID of the document
+     * @param sessionId The session ID
+     * @return A Mono emitting the updated document
+     */
+    Mono<DocumentDTO> complete(UUID documentId, UUID sessionId);
+
+    /**
+     * Abort a session and discard the content received so far.
+     *
+     * @param documentId The ID of the document
+     * @param sessionId The session ID
+     * @return A Mono that completes when the session is aborted
+     */
+    Mono<Void> abort(UUID documentId, UUID sessionId);
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.core.mappers.DocumentMapper;
+import com.firefly.commons.ecm.core.mappers.DocumentMetadataMapper;
+import com.firefly.commons.ecm.core.query.EntityBatchInserter;
+import com.firefly.commons.ecm.core.services.BulkIngestService;
+import com.firefly.commons.ecm.core.services.DocumentService;
+import com.firefly.commons.ecm.interfaces.dtos.BulkIngestManifestDTO;
+import com.firefly.commons.ecm.interfaces.dtos.BulkIngestResultDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentMetadataDTO;
+import com.firefly.commons.ecm.interfaces.enums.BulkIngestStatus;
+import com.firefly.commons.ecm.models.entities.Document;
+import com.firefly.commons.ecm.models.entities.DocumentMetadata;
+import com.firefly.commons.ecm.models.entities.DocumentTag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.http.codec.multipart.FormFieldPart;
+import org.springframework.http.codec.multipart.Part;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Implementation of the BulkIngestService interface.
+ *
+ * The request is processed as a pipeline: documents of a batch of files are created together
+ * with their metadata and tags in one transaction, while files of earlier batches are being
+ * stored with bounded parallelism. A failing file is reported in its result and does not stop
+ * the others.
+ */
+@Slf4j
+@Service
+public class BulkIngestServiceImpl implements BulkIngestService {
+
+    static final String MANIFEST_PART = "manifest";
+
+    @Autowired
+    private EntityBatchInserter batchInserter;
+
+    @Autowired
+    private DocumentMapper documentMapper;
+
+    @Autowired
+    private DocumentMetadataMapper metadataMapper;
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EcmContentProperties contentProperties;
+
+    @Override
+    public Flux<BulkIngestResultDTO> ingest(Flux<Part> parts) {
+        EcmContentProperties.Bulk bulk = contentProperties.getBulk();
+        int batchSize = bulk.getBatchSize() != null && bulk.getBatchSize() > 0 ? bulk.getBatchSize() : 1;
+        int concurrency = bulk.getMaxConcurrentUploads() != null && bulk.getMaxConcurrentUploads() > 0
+                ? bulk.getMaxConcurrentUploads() : 1;
+        Duration batchWindow = bulk.getBatchWindow() != null ? bulk.getBatchWindow() : Duration.ofMillis(200);
+
+        return toItems(parts)
+                .bufferTimeout(batchSize, batchWindow, true)
+                .concatMap(this::createBatch, 1)
+                .flatMap(this::storeContent, concurrency);
+    }
+
+    /**
+     * Pair every file part with the manifest part sent before it.
+     */
+    private Flux<Item> toItems(Flux<Part> parts) {
+        return Flux.defer(() -> {
+            AtomicReference<String> manifest = new AtomicReference<>();
+            AtomicInteger index = new AtomicInteger();
+            return parts.<Item>handle((part, sink) -> {
+                if (part instanceof FilePart file) {
+                    sink.next(new Item(index.getAndIncrement(), manifest.getAndSet(null), file));
+                } else if (part instanceof FormFieldPart field && MANIFEST_PART.equals(field.name())) {
+                    manifest.set(field.value());
+                } else {
+                    log.debug("Ignoring bulk ingest part {}", part.name());
+                }
+            });
+        });
+    }
+
+    private Flux<Item> createBatch(List<Item> batch) {
+        List<Item> valid = new ArrayList<>(batch.size());
+        List<Document> documents = new ArrayList<>(batch.size());
+        for (Item item : batch) {
+            try {
+                item.manifest = parseManifest(item.manifestJson);
+                documents.add(toDocument(item));
+                valid.add(item);
+            } catch (IllegalArgumentException e) {
+                item.fail(BulkIngestStatus.FAILED, e.getMessage());
+            }
+        }
+        if (valid.isEmpty()) {
+            return Flux.fromIterable(batch);
+        }
+
+        log.debug("Creating batch of {} document(s)", documents.size());
+        return batchInserter.insertAll(Document.class, documents)
+                .flatMap(saved -> attach(valid, saved).thenReturn(saved))
+                .as(transactionalOperator::transactional)
+                .doOnNext(saved -> {
+                    for (int i = 0; i < valid.size(); i++) {
+                        valid.get(i).document = saved.get(i);
+                    }
+                })
+                .onErrorResume(error -> {
+                    log.error("Failed to create batch of {} document(s): {}", valid.size(), error.getMessage(), error);
+                    valid.forEach(item -> item.fail(BulkIngestStatus.FAILED, error.getMessage()));
+                    return Mono.empty();
+                })
+                .thenMany(Flux.fromIterable(batch));
+    }
+
+    /**
+     * Insert the metadata and tags of a batch of created documents.
+     */
+    private Mono<Void> attach(List<Item> items, List<Document> saved) {
+        List<DocumentMetadata> metadata = new ArrayList<>();
+        List<DocumentTag> tags = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            BulkIngestManifestDTO manifest = items.get(i).manifest;
+            Document document = saved.get(i);
+            if (manifest.getMetadata() != null) {
+                for (DocumentMetadataDTO dto : manifest.getMetadata()) {
+                    DocumentMetadata entry = metadataMapper.toEntity(dto);
+                    entry.setId(null);
+                    entry.setDocumentId(document.getId());
+                    if (entry.getTenantId() == null) {
+                        entry.setTenantId(document.getTenantId());
+                    }
+                    metadata.add(entry);
+                }
+            }
+            if (manifest.getTagIds() != null) {
+                for (UUID tagId : manifest.getTagIds()) {
+                    tags.add(DocumentTag.builder()
+                            .documentId(document.getId())
+                            .tagId(tagId)
+                            .tenantId(document.getTenantId())
+                            .build());
+                }
+            }
+        }
+        return batchInserter.insertAll(DocumentMetadata.class, metadata)
+                .then(batchInserter.insertAll(DocumentTag.class, tags))
+                .then();
+    }
+
+    private Mono<BulkIngestResultDTO> storeContent(Item item) {
+        Mono<BulkIngestResultDTO> result;
+        if (item.status != null) {
+            result = Mono.just(item.toResult());
+        } else {
+            FilePart file = item.file;
+            result = documentService.storeContent(item.document.getId(), file.content(), file.filename(),
+                            mimeTypeOf(item), contentLengthOf(file))
+                    .map(document -> {
+                        item.status = BulkIngestStatus.CREATED;
+                        BulkIngestResultDTO created = item.toResult();
+                        created.setFileSize(document.getFileSize());
+                        created.setChecksum(document.getChecksum());
+                        return created;
+                    })
+                    .onErrorResume(error -> {
+                        log.warn("Failed to store content of bulk ingest file {} ({}): {}",
+                                item.index, file.filename(), error.getMessage());
+                        item.fail(BulkIngestStatus.CONTENT_FAILED, error.getMessage());
+                        return Mono.just(item.toResult());
+                    });
+        }
+        // Parts buffered on disk by the multipart reader are removed as soon as they are no longer needed
+        return result.flatMap(dto -> item.file.delete().onErrorComplete().thenReturn(dto));
+    }
+
+    private BulkIngestManifestDTO parseManifest(String json) {
+        if (json == null || json.isBlank()) {
+            return new BulkIngestManifestDTO();
+        }
+        try {
+            return objectMapper.readValue(json, BulkIngestManifestDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid manifest: " + e.getOriginalMessage());
+        }
+    }
+
+    private Document toDocument(Item item) {
+        DocumentDTO dto = item.manifest.getDocument() != null ? item.manifest.getDocument() : new DocumentDTO();
+        dto.setId(null);
+        if (dto.getName() == null || dto.getName().isBlank()) {
+            dto.setName(item.file.filename());
+        }
+        if (dto.getName() == null || dto.getName().isBlank()) {
+            throw new IllegalArgumentException("Document name is required");
+        }
+        return documentMapper.toEntity(dto);
+    }
+
+    private String mimeTypeOf(Item item) {
+        DocumentDTO dto = item.manifest.getDocument();
+        if (dto != null && dto.getMimeType() != null) {
+            return dto.getMimeType();
+        }
+        return item.file.headers().getContentType() != null ? item.file.headers().getContentType().toString() : null;
+    }
+
+    private Long contentLengthOf(FilePart file) {
+        long length = file.headers().getContentLength();
+        return length >= 0 ? length : null;
+    }
+
+    /**
+     * Progress of one file through the pipeline.
+     */
+    private static final class Item {
+
+        private final int index;
+        private final String manifestJson;
+        private final FilePart file;
+        private BulkIngestManifestDTO manifest;
+        private Document document;
+        private BulkIngestStatus status;
+        private String error;
+
+        Item(int index, String manifestJson, FilePart file) {
+            this.index = index;
+            this.manifestJson = manifestJson;
+            this.file = file;
+        }
+
+        void fail(BulkIngestStatus status, String error) {
+            this.status = status;
+            this.error = error;
+            if (status == BulkIngestStatus.FAILED) {
+                this.document = null;
+            }
+        }
+
+        BulkIngestResultDTO toResult() {
+            return BulkIngestResultDTO.builder()
+                    .index(index)
+                    .reference(manifest != null ? manifest.getReference() : null)
+                    .fileName(file.filename())
+                    .status(status)
+                    .documentId(document != null ? document.getId() : null)
+                    .error(error)
+                    .build();
+        }
+    }
+}
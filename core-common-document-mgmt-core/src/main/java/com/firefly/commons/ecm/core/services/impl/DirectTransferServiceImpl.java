@@ -0,0 +1,335 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.services.impl;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.core.content.ContentAccessTracker;
+import com.firefly.commons.ecm.core.content.ContentBlobStore;
+import com.firefly.commons.ecm.core.content.ContentDigest;
+import com.firefly.commons.ecm.core.content.ContentDownloadPipeline;
+import com.firefly.commons.ecm.core.content.ContentReference;
+import com.firefly.commons.ecm.core.content.LocalFilesystemContentEngine;
+import com.firefly.commons.ecm.core.content.PresignableContentPort;
+import com.firefly.commons.ecm.core.content.PresignedRequest;
+import com.firefly.commons.ecm.core.mappers.DocumentMapper;
+import com.firefly.commons.ecm.core.mappers.EcmDomainMapper;
+import com.firefly.commons.ecm.core.search.DocumentIndexer;
+import com.firefly.commons.ecm.core.services.DirectTransferService;
+import com.firefly.commons.ecm.core.services.DocumentPermissionService;
+import com.firefly.commons.ecm.interfaces.dtos.DirectTransferDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DirectUploadRequestDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentDTO;
+import com.firefly.commons.ecm.interfaces.enums.PermissionType;
+import com.firefly.commons.ecm.interfaces.enums.UploadSessionStatus;
+import com.firefly.commons.ecm.models.entities.DirectUpload;
+import com.firefly.commons.ecm.models.entities.Document;
+import com.firefly.commons.ecm.models.repositories.DirectUploadRepository;
+import com.firefly.commons.ecm.models.repositories.DocumentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.ecm.port.document.DocumentContentPort;
+import org.fireflyframework.ecm.service.EcmPortProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Implementation of the DirectTransferService interface.
+ *
+ * Pre-signed URLs are issued by content ports implementing {@link PresignableContentPort}.
+ * A direct upload is stored under an ID of its own, recorded in {@code direct_uploads}, so the
+ * current content stays in place until the upload is completed. Completing it checks the size
+ * of the stored content, reads it back from storage to check the checksum given up front, and
+ * adopts it as a blob, so it is deduplicated like any other upload. Uploads not completed in
+ * time are discarded.
+ */
+@Slf4j
+@Service
+public class DirectTransferServiceImpl implements DirectTransferService {
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DirectUploadRepository uploadRepository;
+
+    @Autowired
+    private DocumentMapper mapper;
+
+    @Autowired
+    private EcmDomainMapper ecmDomainMapper;
+
+    @Autowired
+    private DocumentPermissionService documentPermissionService;
+
+    @Autowired
+    private EcmPortProvider ecmPortProvider;
+
+    @Autowired
+    private LocalFilesystemContentEngine localContentEngine;
+
+    @Autowired
+    private ContentBlobStore contentBlobStore;
+
+    @Autowired
+    private ContentDownloadPipeline contentDownloadPipeline;
+
+    @Autowired
+    private ContentAccessTracker contentAccessTracker;
+
+    @Autowired
+    private DocumentIndexer documentIndexer;
+
+    @Autowired
+    private R2dbcEntityTemplate entityTemplate;
+
+    @Autowired
+    private EcmContentProperties contentProperties;
+
+    @Override
+    public Mono<DirectTransferDTO> createDownload(UUID documentId, UUID principalId) {
+        return authorizedDocument(documentId, principalId, PermissionType.READ)
+                .flatMap(document -> {
+                    if (document.getEncryptionKeyId() != null || document.getContentEncoding() != null) {
+                        return Mono.error(new IllegalStateException("Content of document " + documentId
+                                + " is stored encrypted or encoded and can only be downloaded through the service"));
+                    }
+                    Duration urlTtl = contentProperties.getDirectTransfer().getUrlTtl();
+                    LocalDateTime urlExpiresAt = LocalDateTime.now().plus(urlTtl);
+                    return presignablePort(document)
+                            .flatMap(port -> ((PresignableContentPort) port).presignDownload(contentIdOf(document),
+                                    document.getFileName(), document.getMimeType(), urlTtl))
+                            .doOnNext(request -> contentAccessTracker.recordAccess(documentId))
+                            .map(request -> toDTO(null, request, urlExpiresAt, null));
+                });
+    }
+
+    @Override
+    public Mono<DirectTransferDTO> createUpload(UUID documentId, UUID principalId, DirectUploadRequestDTO request) {
+        if (request.getFileName() == null || request.getFileName().isBlank()) {
+            return Mono.error(new IllegalArgumentException("File name is required for a direct upload"));
+        }
+        if (request.getContentLength() == null || request.getContentLength() <= 0) {
+            return Mono.error(new IllegalArgumentException("Content length of a direct upload must be positive"));
+        }
+        if (request.getChecksum() == null || request.getChecksum().isBlank() || !HexFormat.isHexDigits(request.getChecksum())) {
+            return Mono.error(new IllegalArgumentException("Hex encoded checksum is required for a direct upload"));
+        }
+        String checksum = request.getChecksum().toLowerCase(Locale.ROOT);
+        String mimeType = request.getMimeType() != null ? request.getMimeType() : "application/octet-stream";
+
+        return authorizedDocument(documentId, principalId, PermissionType.WRITE)
+                .flatMap(document -> {
+                    if (Boolean.TRUE.equals(document.getIsEncrypted())) {
+                        return Mono.error(new IllegalStateException("Content of document " + documentId
+                                + " is stored encrypted and can only be uploaded through the service"));
+                    }
+                    UUID uploadId = UUID.randomUUID();
+                    Duration urlTtl = contentProperties.getDirectTransfer().getUrlTtl();
+                    LocalDateTime urlExpiresAt = LocalDateTime.now().plus(urlTtl);
+                    return presignablePort(document)
+                            .flatMap(port -> ((PresignableContentPort) port).presignUpload(uploadId, mimeType,
+                                    request.getContentLength(), contentBlobStore.newDigest().getAlgorithm(), checksum, urlTtl))
+                            .flatMap(presigned -> entityTemplate.insert(DirectUpload.builder()
+                                            .id(uploadId)
+                                            .documentId(documentId)
+                                            .tenantId(document.getTenantId())
+                                            .fileName(request.getFileName())
+                                            .mimeType(request.getMimeType())
+                                            .contentLength(request.getContentLength())
+                                            .checksum(checksum)
+                                            .storagePath(presigned.getStoragePath())
+                                            .status(UploadSessionStatus.ACTIVE)
+                                            .expiresAt(LocalDateTime.now().plus(contentProperties.getDirectTransfer().getCompletionTtl()))
+                                            .build())
+                                    .map(upload -> toDTO(upload.getId(), presigned, urlExpiresAt, upload.getExpiresAt())));
+                })
+                .doOnSuccess(transfer -> log.info("Issued direct upload {} for document {} ({} bytes)",
+                        transfer.getUploadId(), documentId, request.getContentLength()));
+    }
+
+    @Override
+    public Mono<DocumentDTO> completeUpload(UUID documentId, UUID principalId, UUID uploadId) {
+        return authorizedDocument(documentId, principalId, PermissionType.WRITE)
+                .flatMap(document -> uploadRepository.findById(uploadId)
+                        .filter(upload -> documentId.equals(upload.getDocumentId()))
+                        .switchIfEmpty(Mono.error(new RuntimeException("Direct upload not found with ID: " + uploadId)))
+                        .flatMap(upload -> {
+                            if (!isActive(upload)) {
+                                return Mono.error(new IllegalStateException("Direct upload " + uploadId + " is not active"));
+                            }
+                            // Only one completion may commit the content
+                            return uploadRepository.transitionStatus(uploadId, UploadSessionStatus.ACTIVE, UploadSessionStatus.COMPLETING)
+                                    .flatMap(updated -> updated > 0
+                                            ? commit(document, upload)
+                                            : Mono.error(new IllegalStateException("Direct upload " + uploadId + " is not active")));
+                        }))
+                .map(mapper::toDTO);
+    }
+
+    /**
+     * Discard direct uploads that were not completed in time, along with any content sent for them.
+     */
+    @Scheduled(fixedDelayString = "${firefly.ecm.integration.content.direct-transfer.cleanup-interval:PT15M}")
+    public void expireUploads() {
+        Long expired = uploadRepository.findByStatusAndExpiresAtBefore(UploadSessionStatus.ACTIVE, LocalDateTime.now())
+                .concatMap(upload -> uploadRepository.transitionStatus(upload.getId(), UploadSessionStatus.ACTIVE, UploadSessionStatus.EXPIRED)
+                        .filter(updated -> updated > 0)
+                        .flatMap(updated -> ecmPortProvider.getDocumentContentPort()
+                                .map(port -> discard(port, upload.getId()))
+                                .orElse(Mono.empty())
+                                .thenReturn(upload)))
+                .count()
+                .onErrorResume(error -> {
+                    log.warn("Failed to expire direct uploads: {}", error.getMessage());
+                    return Mono.just(0L);
+                })
+                .block();
+        if (expired != null && expired > 0) {
+            log.info("Expired {} direct upload(s)", expired);
+        }
+    }
+
+    private Mono<Document> commit(Document document, DirectUpload upload) {
+        UUID uploadId = upload.getId();
+        UUID previousBlobId = document.getContentBlobId();
+        boolean replacesOwnContent = previousBlobId == null && document.getStoragePath() != null;
+        return presignablePort(document)
+                .flatMap(port -> ((PresignableContentPort) port).getContentLength(uploadId)
+                        .switchIfEmpty(Mono.error(new IllegalStateException("Content of direct upload " + uploadId + " has not been received")))
+                        .flatMap(length -> length.equals(upload.getContentLength())
+                                ? digestStored(port, uploadId)
+                                : Mono.error(new IllegalStateException("Direct upload " + uploadId + " holds " + length
+                                        + " bytes, expected " + upload.getContentLength())))
+                        .flatMap(digest -> digest.getChecksum().equalsIgnoreCase(upload.getChecksum())
+                                        && digest.getSize() == upload.getContentLength()
+                                ? contentBlobStore.adopt(port, upload.getTenantId(), uploadId, upload.getStoragePath(),
+                                        digest.getChecksum(), digest.getSize())
+                                : Mono.error(new IllegalStateException("Content of direct upload " + uploadId
+                                        + " does not match its declared checksum")))
+                        .flatMap(stored -> {
+                            document.setFileName(upload.getFileName());
+                            document.setMimeType(upload.getMimeType());
+                            document.setStoragePath(stored.getStoragePath());
+                            document.setChecksum(stored.getChecksum());
+                            document.setIsChecksumVerified(true);
+                            document.setFileSize(stored.getSize());
+                            document.setContentBlobId(stored.getBlobId());
+                            document.setContentEncoding(stored.getEncoding());
+                            document.setEncryptionKeyId(null);
+                            document.setStorageTier(null);
+                            return documentRepository.save(document);
+                        })
+                        // Release the replaced content once the document points at the new one
+                        .flatMap(saved -> (previousBlobId != null && !previousBlobId.equals(saved.getContentBlobId())
+                                        ? contentBlobStore.release(previousBlobId)
+                                        : replacesOwnContent ? discard(port, saved.getId()) : Mono.<Void>empty())
+                                .thenReturn(saved)))
+                .flatMap(saved -> ecmPortProvider.getDocumentSearchPort()
+                        .map(searchPort -> searchPort.indexDocument(ecmDomainMapper.toEcmDocument(saved))
+                                .onErrorResume(error -> {
+                                    log.warn("Indexing failed for document {}: {}", saved.getId(), error.getMessage());
+                                    return Mono.empty();
+                                })
+                                .thenReturn(saved))
+                        .orElse(Mono.just(saved)))
+                .flatMap(saved -> documentIndexer.index(saved).thenReturn(saved))
+                .flatMap(saved -> uploadRepository.transitionStatus(uploadId, UploadSessionStatus.COMPLETING, UploadSessionStatus.COMPLETED)
+                        .thenReturn(saved))
+                .doOnSuccess(saved -> log.info("Completed direct upload {} for document {}", uploadId, saved.getId()))
+                // The uploaded content is kept, so completion can be retried
+                .onErrorResume(error -> uploadRepository.transitionStatus(uploadId, UploadSessionStatus.COMPLETING, UploadSessionStatus.ACTIVE)
+                        .then(Mono.error(error)));
+    }
+
+    /**
+     * Digest the content of a direct upload as stored. Backends are not required to check the
+     * checksum signed into the upload URL, so a blob is only registered under a checksum the
+     * service computed itself.
+     */
+    private Mono<ContentDigest> digestStored(DocumentContentPort port, UUID uploadId) {
+        return Mono.defer(() -> {
+            ContentDigest digest = contentBlobStore.newDigest();
+            return contentDownloadPipeline.readFromStorage(port, ContentReference.of(uploadId, null, null, null))
+                    .doOnNext(buffer -> {
+                        digest.update(buffer);
+                        DataBufferUtils.release(buffer);
+                    })
+                    .then(Mono.just(digest));
+        });
+    }
+
+    private Mono<Document> authorizedDocument(UUID documentId, UUID principalId, PermissionType permissionType) {
+        return documentRepository.findById(documentId)
+                .switchIfEmpty(Mono.error(new RuntimeException("Document not found with ID: " + documentId)))
+                .flatMap(document -> documentPermissionService.hasPermission(documentId, principalId, permissionType)
+                        .filter(Boolean::booleanValue)
+                        .switchIfEmpty(Mono.error(new SecurityException("Principal " + principalId + " lacks "
+                                + permissionType + " permission on document " + documentId)))
+                        .thenReturn(document));
+    }
+
+    private Mono<DocumentContentPort> presignablePort(Document document) {
+        if (Boolean.FALSE.equals(contentProperties.getDirectTransfer().getEnabled())) {
+            return Mono.error(new IllegalStateException("Direct transfers are disabled"));
+        }
+        return Mono.justOrEmpty(localContentEngine.resolvePort(document.getStorageType(), ecmPortProvider.getDocumentContentPort()))
+                .filter(PresignableContentPort.class::isInstance)
+                .switchIfEmpty(Mono.error(new IllegalStateException(
+                        "Direct transfers are not supported by the content port of document " + document.getId())));
+    }
+
+    private Mono<Void> discard(DocumentContentPort port, UUID contentId) {
+        return port.deleteContent(contentId)
+                .doOnError(error -> log.warn("Failed to delete content {}: {}", contentId, error.getMessage()))
+                .onErrorComplete()
+                .then();
+    }
+
+    private boolean isActive(DirectUpload upload) {
+        return upload.getStatus() == UploadSessionStatus.ACTIVE
+                && (upload.getExpiresAt() == null || upload.getExpiresAt().isAfter(LocalDateTime.now()));
+    }
+
+    /**
+     * ID the document content is stored under: the shared blob if the content was deduplicated,
+     * otherwise the document itself.
+     */
+    private UUID contentIdOf(Document document) {
+        return document.getContentBlobId() != null ? document.getContentBlobId() : document.getId();
+    }
+
+    private DirectTransferDTO toDTO(UUID uploadId, PresignedRequest request, LocalDateTime urlExpiresAt, LocalDateTime expiresAt) {
+        return DirectTransferDTO.builder()
+                .uploadId(uploadId)
+                .method(request.getMethod())
+                .url(request.getUrl())
+                .headers(request.getHeaders())
+                .urlExpiresAt(urlExpiresAt)
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.services.impl;
+
+import com.firefly.commons.ecm.core.content.ContentDownloadPipeline;
+import com.firefly.commons.ecm.core.content.ContentReference;
+import com.firefly.commons.ecm.core.content.LocalFilesystemContentEngine;
+import com.firefly.commons.ecm.core.content.StreamingZipWriter;
+import com.firefly.commons.ecm.core.content.ZipEntrySource;
+import com.firefly.commons.ecm.core.services.DocumentExportService;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentExportRequestDTO;
+import com.firefly.commons.ecm.models.entities.Document;
+import com.firefly.commons.ecm.models.entities.Folder;
+import com.firefly.commons.ecm.models.repositories.DocumentRepository;
+import com.firefly.commons.ecm.models.repositories.FolderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.ecm.service.EcmPortProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Implementation of the DocumentExportService interface.
+ *
+ * Folder exports walk {@code folders.parent_folder_id} recursively and lay the archive out
+ * like the folder tree. Document selections are written flat, in the requested order.
+ * Documents without content are skipped.
+ */
+@Slf4j
+@Service
+public class DocumentExportServiceImpl implements DocumentExportService {
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private FolderRepository folderRepository;
+
+    @Autowired
+    private EcmPortProvider ecmPortProvider;
+
+    @Autowired
+    private ContentDownloadPipeline contentDownloadPipeline;
+
+    @Autowired
+    private LocalFilesystemContentEngine localContentEngine;
+
+    @Autowired
+    private StreamingZipWriter zipWriter;
+
+    @Override
+    public Flux<DataBuffer> export(DocumentExportRequestDTO request) {
+        boolean hasDocuments = request.getDocumentIds() != null && !request.getDocumentIds().isEmpty();
+        if ((request.getFolderId() != null) == hasDocuments) {
+            return Flux.error(new IllegalArgumentException("Either a folder ID or a list of document IDs is required for an export"));
+        }
+        return request.getFolderId() != null
+                ? exportFolder(request.getFolderId())
+                : exportDocuments(request.getDocumentIds());
+    }
+
+    private Flux<DataBuffer> exportFolder(UUID folderId) {
+        log.info("Exporting folder tree of folder ID: {}", folderId);
+        return folderRepository.findSubtree(folderId)
+                .collectMap(Folder::getId)
+                .flatMapMany(folders -> {
+                    if (!folders.containsKey(folderId)) {
+                        return Flux.error(new RuntimeException("Folder not found with ID: " + folderId));
+                    }
+                    Map<UUID, String> folderPaths = folderPaths(folderId, folders);
+                    Set<String> names = new HashSet<>();
+                    return zipWriter.write(documentRepository.findAllInFolderTree(folderId)
+                            .filter(this::hasContent)
+                            .map(document -> toEntry(document,
+                                    uniqueName(names, folderPaths.get(document.getFolderId()) + "/" + fileNameOf(document)))));
+                });
+    }
+
+    private Flux<DataBuffer> exportDocuments(List<UUID> documentIds) {
+        List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(documentIds));
+        log.info("Exporting {} document(s)", ids.size());
+        // Metadata is loaded up front so a missing document fails the export before anything is sent
+        return documentRepository.findAllById(ids)
+                .collectMap(Document::getId)
+                .flatMapMany(documents -> {
+                    for (UUID id : ids) {
+                        if (!documents.containsKey(id)) {
+                            return Flux.error(new RuntimeException("Document not found with ID: " + id));
+                        }
+                    }
+                    Set<String> names = new HashSet<>();
+                    return zipWriter.write(Flux.fromIterable(ids)
+                            .map(documents::get)
+                            .filter(this::hasContent)
+                            .map(document -> toEntry(document, uniqueName(names, fileNameOf(document)))));
+                });
+    }
+
+    private ZipEntrySource toEntry(Document document, String name) {
+        return ZipEntrySource.of(name, document.getMimeType(), document.getFileSize(),
+                document.getUpdatedAt() != null ? document.getUpdatedAt() : document.getCreatedAt(),
+                () -> readContent(document));
+    }
+
+    private Flux<DataBuffer> readContent(Document document) {
+        return localContentEngine.resolvePort(document.getStorageType(), ecmPortProvider.getDocumentContentPort())
+                .map(port -> contentDownloadPipeline.read(port, contentReferenceOf(document))
+                        .doOnError(error -> log.error("Failed to export content of document ID {}: {}",
+                                document.getId(), error.getMessage())))
+                .orElseGet(() -> Flux.error(new RuntimeException("Document export requires ECM DocumentContentPort to be configured")));
+    }
+
+    private boolean hasContent(Document document) {
+        return document.getContentBlobId() != null || document.getStoragePath() != null;
+    }
+
+    private UUID contentIdOf(Document document) {
+        return document.getContentBlobId() != null ? document.getContentBlobId() : document.getId();
+    }
+
+    private ContentReference contentReferenceOf(Document document) {
+        return ContentReference.of(contentIdOf(document), document.getChecksum(), document.getFileSize(), document.getVersion(),
+                        document.getContentEncoding())
+                .withEncrypted(document.getEncryptionKeyId() != null);
+    }
+
+    /**
+     * Archive paths of the folders of a tree, relative to and including the root folder.
+     */
+    private Map<UUID, String> folderPaths(UUID rootId, Map<UUID, Folder> folders) {
+        Map<UUID, String> paths = new HashMap<>();
+        for (UUID id : folders.keySet()) {
+            folderPath(id, rootId, folders, paths);
+        }
+        return paths;
+    }
+
+    private String folderPath(UUID id, UUID rootId, Map<UUID, Folder> folders, Map<UUID, String> paths) {
+        String path = paths.get(id);
+        if (path != null) {
+            return path;
+        }
+        Folder folder = folders.get(id);
+        String name = sanitize(folder.getName() != null ? folder.getName() : id.toString());
+        UUID parentId = folder.getParentFolderId();
+        path = id.equals(rootId) || parentId == null || !folders.containsKey(parentId)
+                ? name
+                : folderPath(parentId, rootId, folders, paths) + "/" + name;
+        paths.put(id, path);
+        return path;
+    }
+
+    private String fileNameOf(Document document) {
+        if (document.getFileName() != null && !document.getFileName().isBlank()) {
+            return sanitize(document.getFileName());
+        }
+        return sanitize(document.getName() != null ? document.getName() : document.getId().toString());
+    }
+
+    /**
+     * Make a name safe to use as a single path element of an archive entry.
+     */
+    static String sanitize(String name) {
+        String sanitized = name.replaceAll("[/\\\\\\p{Cntrl}]", "_").trim();
+        return sanitized.isEmpty() || sanitized.equals(".") || sanitized.equals("..") ? "_" : sanitized;
+    }
+
+    /**
+     * Suffix a name with a counter when the archive already holds an entry with that name.
+     */
+    static String uniqueName(Set<String> names, String name) {
+        if (names.add(name.toLowerCase(Locale.ROOT))) {
+            return name;
+        }
+        int slash = name.lastIndexOf('/');
+        int dot = name.lastIndexOf('.');
+        boolean hasExtension = dot > slash + 1;
+        String base = hasExtension ? name.substring(0, dot) : name;
+        String extension = hasExtension ? name.substring(dot) : "";
+        for (int counter = 2; ; counter++) {
+            String candidate = base + " (" + counter + ")" + extension;
+            if (names.add(candidate.toLowerCase(Locale.ROOT))) {
+                return candidate;
+            }
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.fireflyframework.core.filters.FilterUtils;
 import org.fireflyframework.core.queries.PaginationResponse;
 
 import com.firefly.commons.ecm.core.mappers.DocumentMetadataMapper;
+import com.firefly.commons.ecm.core.search.DocumentIndexer;
 import com.firefly.commons.ecm.core.services.DocumentMetadataService;
 import com.firefly.commons.ecm.interfaces.dtos.DocumentMetadataDTO;
 import com.firefly.commons.ecm.models.entities.DocumentMetadata;
@@ -52,6 +53,9 @@ public class DocumentMetadataServiceImpl implements DocumentMetadataService {
     @Autowired
     private EcmPortProvider ecmPortProvider;
 
+    @Autowired
+    private DocumentIndexer documentIndexer;
+
     @Override
     public Mono<DocumentMetadataDTO> getById(UUID id) {
         return repository.findById(id)
@@ -81,6 +85,7 @@ public class DocumentMetadataServiceImpl implements DocumentMetadataService {
                     entityToUpdate.setCreatedBy(existingEntity.getCreatedBy());
                     return repository.save(entityToUpdate);
                 })
+                .flatMap(saved -> documentIndexer.reindex(saved.getDocumentId()).thenReturn(saved))
                 .map(mapper::toDTO);
     }
 
@@ -96,6 +101,7 @@ public class DocumentMetadataServiceImpl implements DocumentMetadataService {
                 .doOnSuccess(savedEntity -> log.info("Document metadata created successfully with ID: {}", savedEntity.getId()))
                 .doOnError(error -> log.error("Failed to create document metadata: {}", error.getMessage(), error))
                 // Note: ECM metadata integration would be implemented here if needed
+                .flatMap(saved -> documentIndexer.reindex(saved.getDocumentId()).thenReturn(saved))
                 .map(mapper::toDTO);
     }
 
@@ -110,6 +116,7 @@ public class DocumentMetadataServiceImpl implements DocumentMetadataService {
 
                     // Note: ECM metadata removal would be implemented here if needed
                     return repository.delete(entity)
+                            .then(Mono.defer(() -> documentIndexer.reindex(entity.getDocumentId())))
                             .doOnSuccess(result -> log.info("Document metadata deleted successfully: {}", id))
                             .doOnError(error -> log.error("Failed to delete document metadata {}: {}", id, error.getMessage(), error));
                 });
@@ -19,21 +19,57 @@ package com.firefly.commons.ecm.core.services.impl;
 import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.filters.FilterUtils;
 import org.fireflyframework.core.queries.PaginationResponse;
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
 import com.firefly.commons.ecm.core.mappers.DocumentMapper;
+import com.firefly.commons.ecm.core.query.DocumentCriteria;
+import com.firefly.commons.ecm.core.query.EntityStreamer;
+import com.firefly.commons.ecm.core.query.KeysetPaginator;
+import com.firefly.commons.ecm.core.search.DocumentFacetCounter;
+import com.firefly.commons.ecm.core.search.DocumentIndexer;
+import com.firefly.commons.ecm.core.search.LocalSearchIndex;
+import com.firefly.commons.ecm.core.search.SearchHit;
+import com.firefly.commons.ecm.core.search.SearchResults;
 import com.firefly.commons.ecm.core.services.DocumentSearchService;
+import com.firefly.commons.ecm.interfaces.dtos.CursorPageDTO;
+import com.firefly.commons.ecm.interfaces.dtos.CursorRequestDTO;
 import com.firefly.commons.ecm.interfaces.dtos.DocumentDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentFacetsDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentQueryDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentSearchHitDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentSearchResultDTO;
+import com.firefly.commons.ecm.interfaces.enums.DocumentFacet;
 import com.firefly.commons.ecm.models.entities.Document;
+import com.firefly.commons.ecm.models.entities.DocumentTextMatch;
+import com.firefly.commons.ecm.models.repositories.DocumentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class DocumentSearchServiceImpl implements DocumentSearchService {
 
     private final DocumentMapper mapper;
+    private final DocumentRepository documentRepository;
+    private final LocalSearchIndex searchIndex;
+    private final DocumentIndexer documentIndexer;
+    private final EcmContentProperties contentProperties;
+    private final KeysetPaginator paginator;
+    private final EntityStreamer entityStreamer;
+    private final DocumentFacetCounter facetCounter;
 
     @Override
     public Mono<PaginationResponse<DocumentDTO>> filter(FilterRequest<DocumentDTO> filterRequest) {
@@ -42,4 +78,167 @@ public class DocumentSearchServiceImpl implements DocumentSearchService {
                 mapper::toDTO
         ).filter(filterRequest != null ? filterRequest : new FilterRequest<>());
     }
+
+    @Override
+    public Mono<CursorPageDTO<DocumentDTO>> filterByCursor(DocumentQueryDTO query, CursorRequestDTO request) {
+        return paginator.page(Document.class, DocumentCriteria.of(query),
+                request != null ? request : new CursorRequestDTO(), mapper::toDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<DocumentDTO> filterStream(DocumentQueryDTO query) {
+        // A transaction keeps the statement on one connection while its cursor is read
+        return entityStreamer.stream(Document.class, DocumentCriteria.of(query), Sort.by("createdAt", "id"))
+                .map(mapper::toDTO);
+    }
+
+    @Override
+    public Mono<DocumentFacetsDTO> facets(DocumentQueryDTO filter, String query, Set<DocumentFacet> facets) {
+        if (filter == null || filter.getTenantId() == null || filter.getTenantId().isBlank()) {
+            return Mono.error(new IllegalArgumentException("Tenant ID is required for facet counts"));
+        }
+        return facetCounter.count(filter, query, facets);
+    }
+
+    @Override
+    public Mono<DocumentSearchResultDTO> search(String tenantId, String query, int page, int size) {
+        if (!searchIndex.isEnabled()) {
+            return Mono.error(new IllegalStateException("Full-text search is disabled"));
+        }
+        if (page < 0 || size <= 0) {
+            return Mono.error(new IllegalArgumentException("Page must not be negative and size must be positive"));
+        }
+        int pageSize = Math.min(size, getMaxPageSize());
+        long offset = (long) page * pageSize;
+        return searchIndex.search(tenantId, query, (int) Math.min(offset, Integer.MAX_VALUE), pageSize)
+                .flatMap(results -> loadDocuments(tenantId, results)
+                        .map(documents -> DocumentSearchResultDTO.builder()
+                                .query(query)
+                                .totalHits(results.getTotalHits())
+                                .page(page)
+                                .size(pageSize)
+                                .hits(results.getHits().stream()
+                                        .filter(hit -> documents.containsKey(hit.getDocumentId()))
+                                        .map(hit -> toHitDTO(hit, documents.get(hit.getDocumentId())))
+                                        .toList())
+                                .build()));
+    }
+
+    @Override
+    public Mono<CursorPageDTO<DocumentSearchHitDTO>> searchText(String tenantId, String query, String cursor, int size) {
+        if (tenantId == null || tenantId.isBlank()) {
+            return Mono.error(new IllegalArgumentException("Tenant ID is required for full-text search"));
+        }
+        if (query == null || query.isBlank()) {
+            return Mono.error(new IllegalArgumentException("Search query must not be blank"));
+        }
+        if (size <= 0) {
+            return Mono.error(new IllegalArgumentException("Page size must be positive"));
+        }
+        int pageSize = Math.min(size, getMaxPageSize());
+        // One extra match tells whether there is a next page
+        Flux<DocumentTextMatch> matches;
+        if (cursor == null || cursor.isBlank()) {
+            matches = documentRepository.searchText(tenantId, query, pageSize + 1);
+        } else {
+            TextCursor after;
+            try {
+                after = TextCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return Mono.error(e);
+            }
+            matches = documentRepository.searchTextAfter(tenantId, query, after.rank(), after.documentId(), pageSize + 1);
+        }
+        return matches.collectList()
+                .flatMap(found -> {
+                    List<DocumentTextMatch> page = found.size() > pageSize ? found.subList(0, pageSize) : found;
+                    String nextCursor = found.size() > pageSize
+                            ? TextCursor.of(page.get(page.size() - 1)).encode()
+                            : null;
+                    if (page.isEmpty()) {
+                        return Mono.just(CursorPageDTO.<DocumentSearchHitDTO>builder()
+                                .content(List.of())
+                                .size(pageSize)
+                                .build());
+                    }
+                    return documentRepository.findAllById(page.stream().map(DocumentTextMatch::getDocumentId).toList())
+                            .collectMap(Document::getId)
+                            .map(documents -> CursorPageDTO.<DocumentSearchHitDTO>builder()
+                                    .content(page.stream()
+                                            // A document deleted since it matched is left out
+                                            .filter(match -> documents.containsKey(match.getDocumentId()))
+                                            .map(match -> DocumentSearchHitDTO.builder()
+                                                    .document(mapper.toDTO(documents.get(match.getDocumentId())))
+                                                    .score(match.getSearchRank())
+                                                    .build())
+                                            .toList())
+                                    .nextCursor(nextCursor)
+                                    .size(pageSize)
+                                    .build());
+                });
+    }
+
+    @Override
+    public Mono<Long> rebuildIndex() {
+        return documentIndexer.rebuild();
+    }
+
+    /**
+     * Load the documents of the hits. Entries left behind by deleted documents, or by documents
+     * moved to another tenant, are dropped.
+     */
+    private Mono<Map<UUID, Document>> loadDocuments(String tenantId, SearchResults results) {
+        if (results.getHits().isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        List<UUID> ids = results.getHits().stream().map(SearchHit::getDocumentId).toList();
+        return documentRepository.findAllById(ids)
+                .filter(document -> Objects.equals(blankToNull(tenantId), blankToNull(document.getTenantId())))
+                .collectMap(Document::getId);
+    }
+
+    private DocumentSearchHitDTO toHitDTO(SearchHit hit, Document document) {
+        return DocumentSearchHitDTO.builder()
+                .document(mapper.toDTO(document))
+                .score(hit.getScore())
+                .highlights(hit.getHighlights())
+                .build();
+    }
+
+    private int getMaxPageSize() {
+        Integer maxPageSize = contentProperties.getSearch().getMaxPageSize();
+        return maxPageSize != null && maxPageSize > 0 ? maxPageSize : 100;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    /**
+     * Position after the last match of a page: its rank, kept bit for bit so it compares equal
+     * in the database, and its ID.
+     */
+    private record TextCursor(float rank, UUID documentId) {
+
+        static TextCursor of(DocumentTextMatch match) {
+            return new TextCursor(match.getSearchRank(), match.getDocumentId());
+        }
+
+        String encode() {
+            String value = Integer.toHexString(Float.floatToIntBits(rank)) + ":" + documentId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static TextCursor decode(String cursor) {
+            try {
+                String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = value.indexOf(':');
+                return new TextCursor(Float.intBitsToFloat(Integer.parseUnsignedInt(value.substring(0, separator), 16)),
+                        UUID.fromString(value.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid search cursor: " + cursor);
+            }
+        }
+    }
 }
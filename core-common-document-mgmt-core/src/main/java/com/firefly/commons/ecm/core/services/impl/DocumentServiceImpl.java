@@ -21,12 +21,34 @@ import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.filters.FilterUtils;
 import org.fireflyframework.core.queries.PaginationResponse;
 
+import com.firefly.commons.ecm.core.content.ContentAccessTracker;
+import com.firefly.commons.ecm.core.content.ContentBlobStore;
+import com.firefly.commons.ecm.core.content.ContentDigest;
+import com.firefly.commons.ecm.core.content.ContentDownloadPipeline;
+import com.firefly.commons.ecm.core.content.ContentReference;
+import com.firefly.commons.ecm.core.content.ContentUploadPipeline;
+import com.firefly.commons.ecm.core.content.LocalFilesystemContentEngine;
+import com.firefly.commons.ecm.core.content.StoredContent;
 import com.firefly.commons.ecm.core.mappers.DocumentMapper;
 import com.firefly.commons.ecm.core.mappers.EcmDomainMapper;
+import com.firefly.commons.ecm.core.query.DocumentCriteria;
+import com.firefly.commons.ecm.core.query.EntityStreamer;
+import com.firefly.commons.ecm.core.query.KeysetPaginator;
+import com.firefly.commons.ecm.core.search.DocumentIndexer;
 import com.firefly.commons.ecm.core.services.DocumentService;
+import com.firefly.commons.ecm.interfaces.dtos.CursorPageDTO;
+import com.firefly.commons.ecm.interfaces.dtos.CursorRequestDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentCopyRequestDTO;
 import com.firefly.commons.ecm.interfaces.dtos.DocumentDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentQueryDTO;
 import com.firefly.commons.ecm.models.entities.Document;
+import com.firefly.commons.ecm.models.entities.DocumentMetadata;
+import com.firefly.commons.ecm.models.entities.DocumentPermission;
+import com.firefly.commons.ecm.models.entities.DocumentTag;
+import com.firefly.commons.ecm.models.repositories.DocumentMetadataRepository;
+import com.firefly.commons.ecm.models.repositories.DocumentPermissionRepository;
 import com.firefly.commons.ecm.models.repositories.DocumentRepository;
+import com.firefly.commons.ecm.models.repositories.DocumentTagRepository;
 import org.fireflyframework.ecm.service.EcmPortProvider;
 import org.fireflyframework.ecm.port.document.DocumentContentPort;
 import org.fireflyframework.ecm.port.document.DocumentVersionPort;
@@ -34,11 +56,15 @@ import org.fireflyframework.ecm.port.document.DocumentVersionPort;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.util.Objects;
 import java.util.UUID;
 /**
  * Implementation of the DocumentService interface.
@@ -61,6 +87,39 @@ public class DocumentServiceImpl implements DocumentService {
     @Autowired
     private EcmDomainMapper ecmDomainMapper;
 
+    @Autowired
+    private ContentUploadPipeline contentUploadPipeline;
+
+    @Autowired
+    private ContentDownloadPipeline contentDownloadPipeline;
+
+    @Autowired
+    private ContentBlobStore contentBlobStore;
+
+    @Autowired
+    private LocalFilesystemContentEngine localContentEngine;
+
+    @Autowired
+    private ContentAccessTracker contentAccessTracker;
+
+    @Autowired
+    private DocumentIndexer documentIndexer;
+
+    @Autowired
+    private DocumentMetadataRepository metadataRepository;
+
+    @Autowired
+    private DocumentTagRepository documentTagRepository;
+
+    @Autowired
+    private DocumentPermissionRepository permissionRepository;
+
+    @Autowired
+    private KeysetPaginator paginator;
+
+    @Autowired
+    private EntityStreamer entityStreamer;
+
     @Override
     public Mono<DocumentDTO> getById(UUID id) {
         return repository.findById(id)
@@ -75,6 +134,19 @@ public class DocumentServiceImpl implements DocumentService {
         ).filter(filterRequest);
     }
 
+    @Override
+    public Mono<CursorPageDTO<DocumentDTO>> listByCursor(DocumentQueryDTO query, CursorRequestDTO request) {
+        return paginator.page(Document.class, DocumentCriteria.of(query),
+                request != null ? request : new CursorRequestDTO(), mapper::toDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<DocumentDTO> stream(DocumentQueryDTO query) {
+        return entityStreamer.stream(Document.class, DocumentCriteria.of(query), Sort.by("createdAt", "id"))
+                .map(mapper::toDTO);
+    }
+
     @Override
     public Mono<DocumentDTO> update(DocumentDTO document) {
         if (document.getId() == null) {
@@ -88,8 +160,22 @@ public class DocumentServiceImpl implements DocumentService {
                     // Preserve created info
                     entityToUpdate.setCreatedAt(existingEntity.getCreatedAt());
                     entityToUpdate.setCreatedBy(existingEntity.getCreatedBy());
-                    return repository.save(entityToUpdate);
+                    // Preserve the stored content reference, checksum and size, which are managed by content uploads
+                    entityToUpdate.setContentBlobId(existingEntity.getContentBlobId());
+                    entityToUpdate.setChecksum(existingEntity.getChecksum());
+                    entityToUpdate.setIsChecksumVerified(existingEntity.getIsChecksumVerified());
+                    entityToUpdate.setFileSize(existingEntity.getFileSize());
+                    entityToUpdate.setStoragePath(existingEntity.getStoragePath());
+                    entityToUpdate.setContentEncoding(existingEntity.getContentEncoding());
+                    entityToUpdate.setEncryptionKeyId(existingEntity.getEncryptionKeyId());
+                    entityToUpdate.setStorageTier(existingEntity.getStorageTier());
+                    return repository.save(entityToUpdate)
+                            // A document moved to another tenant leaves the index partition of its old tenant
+                            .flatMap(saved -> Objects.equals(existingEntity.getTenantId(), saved.getTenantId())
+                                    ? Mono.just(saved)
+                                    : documentIndexer.remove(existingEntity).thenReturn(saved));
                 })
+                .flatMap(this::indexLocally)
                 .map(mapper::toDTO);
     }
 
@@ -104,6 +190,7 @@ public class DocumentServiceImpl implements DocumentService {
         return repository.save(entity)
                 .doOnSuccess(savedEntity -> log.info("Document created successfully with ID: {}", savedEntity.getId()))
                 .doOnError(error -> log.error("Failed to create document: {}", error.getMessage(), error))
+                .flatMap(this::indexLocally)
                 .map(mapper::toDTO);
     }
 
@@ -116,78 +203,257 @@ public class DocumentServiceImpl implements DocumentService {
                 .flatMap(entity -> {
                     log.info("Deleting document: {} (ID: {})", entity.getName(), entity.getId());
 
-                    // Delete content from ECM storage if available
-                    return ecmPortProvider.getDocumentContentPort()
-                            .map(port -> {
-                                log.debug("Deleting document content from ECM storage for document ID: {}", entity.getId());
-                                return port.deleteContent(java.util.UUID.fromString(entity.getId().toString()))
-                                        .doOnSuccess(result -> log.debug("Document content deleted from ECM storage"))
-                                        .doOnError(error -> log.warn("Failed to delete document content from ECM storage: {}", error.getMessage()))
-                                        .onErrorComplete() // Continue even if content deletion fails
-                                        .then(repository.delete(entity));
-                            })
-                            .orElse(repository.delete(entity))
-                            .then(Mono.defer(() ->
-                                    ecmPortProvider.getDocumentSearchPort()
-                                            .map(searchPort -> searchPort.removeFromIndex(java.util.UUID.fromString(entity.getId().toString()))
-                                                    .onErrorResume(err -> Mono.empty()))
-                                            .orElse(Mono.empty())
-                            ))
+                    // Shared content is released by reference, unshared content is deleted from ECM storage if available
+                    Mono<Void> contentDeletion = entity.getContentBlobId() != null
+                            ? contentBlobStore.release(entity.getContentBlobId())
+                            : localContentEngine.resolvePort(entity.getStorageType(), ecmPortProvider.getDocumentContentPort())
+                                    .map(port -> {
+                                        log.debug("Deleting document content from ECM storage for document ID: {}", entity.getId());
+                                        return port.deleteContent(java.util.UUID.fromString(entity.getId().toString()))
+                                                .doOnSuccess(result -> log.debug("Document content deleted from ECM storage"))
+                                                .doOnError(error -> log.warn("Failed to delete document content from ECM storage: {}", error.getMessage()))
+                                                .onErrorComplete() // Continue even if content deletion fails
+                                                .then();
+                                    })
+                                    .orElse(Mono.empty());
+
+                    // Versions are removed with the document, so their content references are released first
+                    return contentBlobStore.releaseDocumentVersions(entity.getId())
+                            .then(contentDeletion)
+                            .then(repository.delete(entity))
+                            .then(Mono.defer(() -> removeFromSearchIndex(entity)))
                             .doOnSuccess(result -> log.info("Document deleted successfully: {}", entity.getId()))
                             .doOnError(error -> log.error("Failed to delete document {}: {}", entity.getId(), error.getMessage(), error));
                 });
     }
 
+    private Mono<Void> removeFromSearchIndex(Document entity) {
+        return ecmPortProvider.getDocumentSearchPort()
+                .map(searchPort -> searchPort.removeFromIndex(java.util.UUID.fromString(entity.getId().toString()))
+                        .onErrorResume(err -> Mono.empty())
+                        .then())
+                .orElse(Mono.empty())
+                .then(documentIndexer.remove(entity));
+    }
+
+    /**
+     * Index a saved document in the embedded full-text index. Failures are logged by the indexer
+     * and never fail the operation.
+     */
+    private Mono<Document> indexLocally(Document document) {
+        return documentIndexer.index(document).thenReturn(document);
+    }
+
+    @Override
+    public Mono<DocumentDTO> copy(UUID documentId, DocumentCopyRequestDTO request) {
+        log.debug("Copying document with ID: {}", documentId);
+
+        return repository.findById(documentId)
+                .switchIfEmpty(Mono.error(new RuntimeException("Document not found with ID: " + documentId)))
+                .flatMap(source -> {
+                    Document copy = copyOf(source, request);
+                    // Tags and permissions refer to tenant-scoped records, so they are only copied within a tenant
+                    boolean sameTenant = Objects.equals(source.getTenantId(), copy.getTenantId());
+                    return copyContent(source, copy)
+                            .flatMap(stored -> saveCopy(source, copy, sameTenant)
+                                    .onErrorResume(error -> discardCopiedContent(copy, stored).then(Mono.<Document>error(error))))
+                            .switchIfEmpty(Mono.defer(() -> saveCopy(source, copy, sameTenant)))
+                            .doOnSuccess(saved -> log.info("Document {} copied to {}", source.getId(), saved.getId()))
+                            .doOnError(error -> log.error("Failed to copy document {}: {}", source.getId(), error.getMessage(), error));
+                })
+                .flatMap(this::indexLocally)
+                .map(mapper::toDTO);
+    }
+
+    private Document copyOf(Document source, DocumentCopyRequestDTO request) {
+        String tenantId = request.getTenantId() != null ? request.getTenantId() : source.getTenantId();
+        UUID folderId = request.getFolderId() != null ? request.getFolderId()
+                : Objects.equals(tenantId, source.getTenantId()) ? source.getFolderId() : null;
+        return Document.builder()
+                // The ID is assigned up front so content can be copied under it; a null version still makes the save an insert
+                .id(UUID.randomUUID())
+                .name(request.getName() != null && !request.getName().isBlank() ? request.getName() : source.getName())
+                .description(source.getDescription())
+                .fileName(source.getFileName())
+                .fileExtension(source.getFileExtension())
+                .mimeType(source.getMimeType())
+                .fileSize(source.getFileSize())
+                .documentType(source.getDocumentType())
+                .documentStatus(source.getDocumentStatus())
+                .storageType(source.getStorageType())
+                .securityLevel(source.getSecurityLevel())
+                .folderId(folderId)
+                .isEncrypted(source.getIsEncrypted())
+                .isIndexed(source.getIsIndexed())
+                .isLocked(false)
+                .expirationDate(source.getExpirationDate())
+                .retentionDate(source.getRetentionDate())
+                .tenantId(tenantId)
+                .checksum(source.getChecksum())
+                .isChecksumVerified(source.getIsChecksumVerified())
+                .build();
+    }
+
+    /**
+     * Share or copy the content of a document for its copy, without reading the content.
+     */
+    private Mono<StoredContent> copyContent(Document source, Document copy) {
+        if (source.getContentBlobId() == null && source.getStoragePath() == null) {
+            return Mono.empty();
+        }
+        return Mono.justOrEmpty(localContentEngine.resolvePort(source.getStorageType(), ecmPortProvider.getDocumentContentPort()))
+                .switchIfEmpty(Mono.error(new RuntimeException("Document copy requires ECM DocumentContentPort to be configured")))
+                .flatMap(port -> source.getContentBlobId() != null
+                        ? contentBlobStore.share(port, source.getContentBlobId(), copy.getTenantId())
+                        : contentBlobStore.copy(port, source.getId(), copy.getId())
+                                .map(storagePath -> StoredContent.builder()
+                                        .storagePath(storagePath)
+                                        .checksum(source.getChecksum())
+                                        .size(source.getFileSize() != null ? source.getFileSize() : 0)
+                                        .encoding(source.getContentEncoding())
+                                        .encryptionKeyId(source.getEncryptionKeyId())
+                                        .build()))
+                .doOnNext(stored -> {
+                    copy.setContentBlobId(stored.getBlobId());
+                    copy.setStoragePath(stored.getStoragePath());
+                    copy.setContentEncoding(stored.getEncoding());
+                    copy.setEncryptionKeyId(stored.getEncryptionKeyId());
+                });
+    }
+
+    private Mono<Document> saveCopy(Document source, Document copy, boolean sameTenant) {
+        return repository.save(copy)
+                .flatMap(saved -> metadataRepository.findByDocumentId(source.getId())
+                        .map(entry -> DocumentMetadata.builder()
+                                .documentId(saved.getId())
+                                .key(entry.getKey())
+                                .value(entry.getValue())
+                                .type(entry.getType())
+                                .isSearchable(entry.getIsSearchable())
+                                .isSystemMetadata(entry.getIsSystemMetadata())
+                                .tenantId(saved.getTenantId())
+                                .build())
+                        .collectList()
+                        .flatMapMany(metadataRepository::saveAll)
+                        .then(sameTenant ? copyTagsAndPermissions(source, saved) : Mono.<Void>empty())
+                        .thenReturn(saved))
+                .flatMap(saved -> ecmPortProvider.getDocumentSearchPort()
+                        .map(searchPort -> searchPort.indexDocument(ecmDomainMapper.toEcmDocument(saved))
+                                .onErrorResume(err -> {
+                                    log.warn("Indexing failed for document {}: {}", saved.getId(), err.getMessage());
+                                    return Mono.empty();
+                                })
+                                .thenReturn(saved))
+                        .orElse(Mono.just(saved)));
+    }
+
+    private Mono<Void> copyTagsAndPermissions(Document source, Document saved) {
+        Mono<Void> tags = documentTagRepository.findByDocumentId(source.getId())
+                .map(tag -> DocumentTag.builder()
+                        .documentId(saved.getId())
+                        .tagId(tag.getTagId())
+                        .tenantId(saved.getTenantId())
+                        .build())
+                .collectList()
+                .flatMapMany(documentTagRepository::saveAll)
+                .then();
+        Mono<Void> permissions = permissionRepository.findByDocumentId(source.getId())
+                .map(permission -> DocumentPermission.builder()
+                        .documentId(saved.getId())
+                        .partyId(permission.getPartyId())
+                        .permissionType(permission.getPermissionType())
+                        .isGranted(permission.getIsGranted())
+                        .expirationDate(permission.getExpirationDate())
+                        .tenantId(saved.getTenantId())
+                        .build())
+                .collectList()
+                .flatMapMany(permissionRepository::saveAll)
+                .then();
+        return tags.then(permissions);
+    }
+
+    /**
+     * Delete content copied for a copy that could not be saved. Shared references are rolled back with the transaction.
+     */
+    private Mono<Void> discardCopiedContent(Document copy, StoredContent stored) {
+        if (stored.isDeduplicated()) {
+            return Mono.empty();
+        }
+        UUID contentId = stored.getBlobId() != null ? stored.getBlobId() : copy.getId();
+        return localContentEngine.resolvePort(copy.getStorageType(), ecmPortProvider.getDocumentContentPort())
+                .map(port -> port.deleteContent(contentId).onErrorComplete().then())
+                .orElse(Mono.empty());
+    }
+
+    private Mono<Void> discardContent(DocumentContentPort port, UUID contentId) {
+        return port.deleteContent(contentId)
+                .doOnError(error -> log.warn("Failed to delete content {}: {}", contentId, error.getMessage()))
+                .onErrorComplete()
+                .then();
+    }
+
     // ECM Port Operations Implementation
 
     @Override
     public Mono<DocumentDTO> uploadContent(UUID documentId, FilePart filePart) {
         log.debug("Uploading content for document ID: {} with filename: {}", documentId, filePart.filename());
 
+        String mimeType = filePart.headers().getContentType() != null
+                ? filePart.headers().getContentType().toString()
+                : null;
+        Long contentLength = filePart.headers().getContentLength() >= 0
+                ? filePart.headers().getContentLength()
+                : null;
+        return storeContent(documentId, filePart.content(), filePart.filename(), mimeType, contentLength);
+    }
+
+    @Override
+    public Mono<DocumentDTO> storeContent(UUID documentId, Flux<DataBuffer> content, String fileName,
+                                          String mimeType, Long contentLength) {
         return repository.findById(documentId)
                 .switchIfEmpty(Mono.error(new RuntimeException("Document not found with ID: " + documentId)))
                 .flatMap(document -> {
                     log.info("Uploading content for document: {} (ID: {}), filename: {}",
-                            document.getName(), document.getId(), filePart.filename());
+                            document.getName(), document.getId(), fileName);
 
                     // Upload content using ECM port if available
                     java.util.UUID documentUuid = java.util.UUID.fromString(document.getId().toString());
 
-                    return ecmPortProvider.getDocumentContentPort()
+                    return localContentEngine.resolvePort(document.getStorageType(), ecmPortProvider.getDocumentContentPort())
                             .map(port -> {
                                 log.debug("Using ECM DocumentContentPort to store content");
-                                // Store content stream and get storage path
-                                // Convert FilePart content to byte array for ECM storage
-                                return filePart.content()
-                                        .collectList()
-                                        .map(dataBuffers -> {
-                                            // Convert DataBuffer list to byte array
-                                            int totalSize = dataBuffers.stream().mapToInt(DataBuffer::readableByteCount).sum();
-                                            byte[] bytes = new byte[totalSize];
-                                            int offset = 0;
-                                            for (DataBuffer buffer : dataBuffers) {
-                                                int length = buffer.readableByteCount();
-                                                buffer.read(bytes, offset, length);
-                                                offset += length;
-                                            }
-                                            return bytes;
-                                        })
-                                        .flatMap(contentBytes -> {
-                                            String mimeType = filePart.headers().getContentType() != null
-                                                    ? filePart.headers().getContentType().toString()
-                                                    : "application/octet-stream";
-                                            return port.storeContent(documentUuid, contentBytes, mimeType);
-                                        })
-                                        .flatMap(storagePath -> {
-                                    log.debug("Content stored successfully at path: {}", storagePath);
+                                // Stream content to the port (falls back to a byte array for non-streaming adapters)
+                                String contentType = mimeType != null ? mimeType : "application/octet-stream";
+                                // Checksum and size are computed while the content streams; identical content is deduplicated
+                                UUID previousBlobId = document.getContentBlobId();
+                                boolean replacesOwnContent = previousBlobId == null && document.getStoragePath() != null;
+                                return contentBlobStore.store(port, document.getTenantId(), documentUuid, content, contentType, contentLength,
+                                                Boolean.TRUE.equals(document.getIsEncrypted()))
+                                        .flatMap(stored -> {
+                                    log.debug("Content stored successfully at path: {} (checksum: {}, size: {}, deduplicated: {})",
+                                            stored.getStoragePath(), stored.getChecksum(), stored.getSize(), stored.isDeduplicated());
 
                                     // Update document metadata with ECM storage info
-                                    document.setFileName(filePart.filename());
-                                    document.setStoragePath(storagePath);
-                                    document.setMimeType(filePart.headers().getContentType() != null ?
-                                            filePart.headers().getContentType().toString() : null);
-                                    // Save updated document metadata
+                                    document.setFileName(fileName);
+                                    document.setStoragePath(stored.getStoragePath());
+                                    document.setChecksum(stored.getChecksum());
+                                    document.setIsChecksumVerified(true);
+                                    document.setFileSize(stored.getSize());
+                                    document.setContentBlobId(stored.getBlobId());
+                                    document.setContentEncoding(stored.getEncoding());
+                                    document.setEncryptionKeyId(stored.getEncryptionKeyId());
+                                    // New content is written to the default tier
+                                    document.setStorageTier(null);
+                                    document.setMimeType(mimeType);
+                                    // Save updated document metadata, then release the replaced content, or delete it
+                                    // if it was stored under the document ID and the new content went to a blob
                                     return repository.save(document)
+                                            .flatMap(savedDoc -> (previousBlobId != null && !previousBlobId.equals(savedDoc.getContentBlobId())
+                                                            ? contentBlobStore.release(previousBlobId)
+                                                            : replacesOwnContent && savedDoc.getContentBlobId() != null
+                                                                    ? discardContent(port, savedDoc.getId())
+                                                                    : Mono.<Void>empty())
+                                                    .thenReturn(savedDoc))
                                             .flatMap(savedDoc -> {
                                                 // Index document in search if available
                                                 return ecmPortProvider.getDocumentSearchPort()
@@ -211,8 +477,8 @@ public class DocumentServiceImpl implements DocumentService {
                                 return new RuntimeException("Document content upload requires ECM DocumentContentPort to be configured");
                             });
                 })
-                // Note: Search indexing would be handled by ECM search port if available
-                .map(savedDocument -> savedDocument)
+                // The extracted text of the new content is indexed with the document
+                .flatMap(this::indexLocally)
                 .map(mapper::toDTO);
     }
 
@@ -222,16 +488,15 @@ public class DocumentServiceImpl implements DocumentService {
 
         return repository.findById(documentId)
                 .switchIfEmpty(Mono.error(new RuntimeException("Document not found with ID: " + documentId)))
+                .doOnNext(document -> contentAccessTracker.recordAccess(document.getId()))
                 .flatMapMany(document -> {
                     log.info("Downloading content for document: {} (ID: {})", document.getName(), document.getId());
 
                     // Download content using ECM port if available
-                    java.util.UUID documentUuid = java.util.UUID.fromString(document.getId().toString());
-
-                    return ecmPortProvider.getDocumentContentPort()
+                    return localContentEngine.resolvePort(document.getStorageType(), ecmPortProvider.getDocumentContentPort())
                             .map(port -> {
                                 log.debug("Using ECM DocumentContentPort to download content");
-                                return port.getContentStream(documentUuid)
+                                return contentDownloadPipeline.read(port, contentReferenceOf(document))
                                         .doOnNext(buffer -> log.trace("Downloaded content buffer of size: {}", buffer.readableByteCount()))
                                         .doOnComplete(() -> log.debug("Content download completed for document ID: {}", documentId))
                                         .doOnError(error -> {
@@ -245,6 +510,34 @@ public class DocumentServiceImpl implements DocumentService {
                 });
     }
 
+    @Override
+    public Flux<DataBuffer> downloadContentRange(UUID documentId, long offset, long length) {
+        log.debug("Downloading bytes {}-{} of content for document ID: {}", offset, offset + length - 1, documentId);
+
+        return repository.findById(documentId)
+                .switchIfEmpty(Mono.error(new RuntimeException("Document not found with ID: " + documentId)))
+                .doOnNext(document -> contentAccessTracker.recordAccess(document.getId()))
+                .flatMapMany(document -> localContentEngine.resolvePort(document.getStorageType(), ecmPortProvider.getDocumentContentPort())
+                        .map(port -> contentDownloadPipeline.readRange(port, contentReferenceOf(document), offset, length)
+                                .doOnError(error -> {
+                                    log.error("Failed to download content range for document ID {}: {}", documentId, error.getMessage(), error);
+                                }))
+                        .orElseThrow(() -> {
+                            log.warn("Document content not available - ECM DocumentContentPort not configured");
+                            return new RuntimeException("Document content download requires ECM DocumentContentPort to be configured");
+                        }));
+    }
+
+    @Override
+    public Flux<DataBuffer> downloadStoredContent(UUID documentId) {
+        return repository.findById(documentId)
+                .switchIfEmpty(Mono.error(new RuntimeException("Document not found with ID: " + documentId)))
+                .doOnNext(document -> contentAccessTracker.recordAccess(document.getId()))
+                .flatMapMany(document -> localContentEngine.resolvePort(document.getStorageType(), ecmPortProvider.getDocumentContentPort())
+                        .map(port -> contentDownloadPipeline.readStored(port, contentReferenceOf(document)))
+                        .orElseThrow(() -> new RuntimeException("Document content download requires ECM DocumentContentPort to be configured")));
+    }
+
     @Override
     public Mono<DocumentDTO> createVersion(UUID documentId, FilePart filePart, String versionComment) {
         log.debug("Creating new version for document ID: {} with comment: {}", documentId, versionComment);
@@ -263,22 +556,9 @@ public class DocumentServiceImpl implements DocumentService {
                             .map(port -> {
                                 log.debug("Using ECM DocumentVersionPort to create version");
                                 
-                                // Convert FilePart content to byte array and create version through ECM port
-                                return filePart.content()
-                                        .collectList()
-                                        .map(dataBuffers -> {
-                                            // Convert DataBuffer list to byte array
-                                            int totalSize = dataBuffers.stream().mapToInt(DataBuffer::readableByteCount).sum();
-                                            byte[] bytes = new byte[totalSize];
-                                            int offset = 0;
-                                            for (DataBuffer buffer : dataBuffers) {
-                                                int length = buffer.readableByteCount();
-                                                buffer.read(bytes, offset, length);
-                                                offset += length;
-                                            }
-                                            return bytes;
-                                        })
-                                        .flatMap(contentBytes -> {
+                                // DocumentVersionPort only accepts a byte array, so the content is staged and handed over here
+                                ContentDigest digest = contentBlobStore.newDigest();
+                                return contentUploadPipeline.withByteArray(digest.tap(filePart.content()), contentBytes -> {
                                             // Create ECM DocumentVersion domain object
                                             String mimeType = filePart.headers().getContentType() != null
                                                     ? filePart.headers().getContentType().toString()
@@ -308,12 +588,24 @@ public class DocumentServiceImpl implements DocumentService {
                                                                 createdVersion.getId(), createdVersion.getStoragePath()))
                                                     .flatMap(createdVersion -> {
                                                         // Update document with new version information
+                                                        UUID previousBlobId = document.getContentBlobId();
                                                         document.setVersion(nextVersionNumber.longValue());
                                                         document.setFileName(filePart.filename());
                                                         document.setMimeType(mimeType);
                                                         document.setStoragePath(createdVersion.getStoragePath());
+                                                        document.setStorageTier(null);
+                                                        document.setChecksum(digest.getChecksum());
+                                                        document.setIsChecksumVerified(true);
+                                                        document.setFileSize(digest.getSize());
+                                                        // The version port now holds the content, as stored, unencoded and unencrypted
+                                                        document.setContentBlobId(null);
+                                                        document.setContentEncoding(null);
+                                                        document.setEncryptionKeyId(null);
                                                         
                                                         return repository.save(document)
+                                                                .flatMap(savedDoc -> previousBlobId != null
+                                                                        ? contentBlobStore.release(previousBlobId).thenReturn(savedDoc)
+                                                                        : Mono.just(savedDoc))
                                                                 .flatMap(savedDoc -> {
                                                                     // Index updated document in search if available
                                                                     return ecmPortProvider.getDocumentSearchPort()
@@ -354,9 +646,33 @@ public class DocumentServiceImpl implements DocumentService {
                                 })
                             );
                 })
+                .flatMap(this::indexLocally)
                 .map(mapper::toDTO);
     }
 
+    @Override
+    public Mono<Path> locateLocalContent(UUID documentId) {
+        return repository.findById(documentId)
+                // The file of encoded or encrypted content does not hold the bytes the client expects
+                .filter(document -> document.getContentEncoding() == null && document.getEncryptionKeyId() == null)
+                .flatMap(document -> contentDownloadPipeline.locateLocalFile(contentIdOf(document)))
+                .doOnNext(path -> contentAccessTracker.recordAccess(documentId));
+    }
+
+    /**
+     * ID the document content is stored under: the shared blob if the content was deduplicated,
+     * otherwise the document itself.
+     */
+    private UUID contentIdOf(Document document) {
+        return document.getContentBlobId() != null ? document.getContentBlobId() : document.getId();
+    }
+
+    private ContentReference contentReferenceOf(Document document) {
+        return ContentReference.of(contentIdOf(document), document.getChecksum(), document.getFileSize(), document.getVersion(),
+                        document.getContentEncoding())
+                .withEncrypted(document.getEncryptionKeyId() != null);
+    }
+
     @Override
     public Mono<DocumentDTO> getContentMetadata(UUID documentId) {
         return repository.findById(documentId)
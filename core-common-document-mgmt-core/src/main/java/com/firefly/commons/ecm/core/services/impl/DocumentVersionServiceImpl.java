@@ -21,6 +21,13 @@ import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.filters.FilterUtils;
 import org.fireflyframework.core.queries.PaginationResponse;
 
+import com.firefly.commons.ecm.core.content.ChunkedVersionStore;
+import com.firefly.commons.ecm.core.content.ContentBlobStore;
+import com.firefly.commons.ecm.core.content.ContentDownloadPipeline;
+import com.firefly.commons.ecm.core.content.ContentReference;
+import com.firefly.commons.ecm.core.content.ContentUploadPipeline;
+import com.firefly.commons.ecm.core.content.LocalFilesystemContentEngine;
+import com.firefly.commons.ecm.core.content.StoredContent;
 import com.firefly.commons.ecm.core.mappers.DocumentVersionMapper;
 import com.firefly.commons.ecm.core.services.DocumentVersionService;
 import com.firefly.commons.ecm.interfaces.dtos.DocumentVersionDTO;
@@ -37,6 +44,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
 import java.util.UUID;
 /**
  * Implementation of the DocumentVersionService interface.
@@ -56,6 +65,21 @@ public class DocumentVersionServiceImpl implements DocumentVersionService {
     @Autowired
     private EcmPortProvider ecmPortProvider;
 
+    @Autowired
+    private ContentUploadPipeline contentUploadPipeline;
+
+    @Autowired
+    private ContentDownloadPipeline contentDownloadPipeline;
+
+    @Autowired
+    private ContentBlobStore contentBlobStore;
+
+    @Autowired
+    private LocalFilesystemContentEngine localContentEngine;
+
+    @Autowired
+    private ChunkedVersionStore chunkedVersionStore;
+
     @Override
     public Mono<DocumentVersionDTO> getById(UUID id) {
         return repository.findById(id)
@@ -83,6 +107,17 @@ public class DocumentVersionServiceImpl implements DocumentVersionService {
                     // Preserve created info
                     entityToUpdate.setCreatedAt(existingEntity.getCreatedAt());
                     entityToUpdate.setCreatedBy(existingEntity.getCreatedBy());
+                    // Preserve the stored content reference, checksum and size, which are managed by content uploads
+                    entityToUpdate.setContentBlobId(existingEntity.getContentBlobId());
+                    entityToUpdate.setChecksum(existingEntity.getChecksum());
+                    entityToUpdate.setIsChecksumVerified(existingEntity.getIsChecksumVerified());
+                    entityToUpdate.setFileSize(existingEntity.getFileSize());
+                    entityToUpdate.setStoragePath(existingEntity.getStoragePath());
+                    entityToUpdate.setChunked(existingEntity.getChunked());
+                    entityToUpdate.setContentEncoding(existingEntity.getContentEncoding());
+                    entityToUpdate.setEncryptionKeyId(existingEntity.getEncryptionKeyId());
+                    // The record version is managed by the repository
+                    entityToUpdate.setVersion(existingEntity.getVersion());
                     return repository.save(entityToUpdate);
                 })
                 .map(mapper::toDTO);
@@ -94,6 +129,9 @@ public class DocumentVersionServiceImpl implements DocumentVersionService {
         documentVersion.setId(null);
 
         DocumentVersion entity = mapper.toEntity(documentVersion);
+        entity.setChunked(false);
+        entity.setContentEncoding(null);
+        entity.setEncryptionKeyId(null);
         return repository.save(entity)
                 .map(mapper::toDTO);
     }
@@ -109,8 +147,17 @@ public class DocumentVersionServiceImpl implements DocumentVersionService {
                     
                     // Delete version content from ECM storage if available
                     java.util.UUID versionUuid = java.util.UUID.fromString(entity.getId().toString());
-                    
-                    return ecmPortProvider.getDocumentVersionPort()
+
+                    // Shared content and chunks are only released by reference, unshared content is removed with the version
+                    Mono<Void> contentRelease = isChunked(entity)
+                            ? chunkedVersionStore.release(versionUuid)
+                            : entity.getContentBlobId() != null
+                            ? contentBlobStore.release(entity.getContentBlobId())
+                            : localContentEngine.resolvePort(entity.getStorageType(), ecmPortProvider.getDocumentContentPort())
+                                    .map(port -> discardContent(port, versionUuid))
+                                    .orElse(Mono.empty());
+
+                    return contentRelease.then(ecmPortProvider.getDocumentVersionPort()
                             .map(port -> {
                                 log.debug("Using ECM DocumentVersionPort to delete version content");
                                 return port.deleteVersion(versionUuid)
@@ -123,7 +170,7 @@ public class DocumentVersionServiceImpl implements DocumentVersionService {
                                     // Fallback: delete from database only
                                     repository.delete(entity)
                                             .doOnSuccess(result -> log.debug("Version deleted from database (ECM port not available)"))
-                            )
+                            ))
                             .doOnSuccess(result -> log.info("Document version deleted successfully: {}", entity.getId()))
                             .doOnError(error -> log.error("Failed to delete document version {}: {}", entity.getId(), error.getMessage(), error));
                 });
@@ -144,42 +191,56 @@ public class DocumentVersionServiceImpl implements DocumentVersionService {
                     // Upload version content using ECM port if available
                     java.util.UUID versionUuid = java.util.UUID.fromString(version.getId().toString());
                     
-                    return ecmPortProvider.getDocumentContentPort()
+                    return localContentEngine.resolvePort(version.getStorageType(), ecmPortProvider.getDocumentContentPort())
                             .map(port -> {
                                 log.debug("Using ECM DocumentContentPort to store version content");
                                 
-                                // Convert FilePart content to byte array for ECM storage
-                                return filePart.content()
-                                        .collectList()
-                                        .map(dataBuffers -> {
-                                            // Convert DataBuffer list to byte array
-                                            int totalSize = dataBuffers.stream().mapToInt(DataBuffer::readableByteCount).sum();
-                                            byte[] bytes = new byte[totalSize];
-                                            int offset = 0;
-                                            for (DataBuffer buffer : dataBuffers) {
-                                                int length = buffer.readableByteCount();
-                                                buffer.read(bytes, offset, length);
-                                                offset += length;
-                                            }
-                                            return bytes;
-                                        })
-                                        .flatMap(contentBytes -> {
-                                            String mimeType = filePart.headers().getContentType() != null
-                                                    ? filePart.headers().getContentType().toString()
-                                                    : "application/octet-stream";
-                                            return port.storeContent(versionUuid, contentBytes, mimeType);
-                                        })
-                                        .flatMap(storagePath -> {
-                                            log.debug("Version content stored successfully at path: {}", storagePath);
+                                // Stream content to the port (falls back to a byte array for non-streaming adapters)
+                                String mimeType = filePart.headers().getContentType() != null
+                                        ? filePart.headers().getContentType().toString()
+                                        : "application/octet-stream";
+                                Long contentLength = filePart.headers().getContentLength() >= 0
+                                        ? filePart.headers().getContentLength()
+                                        : null;
+                                // Checksum and size are computed while the content streams; identical content is deduplicated
+                                UUID previousBlobId = version.getContentBlobId();
+                                boolean previouslyChunked = isChunked(version);
+                                boolean replacesOwnContent = previousBlobId == null && !previouslyChunked && version.getStoragePath() != null;
+                                boolean chunked = chunkedVersionStore.shouldChunk(version);
+                                Mono<StoredContent> storedContent = chunked
+                                        ? chunkedVersionStore.store(port, version, filePart.content())
+                                        : contentBlobStore.store(port, version.getTenantId(), versionUuid, filePart.content(), mimeType, contentLength,
+                                                Boolean.TRUE.equals(version.getIsEncrypted()));
+                                return storedContent
+                                        .flatMap(stored -> {
+                                            log.debug("Version content stored successfully at path: {} (checksum: {}, size: {}, deduplicated: {})",
+                                                    stored.getStoragePath(), stored.getChecksum(), stored.getSize(), stored.isDeduplicated());
                                             
                                             // Update version metadata with ECM storage info
                                             version.setFileName(filePart.filename());
-                                            version.setStoragePath(storagePath);
+                                            version.setStoragePath(stored.getStoragePath());
+                                            version.setChecksum(stored.getChecksum());
+                                            version.setIsChecksumVerified(true);
+                                            version.setFileSize(stored.getSize());
+                                            version.setContentBlobId(stored.getBlobId());
+                                            version.setChunked(chunked);
+                                            version.setContentEncoding(stored.getEncoding());
+                                            version.setEncryptionKeyId(stored.getEncryptionKeyId());
                                             version.setMimeType(filePart.headers().getContentType() != null ?
                                                     filePart.headers().getContentType().toString() : null);
                                             
-                                            // Save updated version metadata
+                                            // Save updated version metadata, then release the replaced content
                                             return repository.save(version)
+                                                    .flatMap(savedVersion -> previousBlobId != null && !previousBlobId.equals(savedVersion.getContentBlobId())
+                                                            ? contentBlobStore.release(previousBlobId).thenReturn(savedVersion)
+                                                            : Mono.just(savedVersion))
+                                                    .flatMap(savedVersion -> previouslyChunked && !chunked
+                                                            ? chunkedVersionStore.release(savedVersion.getId()).thenReturn(savedVersion)
+                                                            : Mono.just(savedVersion))
+                                                    // Content stored under the version ID is deleted once the new content lives elsewhere
+                                                    .flatMap(savedVersion -> replacesOwnContent && (chunked || savedVersion.getContentBlobId() != null)
+                                                            ? discardContent(port, savedVersion.getId()).thenReturn(savedVersion)
+                                                            : Mono.just(savedVersion))
                                                     .doOnSuccess(savedVersion -> log.info("Version content uploaded successfully for ID: {}", savedVersion.getId()))
                                                     .doOnError(error -> log.error("Failed to save version metadata after content upload: {}", error.getMessage(), error));
                                         })
@@ -195,6 +256,13 @@ public class DocumentVersionServiceImpl implements DocumentVersionService {
                 .map(mapper::toDTO);
     }
 
+    private Mono<Void> discardContent(DocumentContentPort port, UUID contentId) {
+        return port.deleteContent(contentId)
+                .doOnError(error -> log.warn("Failed to delete content {}: {}", contentId, error.getMessage()))
+                .onErrorComplete()
+                .then();
+    }
+
     @Override
     public Flux<DataBuffer> downloadVersionContent(UUID versionId) {
         log.debug("Downloading content for version ID: {}", versionId);
@@ -205,12 +273,13 @@ public class DocumentVersionServiceImpl implements DocumentVersionService {
                     log.info("Downloading content for version: {} (ID: {})", version.getVersionNumber(), version.getId());
                     
                     // Download version content using ECM port if available
-                    java.util.UUID versionUuid = java.util.UUID.fromString(version.getId().toString());
-                    
-                    return ecmPortProvider.getDocumentContentPort()
+                    return localContentEngine.resolvePort(version.getStorageType(), ecmPortProvider.getDocumentContentPort())
                             .map(port -> {
                                 log.debug("Using ECM DocumentContentPort to download version content");
-                                return port.getContentStream(versionUuid)
+                                Flux<DataBuffer> content = isChunked(version)
+                                        ? chunkedVersionStore.read(port, version.getId())
+                                        : contentDownloadPipeline.read(port, contentReferenceOf(version));
+                                return content
                                         .doOnNext(buffer -> log.trace("Downloaded version content buffer of size: {}", buffer.readableByteCount()))
                                         .doOnComplete(() -> log.debug("Version content download completed for version ID: {}", versionId))
                                         .doOnError(error -> {
@@ -224,6 +293,62 @@ public class DocumentVersionServiceImpl implements DocumentVersionService {
                 });
     }
 
+    @Override
+    public Flux<DataBuffer> downloadVersionContentRange(UUID versionId, long offset, long length) {
+        log.debug("Downloading bytes {}-{} of content for version ID: {}", offset, offset + length - 1, versionId);
+
+        return repository.findById(versionId)
+                .switchIfEmpty(Mono.error(new RuntimeException("Document version not found with ID: " + versionId)))
+                .flatMapMany(version -> localContentEngine.resolvePort(version.getStorageType(), ecmPortProvider.getDocumentContentPort())
+                        .map(port -> (isChunked(version)
+                                ? chunkedVersionStore.readRange(port, version.getId(), offset, length)
+                                : contentDownloadPipeline.readRange(port, contentReferenceOf(version), offset, length))
+                                .doOnError(error -> {
+                                    log.error("Failed to download version content range for version ID {}: {}", versionId, error.getMessage(), error);
+                                }))
+                        .orElseThrow(() -> {
+                            log.warn("Version content not available - ECM DocumentContentPort not configured");
+                            return new RuntimeException("Version content download requires ECM DocumentContentPort to be configured");
+                        }));
+    }
+
+    @Override
+    public Flux<DataBuffer> downloadStoredVersionContent(UUID versionId) {
+        return repository.findById(versionId)
+                .switchIfEmpty(Mono.error(new RuntimeException("Document version not found with ID: " + versionId)))
+                .flatMapMany(version -> localContentEngine.resolvePort(version.getStorageType(), ecmPortProvider.getDocumentContentPort())
+                        .map(port -> isChunked(version)
+                                ? chunkedVersionStore.read(port, version.getId())
+                                : contentDownloadPipeline.readStored(port, contentReferenceOf(version)))
+                        .orElseThrow(() -> new RuntimeException("Version content download requires ECM DocumentContentPort to be configured")));
+    }
+
+    @Override
+    public Mono<Path> locateLocalVersionContent(UUID versionId) {
+        // Chunked versions are not held in a single file, the file of encoded or encrypted content does not hold the expected bytes
+        return repository.findById(versionId)
+                .filter(version -> !isChunked(version) && version.getContentEncoding() == null && version.getEncryptionKeyId() == null)
+                .flatMap(version -> contentDownloadPipeline.locateLocalFile(contentIdOf(version)));
+    }
+
+    private boolean isChunked(DocumentVersion version) {
+        return Boolean.TRUE.equals(version.getChunked());
+    }
+
+    /**
+     * ID the version content is stored under: the shared blob if the content was deduplicated,
+     * otherwise the version itself.
+     */
+    private UUID contentIdOf(DocumentVersion version) {
+        return version.getContentBlobId() != null ? version.getContentBlobId() : version.getId();
+    }
+
+    private ContentReference contentReferenceOf(DocumentVersion version) {
+        return ContentReference.of(contentIdOf(version), version.getChecksum(), version.getFileSize(), version.getVersion(),
+                        version.getContentEncoding())
+                .withEncrypted(version.getEncryptionKeyId() != null);
+    }
+
     @Override
     public Mono<DocumentVersionDTO> getVersionContentMetadata(UUID versionId) {
         return repository.findById(versionId)
@@ -21,11 +21,15 @@ import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.filters.FilterUtils;
 import org.fireflyframework.core.queries.PaginationResponse;
 import com.firefly.commons.ecm.core.mappers.FolderMapper;
+import com.firefly.commons.ecm.core.query.KeysetPaginator;
 import com.firefly.commons.ecm.core.services.FolderService;
+import com.firefly.commons.ecm.interfaces.dtos.CursorPageDTO;
+import com.firefly.commons.ecm.interfaces.dtos.CursorRequestDTO;
 import com.firefly.commons.ecm.interfaces.dtos.FolderDTO;
 import com.firefly.commons.ecm.models.entities.Folder;
 import com.firefly.commons.ecm.models.repositories.FolderRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Mono;
@@ -43,6 +47,9 @@ public class FolderServiceImpl implements FolderService {
     @Autowired
     private FolderMapper mapper;
 
+    @Autowired
+    private KeysetPaginator paginator;
+
     @Override
     public Mono<FolderDTO> getById(UUID id) {
         return repository.findById(id)
@@ -57,6 +64,19 @@ public class FolderServiceImpl implements FolderService {
         ).filter(filterRequest);
     }
 
+    @Override
+    public Mono<CursorPageDTO<FolderDTO>> listByCursor(String tenantId, UUID parentFolderId, CursorRequestDTO request) {
+        Criteria criteria = Criteria.empty();
+        if (tenantId != null) {
+            criteria = Criteria.where("tenantId").is(tenantId);
+        }
+        if (parentFolderId != null) {
+            Criteria byParent = Criteria.where("parentFolderId").is(parentFolderId);
+            criteria = criteria.isEmpty() ? byParent : criteria.and(byParent);
+        }
+        return paginator.page(Folder.class, criteria, request != null ? request : new CursorRequestDTO(), mapper::toDTO);
+    }
+
     @Override
     public Mono<FolderDTO> update(FolderDTO folder) {
         if (folder.getId() == null) {
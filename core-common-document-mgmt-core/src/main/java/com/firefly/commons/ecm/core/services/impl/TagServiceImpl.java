@@ -21,11 +21,15 @@ import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.filters.FilterUtils;
 import org.fireflyframework.core.queries.PaginationResponse;
 import com.firefly.commons.ecm.core.mappers.TagMapper;
+import com.firefly.commons.ecm.core.query.KeysetPaginator;
 import com.firefly.commons.ecm.core.services.TagService;
+import com.firefly.commons.ecm.interfaces.dtos.CursorPageDTO;
+import com.firefly.commons.ecm.interfaces.dtos.CursorRequestDTO;
 import com.firefly.commons.ecm.interfaces.dtos.TagDTO;
 import com.firefly.commons.ecm.models.entities.Tag;
 import com.firefly.commons.ecm.models.repositories.TagRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Mono;
@@ -43,6 +47,9 @@ public class TagServiceImpl implements TagService {
     @Autowired
     private TagMapper mapper;
 
+    @Autowired
+    private KeysetPaginator paginator;
+
     @Override
     public Mono<TagDTO> getById(UUID id) {
         return repository.findById(id)
@@ -57,6 +64,12 @@ public class TagServiceImpl implements TagService {
         ).filter(filterRequest);
     }
 
+    @Override
+    public Mono<CursorPageDTO<TagDTO>> listByCursor(String tenantId, CursorRequestDTO request) {
+        Criteria criteria = tenantId != null ? Criteria.where("tenantId").is(tenantId) : Criteria.empty();
+        return paginator.page(Tag.class, criteria, request != null ? request : new CursorRequestDTO(), mapper::toDTO);
+    }
+
     @Override
     public Mono<TagDTO> update(TagDTO tag) {
         if (tag.getId() == null) {
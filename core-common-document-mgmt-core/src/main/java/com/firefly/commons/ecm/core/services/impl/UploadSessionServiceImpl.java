@@ -0,0 +1,289 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.services.impl;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.core.content.UploadSessionSpool;
+import com.firefly.commons.ecm.core.mappers.UploadSessionMapper;
+import com.firefly.commons.ecm.core.services.DocumentService;
+import com.firefly.commons.ecm.core.services.UploadSessionService;
+import com.firefly.commons.ecm.interfaces.dtos.ByteRangeDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentDTO;
+import com.firefly.commons.ecm.interfaces.dtos.UploadSessionDTO;
+import com.firefly.commons.ecm.interfaces.enums.UploadSessionStatus;
+import com.firefly.commons.ecm.models.entities.UploadSession;
+import com.firefly.commons.ecm.models.entities.UploadSessionChunk;
+import com.firefly.commons.ecm.models.repositories.DocumentRepository;
+import com.firefly.commons.ecm.models.repositories.UploadSessionChunkRepository;
+import com.firefly.commons.ecm.models.repositories.UploadSessionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Implementation of the UploadSessionService interface.
+ *
+ * Chunks are spooled to a local file per session and recorded in {@code upload_session_chunks}.
+ * Completing a session streams the spool file through the regular content store path, so the
+ * content is checksummed, deduplicated and committed to the document exactly like a single upload.
+ *
+ * The first chunk binds a session to the instance spooling it. Chunks and completions of the
+ * session reaching any other instance are refused, as that instance does not hold the spool file.
+ */
+@Slf4j
+@Service
+public class UploadSessionServiceImpl implements UploadSessionService {
+
+    @Autowired
+    private UploadSessionRepository repository;
+
+    @Autowired
+    private UploadSessionChunkRepository chunkRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private UploadSessionMapper mapper;
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private UploadSessionSpool spool;
+
+    @Autowired
+    private EcmContentProperties contentProperties;
+
+    @Override
+    public Mono<UploadSessionDTO> create(UUID documentId, UploadSessionDTO uploadSession) {
+        if (uploadSession.getFileName() == null || uploadSession.getFileName().isBlank()) {
+            return Mono.error(new IllegalArgumentException("File name is required for an upload session"));
+        }
+        Long totalSize = uploadSession.getTotalSize();
+        if (totalSize == null || totalSize <= 0) {
+            return Mono.error(new IllegalArgumentException("Total size of an upload session must be positive"));
+        }
+        Long maxSize = contentProperties.getSessions().getMaxSize();
+        if (maxSize != null && totalSize > maxSize) {
+            return Mono.error(new IllegalArgumentException("Total size of an upload session cannot exceed " + maxSize + " bytes"));
+        }
+
+        return documentRepository.findById(documentId)
+                .switchIfEmpty(Mono.error(new RuntimeException("Document not found with ID: " + documentId)))
+                .flatMap(document -> repository.save(UploadSession.builder()
+                        .documentId(documentId)
+                        .tenantId(document.getTenantId())
+                        .fileName(uploadSession.getFileName())
+                        .mimeType(uploadSession.getMimeType())
+                        .totalSize(totalSize)
+                        .status(UploadSessionStatus.ACTIVE)
+                        .expiresAt(LocalDateTime.now().plus(contentProperties.getSessions().getTtl()))
+                        .build()))
+                .doOnSuccess(session -> log.info("Created upload session {} for document {} ({} bytes)",
+                        session.getId(), documentId, totalSize))
+                .map(session -> toDTO(session, List.of()));
+    }
+
+    @Override
+    public Mono<UploadSessionDTO> getById(UUID documentId, UUID sessionId) {
+        return repository.findById(sessionId)
+                .filter(session -> documentId.equals(session.getDocumentId()))
+                .flatMap(this::withProgress);
+    }
+
+    @Override
+    public Mono<UploadSessionDTO> uploadChunk(UUID documentId, UUID sessionId, long offset, Flux<DataBuffer> content) {
+        return findSession(documentId, sessionId)
+                .flatMap(session -> {
+                    if (!isActive(session)) {
+                        return Mono.error(new IllegalStateException("Upload session " + sessionId + " is not accepting chunks"));
+                    }
+                    if (offset < 0 || offset >= session.getTotalSize()) {
+                        return Mono.error(new IllegalArgumentException("Chunk offset " + offset
+                                + " is outside of the content size of " + session.getTotalSize() + " bytes"));
+                    }
+                    long maxLength = session.getTotalSize() - offset;
+                    Long maxChunkSize = contentProperties.getSessions().getMaxChunkSize();
+                    if (maxChunkSize != null) {
+                        maxLength = Math.min(maxLength, maxChunkSize);
+                    }
+                    return repository.claimSpoolNode(sessionId, spool.nodeId())
+                            .flatMap(claimed -> claimed > 0
+                                    ? spool.write(sessionId, offset, maxLength, content)
+                                    : Mono.error(spooledElsewhere(session)))
+                            .flatMap(length -> length > 0
+                                    ? chunkRepository.upsertChunk(sessionId, offset, length)
+                                    : Mono.error(new IllegalArgumentException("Chunk at offset " + offset + " is empty")))
+                            .doOnSuccess(updated -> log.debug("Received chunk at offset {} of upload session {}", offset, sessionId))
+                            .then(Mono.defer(() -> withProgress(session))));
+                });
+    }
+
+    @Override
+    public Mono<DocumentDTO> complete(UUID documentId, UUID sessionId) {
+        return findSession(documentId, sessionId)
+                .flatMap(session -> {
+                    if (!isActive(session)) {
+                        return Mono.error(new IllegalStateException("Upload session " + sessionId + " is not active"));
+                    }
+                    if (spool.hasActiveWrites(sessionId)) {
+                        return Mono.error(new IllegalStateException("Upload session " + sessionId + " still has chunks in progress"));
+                    }
+                    return chunkRepository.findBySessionIdOrderByChunkOffset(sessionId)
+                            .collectList()
+                            .flatMap(chunks -> {
+                                long received = receivedBytes(mergeRanges(chunks));
+                                if (received != session.getTotalSize()) {
+                                    return Mono.error(new IllegalStateException("Upload session " + sessionId + " is incomplete: "
+                                            + received + " of " + session.getTotalSize() + " bytes received"));
+                                }
+                                if (!spool.nodeId().equals(session.getSpoolNode())) {
+                                    return Mono.error(spooledElsewhere(session));
+                                }
+                                return spool.size(sessionId).flatMap(spooled -> {
+                                    if (spooled < session.getTotalSize()) {
+                                        return Mono.error(new IllegalStateException("Upload session " + sessionId + " is incomplete: "
+                                                + spooled + " of " + session.getTotalSize() + " bytes spooled on " + spool.nodeId()));
+                                    }
+                                    // Only one completion may commit the content
+                                    return repository.transitionStatus(sessionId, UploadSessionStatus.ACTIVE, UploadSessionStatus.COMPLETING)
+                                            .flatMap(updated -> updated > 0
+                                                    ? commit(session)
+                                                    : Mono.error(new IllegalStateException("Upload session " + sessionId + " is not active")));
+                                });
+                            });
+                });
+    }
+
+    @Override
+    public Mono<Void> abort(UUID documentId, UUID sessionId) {
+        return findSession(documentId, sessionId)
+                .flatMap(session -> repository.transitionStatus(sessionId, UploadSessionStatus.ACTIVE, UploadSessionStatus.ABORTED))
+                .flatMap(updated -> updated > 0
+                        ? spool.delete(sessionId)
+                        : Mono.error(new IllegalStateException("Upload session " + sessionId + " is not active")))
+                .doOnSuccess(v -> log.info("Aborted upload session {}", sessionId));
+    }
+
+    /**
+     * Discard sessions that were not completed in time, along with spool files no session refers to any more.
+     */
+    @Scheduled(fixedDelayString = "${firefly.ecm.integration.content.sessions.cleanup-interval:PT15M}")
+    public void expireSessions() {
+        Long expired = repository.findByStatusAndExpiresAtBefore(UploadSessionStatus.ACTIVE, LocalDateTime.now())
+                .concatMap(session -> repository.transitionStatus(session.getId(), UploadSessionStatus.ACTIVE, UploadSessionStatus.EXPIRED)
+                        .filter(updated -> updated > 0)
+                        .flatMap(updated -> spool.delete(session.getId()).thenReturn(session)))
+                .count()
+                .onErrorResume(error -> {
+                    log.warn("Failed to expire upload sessions: {}", error.getMessage());
+                    return Mono.just(0L);
+                })
+                .block();
+        if (expired != null && expired > 0) {
+            log.info("Expired {} upload session(s)", expired);
+        }
+
+        int removed = spool.deleteStaleFiles(contentProperties.getSessions().getTtl());
+        if (removed > 0) {
+            log.info("Removed {} stale upload session spool file(s)", removed);
+        }
+    }
+
+    private Mono<DocumentDTO> commit(UploadSession session) {
+        UUID sessionId = session.getId();
+        return documentService.storeContent(session.getDocumentId(), spool.read(sessionId),
+                        session.getFileName(), session.getMimeType(), session.getTotalSize())
+                .flatMap(document -> repository.transitionStatus(sessionId, UploadSessionStatus.COMPLETING, UploadSessionStatus.COMPLETED)
+                        .then(spool.delete(sessionId))
+                        .thenReturn(document))
+                .doOnSuccess(document -> log.info("Completed upload session {} for document {}", sessionId, session.getDocumentId()))
+                // Received chunks are kept, so completion can be retried
+                .onErrorResume(error -> repository.transitionStatus(sessionId, UploadSessionStatus.COMPLETING, UploadSessionStatus.ACTIVE)
+                        .then(Mono.error(error)));
+    }
+
+    private IllegalStateException spooledElsewhere(UploadSession session) {
+        return new IllegalStateException("Upload session " + session.getId() + " is spooled on another instance"
+                + (session.getSpoolNode() != null ? " (" + session.getSpoolNode() + ")" : "")
+                + ", send its requests to that instance");
+    }
+
+    private Mono<UploadSession> findSession(UUID documentId, UUID sessionId) {
+        return repository.findById(sessionId)
+                .filter(session -> documentId.equals(session.getDocumentId()))
+                .switchIfEmpty(Mono.error(new RuntimeException("Upload session not found with ID: " + sessionId)));
+    }
+
+    private boolean isActive(UploadSession session) {
+        return session.getStatus() == UploadSessionStatus.ACTIVE
+                && (session.getExpiresAt() == null || session.getExpiresAt().isAfter(LocalDateTime.now()));
+    }
+
+    private Mono<UploadSessionDTO> withProgress(UploadSession session) {
+        return chunkRepository.findBySessionIdOrderByChunkOffset(session.getId())
+                .collectList()
+                .map(chunks -> toDTO(session, mergeRanges(chunks)));
+    }
+
+    private UploadSessionDTO toDTO(UploadSession session, List<ByteRangeDTO> ranges) {
+        UploadSessionDTO dto = mapper.toDTO(session);
+        dto.setReceivedRanges(ranges);
+        dto.setReceivedBytes(receivedBytes(ranges));
+        return dto;
+    }
+
+    /**
+     * Merge chunks ordered by offset into the distinct byte ranges they cover.
+     */
+    static List<ByteRangeDTO> mergeRanges(List<UploadSessionChunk> chunks) {
+        List<ByteRangeDTO> ranges = new ArrayList<>();
+        long start = -1;
+        long end = -1;
+        for (UploadSessionChunk chunk : chunks) {
+            long chunkEnd = chunk.getChunkOffset() + chunk.getChunkLength();
+            if (start >= 0 && chunk.getChunkOffset() <= end) {
+                end = Math.max(end, chunkEnd);
+                continue;
+            }
+            if (start >= 0) {
+                ranges.add(ByteRangeDTO.builder().offset(start).length(end - start).build());
+            }
+            start = chunk.getChunkOffset();
+            end = chunkEnd;
+        }
+        if (start >= 0) {
+            ranges.add(ByteRangeDTO.builder().offset(start).length(end - start).build());
+        }
+        return ranges;
+    }
+
+    private static long receivedBytes(List<ByteRangeDTO> ranges) {
+        return ranges.stream().mapToLong(ByteRangeDTO::getLength).sum();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.content;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ByteRateLimiterTest {
+
+    @Test
+    void reserve_PacesBytesToBudgetWithoutSavingIdleTime() {
+        AtomicLong clock = new AtomicLong();
+        ByteRateLimiter limiter = new ByteRateLimiter(1000, clock::get);
+
+        assertThat(limiter.reserve(500)).isZero();
+        assertThat(limiter.reserve(500)).isEqualTo(Duration.ofMillis(500));
+        assertThat(limiter.reserve(1000)).isEqualTo(Duration.ofSeconds(1));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        assertThat(limiter.reserve(100)).isZero();
+        assertThat(limiter.reserve(100)).isEqualTo(Duration.ofMillis(100));
+    }
+
+    @Test
+    void limit_DelaysBuffersBeyondBudget() {
+        ByteRateLimiter limiter = new ByteRateLimiter(10_000);
+        Flux<DataBuffer> content = Flux.just(buffer(1000), buffer(1000), buffer(1000));
+
+        Duration elapsed = StepVerifier.create(limiter.limit(content))
+                .expectNextCount(3)
+                .verifyComplete();
+
+        assertThat(elapsed).isGreaterThanOrEqualTo(Duration.ofMillis(190));
+    }
+
+    @Test
+    void limit_NoBudget_PassesContentThrough() {
+        Flux<DataBuffer> content = Flux.just(buffer(1000));
+
+        assertThat(new ByteRateLimiter(0).limit(content)).isSameAs(content);
+    }
+
+    private DataBuffer buffer(int size) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(new byte[size]);
+    }
+}
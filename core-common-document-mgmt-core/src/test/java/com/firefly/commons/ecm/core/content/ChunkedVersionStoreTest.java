@@ -0,0 +1,169 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.models.entities.DocumentVersion;
+import com.firefly.commons.ecm.models.entities.VersionChunk;
+import com.firefly.commons.ecm.models.repositories.VersionChunkRepository;
+import org.fireflyframework.ecm.port.document.DocumentContentPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static com.firefly.commons.ecm.core.content.TestBuffers.buffers;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ChunkedVersionStoreTest {
+
+    private static final String TENANT = "tenant-1";
+
+    private EcmContentProperties properties;
+    private ContentBlobStore blobStore;
+    private ContentDownloadPipeline downloadPipeline;
+    private VersionChunkRepository chunkRepository;
+    private ChunkedVersionStore store;
+    private final DocumentContentPort port = mock(DocumentContentPort.class);
+    private final UUID versionId = UUID.fromString("11111111-2222-3333-4444-555555555555");
+
+    @BeforeEach
+    void setUp() {
+        properties = new EcmContentProperties();
+        properties.getDelta().setEnabled(true);
+        properties.getDelta().setMinChunkSize(64);
+        properties.getDelta().setAverageChunkSize(128);
+        properties.getDelta().setMaxChunkSize(256);
+        blobStore = mock(ContentBlobStore.class);
+        downloadPipeline = mock(ContentDownloadPipeline.class);
+        chunkRepository = mock(VersionChunkRepository.class);
+        store = new ChunkedVersionStore(properties, blobStore, downloadPipeline, chunkRepository);
+    }
+
+    @Test
+    void shouldChunk_StoresEveryNthVersionWhole() {
+        when(blobStore.isEnabled()).thenReturn(true);
+        properties.getDelta().setSnapshotInterval(3);
+
+        assertThat(store.shouldChunk(version(1))).isFalse();
+        assertThat(store.shouldChunk(version(2))).isTrue();
+        assertThat(store.shouldChunk(version(3))).isTrue();
+        assertThat(store.shouldChunk(version(4))).isFalse();
+    }
+
+    @Test
+    void shouldChunk_DeduplicationDisabled_StoresWhole() {
+        when(blobStore.isEnabled()).thenReturn(false);
+
+        assertThat(store.shouldChunk(version(2))).isFalse();
+    }
+
+    @Test
+    void store_WritesContiguousManifestAfterReleasingPreviousChunks() {
+        byte[] content = new byte[2000];
+        new Random(1).nextBytes(content);
+        when(blobStore.newDigest()).thenReturn(ContentDigest.create("SHA-256"));
+        when(blobStore.storeBytes(eq(port), eq(TENANT), any(byte[].class), any())).thenAnswer(invocation -> {
+            byte[] chunk = invocation.getArgument(2);
+            return Mono.just(StoredContent.builder()
+                    .blobId(UUID.randomUUID())
+                    .checksum("chunk-" + chunk.length)
+                    .size(chunk.length)
+                    .deduplicated(false)
+                    .build());
+        });
+        when(blobStore.releaseVersionChunks(versionId)).thenReturn(Mono.empty());
+        when(chunkRepository.deleteByVersionId(versionId)).thenReturn(Mono.just(3));
+        when(chunkRepository.saveAll(anyList())).thenAnswer(invocation -> Flux.fromIterable(invocation.getArgument(0)));
+
+        StepVerifier.create(store.store(port, version(2), Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(content))))
+                .assertNext(stored -> {
+                    assertThat(stored.getSize()).isEqualTo(2000);
+                    assertThat(stored.getChecksum()).hasSize(64);
+                    assertThat(stored.getBlobId()).isNull();
+                    assertThat(stored.isDeduplicated()).isFalse();
+                })
+                .verifyComplete();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<VersionChunk>> manifest = ArgumentCaptor.forClass(List.class);
+        InOrder inOrder = inOrder(blobStore, chunkRepository);
+        inOrder.verify(blobStore, atLeastOnce()).storeBytes(eq(port), eq(TENANT), any(byte[].class), any());
+        inOrder.verify(blobStore).releaseVersionChunks(versionId);
+        inOrder.verify(chunkRepository).deleteByVersionId(versionId);
+        inOrder.verify(chunkRepository).saveAll(manifest.capture());
+
+        List<VersionChunk> chunks = manifest.getValue();
+        assertThat(chunks).hasSizeGreaterThan(1);
+        long offset = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            assertThat(chunks.get(i).getChunkIndex()).isEqualTo(i);
+            assertThat(chunks.get(i).getChunkOffset()).isEqualTo(offset);
+            offset += chunks.get(i).getChunkSize();
+        }
+        assertThat(offset).isEqualTo(2000);
+    }
+
+    @Test
+    void readRange_ReadsOverlappingChunksAndTrimsToRange() {
+        VersionChunk hello = chunk(0, 0, "hello");
+        VersionChunk world = chunk(1, 5, " world");
+        when(chunkRepository.findOverlapping(versionId, 3, 8)).thenReturn(Flux.just(hello, world));
+        when(downloadPipeline.read(eq(port), any(ContentReference.class))).thenAnswer(invocation -> {
+            ContentReference reference = invocation.getArgument(1);
+            return buffers(reference.getContentId().equals(hello.getBlobId()) ? "hello" : " world");
+        });
+
+        StepVerifier.create(DataBufferUtils.join(store.readRange(port, versionId, 3, 5))
+                        .map(buffer -> buffer.toString(StandardCharsets.UTF_8)))
+                .expectNext("lo wo")
+                .verifyComplete();
+    }
+
+    private DocumentVersion version(int versionNumber) {
+        return DocumentVersion.builder()
+                .id(versionId)
+                .versionNumber(versionNumber)
+                .tenantId(TENANT)
+                .build();
+    }
+
+    private VersionChunk chunk(int index, long offset, String content) {
+        return VersionChunk.builder()
+                .versionId(versionId)
+                .chunkIndex(index)
+                .chunkOffset(offset)
+                .chunkSize(content.length())
+                .blobId(UUID.randomUUID())
+                .checksum("chunk-" + index)
+                .build();
+    }
+}
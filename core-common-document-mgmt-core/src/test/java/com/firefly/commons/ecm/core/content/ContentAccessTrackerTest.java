@@ -0,0 +1,79 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.models.repositories.DocumentAccessStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ContentAccessTrackerTest {
+
+    private EcmContentProperties properties;
+    private DocumentAccessStatsRepository repository;
+    private ContentAccessTracker tracker;
+    private final UUID documentId = UUID.fromString("11111111-2222-3333-4444-555555555555");
+
+    @BeforeEach
+    void setUp() {
+        properties = new EcmContentProperties();
+        repository = mock(DocumentAccessStatsRepository.class);
+        when(repository.recordAccesses(any(), any(), anyDouble(), anyDouble())).thenReturn(Mono.just(1));
+        tracker = new ContentAccessTracker(properties, repository);
+    }
+
+    @Test
+    void drain_MergesCountedAccessesOncePerDocument() {
+        tracker.recordAccess(documentId);
+        tracker.recordAccess(documentId);
+        tracker.recordAccess(documentId);
+
+        StepVerifier.create(tracker.drain())
+                .expectNext(documentId)
+                .verifyComplete();
+
+        double halfLifeSeconds = properties.getTiering().getHalfLife().toSeconds();
+        verify(repository).recordAccesses(eq(documentId), any(), eq(3.0), eq(halfLifeSeconds));
+        assertThat(tracker.getPendingCount()).isZero();
+    }
+
+    @Test
+    void drain_NothingPending_WritesNothing() {
+        StepVerifier.create(tracker.drain()).verifyComplete();
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void recordAccess_TrackingDisabled_IsIgnored() {
+        properties.getTiering().setTrackAccess(false);
+
+        tracker.recordAccess(documentId);
+
+        assertThat(tracker.getPendingCount()).isZero();
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.models.entities.ContentBlob;
+import com.firefly.commons.ecm.models.repositories.ContentBlobRepository;
+import org.fireflyframework.ecm.port.document.DocumentContentPort;
+import org.fireflyframework.ecm.service.EcmPortProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static com.firefly.commons.ecm.core.content.TestBuffers.buffers;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ContentBlobStoreTest {
+
+    private static final String TENANT = "tenant-1";
+    private static final String HELLO_WORLD_SHA256 = "b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9";
+
+    @TempDir
+    Path stagingDirectory;
+
+    private EcmContentProperties properties;
+    private ContentBlobRepository blobRepository;
+    private ContentBlobStore blobStore;
+    private final UUID contentId = UUID.fromString("11111111-2222-3333-4444-555555555555");
+
+    @BeforeEach
+    void setUp() {
+        properties = new EcmContentProperties();
+        properties.getStaging().setDirectory(stagingDirectory.toString());
+        UploadStagingArea stagingArea = new UploadStagingArea(properties);
+        blobRepository = mock(ContentBlobRepository.class);
+        ContentUploadPipeline uploadPipeline = new ContentUploadPipeline(properties, stagingArea, new MultipartUploadOrchestrator(properties));
+        blobStore = new ContentBlobStore(properties, uploadPipeline, stagingArea,
+                blobRepository, mock(EcmPortProvider.class), new LocalFilesystemContentEngine(properties),
+                new ContentCompression(properties), new ContentEncryption(properties, new LocalContentKeyProvider(properties)));
+    }
+
+    @Test
+    void store_DeduplicationDisabled_StoresUnderContentIdWithChecksum() {
+        properties.getDeduplication().setEnabled(false);
+        DocumentContentPort port = mock(DocumentContentPort.class);
+        when(port.storeContent(eq(contentId), any(byte[].class), eq("text/plain"))).thenReturn(Mono.just("/stored"));
+
+        StepVerifier.create(blobStore.store(port, TENANT, contentId, buffers("hello", " world"), "text/plain", null))
+                .assertNext(stored -> {
+                    assertThat(stored.getBlobId()).isNull();
+                    assertThat(stored.getChecksum()).isEqualTo(HELLO_WORLD_SHA256);
+                    assertThat(stored.getSize()).isEqualTo(11);
+                })
+                .verifyComplete();
+
+        verifyNoInteractions(blobRepository);
+    }
+
+    @Test
+    void store_CompressibleContent_IsStoredGzipWithChecksumOfUploadedContent() throws Exception {
+        properties.getDeduplication().setEnabled(false);
+        String text = "hello world ".repeat(200);
+        String checksum = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8)));
+        DocumentContentPort port = mock(DocumentContentPort.class);
+        ArgumentCaptor<byte[]> written = ArgumentCaptor.forClass(byte[].class);
+        when(port.storeContent(eq(contentId), written.capture(), eq("text/plain"))).thenReturn(Mono.just("/stored"));
+
+        StepVerifier.create(blobStore.store(port, TENANT, contentId, buffers(text), "text/plain", (long) text.length()))
+                .assertNext(stored -> {
+                    assertThat(stored.getEncoding()).isEqualTo(ContentCompression.GZIP);
+                    assertThat(stored.getSize()).isEqualTo(text.length());
+                    assertThat(stored.getChecksum()).isEqualTo(checksum);
+                })
+                .verifyComplete();
+
+        assertThat(written.getValue().length).isLessThan(text.length());
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(written.getValue()))) {
+            assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(text);
+        }
+    }
+
+    @Test
+    void store_Encrypted_IsStoredUnderContentIdWithoutDeduplication() {
+        properties.getEncryption().setActiveKeyId("key-1");
+        properties.getEncryption().getMasterKeys().put("key-1", Base64.getEncoder().encodeToString(new byte[32]));
+        DocumentContentPort port = mock(DocumentContentPort.class);
+        ArgumentCaptor<byte[]> written = ArgumentCaptor.forClass(byte[].class);
+        when(port.storeContent(eq(contentId), written.capture(), eq("text/plain"))).thenReturn(Mono.just("/stored"));
+
+        StepVerifier.create(blobStore.store(port, TENANT, contentId, buffers("hello", " world"), "text/plain", 11L, true))
+                .assertNext(stored -> {
+                    assertThat(stored.getBlobId()).isNull();
+                    assertThat(stored.getEncryptionKeyId()).isEqualTo("key-1");
+                    assertThat(stored.getChecksum()).isEqualTo(HELLO_WORLD_SHA256);
+                    assertThat(stored.getSize()).isEqualTo(11);
+                })
+                .verifyComplete();
+
+        assertThat(new String(written.getValue(), StandardCharsets.ISO_8859_1)).doesNotContain("hello world");
+        verifyNoInteractions(blobRepository);
+    }
+
+    @Test
+    void store_NewContent_RegistersBlob() {
+        DocumentContentPort port = mock(DocumentContentPort.class);
+        when(blobRepository.findByTenantIdAndChecksumAlgorithmAndChecksum(TENANT, "SHA-256", HELLO_WORLD_SHA256))
+                .thenReturn(Mono.empty());
+        when(port.storeContent(any(UUID.class), any(byte[].class), eq("text/plain"))).thenReturn(Mono.just("/blob"));
+        when(blobRepository.insertIfAbsent(any(UUID.class), eq(TENANT), eq("SHA-256"), eq(HELLO_WORLD_SHA256), eq(11L), eq("/blob"), isNull()))
+                .thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+
+        StepVerifier.create(blobStore.store(port, TENANT, contentId, buffers("hello", " world"), "text/plain", null))
+                .assertNext(stored -> {
+                    assertThat(stored.getBlobId()).isNotNull().isNotEqualTo(contentId);
+                    assertThat(stored.isDeduplicated()).isFalse();
+                    assertThat(stored.getStoragePath()).isEqualTo("/blob");
+                })
+                .verifyComplete();
+
+        verify(blobRepository).insertIfAbsent(any(UUID.class), eq(TENANT), eq("SHA-256"), eq(HELLO_WORLD_SHA256), eq(11L), eq("/blob"), isNull());
+    }
+
+    @Test
+    void store_DuplicateContentForByteArrayAdapter_IsNeverWritten() {
+        DocumentContentPort port = mock(DocumentContentPort.class);
+        UUID existingId = UUID.randomUUID();
+        when(blobRepository.findByTenantIdAndChecksumAlgorithmAndChecksum(TENANT, "SHA-256", HELLO_WORLD_SHA256))
+                .thenReturn(Mono.just(ContentBlob.builder().id(existingId).storagePath("/existing").build()));
+        when(blobRepository.incrementRefCount(existingId)).thenReturn(Mono.just(1));
+
+        StepVerifier.create(blobStore.store(port, TENANT, contentId, buffers("hello world"), "text/plain", null))
+                .assertNext(stored -> {
+                    assertThat(stored.getBlobId()).isEqualTo(existingId);
+                    assertThat(stored.isDeduplicated()).isTrue();
+                    assertThat(stored.getStoragePath()).isEqualTo("/existing");
+                })
+                .verifyComplete();
+
+        verify(port, never()).storeContent(any(), any(), any());
+        verify(blobRepository, never()).insertIfAbsent(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void store_DuplicateContentForStreamingAdapter_RemovesRedundantCopy() {
+        DocumentContentPort port = mock(DocumentContentPort.class, withSettings().extraInterfaces(StreamingContentPort.class));
+        UUID existingId = UUID.randomUUID();
+        when(((StreamingContentPort) port).storeContentStream(any(UUID.class), any(), eq("text/plain"), any()))
+                .thenAnswer(inv -> ((Flux<DataBuffer>) inv.getArgument(1)).then(Mono.just("/streamed")));
+        when(blobRepository.findByTenantIdAndChecksumAlgorithmAndChecksum(TENANT, "SHA-256", HELLO_WORLD_SHA256))
+                .thenReturn(Mono.just(ContentBlob.builder().id(existingId).storagePath("/existing").build()));
+        when(blobRepository.incrementRefCount(existingId)).thenReturn(Mono.just(1));
+        when(port.deleteContent(any(UUID.class))).thenReturn(Mono.empty());
+
+        StepVerifier.create(blobStore.store(port, TENANT, contentId, buffers("hello", " world"), "text/plain", 11L))
+                .assertNext(stored -> assertThat(stored.getBlobId()).isEqualTo(existingId))
+                .verifyComplete();
+
+        verify(port).deleteContent(argThat(id -> !id.equals(existingId)));
+    }
+
+    @Test
+    void store_ConcurrentRegistration_FallsBackToWinningBlob() {
+        DocumentContentPort port = mock(DocumentContentPort.class);
+        UUID winnerId = UUID.randomUUID();
+        when(blobRepository.findByTenantIdAndChecksumAlgorithmAndChecksum(TENANT, "SHA-256", HELLO_WORLD_SHA256))
+                .thenReturn(Mono.empty())
+                .thenReturn(Mono.just(ContentBlob.builder().id(winnerId).storagePath("/winner").build()));
+        when(blobRepository.incrementRefCount(winnerId)).thenReturn(Mono.just(1));
+        when(port.storeContent(any(UUID.class), any(byte[].class), eq("text/plain"))).thenReturn(Mono.just("/blob"));
+        when(port.deleteContent(any(UUID.class))).thenReturn(Mono.empty());
+        when(blobRepository.insertIfAbsent(any(UUID.class), eq(TENANT), eq("SHA-256"), eq(HELLO_WORLD_SHA256), eq(11L), eq("/blob"), isNull()))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(blobStore.store(port, TENANT, contentId, buffers("hello world"), "text/plain", null))
+                .assertNext(stored -> {
+                    assertThat(stored.getBlobId()).isEqualTo(winnerId);
+                    assertThat(stored.isDeduplicated()).isTrue();
+                })
+                .verifyComplete();
+
+        verify(port).deleteContent(argThat(id -> !id.equals(winnerId)));
+    }
+
+    @Test
+    void share_SameTenant_AddsReferenceToBlob() {
+        UUID blobId = UUID.randomUUID();
+        when(blobRepository.findById(blobId)).thenReturn(Mono.just(blob(blobId, TENANT)));
+        when(blobRepository.incrementRefCount(blobId)).thenReturn(Mono.just(1));
+        DocumentContentPort port = mock(DocumentContentPort.class);
+
+        StepVerifier.create(blobStore.share(port, blobId, TENANT))
+                .assertNext(stored -> {
+                    assertThat(stored.getBlobId()).isEqualTo(blobId);
+                    assertThat(stored.isDeduplicated()).isTrue();
+                    assertThat(stored.getSize()).isEqualTo(11);
+                })
+                .verifyComplete();
+
+        verifyNoInteractions(port);
+        verify(blobRepository, never()).insertIfAbsent(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void share_OtherTenant_CopiesInsideStorageIntoNewBlob() {
+        UUID blobId = UUID.randomUUID();
+        when(blobRepository.findById(blobId)).thenReturn(Mono.just(blob(blobId, TENANT)));
+        when(blobRepository.findByTenantIdAndChecksumAlgorithmAndChecksum("tenant-2", "SHA-256", HELLO_WORLD_SHA256))
+                .thenReturn(Mono.empty());
+        when(blobRepository.insertIfAbsent(any(UUID.class), eq("tenant-2"), eq("SHA-256"), eq(HELLO_WORLD_SHA256), eq(11L), eq("/copy"), isNull()))
+                .thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        DocumentContentPort port = mock(DocumentContentPort.class, withSettings().extraInterfaces(CopyableContentPort.class));
+        when(((CopyableContentPort) port).copyContent(eq(blobId), any(UUID.class))).thenReturn(Mono.just("/copy"));
+
+        StepVerifier.create(blobStore.share(port, blobId, "tenant-2"))
+                .assertNext(stored -> {
+                    assertThat(stored.getBlobId()).isNotEqualTo(blobId);
+                    assertThat(stored.getStoragePath()).isEqualTo("/copy");
+                    assertThat(stored.isDeduplicated()).isFalse();
+                })
+                .verifyComplete();
+
+        verify(blobRepository).insertIfAbsent(any(UUID.class), eq("tenant-2"), eq("SHA-256"), eq(HELLO_WORLD_SHA256), eq(11L), eq("/copy"), isNull());
+        verify(blobRepository, never()).incrementRefCount(blobId);
+        verify(port, never()).getContentStream(any());
+    }
+
+    @Test
+    void copy_PortWithoutServerSideCopy_Fails() {
+        StepVerifier.create(blobStore.copy(mock(DocumentContentPort.class), contentId, UUID.randomUUID()))
+                .verifyError(IllegalStateException.class);
+    }
+
+    @Test
+    void contentDigest_LeavesBufferReadPositionUntouched() {
+        ContentDigest digest = ContentDigest.create("SHA-256");
+        DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.wrap("hello world".getBytes(StandardCharsets.UTF_8));
+
+        digest.update(buffer);
+
+        assertThat(buffer.readableByteCount()).isEqualTo(11);
+        assertThat(digest.getChecksum()).isEqualTo(HELLO_WORLD_SHA256);
+    }
+
+    private ContentBlob blob(UUID id, String tenantId) {
+        return ContentBlob.builder()
+                .id(id)
+                .tenantId(tenantId)
+                .checksumAlgorithm("SHA-256")
+                .checksum(HELLO_WORLD_SHA256)
+                .fileSize(11L)
+                .storagePath("/blob")
+                .refCount(1)
+                .build();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.fireflyframework.ecm.port.document.DocumentContentPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.firefly.commons.ecm.core.content.TestBuffers.buffers;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ContentCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private EcmContentProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ContentCache cache;
+    private final UUID contentId = UUID.fromString("11111111-2222-3333-4444-555555555555");
+
+    @BeforeEach
+    void setUp() {
+        properties = new EcmContentProperties();
+        properties.getCache().setEnabled(true);
+        properties.getCache().setDirectory(directory.toString());
+        properties.getCache().setReadBufferSize(4);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ContentCache(properties, Optional.of(meterRegistry));
+    }
+
+    @Test
+    void read_Miss_FillsCacheWhileStreamingAndHitSkipsSource() {
+        ContentReference content = ContentReference.of(contentId, "abc123", 11L, 1L);
+        AtomicInteger sourceReads = new AtomicInteger();
+
+        StepVerifier.create(joined(cache.read(content, () -> {
+                    sourceReads.incrementAndGet();
+                    return buffers("hello", " world");
+                })))
+                .expectNext("hello world")
+                .verifyComplete();
+        StepVerifier.create(joined(cache.read(content, () -> {
+                    sourceReads.incrementAndGet();
+                    return buffers("hello", " world");
+                })))
+                .expectNext("hello world")
+                .verifyComplete();
+
+        assertThat(sourceReads).hasValue(1);
+        assertThat(cache.getCachedBytes()).isEqualTo(11);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void read_ChecksumChanged_DoesNotServeStaleContent() {
+        cache.read(ContentReference.of(contentId, "v1", 3L, 1L), () -> buffers("old")).blockLast();
+
+        StepVerifier.create(joined(cache.read(ContentReference.of(contentId, "v2", 3L, 1L), () -> buffers("new"))))
+                .expectNext("new")
+                .verifyComplete();
+    }
+
+    @Test
+    void read_SourceFails_LeavesNoEntry() {
+        ContentReference content = ContentReference.of(contentId, "abc123", 11L, 1L);
+
+        StepVerifier.create(cache.read(content, () -> buffers("hello").concatWith(Flux.error(new RuntimeException("upstream failed")))))
+                .expectNextCount(1)
+                .verifyErrorMessage("upstream failed");
+
+        StepVerifier.create(cache.locate(content)).verifyComplete();
+        assertThat(directory.toFile().list()).isEmpty();
+    }
+
+    @Test
+    void read_UnknownChecksumOrTooLarge_BypassesCache() {
+        properties.getCache().setMaxEntrySize(4L);
+
+        cache.read(ContentReference.of(contentId, null, 3L, 1L), () -> buffers("abc")).blockLast();
+        cache.read(ContentReference.of(contentId, "abc123", 11L, 1L), () -> buffers("hello world")).blockLast();
+
+        assertThat(cache.getCachedBytes()).isZero();
+        assertThat(directory.toFile().list()).isEmpty();
+    }
+
+    @Test
+    void pipeline_RangeOfCachedContent_IsReadFromCacheFile() {
+        ContentDownloadPipeline pipeline = new ContentDownloadPipeline(new LocalFilesystemContentEngine(properties), cache,
+                new DownloadCoalescer(properties), new ContentCompression(properties),
+                new ContentEncryption(properties, new LocalContentKeyProvider(properties)),
+                new ParallelRangeReader(properties));
+        DocumentContentPort port = mock(DocumentContentPort.class);
+        when(port.getContentStream(contentId)).thenReturn(buffers("hello", " world"));
+        ContentReference content = ContentReference.of(contentId, "abc123", 11L, 1L);
+
+        pipeline.read(port, content).blockLast();
+
+        StepVerifier.create(joined(pipeline.readRange(port, content, 6, 5)))
+                .expectNext("world")
+                .verifyComplete();
+        verify(port, times(1)).getContentStream(contentId);
+    }
+
+    private Mono<String> joined(Flux<DataBuffer> content) {
+        return DataBufferUtils.join(content).map(buffer -> buffer.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.content;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.firefly.commons.ecm.core.content.TestBuffers.buffers;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContentChunkerTest {
+
+    private static final int MIN = 1024;
+    private static final int AVERAGE = 4096;
+    private static final int MAX = 16 * 1024;
+
+    private final ContentChunker chunker = new ContentChunker(MIN, AVERAGE, MAX);
+
+    @Test
+    void split_ChunksReassembleContentWithinSizeBounds() {
+        byte[] content = random(200_000, 1);
+
+        List<byte[]> chunks = split(content, 1000);
+
+        assertThat(concat(chunks)).isEqualTo(content);
+        assertThat(chunks).hasSizeGreaterThan(20);
+        assertThat(chunks.subList(0, chunks.size() - 1))
+                .allSatisfy(chunk -> assertThat(chunk.length).isBetween(MIN, MAX));
+    }
+
+    @Test
+    void split_BufferSizes_DoNotAffectBoundaries() {
+        byte[] content = random(100_000, 2);
+
+        assertThat(wrap(split(content, 1000))).isEqualTo(wrap(split(content, 8192)));
+    }
+
+    @Test
+    void split_InsertedBytes_OnlyChangeChunksAroundEdit() {
+        byte[] original = random(200_000, 3);
+        byte[] inserted = random(100, 4);
+        byte[] edited = new byte[original.length + inserted.length];
+        System.arraycopy(original, 0, edited, 0, 100_000);
+        System.arraycopy(inserted, 0, edited, 100_000, inserted.length);
+        System.arraycopy(original, 100_000, edited, 100_000 + inserted.length, original.length - 100_000);
+
+        Set<ByteBuffer> originalChunks = Set.copyOf(wrap(split(original, 4096)));
+        List<ByteBuffer> editedChunks = wrap(split(edited, 4096));
+
+        long changed = editedChunks.stream().filter(chunk -> !originalChunks.contains(chunk)).count();
+        assertThat(changed).isBetween(1L, 3L);
+    }
+
+    @Test
+    void split_EmptyContent_EmitsNoChunks() {
+        assertThat(chunker.split(Flux.empty()).collectList().block()).isEmpty();
+    }
+
+    @Test
+    void constructor_UnorderedSizes_Rejected() {
+        assertThatThrownBy(() -> new ContentChunker(4096, 1024, 16 * 1024))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<byte[]> split(byte[] content, int bufferSize) {
+        return chunker.split(buffers(content, bufferSize)).collectList().block();
+    }
+
+    private List<ByteBuffer> wrap(List<byte[]> chunks) {
+        return chunks.stream().map(ByteBuffer::wrap).collect(Collectors.toList());
+    }
+
+    private byte[] concat(List<byte[]> chunks) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        chunks.forEach(out::writeBytes);
+        return out.toByteArray();
+    }
+
+    private byte[] random(int size, long seed) {
+        byte[] bytes = new byte[size];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import static com.firefly.commons.ecm.core.content.TestBuffers.buffers;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentCompressionTest {
+
+    private static final byte[] TEXT = "The quick brown fox jumps over the lazy dog. ".repeat(200).getBytes(StandardCharsets.UTF_8);
+
+    private EcmContentProperties properties;
+    private ContentCompression compression;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EcmContentProperties();
+        compression = new ContentCompression(properties);
+    }
+
+    @Test
+    void encode_ProducesStandardGzipThatDecodesBack() throws IOException {
+        byte[] encoded = bytes(compression.encode(buffers(TEXT, 7), ContentCompression.GZIP));
+
+        assertThat(encoded.length).isLessThan(TEXT.length / 4);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(encoded))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(TEXT);
+        }
+        // Stored buffers may split the header, body and trailer anywhere
+        assertThat(bytes(compression.decode(buffers(encoded, 3), ContentCompression.GZIP))).isEqualTo(TEXT);
+    }
+
+    @Test
+    void decode_CorruptContent_Fails() {
+        byte[] encoded = bytes(compression.encode(buffers(TEXT, 512), ContentCompression.GZIP));
+        encoded[encoded.length - 5] ^= 0x01;
+
+        StepVerifier.create(compression.decode(buffers(encoded, 512), ContentCompression.GZIP))
+                .thenConsumeWhile(buffer -> {
+                    DataBufferUtils.release(buffer);
+                    return true;
+                })
+                .verifyErrorMessage("Stored gzip content is corrupt: checksum mismatch");
+    }
+
+    @Test
+    void decode_UnknownEncoding_Fails() {
+        StepVerifier.create(compression.decode(buffers(TEXT, 512), "br"))
+                .verifyErrorMessage("Unsupported content encoding: br");
+    }
+
+    @Test
+    void isCompressible_MatchesConfiguredTypesAndWildcards() {
+        assertThat(compression.isCompressible("text/csv; charset=UTF-8")).isTrue();
+        assertThat(compression.isCompressible("application/json")).isTrue();
+        assertThat(compression.isCompressible("image/jpeg")).isFalse();
+        assertThat(compression.isCompressible(null)).isFalse();
+
+        properties.getCompression().setEnabled(false);
+        assertThat(compression.isCompressible("text/plain")).isFalse();
+    }
+
+    @Test
+    void newEncoder_CompressibleText_IsEncoded() {
+        ContentEncoder encoder = compression.newEncoder("text/plain");
+
+        byte[] stored = bytes(encoder.encode(buffers(TEXT, 4096)));
+
+        assertThat(encoder.getEncoding()).isEqualTo(ContentCompression.GZIP);
+        assertThat(bytes(compression.decode(buffers(stored, 4096), encoder.getEncoding()))).isEqualTo(TEXT);
+    }
+
+    @Test
+    void newEncoder_RandomOrSmallContent_IsStoredAsIs() {
+        byte[] random = new byte[8192];
+        new Random(42).nextBytes(random);
+        ContentEncoder randomEncoder = compression.newEncoder("text/plain");
+        ContentEncoder smallEncoder = compression.newEncoder("text/plain");
+
+        assertThat(bytes(randomEncoder.encode(buffers(random, 4096)))).isEqualTo(random);
+        assertThat(bytes(smallEncoder.encode(buffers("hello world".getBytes(StandardCharsets.UTF_8), 4096))))
+                .isEqualTo("hello world".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(randomEncoder.getEncoding()).isNull();
+        assertThat(smallEncoder.getEncoding()).isNull();
+    }
+
+    @Test
+    void newEncoder_IncompressibleMimeType_IsNeverEncoded() {
+        ContentEncoder encoder = compression.newEncoder("image/jpeg");
+
+        assertThat(encoder.mayEncode()).isFalse();
+        assertThat(bytes(encoder.encode(buffers(TEXT, 4096)))).isEqualTo(TEXT);
+        assertThat(encoder.getEncoding()).isNull();
+    }
+
+    private byte[] bytes(Flux<DataBuffer> content) {
+        DataBuffer joined = DataBufferUtils.join(content).block();
+        byte[] bytes = new byte[joined.readableByteCount()];
+        joined.read(bytes);
+        DataBufferUtils.release(joined);
+        return bytes;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import org.fireflyframework.ecm.port.document.DocumentContentPort;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.firefly.commons.ecm.core.content.TestBuffers.buffers;
+import static org.mockito.Mockito.*;
+
+class ContentDownloadPipelineTest {
+
+    private final EcmContentProperties properties = new EcmContentProperties();
+    private final ContentDownloadPipeline pipeline = new ContentDownloadPipeline(
+            new LocalFilesystemContentEngine(properties), new ContentCache(properties, Optional.empty()),
+            new DownloadCoalescer(properties), new ContentCompression(properties),
+            new ContentEncryption(properties, new LocalContentKeyProvider(properties)),
+            new ParallelRangeReader(properties));
+    private final UUID contentId = UUID.fromString("11111111-2222-3333-4444-555555555555");
+
+    @Test
+    void readRange_RangeReadableAdapter_ReadsRangeNatively() {
+        DocumentContentPort port = mock(DocumentContentPort.class, withSettings().extraInterfaces(RangeReadableContentPort.class));
+        when(((RangeReadableContentPort) port).getContentRange(contentId, 6, 5)).thenReturn(buffers("world"));
+
+        StepVerifier.create(joined(pipeline.readRange(port, contentId, 6, 5)))
+                .expectNext("world")
+                .verifyComplete();
+
+        verify(port, never()).getContentStream(any());
+    }
+
+    @Test
+    void readRange_PlainAdapter_SkipsAcrossBufferBoundaries() {
+        DocumentContentPort port = mock(DocumentContentPort.class);
+        when(port.getContentStream(contentId)).thenReturn(buffers("hel", "lo wo", "rld", "!"));
+
+        StepVerifier.create(joined(pipeline.readRange(port, contentId, 4, 5)))
+                .expectNext("o wor")
+                .verifyComplete();
+    }
+
+    @Test
+    void readRange_PlainAdapter_RangePastEndIsTruncated() {
+        DocumentContentPort port = mock(DocumentContentPort.class);
+        when(port.getContentStream(contentId)).thenReturn(buffers("hello"));
+
+        StepVerifier.create(joined(pipeline.readRange(port, contentId, 3, 10)))
+                .expectNext("lo")
+                .verifyComplete();
+    }
+
+    @Test
+    void readRange_EncodedContent_IsCutFromDecodedContent() {
+        ContentCompression compression = new ContentCompression(properties);
+        DocumentContentPort port = mock(DocumentContentPort.class);
+        when(port.getContentStream(contentId)).thenAnswer(inv -> compression.encode(buffers("hel", "lo wo", "rld"), ContentCompression.GZIP));
+        ContentReference content = ContentReference.of(contentId, null, 11L, null, ContentCompression.GZIP);
+
+        StepVerifier.create(joined(pipeline.read(port, content)))
+                .expectNext("hello world")
+                .verifyComplete();
+        StepVerifier.create(joined(pipeline.readRange(port, content, 4, 5)))
+                .expectNext("o wor")
+                .verifyComplete();
+    }
+
+    private Flux<String> joined(Flux<DataBuffer> content) {
+        return DataBufferUtils.join(content).map(buffer -> {
+            String value = buffer.toString(StandardCharsets.UTF_8);
+            DataBufferUtils.release(buffer);
+            return value;
+        }).flux();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of content encryption compared with streaming the same content unencrypted.
+ * Every operation streams {@code sizeMiB} of content, so operations per second multiplied by
+ * the size give the throughput in MiB/s.
+ *
+ * Run with {@code mvn -pl core-common-document-mgmt-core -Pbenchmark test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentEncryptionBenchmark {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Param({"16"})
+    private int sizeMiB;
+
+    private ContentEncryption encryption;
+    private List<byte[]> plain;
+    private byte[] encrypted;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        byte[] masterKey = new byte[32];
+        ThreadLocalRandom.current().nextBytes(masterKey);
+        EcmContentProperties properties = new EcmContentProperties();
+        properties.getEncryption().setActiveKeyId("benchmark");
+        properties.getEncryption().getMasterKeys().put("benchmark", Base64.getEncoder().encodeToString(masterKey));
+        encryption = new ContentEncryption(properties, new LocalContentKeyProvider(properties));
+
+        plain = new ArrayList<>();
+        for (long remaining = (long) sizeMiB * 1024 * 1024; remaining > 0; remaining -= BUFFER_SIZE) {
+            byte[] buffer = new byte[(int) Math.min(BUFFER_SIZE, remaining)];
+            ThreadLocalRandom.current().nextBytes(buffer);
+            plain.add(buffer);
+        }
+        encrypted = DataBufferUtils.join(encryption.newEncryptor().encrypt(plainContent()))
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    return bytes;
+                })
+                .block();
+    }
+
+    @Benchmark
+    public long unencrypted() {
+        return consume(plainContent());
+    }
+
+    @Benchmark
+    public long encrypt() {
+        return consume(encryption.newEncryptor().encrypt(plainContent()));
+    }
+
+    @Benchmark
+    public long decrypt() {
+        return consume(encryption.decrypt(storedContent(0, encrypted.length)));
+    }
+
+    @Benchmark
+    public long decryptRangeOfOneMiB() {
+        long offset = (long) sizeMiB * 1024 * 1024 / 2;
+        return consume(encryption.decryptRange(this::storedContent, (long) encrypted.length, offset, 1024 * 1024));
+    }
+
+    private Flux<DataBuffer> plainContent() {
+        return Flux.fromIterable(plain).map(DefaultDataBufferFactory.sharedInstance::wrap);
+    }
+
+    private Flux<DataBuffer> storedContent(long offset, long length) {
+        int from = (int) Math.min(offset, encrypted.length);
+        int to = (int) Math.min(encrypted.length, from + length);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int position = from; position < to; position += BUFFER_SIZE) {
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(
+                    ByteBuffer.wrap(encrypted, position, Math.min(BUFFER_SIZE, to - position)).slice()));
+        }
+        return Flux.fromIterable(buffers);
+    }
+
+    private static long consume(Flux<DataBuffer> content) {
+        return content.map(buffer -> {
+                    int count = buffer.readableByteCount();
+                    DataBufferUtils.release(buffer);
+                    return (long) count;
+                })
+                .reduce(0L, Long::sum)
+                .block();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ContentEncryptionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
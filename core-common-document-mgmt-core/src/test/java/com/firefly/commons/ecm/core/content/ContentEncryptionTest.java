@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static com.firefly.commons.ecm.core.content.TestBuffers.buffers;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentEncryptionTest {
+
+    private static final byte[] CONTENT = "The quick brown fox jumps over the lazy dog. ".repeat(20).getBytes(StandardCharsets.UTF_8);
+    private static final int CHUNK_SIZE = 64;
+    private static final int SEALED_CHUNK_SIZE = CHUNK_SIZE + 16;
+
+    private EcmContentProperties properties;
+    private ContentEncryption encryption;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EcmContentProperties();
+        properties.getEncryption().setChunkSize(CHUNK_SIZE);
+        properties.getEncryption().setActiveKeyId("key-1");
+        properties.getEncryption().getMasterKeys().put("key-1", Base64.getEncoder().encodeToString(new byte[32]));
+        encryption = new ContentEncryption(properties, new LocalContentKeyProvider(properties));
+    }
+
+    @Test
+    void encrypt_ThenDecrypt_RestoresContentAcrossBufferBoundaries() {
+        ContentEncryptor encryptor = encryption.newEncryptor();
+
+        byte[] stored = bytes(encryptor.encrypt(buffers(CONTENT, 7)));
+
+        assertThat(encryptor.getKeyId()).isEqualTo("key-1");
+        assertThat(new String(stored, StandardCharsets.ISO_8859_1)).doesNotContain("quick brown fox");
+        assertThat(bytes(encryption.decrypt(buffers(stored, 5)))).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void encrypt_EmptyContent_DecryptsToEmptyContent() {
+        byte[] stored = bytes(encryption.newEncryptor().encrypt(Flux.empty()));
+
+        assertThat(bytes(encryption.decrypt(buffers(stored, 512)))).isEmpty();
+    }
+
+    @Test
+    void decryptRange_ReadsOnlyTheChunksTheRangeOverlaps() {
+        byte[] stored = bytes(encryption.newEncryptor().encrypt(buffers(CONTENT, 512)));
+        List<long[]> reads = new ArrayList<>();
+        BiFunction<Long, Long, Flux<DataBuffer>> reader = (offset, length) -> {
+            reads.add(new long[]{offset, length});
+            int end = (int) Math.min(stored.length, offset + length);
+            return buffers(Arrays.copyOfRange(stored, offset.intValue(), end), 13);
+        };
+
+        byte[] range = bytes(encryption.decryptRange(reader, (long) CONTENT.length, 100, 50));
+
+        assertThat(range).isEqualTo(Arrays.copyOfRange(CONTENT, 100, 150));
+        // The header, then chunks 1 and 2 holding bytes 64 to 191
+        assertThat(reads).hasSize(2);
+        assertThat(reads.get(0)[0]).isZero();
+        assertThat(reads.get(1)[1]).isEqualTo(2L * SEALED_CHUNK_SIZE);
+    }
+
+    @Test
+    void decryptRange_LastChunk_IsAuthenticatedAsLast() {
+        byte[] stored = bytes(encryption.newEncryptor().encrypt(buffers(CONTENT, 512)));
+        BiFunction<Long, Long, Flux<DataBuffer>> reader = (offset, length) ->
+                buffers(Arrays.copyOfRange(stored, offset.intValue(), (int) Math.min(stored.length, offset + length)), 512);
+
+        byte[] range = bytes(encryption.decryptRange(reader, (long) CONTENT.length, CONTENT.length - 10, Long.MAX_VALUE));
+
+        assertThat(range).isEqualTo(Arrays.copyOfRange(CONTENT, CONTENT.length - 10, CONTENT.length));
+    }
+
+    @Test
+    void decrypt_TamperedOrTruncatedContent_Fails() {
+        byte[] stored = bytes(encryption.newEncryptor().encrypt(buffers(CONTENT, 512)));
+        byte[] tampered = stored.clone();
+        tampered[tampered.length / 2] ^= 0x01;
+        // Dropping the last chunk leaves a stream that ends on a chunk boundary
+        int chunks = (CONTENT.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        byte[] truncated = Arrays.copyOf(stored, stored.length - (CONTENT.length - (chunks - 1) * CHUNK_SIZE + 16));
+
+        StepVerifier.create(encryption.decrypt(buffers(tampered, 512)).doOnNext(DataBufferUtils::release))
+                .thenConsumeWhile(buffer -> true)
+                .expectErrorMatches(error -> error.getMessage().startsWith("Encrypted content failed authentication"))
+                .verify();
+        StepVerifier.create(encryption.decrypt(buffers(truncated, 512)).doOnNext(DataBufferUtils::release))
+                .thenConsumeWhile(buffer -> true)
+                .expectErrorMatches(error -> error.getMessage().startsWith("Encrypted content failed authentication"))
+                .verify();
+    }
+
+    @Test
+    void decrypt_RetiredMasterKey_IsStillUsedAndMissingKeyFails() {
+        byte[] stored = bytes(encryption.newEncryptor().encrypt(buffers(CONTENT, 512)));
+        properties.getEncryption().setActiveKeyId("key-2");
+        properties.getEncryption().getMasterKeys().put("key-2", Base64.getEncoder().encodeToString(new byte[16]));
+
+        assertThat(bytes(encryption.decrypt(buffers(stored, 512)))).isEqualTo(CONTENT);
+
+        properties.getEncryption().getMasterKeys().remove("key-1");
+        StepVerifier.create(encryption.decrypt(buffers(stored, 512)))
+                .verifyErrorMessage("Master key not found with ID: key-1");
+    }
+
+    @Test
+    void encrypt_NoActiveMasterKey_Fails() {
+        properties.getEncryption().setActiveKeyId(null);
+
+        StepVerifier.create(encryption.newEncryptor().encrypt(buffers(CONTENT, 512)))
+                .verifyErrorMessage("Content encryption requires an active master key to be configured");
+    }
+
+    private byte[] bytes(Flux<DataBuffer> content) {
+        DataBuffer joined = DataBufferUtils.join(content).block();
+        if (joined == null) {
+            return new byte[0];
+        }
+        byte[] bytes = new byte[joined.readableByteCount()];
+        joined.read(bytes);
+        DataBufferUtils.release(joined);
+        return bytes;
+    }
+}
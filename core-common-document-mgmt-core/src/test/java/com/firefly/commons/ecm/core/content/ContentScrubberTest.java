@@ -0,0 +1,179 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.interfaces.enums.ContentIntegrityProblem;
+import com.firefly.commons.ecm.models.entities.ContentIntegrityFinding;
+import com.firefly.commons.ecm.models.entities.Document;
+import com.firefly.commons.ecm.models.entities.ScrubCheckpoint;
+import com.firefly.commons.ecm.models.repositories.ContentBlobRepository;
+import com.firefly.commons.ecm.models.repositories.ContentIntegrityFindingRepository;
+import com.firefly.commons.ecm.models.repositories.DocumentRepository;
+import com.firefly.commons.ecm.models.repositories.DocumentVersionRepository;
+import com.firefly.commons.ecm.models.repositories.ScrubCheckpointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.fireflyframework.ecm.port.document.DocumentContentPort;
+import org.fireflyframework.ecm.service.EcmPortProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.firefly.commons.ecm.core.content.TestBuffers.buffers;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ContentScrubberTest {
+
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private EcmContentProperties properties;
+    private DocumentRepository documentRepository;
+    private DocumentVersionRepository versionRepository;
+    private ScrubCheckpointRepository checkpointRepository;
+    private ContentIntegrityFindingRepository findingRepository;
+    private ContentDownloadPipeline downloadPipeline;
+    private SimpleMeterRegistry meterRegistry;
+    private ContentScrubber scrubber;
+    private final DocumentContentPort port = mock(DocumentContentPort.class);
+    private final Document intact = document("11111111-0000-0000-0000-000000000001", "hello world");
+    private final Document corrupt = document("11111111-0000-0000-0000-000000000002", "hello world");
+
+    @BeforeEach
+    void setUp() {
+        properties = new EcmContentProperties();
+        properties.getScrub().setBytesPerSecond(0L);
+        documentRepository = mock(DocumentRepository.class);
+        versionRepository = mock(DocumentVersionRepository.class);
+        checkpointRepository = mock(ScrubCheckpointRepository.class);
+        findingRepository = mock(ContentIntegrityFindingRepository.class);
+        downloadPipeline = mock(ContentDownloadPipeline.class);
+        meterRegistry = new SimpleMeterRegistry();
+        LocalFilesystemContentEngine localContentEngine = mock(LocalFilesystemContentEngine.class);
+        EcmPortProvider ecmPortProvider = mock(EcmPortProvider.class);
+        when(ecmPortProvider.getDocumentContentPort()).thenReturn(Optional.of(port));
+        when(localContentEngine.resolvePort(any(), any())).thenReturn(Optional.of(port));
+
+        scrubber = new ContentScrubber(properties, documentRepository, versionRepository, mock(ContentBlobRepository.class),
+                checkpointRepository, findingRepository, ecmPortProvider, localContentEngine, downloadPipeline,
+                mock(ChunkedVersionStore.class), Optional.of(meterRegistry));
+
+        when(checkpointRepository.findAll()).thenReturn(Flux.just(checkpoint(ContentScrubber.DOCUMENTS, null)));
+        when(checkpointRepository.findById(ContentScrubber.DOCUMENTS)).thenReturn(Mono.just(checkpoint(ContentScrubber.DOCUMENTS, null)));
+        when(checkpointRepository.claim(anyString(), anyString(), any())).thenReturn(Mono.just(1));
+        when(checkpointRepository.saveProgress(anyString(), anyString(), any())).thenReturn(Mono.just(1));
+        when(checkpointRepository.completePass(anyString(), anyString())).thenReturn(Mono.just(1));
+        when(checkpointRepository.release(anyString(), anyString())).thenReturn(Mono.just(1));
+        when(findingRepository.deleteByTargetId(any())).thenReturn(Mono.just(0));
+        when(findingRepository.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(documentRepository.findWithChecksumAfter(eq(FIRST_ID), anyInt())).thenReturn(Flux.just(intact, corrupt));
+        when(documentRepository.findWithChecksumAfter(eq(corrupt.getId()), anyInt())).thenReturn(Flux.empty());
+        when(downloadPipeline.readFromStorage(eq(port), argThat(content -> content != null && intact.getId().equals(content.getContentId()))))
+                .thenReturn(buffers("hello", " world"));
+    }
+
+    @Test
+    void scrub_CorruptContent_RecordsFindingAndCompletesPass() {
+        when(downloadPipeline.readFromStorage(eq(port), argThat(content -> content != null && corrupt.getId().equals(content.getContentId()))))
+                .thenReturn(buffers("hello", " w0rld"));
+
+        StepVerifier.create(scrubber.scrub())
+                .expectNext(2L)
+                .verifyComplete();
+
+        ArgumentCaptor<ContentIntegrityFinding> finding = ArgumentCaptor.forClass(ContentIntegrityFinding.class);
+        verify(findingRepository).save(finding.capture());
+        assertThat(finding.getValue().getTargetId()).isEqualTo(corrupt.getId());
+        assertThat(finding.getValue().getProblem()).isEqualTo(ContentIntegrityProblem.CHECKSUM_MISMATCH);
+        assertThat(finding.getValue().getActualChecksum()).isNotEqualTo(corrupt.getChecksum());
+        verify(findingRepository).deleteByTargetId(intact.getId());
+        verify(checkpointRepository).saveProgress(eq(ContentScrubber.DOCUMENTS), anyString(), eq(corrupt.getId()));
+        verify(checkpointRepository).completePass(eq(ContentScrubber.DOCUMENTS), anyString());
+        verify(checkpointRepository).release(eq(ContentScrubber.DOCUMENTS), anyString());
+        assertThat(meterRegistry.get("ecm.content.scrub.items").tag("result", "ok").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("ecm.content.scrub.items").tag("result", "checksum_mismatch").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("ecm.content.scrub.bytes").counter().count()).isEqualTo(22);
+    }
+
+    @Test
+    void scrub_MissingContent_RecordsMissing() {
+        when(downloadPipeline.readFromStorage(eq(port), argThat(content -> content != null && corrupt.getId().equals(content.getContentId()))))
+                .thenReturn(Flux.error(new NoSuchFileException(corrupt.getId().toString())));
+
+        StepVerifier.create(scrubber.scrub())
+                .expectNext(2L)
+                .verifyComplete();
+
+        ArgumentCaptor<ContentIntegrityFinding> finding = ArgumentCaptor.forClass(ContentIntegrityFinding.class);
+        verify(findingRepository).save(finding.capture());
+        assertThat(finding.getValue().getProblem()).isEqualTo(ContentIntegrityProblem.MISSING);
+    }
+
+    @Test
+    void scrub_ResumesAfterCheckpoint() {
+        when(checkpointRepository.findById(ContentScrubber.DOCUMENTS))
+                .thenReturn(Mono.just(checkpoint(ContentScrubber.DOCUMENTS, intact.getId())));
+        when(documentRepository.findWithChecksumAfter(eq(intact.getId()), anyInt())).thenReturn(Flux.empty());
+
+        StepVerifier.create(scrubber.scrub())
+                .expectNext(0L)
+                .verifyComplete();
+
+        verify(documentRepository, never()).findWithChecksumAfter(eq(FIRST_ID), anyInt());
+        verify(checkpointRepository).completePass(eq(ContentScrubber.DOCUMENTS), anyString());
+    }
+
+    @Test
+    void scrub_LeaseHeldByAnotherInstance_SkipsTable() {
+        when(checkpointRepository.claim(anyString(), anyString(), any())).thenReturn(Mono.just(0));
+
+        StepVerifier.create(scrubber.scrub())
+                .expectNext(0L)
+                .verifyComplete();
+
+        verifyNoInteractions(documentRepository, downloadPipeline);
+        verify(checkpointRepository, never()).release(anyString(), anyString());
+    }
+
+    private static Document document(String id, String content) {
+        ContentDigest digest = ContentDigest.create("SHA-256");
+        digest.update(content.getBytes(StandardCharsets.UTF_8));
+        return Document.builder()
+                .id(UUID.fromString(id))
+                .tenantId("tenant-1")
+                .checksum(digest.getChecksum())
+                .fileSize(digest.getSize())
+                .build();
+    }
+
+    private static ScrubCheckpoint checkpoint(String target, UUID lastId) {
+        return ScrubCheckpoint.builder().target(target).lastId(lastId).build();
+    }
+}
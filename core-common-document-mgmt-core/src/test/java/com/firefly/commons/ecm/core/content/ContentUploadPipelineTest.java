@@ -0,0 +1,171 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import org.fireflyframework.ecm.port.document.DocumentContentPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static com.firefly.commons.ecm.core.content.TestBuffers.buffers;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ContentUploadPipelineTest {
+
+    private EcmContentProperties properties;
+    private ContentUploadPipeline pipeline;
+    private final UUID contentId = UUID.fromString("11111111-2222-3333-4444-555555555555");
+
+    @TempDir
+    Path stagingDirectory;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EcmContentProperties();
+        properties.getStaging().setDirectory(stagingDirectory.toString());
+        pipeline = new ContentUploadPipeline(properties, new UploadStagingArea(properties),
+                new MultipartUploadOrchestrator(properties));
+    }
+
+    @Test
+    void store_StreamingAdapter_ReceivesStreamWithoutMaterializing() {
+        DocumentContentPort port = mock(DocumentContentPort.class, withSettings().extraInterfaces(StreamingContentPort.class));
+        StreamingContentPort streamingPort = (StreamingContentPort) port;
+        when(streamingPort.storeContentStream(eq(contentId), any(), eq("text/plain"), eq(11L)))
+                .thenAnswer(inv -> {
+                    Flux<DataBuffer> stream = inv.getArgument(1);
+                    return stream.map(DataBuffer::readableByteCount).reduce(0, Integer::sum)
+                            .map(total -> "stored/" + total);
+                });
+
+        StepVerifier.create(pipeline.store(port, contentId, buffers("hello", " world"), "text/plain", 11L))
+                .expectNext("stored/11")
+                .verifyComplete();
+
+        verify(port, never()).storeContent(any(), any(), any());
+    }
+
+    @Test
+    void store_NonStreamingAdapter_FallsBackToByteArray() {
+        DocumentContentPort port = mock(DocumentContentPort.class);
+        when(port.storeContent(eq(contentId), any(byte[].class), eq("text/plain")))
+                .thenAnswer(inv -> Mono.just("stored/" + new String((byte[]) inv.getArgument(1), StandardCharsets.UTF_8)));
+
+        StepVerifier.create(pipeline.store(port, contentId, buffers("hello", " world"), "text/plain", null))
+                .expectNext("stored/hello world")
+                .verifyComplete();
+    }
+
+    @Test
+    void store_StreamingDisabled_UsesByteArrayPath() {
+        properties.getUpload().setStreamingEnabled(false);
+        DocumentContentPort port = mock(DocumentContentPort.class, withSettings().extraInterfaces(StreamingContentPort.class));
+        when(port.storeContent(eq(contentId), any(byte[].class), eq("text/plain"))).thenReturn(Mono.just("stored"));
+
+        StepVerifier.create(pipeline.store(port, contentId, buffers("abc"), "text/plain", 3L))
+                .expectNext("stored")
+                .verifyComplete();
+
+        verify((StreamingContentPort) port, never()).storeContentStream(any(), any(), any(), any());
+    }
+
+    @Test
+    void store_NonStreamingAdapter_LargeUploadIsSpooledAndCleanedUp() {
+        properties.getStaging().setMemoryThreshold(4L);
+        DocumentContentPort port = mock(DocumentContentPort.class);
+        when(port.storeContent(eq(contentId), any(byte[].class), eq("text/plain")))
+                .thenAnswer(inv -> Mono.just("stored/" + new String((byte[]) inv.getArgument(1), StandardCharsets.UTF_8)));
+
+        StepVerifier.create(pipeline.store(port, contentId, buffers("hello", " world"), "text/plain", null))
+                .expectNext("stored/hello world")
+                .verifyComplete();
+
+        assertThat(stagingDirectory.toFile().listFiles()).isEmpty();
+    }
+
+    @Test
+    void store_StreamingAdapterRequiringLength_ReceivesStagedLength() {
+        DocumentContentPort port = mock(DocumentContentPort.class, withSettings().extraInterfaces(StreamingContentPort.class));
+        StreamingContentPort streamingPort = (StreamingContentPort) port;
+        when(streamingPort.requiresContentLength()).thenReturn(true);
+        when(streamingPort.storeContentStream(eq(contentId), any(), eq("text/plain"), eq(11L)))
+                .thenAnswer(inv -> ((Flux<DataBuffer>) inv.getArgument(1)).then(Mono.just("stored")));
+
+        StepVerifier.create(pipeline.store(port, contentId, buffers("hello", " world"), "text/plain", null))
+                .expectNext("stored")
+                .verifyComplete();
+    }
+
+    @Test
+    void store_MultipartAdapter_UploadsLargeContentInPartsAndSmallContentAsStream() {
+        properties.getMultipart().setThreshold(8L);
+        properties.getMultipart().setPartSize(8L);
+        DocumentContentPort port = mock(DocumentContentPort.class,
+                withSettings().extraInterfaces(MultipartContentPort.class, StreamingContentPort.class));
+        MultipartContentPort multipartPort = (MultipartContentPort) port;
+        StreamingContentPort streamingPort = (StreamingContentPort) port;
+        when(multipartPort.initiateMultipartUpload(contentId, "text/plain")).thenReturn(Mono.just("upload-1"));
+        when(multipartPort.uploadPart(eq(contentId), eq("upload-1"), anyInt(), any(), anyLong()))
+                .thenAnswer(inv -> Mono.just("etag-" + inv.getArgument(2)));
+        when(multipartPort.completeMultipartUpload(eq(contentId), eq("upload-1"), any())).thenReturn(Mono.just("stored/parts"));
+        when(streamingPort.storeContentStream(eq(contentId), any(), eq("text/plain"), eq(5L))).thenReturn(Mono.just("stored/stream"));
+
+        StepVerifier.create(pipeline.store(port, contentId, buffers("hello", " world"), "text/plain", 11L))
+                .expectNext("stored/parts")
+                .verifyComplete();
+        StepVerifier.create(pipeline.store(port, contentId, buffers("hello"), "text/plain", 5L))
+                .expectNext("stored/stream")
+                .verifyComplete();
+
+        verify(multipartPort, times(2)).uploadPart(eq(contentId), eq("upload-1"), anyInt(), any(), anyLong());
+    }
+
+    @Test
+    void store_MultipartAdapterUnknownSmallContent_IsStreamedWithItsLength() {
+        properties.getMultipart().setThreshold(8L);
+        properties.getMultipart().setPartSize(8L);
+        DocumentContentPort port = mock(DocumentContentPort.class,
+                withSettings().extraInterfaces(MultipartContentPort.class, StreamingContentPort.class));
+        when(((StreamingContentPort) port).storeContentStream(eq(contentId), any(), eq("text/plain"), eq(5L)))
+                .thenAnswer(inv -> ((Flux<DataBuffer>) inv.getArgument(1)).then(Mono.just("stored/stream")));
+
+        StepVerifier.create(pipeline.store(port, contentId, buffers("he", "llo"), "text/plain", null))
+                .expectNext("stored/stream")
+                .verifyComplete();
+
+        verify((MultipartContentPort) port, never()).initiateMultipartUpload(any(), any());
+    }
+
+    @Test
+    void toByteArray_EmptyStream_ReturnsEmptyArray() {
+        StepVerifier.create(pipeline.toByteArray(Flux.empty()))
+                .assertNext(bytes -> assertThat(bytes).isEmpty())
+                .verifyComplete();
+    }
+}
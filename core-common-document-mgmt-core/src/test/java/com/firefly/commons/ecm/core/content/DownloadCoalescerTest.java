@@ -0,0 +1,128 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DownloadCoalescerTest {
+
+    private EcmContentProperties properties;
+    private DownloadCoalescer coalescer;
+    private final ContentReference content = ContentReference.of(
+            UUID.fromString("11111111-2222-3333-4444-555555555555"), "abc123", 11L, 1L);
+
+    @BeforeEach
+    void setUp() {
+        properties = new EcmContentProperties();
+        coalescer = new DownloadCoalescer(properties);
+    }
+
+    @Test
+    void read_ConcurrentDownloads_ShareOneUpstreamRead() {
+        TestPublisher<DataBuffer> upstream = TestPublisher.create();
+        AtomicInteger upstreamReads = new AtomicInteger();
+        Supplier<Flux<DataBuffer>> source = () -> {
+            upstreamReads.incrementAndGet();
+            return upstream.flux();
+        };
+
+        StepVerifier first = StepVerifier.create(text(coalescer.read(content, source)))
+                .expectNext("hello", " world")
+                .expectComplete()
+                .verifyLater();
+        upstream.next(buffer("hello"));
+
+        // The late download receives the chunk read before it joined
+        StepVerifier second = StepVerifier.create(text(coalescer.read(content, source)))
+                .expectNext("hello", " world")
+                .expectComplete()
+                .verifyLater();
+        upstream.next(buffer(" world"));
+        upstream.complete();
+
+        first.verify();
+        second.verify();
+        assertThat(upstreamReads).hasValue(1);
+        assertThat(coalescer.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void read_AfterCompletion_StartsNewUpstreamRead() {
+        AtomicInteger upstreamReads = new AtomicInteger();
+        Supplier<Flux<DataBuffer>> source = () -> {
+            upstreamReads.incrementAndGet();
+            return Flux.just(buffer("hello"));
+        };
+
+        coalescer.read(content, source).blockLast();
+        coalescer.read(content, source).blockLast();
+
+        assertThat(upstreamReads).hasValue(2);
+    }
+
+    @Test
+    void read_AllDownloadsCancelled_CancelsUpstream() {
+        TestPublisher<DataBuffer> upstream = TestPublisher.create();
+
+        StepVerifier.create(coalescer.read(content, upstream::flux))
+                .then(() -> upstream.next(buffer("hello")))
+                .expectNextCount(1)
+                .thenCancel()
+                .verify();
+
+        upstream.assertCancelled();
+        assertThat(coalescer.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void read_LargeOrUnsizedContent_IsNotCoalesced() {
+        properties.getCoalescing().setMaxSize(4L);
+        AtomicInteger upstreamReads = new AtomicInteger();
+        Supplier<Flux<DataBuffer>> source = () -> {
+            upstreamReads.incrementAndGet();
+            return Flux.just(buffer("hello"));
+        };
+
+        coalescer.read(content, source);
+        coalescer.read(ContentReference.of(content.getContentId(), "abc123", null, 1L), source);
+
+        assertThat(upstreamReads).hasValue(2);
+        assertThat(coalescer.getInFlightCount()).isZero();
+    }
+
+    private Flux<String> text(Flux<DataBuffer> content) {
+        return content.map(buffer -> buffer.toString(StandardCharsets.UTF_8));
+    }
+
+    private DataBuffer buffer(String value) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.interfaces.enums.StorageType;
+import org.fireflyframework.ecm.port.document.DocumentContentPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.firefly.commons.ecm.core.content.TestBuffers.buffers;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class LocalFilesystemContentEngineTest {
+
+    @TempDir
+    Path directory;
+
+    private EcmContentProperties properties;
+    private LocalFilesystemContentEngine engine;
+    private final UUID contentId = UUID.fromString("3fa2b4c6-2222-3333-4444-555555555555");
+
+    @BeforeEach
+    void setUp() {
+        properties = new EcmContentProperties();
+        properties.getLocal().setEnabled(true);
+        properties.getLocal().setDirectory(directory.toString());
+        properties.getLocal().setReadBufferSize(4);
+        engine = new LocalFilesystemContentEngine(properties);
+    }
+
+    @Test
+    void resolvePath_ShardsByContentIdPrefix() {
+        assertThat(engine.resolvePath(contentId))
+                .isEqualTo(directory.resolve("3f").resolve("a2").resolve(contentId.toString()));
+    }
+
+    @Test
+    void write_StoresContentAtShardedPathWithoutTemporaryFiles() throws Exception {
+        StepVerifier.create(engine.write(contentId, buffers("hello", " local", " world")))
+                .expectNext(engine.resolvePath(contentId).toString())
+                .verifyComplete();
+
+        Path file = engine.resolvePath(contentId);
+        assertThat(Files.readString(file)).isEqualTo("hello local world");
+        try (var siblings = Files.list(file.getParent())) {
+            assertThat(siblings).containsExactly(file);
+        }
+    }
+
+    @Test
+    void write_FailedUpload_LeavesNoFileBehind() throws Exception {
+        Flux<DataBuffer> failing = buffers("partial").concatWith(Flux.error(new RuntimeException("client aborted")));
+
+        StepVerifier.create(engine.write(contentId, failing))
+                .verifyErrorMessage("client aborted");
+
+        try (var siblings = Files.list(engine.resolvePath(contentId).getParent())) {
+            assertThat(siblings).isEmpty();
+        }
+    }
+
+    @Test
+    void read_ReturnsRequestedRangeAcrossBuffers() {
+        engine.write(contentId, buffers("hello local world")).block();
+        Path file = engine.locate(contentId).block();
+
+        assertThat(file).isNotNull();
+        StepVerifier.create(joined(engine.read(file, 6, 5)))
+                .expectNext("local")
+                .verifyComplete();
+        StepVerifier.create(joined(engine.read(file, 0, Long.MAX_VALUE)))
+                .expectNext("hello local world")
+                .verifyComplete();
+    }
+
+    @Test
+    void locateAndDelete_MissingContent() {
+        StepVerifier.create(engine.locate(contentId)).verifyComplete();
+        StepVerifier.create(engine.delete(contentId)).expectNext(false).verifyComplete();
+
+        engine.write(contentId, buffers("data")).block();
+
+        StepVerifier.create(engine.delete(contentId)).expectNext(true).verifyComplete();
+        StepVerifier.create(engine.locate(contentId)).verifyComplete();
+    }
+
+    @Test
+    void resolvePort_RoutesLocalStorageOnlyWhenEnabled() {
+        DocumentContentPort ecmPort = mock(DocumentContentPort.class);
+
+        assertThat(engine.resolvePort(StorageType.LOCAL_FILESYSTEM, Optional.of(ecmPort)))
+                .get().isInstanceOf(LocalFilesystemContentPort.class);
+        assertThat(engine.resolvePort(StorageType.S3, Optional.of(ecmPort))).contains(ecmPort);
+
+        properties.getLocal().setEnabled(false);
+        assertThat(engine.resolvePort(StorageType.LOCAL_FILESYSTEM, Optional.of(ecmPort))).contains(ecmPort);
+    }
+
+    @Test
+    void localPort_ContentMissingLocally_FallsBackToEcmPort() {
+        DocumentContentPort ecmPort = mock(DocumentContentPort.class);
+        when(ecmPort.getContentStream(contentId)).thenReturn(buffers("legacy content"));
+        when(ecmPort.deleteContent(contentId)).thenReturn(Mono.empty());
+        DocumentContentPort port = engine.resolvePort(StorageType.LOCAL_FILESYSTEM, Optional.of(ecmPort)).orElseThrow();
+
+        StepVerifier.create(joined(port.getContentStream(contentId)))
+                .expectNext("legacy content")
+                .verifyComplete();
+        StepVerifier.create(port.deleteContent(contentId)).verifyComplete();
+
+        verify(ecmPort).deleteContent(contentId);
+    }
+
+    @Test
+    void localPort_CopyContent_CopiesFileWithoutEcmPort() throws Exception {
+        UUID copyId = UUID.fromString("7c9e6679-2222-3333-4444-555555555555");
+        engine.write(contentId, buffers("hello local world")).block();
+        DocumentContentPort port = engine.resolvePort(StorageType.LOCAL_FILESYSTEM, Optional.empty()).orElseThrow();
+
+        StepVerifier.create(((CopyableContentPort) port).copyContent(contentId, copyId))
+                .expectNext(engine.resolvePath(copyId).toString())
+                .verifyComplete();
+
+        assertThat(Files.readString(engine.resolvePath(copyId))).isEqualTo("hello local world");
+        // Replacing the original leaves the copy untouched, even when the copy is a hard link
+        engine.write(contentId, buffers("replaced")).block();
+        assertThat(Files.readString(engine.resolvePath(copyId))).isEqualTo("hello local world");
+    }
+
+    private Mono<String> joined(Flux<DataBuffer> content) {
+        return DataBufferUtils.join(content).map(buffer -> buffer.toString(StandardCharsets.UTF_8));
+    }
+}
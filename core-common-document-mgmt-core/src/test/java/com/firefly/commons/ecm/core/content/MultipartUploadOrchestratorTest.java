@@ -0,0 +1,231 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static com.firefly.commons.ecm.core.content.TestBuffers.buffers;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MultipartUploadOrchestratorTest {
+
+    private EcmContentProperties properties;
+    private MultipartUploadOrchestrator orchestrator;
+    private InMemoryMultipartPort port;
+    private final UUID contentId = UUID.fromString("11111111-2222-3333-4444-555555555555");
+
+    @BeforeEach
+    void setUp() {
+        properties = new EcmContentProperties();
+        properties.getMultipart().setPartSize(4L);
+        properties.getMultipart().setRetryBackoff(Duration.ofMillis(1));
+        orchestrator = new MultipartUploadOrchestrator(properties);
+        port = new InMemoryMultipartPort();
+    }
+
+    @Test
+    void upload_SplitsStreamIntoPartsAndCommitsThemInOrder() {
+        StepVerifier.create(orchestrator.upload(port, contentId, buffers("hel", "lo wor", "ld!!"), "text/plain"))
+                .expectNext("stored/" + contentId)
+                .verifyComplete();
+
+        assertThat(port.committed).extracting(UploadedPart::getPartNumber).containsExactly(1, 2, 3, 4);
+        assertThat(port.committed).extracting(UploadedPart::getSize).containsExactly(4L, 4L, 4L, 1L);
+        assertThat(port.assembled()).isEqualTo("hello world!!");
+    }
+
+    @Test
+    void upload_FailedPart_IsRetriedOnItsOwn() {
+        port.failuresBeforeSuccess.put(2, new AtomicInteger(1));
+
+        StepVerifier.create(orchestrator.upload(port, contentId, buffers("hello world"), "text/plain"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(port.attempts.get(1)).hasValue(1);
+        assertThat(port.attempts.get(2)).hasValue(2);
+        assertThat(port.attempts.get(3)).hasValue(1);
+        assertThat(port.assembled()).isEqualTo("hello world");
+    }
+
+    @Test
+    void upload_PartKeepsFailing_AbortsUpload() {
+        properties.getMultipart().setMaxRetries(2);
+        port.failuresBeforeSuccess.put(2, new AtomicInteger(Integer.MAX_VALUE));
+
+        StepVerifier.create(orchestrator.upload(port, contentId, buffers("hello world"), "text/plain"))
+                .verifyErrorMessage("part 2 failed");
+
+        assertThat(port.attempts.get(2)).hasValue(3);
+        assertThat(port.aborted).isTrue();
+        assertThat(port.committed).isNull();
+    }
+
+    @Test
+    void upload_BoundsPartsInFlight() {
+        properties.getMultipart().setMaxConcurrentParts(2);
+        port.partDelay = Duration.ofMillis(20);
+
+        StepVerifier.create(orchestrator.upload(port, contentId, buffers("abcdefghijklmnopqrstuvwx"), "text/plain"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(port.committed).hasSize(6);
+        assertThat(port.maxInFlight).hasValue(2);
+    }
+
+    @Test
+    void upload_EmptyContent_CommitsSingleEmptyPart() {
+        StepVerifier.create(orchestrator.upload(port, contentId, Flux.empty(), "text/plain"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(port.committed).extracting(UploadedPart::getSize).containsExactly(0L);
+    }
+
+    @Test
+    void upload_UnknownLengthWithinOnePart_FallsBackToSingleUpload() {
+        properties.getMultipart().setThreshold(1L);
+        AtomicReference<Long> singleLength = new AtomicReference<>();
+
+        StepVerifier.create(orchestrator.upload(port, contentId, buffers("he", "ll"), "text/plain",
+                        (content, length) -> {
+                            singleLength.set(length);
+                            return DataBufferUtils.join(content).map(buffer -> "single/" + buffer.toString(StandardCharsets.UTF_8));
+                        }))
+                .expectNext("single/hell")
+                .verifyComplete();
+
+        assertThat(singleLength.get()).isEqualTo(4L);
+        assertThat(port.attempts).isEmpty();
+        assertThat(port.committed).isNull();
+    }
+
+    @Test
+    void upload_UnknownLengthBelowThreshold_FallsBackToSingleUpload() {
+        properties.getMultipart().setThreshold(16L);
+
+        StepVerifier.create(orchestrator.upload(port, contentId, buffers("hello ", "world"), "text/plain",
+                        (content, length) -> DataBufferUtils.join(content).map(buffer -> "single/" + length)))
+                .expectNext("single/11")
+                .verifyComplete();
+
+        assertThat(port.committed).isNull();
+    }
+
+    @Test
+    void upload_UnknownLengthBeyondOnePart_UploadsEveryByteInParts() {
+        properties.getMultipart().setThreshold(1L);
+
+        StepVerifier.create(orchestrator.upload(port, contentId, buffers("hel", "lo wor", "ld"), "text/plain",
+                        (content, length) -> Mono.error(new AssertionError("single upload"))))
+                .expectNext("stored/" + contentId)
+                .verifyComplete();
+
+        assertThat(port.committed).extracting(UploadedPart::getSize).containsExactly(4L, 4L, 3L);
+        assertThat(port.assembled()).isEqualTo("hello world");
+    }
+
+    @Test
+    void upload_UnknownEmptyContent_FallsBackToSingleUpload() {
+        StepVerifier.create(orchestrator.upload(port, contentId, Flux.empty(), "text/plain",
+                        (content, length) -> content.then(Mono.just("single/" + length))))
+                .expectNext("single/0")
+                .verifyComplete();
+    }
+
+    @Test
+    void appliesTo_OnlyKnownLargeContent() {
+        properties.getMultipart().setThreshold(8L);
+
+        assertThat(orchestrator.appliesTo(8L)).isTrue();
+        assertThat(orchestrator.appliesTo(7L)).isFalse();
+        assertThat(orchestrator.appliesTo(null)).isFalse();
+    }
+
+    private static class InMemoryMultipartPort implements MultipartContentPort {
+
+        final Map<Integer, String> parts = new ConcurrentHashMap<>();
+        final Map<Integer, AtomicInteger> attempts = new ConcurrentHashMap<>();
+        final Map<Integer, AtomicInteger> failuresBeforeSuccess = new ConcurrentHashMap<>();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        Duration partDelay = Duration.ZERO;
+        volatile List<UploadedPart> committed;
+        volatile boolean aborted;
+
+        @Override
+        public Mono<String> initiateMultipartUpload(UUID contentId, String mimeType) {
+            return Mono.just("upload-1");
+        }
+
+        @Override
+        public Mono<String> uploadPart(UUID contentId, String uploadId, int partNumber, Flux<DataBuffer> content, long length) {
+            attempts.computeIfAbsent(partNumber, number -> new AtomicInteger()).incrementAndGet();
+            AtomicInteger failures = failuresBeforeSuccess.get(partNumber);
+            if (failures != null && failures.getAndDecrement() > 0) {
+                return Mono.error(new RuntimeException("part " + partNumber + " failed"));
+            }
+            return DataBufferUtils.join(content)
+                    .map(buffer -> buffer.toString(StandardCharsets.UTF_8))
+                    .defaultIfEmpty("")
+                    .doOnSubscribe(subscription -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                    .delayElement(partDelay)
+                    .doFinally(signal -> inFlight.decrementAndGet())
+                    .map(text -> {
+                        parts.put(partNumber, text);
+                        return "etag-" + partNumber;
+                    });
+        }
+
+        @Override
+        public Mono<String> completeMultipartUpload(UUID contentId, String uploadId, List<UploadedPart> parts) {
+            committed = parts;
+            return Mono.just("stored/" + contentId);
+        }
+
+        @Override
+        public Mono<Void> abortMultipartUpload(UUID contentId, String uploadId) {
+            aborted = true;
+            return Mono.empty();
+        }
+
+        String assembled() {
+            return committed.stream()
+                    .map(part -> parts.get(part.getPartNumber()))
+                    .collect(Collectors.joining());
+        }
+    }
+}
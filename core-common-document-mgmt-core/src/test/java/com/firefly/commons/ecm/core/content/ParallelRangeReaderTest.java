@@ -0,0 +1,131 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelRangeReaderTest {
+
+    private static final String CONTENT = "hello parallel world";
+
+    private EcmContentProperties properties;
+    private ParallelRangeReader reader;
+    private final UUID contentId = UUID.fromString("11111111-2222-3333-4444-555555555555");
+
+    @BeforeEach
+    void setUp() {
+        properties = new EcmContentProperties();
+        properties.getRangedDownload().setThreshold(8L);
+        properties.getRangedDownload().setRangeSize(6L);
+        properties.getRangedDownload().setMaxConcurrentRanges(3);
+        properties.getRangedDownload().setRetryBackoff(Duration.ZERO);
+        reader = new ParallelRangeReader(properties);
+    }
+
+    @Test
+    void read_RangesCompletingOutOfOrder_AreEmittedInOrder() {
+        List<Long> completed = new CopyOnWriteArrayList<>();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        // Earlier ranges take longer, so later ones complete first
+        RangeReadableContentPort port = (id, offset, length) -> slice(offset, length)
+                .delaySubscription(Duration.ofMillis(40 - offset))
+                .doOnSubscribe(subscription -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                .doOnComplete(() -> completed.add(offset))
+                .doFinally(signal -> inFlight.decrementAndGet());
+
+        StepVerifier.create(text(reader.read(port, contentId, 0, CONTENT.length())))
+                .expectNext(CONTENT)
+                .verifyComplete();
+
+        assertThat(completed).containsExactlyInAnyOrder(0L, 6L, 12L, 18L);
+        assertThat(completed.get(0)).isNotZero();
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void read_OffsetWithinContent_ReadsOnlyRequestedBytes() {
+        RangeReadableContentPort port = (id, offset, length) -> slice(offset, length);
+
+        StepVerifier.create(text(reader.read(port, contentId, 6, 8)))
+                .expectNext("parallel")
+                .verifyComplete();
+    }
+
+    @Test
+    void read_FailedRange_IsRetriedOnItsOwn() {
+        AtomicInteger attempts = new AtomicInteger();
+        RangeReadableContentPort port = (id, offset, length) -> offset == 6 && attempts.incrementAndGet() == 1
+                ? slice(offset, 2).concatWith(Flux.error(new RuntimeException("connection reset")))
+                : slice(offset, length);
+
+        StepVerifier.create(text(reader.read(port, contentId, 0, CONTENT.length())))
+                .expectNext(CONTENT)
+                .verifyComplete();
+
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void read_ShortRange_FailsOnceRetriesAreExhausted() {
+        properties.getRangedDownload().setMaxRetries(1);
+        RangeReadableContentPort port = (id, offset, length) -> slice(offset, Math.min(length, 4));
+
+        StepVerifier.create(reader.read(port, contentId, 0, CONTENT.length()))
+                .verifyErrorMatches(error -> error instanceof IllegalStateException
+                        && error.getMessage().contains("returned 4 bytes, expected 6"));
+    }
+
+    @Test
+    void appliesTo_SmallContentOrDisabled_ReadsSingleStream() {
+        assertThat(reader.appliesTo(20)).isTrue();
+        assertThat(reader.appliesTo(6)).isFalse();
+
+        properties.getRangedDownload().setEnabled(false);
+
+        assertThat(reader.appliesTo(20)).isFalse();
+    }
+
+    private Flux<DataBuffer> slice(long offset, long length) {
+        byte[] bytes = CONTENT.substring((int) offset, (int) (offset + length)).getBytes(StandardCharsets.UTF_8);
+        return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(bytes));
+    }
+
+    private Flux<String> text(Flux<DataBuffer> content) {
+        return DataBufferUtils.join(content).map(buffer -> {
+            String value = buffer.toString(StandardCharsets.UTF_8);
+            DataBufferUtils.release(buffer);
+            return value;
+        }).flux();
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.interfaces.enums.StorageTier;
+import com.firefly.commons.ecm.interfaces.enums.StorageType;
+import com.firefly.commons.ecm.models.entities.Document;
+import com.firefly.commons.ecm.models.repositories.ContentBlobRepository;
+import com.firefly.commons.ecm.models.repositories.DocumentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.fireflyframework.ecm.port.document.DocumentContentPort;
+import org.fireflyframework.ecm.service.EcmPortProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.firefly.commons.ecm.core.content.TestBuffers.buffers;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StorageTierMigratorTest {
+
+    private EcmContentProperties properties;
+    private DocumentRepository documentRepository;
+    private LocalFilesystemContentEngine localContentEngine;
+    private ContentUploadPipeline uploadPipeline;
+    private SimpleMeterRegistry meterRegistry;
+    private StorageTierMigrator migrator;
+    private final DocumentContentPort remotePort = mock(DocumentContentPort.class);
+    private final Path localFile = Path.of("content");
+    private final Document document = Document.builder()
+            .id(UUID.fromString("11111111-0000-0000-0000-000000000001"))
+            .storageType(StorageType.LOCAL_FILESYSTEM)
+            .storagePath("local/path")
+            .mimeType("text/plain")
+            .fileSize(11L)
+            .version(3L)
+            .build();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        properties = new EcmContentProperties();
+        properties.getTiering().setEnabled(true);
+        properties.getTiering().setBytesPerSecond(0L);
+        properties.getTiering().setColdStorageType(StorageType.S3);
+        documentRepository = mock(DocumentRepository.class);
+        localContentEngine = mock(LocalFilesystemContentEngine.class);
+        uploadPipeline = mock(ContentUploadPipeline.class);
+        meterRegistry = new SimpleMeterRegistry();
+        EcmPortProvider ecmPortProvider = mock(EcmPortProvider.class);
+        TransactionalOperator transactionalOperator = mock(TransactionalOperator.class);
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(ecmPortProvider.getDocumentContentPort()).thenReturn(Optional.of(remotePort));
+        when(localContentEngine.isLocal(StorageType.LOCAL_FILESYSTEM)).thenReturn(true);
+        when(localContentEngine.resolvePort(eq(StorageType.S3), any())).thenReturn(Optional.of(remotePort));
+        when(localContentEngine.locate(document.getId())).thenReturn(Mono.just(localFile));
+        when(localContentEngine.read(eq(localFile), anyLong(), anyLong())).thenReturn(buffers("hello", " world"));
+        when(localContentEngine.delete(document.getId())).thenReturn(Mono.just(true));
+        when(remotePort.deleteContent(document.getId())).thenReturn(Mono.empty());
+        when(uploadPipeline.store(eq(remotePort), eq(document.getId()), any(), eq("text/plain"), eq(11L)))
+                .thenAnswer(invocation -> ((Flux<DataBuffer>) invocation.getArgument(2)).then(Mono.just("remote/path")));
+        when(documentRepository.findWarmedUp(any(), any(), anyDouble(), anyDouble(), anyInt())).thenReturn(Flux.empty());
+        when(documentRepository.findCooledDown(any(), any(), anyDouble(), anyDouble(), anyInt()))
+                .thenReturn(Flux.just(document));
+
+        migrator = new StorageTierMigrator(properties, documentRepository, mock(ContentBlobRepository.class), ecmPortProvider,
+                localContentEngine, uploadPipeline, transactionalOperator, Optional.of(meterRegistry));
+    }
+
+    @Test
+    void migrate_ColdLocalContent_IsCopiedToColdStorageAndRemovedLocally() {
+        when(documentRepository.updateStorage(document.getId(), 3L, StorageType.S3, "remote/path", StorageTier.COLD))
+                .thenReturn(Mono.just(1));
+
+        StepVerifier.create(migrator.migrate())
+                .expectNext(1L)
+                .verifyComplete();
+
+        verify(localContentEngine).delete(document.getId());
+        verify(remotePort, never()).deleteContent(any());
+        assertThat(meterRegistry.get("ecm.content.tiering.moves").tag("tier", "cold").tag("result", "moved").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void migrate_DocumentChangedDuringMove_DiscardsCopy() {
+        when(documentRepository.updateStorage(any(), any(), any(), any(), any())).thenReturn(Mono.just(0));
+
+        StepVerifier.create(migrator.migrate())
+                .expectNext(0L)
+                .verifyComplete();
+
+        verify(remotePort).deleteContent(document.getId());
+        verify(localContentEngine, never()).delete(any());
+        assertThat(meterRegistry.get("ecm.content.tiering.moves").tag("result", "conflict").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void migrate_SamePortWithoutAccessTiers_IsSkipped() {
+        properties.getTiering().setColdStorageType(null);
+        when(localContentEngine.resolvePort(eq(StorageType.LOCAL_FILESYSTEM), any())).thenReturn(Optional.of(mock(DocumentContentPort.class)));
+
+        StepVerifier.create(migrator.migrate())
+                .expectNext(0L)
+                .verifyComplete();
+
+        verify(uploadPipeline, never()).store(any(), any(), any(), any(), any());
+        verify(documentRepository, never()).updateStorage(any(), any(), any(), any(), any());
+        assertThat(meterRegistry.get("ecm.content.tiering.moves").tag("result", "skipped").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static com.firefly.commons.ecm.core.content.TestBuffers.buffers;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingZipWriterTest {
+
+    @TempDir
+    Path directory;
+
+    private EcmContentProperties properties;
+    private StreamingZipWriter writer;
+    private final LocalDateTime modified = LocalDateTime.of(2024, 3, 15, 10, 30, 20);
+
+    @BeforeEach
+    void setUp() {
+        properties = new EcmContentProperties();
+        writer = new StreamingZipWriter(properties);
+    }
+
+    @Test
+    void write_Entries_ProducesReadableArchive() throws IOException {
+        String text = "hello world ".repeat(200);
+        Path archive = writeArchive(Flux.just(
+                entry("reports/summary.txt", "text/plain", text),
+                entry("images/logo.png", "image/png", "not really a png"),
+                entry("empty.txt", "text/plain", "")));
+
+        try (ZipFile zip = new ZipFile(archive.toFile())) {
+            assertThat(Collections.list(zip.entries())).extracting(ZipEntry::getName)
+                    .containsExactly("reports/summary.txt", "images/logo.png", "empty.txt");
+
+            ZipEntry summary = zip.getEntry("reports/summary.txt");
+            assertThat(summary.getMethod()).isEqualTo(ZipEntry.DEFLATED);
+            assertThat(summary.getSize()).isEqualTo(text.length());
+            assertThat(summary.getCompressedSize()).isLessThan(text.length());
+            assertThat(summary.getTimeLocal()).isEqualTo(modified);
+            assertThat(read(zip, summary)).isEqualTo(text);
+
+            ZipEntry logo = zip.getEntry("images/logo.png");
+            assertThat(logo.getMethod()).isEqualTo(ZipEntry.DEFLATED);
+            assertThat(logo.getCompressedSize()).isGreaterThan(logo.getSize());
+            assertThat(read(zip, logo)).isEqualTo("not really a png");
+
+            assertThat(read(zip, zip.getEntry("empty.txt"))).isEmpty();
+        }
+    }
+
+    @Test
+    void write_Entries_AreReadableAsStream() throws IOException {
+        String text = "hello world ".repeat(200);
+        Path archive = writeArchive(Flux.just(
+                entry("reports/summary.txt", "text/plain", text),
+                entry("images/logo.png", "image/png", "not really a png"),
+                ZipEntrySource.of("notes.txt", "text/plain", null, modified, () -> buffers("unknown ", "size")),
+                entry("empty.txt", "text/plain", "")));
+
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(archive), StandardCharsets.UTF_8)) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+
+        assertThat(entries).containsExactly(
+                Map.entry("reports/summary.txt", text),
+                Map.entry("images/logo.png", "not really a png"),
+                Map.entry("notes.txt", "unknown size"),
+                Map.entry("empty.txt", ""));
+    }
+
+    @Test
+    void write_UnknownSizeAndUnicodeName_UsesZip64Entry() throws IOException {
+        Path archive = writeArchive(Flux.just(ZipEntrySource.of("résumé.txt", "text/plain", null, modified,
+                () -> buffers("part one, ", "part two"))));
+
+        try (ZipFile zip = new ZipFile(archive.toFile(), StandardCharsets.UTF_8)) {
+            ZipEntry entry = zip.getEntry("résumé.txt");
+            assertThat(entry).isNotNull();
+            assertThat(read(zip, entry)).isEqualTo("part one, part two");
+        }
+    }
+
+    @Test
+    void write_ContentFails_FailsArchive() {
+        ZipEntrySource broken = ZipEntrySource.of("broken.txt", "text/plain", 5L, modified,
+                () -> buffers("abc").concatWith(Flux.error(new RuntimeException("upstream failed"))));
+
+        StepVerifier.create(writer.write(Flux.just(entry("ok.txt", "text/plain", "ok"), broken))
+                        .doOnNext(DataBufferUtils::release))
+                .thenConsumeWhile(buffer -> true)
+                .verifyErrorMessage("upstream failed");
+    }
+
+    @Test
+    void write_OpensBoundedNumberOfUpcomingEntries() {
+        properties.getExport().setPrefetchEntries(1);
+        List<String> opened = Collections.synchronizedList(new ArrayList<>());
+        Flux<ZipEntrySource> entries = Flux.range(1, 5)
+                .map(i -> ZipEntrySource.of(i + ".txt", "text/plain", 1L, modified, () -> {
+                    opened.add(i + ".txt");
+                    // The first entry never finishes, so nothing beyond the prefetch window is opened
+                    return Flux.<DataBuffer>never();
+                }));
+
+        StepVerifier.create(writer.write(entries).doOnNext(DataBufferUtils::release))
+                .expectNextCount(1)
+                .then(() -> assertThat(opened).containsExactly("1.txt", "2.txt"))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void isStored_MatchesConfiguredTypesAndPrefixes() {
+        assertThat(writer.isStored("image/jpeg")).isTrue();
+        assertThat(writer.isStored("video/mp4")).isTrue();
+        assertThat(writer.isStored("application/zip; charset=binary")).isTrue();
+        assertThat(writer.isStored("text/plain")).isFalse();
+        assertThat(writer.isStored(null)).isFalse();
+    }
+
+    private Path writeArchive(Flux<ZipEntrySource> entries) {
+        Path archive = directory.resolve("export.zip");
+        DataBufferUtils.write(writer.write(entries), archive, StandardOpenOption.CREATE_NEW).block();
+        return archive;
+    }
+
+    private ZipEntrySource entry(String name, String mimeType, String content) {
+        return ZipEntrySource.of(name, mimeType, (long) content.length(), modified, () -> buffers(content));
+    }
+
+    private String read(ZipFile zip, ZipEntry entry) throws IOException {
+        try (InputStream input = zip.getInputStream(entry)) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.content;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Content fixtures shared by the content tests.
+ */
+public final class TestBuffers {
+
+    private TestBuffers() {
+    }
+
+    /**
+     * Content arriving as one buffer per chunk.
+     *
+     * @param chunks The UTF-8 chunks
+     * @return A Flux emitting one buffer per chunk
+     */
+    public static Flux<DataBuffer> buffers(String... chunks) {
+        return Flux.fromArray(chunks)
+                .map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Content arriving in buffers of a fixed size, the last one holding the remainder.
+     *
+     * @param content The content
+     * @param bufferSize The buffer size
+     * @return A Flux emitting the buffers
+     */
+    public static Flux<DataBuffer> buffers(byte[] content, int bufferSize) {
+        return Flux.range(0, (content.length + bufferSize - 1) / bufferSize)
+                .map(index -> {
+                    int offset = index * bufferSize;
+                    return DefaultDataBufferFactory.sharedInstance.wrap(
+                            Arrays.copyOfRange(content, offset, Math.min(offset + bufferSize, content.length)));
+                });
+    }
+}
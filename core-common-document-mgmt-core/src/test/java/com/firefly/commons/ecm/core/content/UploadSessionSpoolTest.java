@@ -0,0 +1,132 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static com.firefly.commons.ecm.core.content.TestBuffers.buffers;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadSessionSpoolTest {
+
+    @TempDir
+    Path directory;
+
+    private EcmContentProperties properties;
+    private UploadSessionSpool spool;
+    private final UUID sessionId = UUID.fromString("11111111-2222-3333-4444-555555555555");
+
+    @BeforeEach
+    void setUp() {
+        properties = new EcmContentProperties();
+        properties.getStaging().setDirectory(directory.toString());
+        properties.getSessions().setMaxConcurrentChunks(1);
+        spool = new UploadSessionSpool(properties, new UploadStagingArea(properties));
+    }
+
+    @Test
+    void write_ChunksOutOfOrder_AssembleContent() {
+        StepVerifier.create(spool.write(sessionId, 6, 5, buffers("wor", "ld")))
+                .expectNext(5L)
+                .verifyComplete();
+        StepVerifier.create(spool.write(sessionId, 0, 6, buffers("hello ")))
+                .expectNext(6L)
+                .verifyComplete();
+
+        StepVerifier.create(joined(spool.read(sessionId)))
+                .expectNext("hello world")
+                .verifyComplete();
+        assertThat(spool.hasActiveWrites(sessionId)).isFalse();
+    }
+
+    @Test
+    void write_ChunkLongerThanAllowed_IsRejected() {
+        StepVerifier.create(spool.write(sessionId, 0, 4, buffers("hel", "lo")))
+                .verifyError(IllegalArgumentException.class);
+
+        assertThat(spool.hasActiveWrites(sessionId)).isFalse();
+    }
+
+    @Test
+    void write_TooManyConcurrentChunks_IsRejected() {
+        Disposable inProgress = spool.write(sessionId, 0, 5, Flux.never()).subscribe();
+        assertThat(spool.hasActiveWrites(sessionId)).isTrue();
+
+        StepVerifier.create(spool.write(sessionId, 5, 5, buffers("world")))
+                .verifyError(IllegalStateException.class);
+
+        inProgress.dispose();
+        assertThat(spool.hasActiveWrites(sessionId)).isFalse();
+    }
+
+    @Test
+    void size_ReachesEndOfLastChunk() {
+        StepVerifier.create(spool.size(sessionId))
+                .expectNext(0L)
+                .verifyComplete();
+
+        spool.write(sessionId, 6, 5, buffers("world")).block();
+
+        StepVerifier.create(spool.size(sessionId))
+                .expectNext(11L)
+                .verifyComplete();
+    }
+
+    @Test
+    void nodeId_DefaultsToHostNameUnlessConfigured() {
+        assertThat(spool.nodeId()).isNotBlank();
+
+        properties.getSessions().setNodeId("node-1");
+
+        assertThat(new UploadSessionSpool(properties, new UploadStagingArea(properties)).nodeId()).isEqualTo("node-1");
+    }
+
+    @Test
+    void deleteStaleFiles_RemovesOnlyOldFiles() throws Exception {
+        UUID otherSession = UUID.randomUUID();
+        spool.write(sessionId, 0, 5, buffers("hello")).block();
+        spool.write(otherSession, 0, 5, buffers("hello")).block();
+        Files.setLastModifiedTime(spool.spoolFile(sessionId), FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+
+        assertThat(spool.deleteStaleFiles(Duration.ofHours(1))).isEqualTo(1);
+
+        assertThat(spool.spoolFile(sessionId)).doesNotExist();
+        assertThat(spool.spoolFile(otherSession)).exists();
+    }
+
+    private Mono<String> joined(Flux<DataBuffer> content) {
+        return DataBufferUtils.join(content).map(buffer -> buffer.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.content;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.firefly.commons.ecm.core.content.TestBuffers.buffers;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadStagingAreaTest {
+
+    @TempDir
+    Path directory;
+
+    private EcmContentProperties properties;
+    private UploadStagingArea stagingArea;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EcmContentProperties();
+        properties.getStaging().setDirectory(directory.toString());
+        properties.getStaging().setMemoryThreshold(8L);
+        stagingArea = new UploadStagingArea(properties);
+    }
+
+    @Test
+    void stage_SmallContent_StaysInMemory() {
+        StepVerifier.create(stagingArea.stage(buffers("abc", "de")))
+                .assertNext(staged -> {
+                    assertThat(staged.isInMemory()).isTrue();
+                    assertThat(staged.size()).isEqualTo(5);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void stage_LargeContent_IsSpooledAndReadBack() {
+        StagedContent staged = stagingArea.stage(buffers("hello", " spooled", " world")).block();
+
+        assertThat(staged).isNotNull();
+        assertThat(staged.isInMemory()).isFalse();
+        assertThat(staged.size()).isEqualTo(19);
+        assertThat(stagingArea.getDiskUsage()).isEqualTo(19);
+
+        StepVerifier.create(staged.toByteArray())
+                .assertNext(bytes -> assertThat(new String(bytes, StandardCharsets.UTF_8)).isEqualTo("hello spooled world"))
+                .verifyComplete();
+        StepVerifier.create(DataBufferUtils.join(staged.content()).map(buffer -> buffer.toString(StandardCharsets.UTF_8)))
+                .expectNext("hello spooled world")
+                .verifyComplete();
+
+        StepVerifier.create(staged.release()).verifyComplete();
+        assertThat(Files.exists(staged.file())).isFalse();
+        assertThat(stagingArea.getDiskUsage()).isZero();
+    }
+
+    @Test
+    void stage_QuotaExceeded_FailsAndRemovesSpoolFile() {
+        properties.getStaging().setMaxDiskUsage(10L);
+
+        StepVerifier.create(stagingArea.stage(buffers("hello", " spooled", " world")))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertThat(directory.toFile().listFiles()).isEmpty();
+        assertThat(stagingArea.getDiskUsage()).isZero();
+    }
+
+    @Test
+    void cleanupOrphanedSpoolFiles_RemovesOnlyExpiredFiles() throws Exception {
+        properties.getStaging().setOrphanTtl(Duration.ofMinutes(30));
+        Path orphan = Files.writeString(directory.resolve("upload-orphan.spool"), "stale");
+        Files.setLastModifiedTime(orphan, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        Path fresh = Files.writeString(directory.resolve("upload-fresh.spool"), "fresh");
+
+        stagingArea.cleanupOrphanedSpoolFiles();
+
+        assertThat(Files.exists(orphan)).isFalse();
+        assertThat(Files.exists(fresh)).isTrue();
+    }
+
+    @Test
+    void cleanupOrphanedSpoolFiles_KeepsFilesHeldByUploads() throws Exception {
+        properties.getStaging().setOrphanTtl(Duration.ofMinutes(30));
+        StagedContent staged = stagingArea.stage(buffers("hello", " spooled", " world")).block();
+        assertThat(staged).isNotNull();
+        Files.setLastModifiedTime(staged.file(), FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+
+        stagingArea.cleanupOrphanedSpoolFiles();
+
+        assertThat(Files.exists(staged.file())).isTrue();
+        assertThat(stagingArea.getDiskUsage()).isEqualTo(19);
+        StepVerifier.create(staged.release()).verifyComplete();
+        assertThat(stagingArea.getDiskUsage()).isZero();
+    }
+
+    @Test
+    void materialize_MoreUploadsThanPermits_WaitWithoutHoldingThreads() {
+        properties.getStaging().setMaxConcurrentMaterializations(2);
+        stagingArea = new UploadStagingArea(properties);
+        StagedContent staged = stagingArea.stage(buffers("hello", " spooled", " world")).block();
+        assertThat(staged).isNotNull();
+        // More waiters than bounded elastic threads, which blocking waiters would all occupy
+        int uploads = Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE + 20;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        StepVerifier.create(Flux.range(0, uploads)
+                        .flatMap(i -> stagingArea.materialize(staged, bytes -> {
+                            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                            return Mono.delay(Duration.ofMillis(1))
+                                    .doFinally(signal -> running.decrementAndGet())
+                                    .thenReturn(bytes.length);
+                        }), uploads))
+                .expectNextCount(uploads)
+                .expectComplete()
+                .verify(Duration.ofSeconds(30));
+
+        assertThat(maxRunning.get()).isEqualTo(2);
+        StepVerifier.create(staged.release()).verifyComplete();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.query;
+
+import com.firefly.commons.ecm.models.entities.DocumentMetadata;
+import com.firefly.commons.ecm.models.entities.DocumentTag;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mapping.callback.ReactiveEntityCallbacks;
+import org.springframework.data.r2dbc.core.DefaultReactiveDataAccessStrategy;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.mapping.event.BeforeConvertCallback;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.FetchSpec;
+import org.springframework.r2dbc.core.Parameter;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class EntityBatchInserterTest {
+
+    private R2dbcEntityTemplate entityTemplate;
+    private DatabaseClient databaseClient;
+    private DatabaseClient.GenericExecuteSpec executeSpec;
+    private ReactiveEntityCallbacks entityCallbacks;
+    private EntityBatchInserter inserter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        DefaultReactiveDataAccessStrategy dataAccessStrategy = new DefaultReactiveDataAccessStrategy(PostgresDialect.INSTANCE);
+        entityTemplate = mock(R2dbcEntityTemplate.class);
+        databaseClient = mock(DatabaseClient.class);
+        entityCallbacks = mock(ReactiveEntityCallbacks.class);
+        executeSpec = mock(DatabaseClient.GenericExecuteSpec.class);
+        FetchSpec<Map<String, Object>> fetchSpec = mock(FetchSpec.class);
+        when(entityTemplate.getDataAccessStrategy()).thenReturn(dataAccessStrategy);
+        when(entityTemplate.getConverter()).thenReturn(dataAccessStrategy.getConverter());
+        when(entityTemplate.getDatabaseClient()).thenReturn(databaseClient);
+        when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+        when(executeSpec.bindValues(anyMap())).thenReturn(executeSpec);
+        when(executeSpec.fetch()).thenReturn(fetchSpec);
+        when(fetchSpec.rowsUpdated()).thenReturn(Mono.just(2L));
+        when(entityCallbacks.callback(eq(BeforeConvertCallback.class), any(), any()))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(1)));
+        inserter = new EntityBatchInserter(entityTemplate, entityCallbacks);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void insertAll_WritesEveryEntityInOneStatement() {
+        UUID documentId = UUID.randomUUID();
+        List<DocumentTag> tags = List.of(
+                DocumentTag.builder().documentId(documentId).tagId(UUID.randomUUID()).tenantId("acme").build(),
+                DocumentTag.builder().documentId(documentId).tagId(UUID.randomUUID()).tenantId("acme").build());
+
+        StepVerifier.create(inserter.insertAll(DocumentTag.class, tags))
+                .assertNext(inserted -> assertThat(inserted).hasSize(2)
+                        .allSatisfy(tag -> assertThat(tag.getId()).isNotNull())
+                        .extracting(DocumentTag::getId).doesNotHaveDuplicates())
+                .verifyComplete();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(databaseClient, times(1)).sql(sql.capture());
+        assertThat(sql.getValue())
+                .startsWith("INSERT INTO document_tags (")
+                .contains("document_id", "tag_id", ") VALUES (:p0, ")
+                .endsWith(":p11)");
+
+        ArgumentCaptor<Map<String, Parameter>> bindings = ArgumentCaptor.forClass(Map.class);
+        verify(executeSpec, times(1)).bindValues(bindings.capture());
+        assertThat(bindings.getValue()).hasSize(12)
+                .containsValue(Parameter.from(tags.get(0).getId()))
+                .containsValue(Parameter.from(tags.get(1).getTagId()));
+        verify(entityCallbacks, times(2)).callback(eq(BeforeConvertCallback.class), any(), any());
+    }
+
+    @Test
+    void insertAll_NewVersionedEntity_StartsAtVersionZero() {
+        DocumentMetadata metadata = DocumentMetadata.builder().documentId(UUID.randomUUID()).key("customer").value("42").build();
+
+        StepVerifier.create(inserter.insertAll(DocumentMetadata.class, List.of(metadata)))
+                .assertNext(inserted -> assertThat(inserted).singleElement().satisfies(entry -> {
+                    assertThat(entry.getId()).isNotNull();
+                    assertThat(entry.getVersion()).isZero();
+                }))
+                .verifyComplete();
+    }
+
+    @Test
+    void insertAll_NoEntities_RunsNoStatement() {
+        StepVerifier.create(inserter.insertAll(DocumentTag.class, List.of()))
+                .assertNext(inserted -> assertThat(inserted).isEmpty())
+                .verifyComplete();
+
+        verifyNoInteractions(databaseClient);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.query;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentQueryDTO;
+import com.firefly.commons.ecm.models.entities.Document;
+import io.r2dbc.spi.Statement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.DefaultReactiveDataAccessStrategy;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EntityStreamerTest {
+
+    private R2dbcEntityTemplate entityTemplate;
+    private DatabaseClient databaseClient;
+    private DatabaseClient.GenericExecuteSpec executeSpec;
+    private EcmContentProperties properties;
+    private EntityStreamer streamer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        entityTemplate = mock(R2dbcEntityTemplate.class);
+        databaseClient = mock(DatabaseClient.class);
+        executeSpec = mock(DatabaseClient.GenericExecuteSpec.class);
+        RowsFetchSpec<Document> rows = mock(RowsFetchSpec.class);
+        when(entityTemplate.getDataAccessStrategy()).thenReturn(new DefaultReactiveDataAccessStrategy(PostgresDialect.INSTANCE));
+        when(entityTemplate.getDatabaseClient()).thenReturn(databaseClient);
+        when(databaseClient.sql(any(Supplier.class))).thenReturn(executeSpec);
+        when(executeSpec.filter(any(Function.class))).thenReturn(executeSpec);
+        doReturn(rows).when(executeSpec).map(any(BiFunction.class));
+        when(rows.all()).thenReturn(Flux.just(Document.builder().id(UUID.randomUUID()).build()));
+        properties = new EcmContentProperties();
+        streamer = new EntityStreamer(entityTemplate, properties);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stream_RunsOneOrderedStatementWithFetchSize() {
+        properties.getPaging().setStreamFetchSize(250);
+
+        StepVerifier.create(streamer.stream(Document.class,
+                        DocumentCriteria.of(DocumentQueryDTO.builder().tenantId("acme").build()), Sort.by("createdAt", "id")))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        ArgumentCaptor<Supplier<String>> sql = ArgumentCaptor.forClass(Supplier.class);
+        verify(databaseClient).sql(sql.capture());
+        assertThat(sql.getValue().get())
+                .contains("FROM documents", "documents.tenant_id = $1", "ORDER BY documents.created_at ASC, documents.id ASC");
+
+        ArgumentCaptor<Function<Statement, Statement>> filter = ArgumentCaptor.forClass(Function.class);
+        verify(executeSpec).filter(filter.capture());
+        Statement statement = mock(Statement.class);
+        filter.getValue().apply(statement);
+        verify(statement).fetchSize(250);
+    }
+
+    @Test
+    void stream_NotSubscribed_RunsNoStatement() {
+        streamer.stream(Document.class, DocumentCriteria.of(null), Sort.by("id"));
+
+        verify(entityTemplate, never()).getDatabaseClient();
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.query;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.interfaces.dtos.CursorPageDTO;
+import com.firefly.commons.ecm.interfaces.dtos.CursorRequestDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentQueryDTO;
+import com.firefly.commons.ecm.models.entities.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class KeysetPaginatorTest {
+
+    private R2dbcEntityTemplate entityTemplate;
+    private EcmContentProperties properties;
+    private KeysetPaginator paginator;
+
+    @BeforeEach
+    void setUp() {
+        entityTemplate = mock(R2dbcEntityTemplate.class);
+        when(entityTemplate.getConverter()).thenReturn(new MappingR2dbcConverter(new R2dbcMappingContext()));
+        properties = new EcmContentProperties();
+        paginator = new KeysetPaginator(entityTemplate, properties);
+    }
+
+    @Test
+    void page_MoreRowsThanSize_ReturnsPageWithCursorOfLastRow() {
+        Document first = document(1);
+        Document second = document(2);
+        when(entityTemplate.select(any(Query.class), eq(Document.class)))
+                .thenReturn(Flux.just(first, second, document(3)));
+
+        CursorPageDTO<UUID> page = paginator.page(Document.class, DocumentCriteria.of(null),
+                new CursorRequestDTO(null, 2, "createdAt", false), Document::getId).block();
+
+        assertThat(page.getContent()).containsExactly(first.getId(), second.getId());
+        assertThat(page.getSize()).isEqualTo(2);
+        assertThat(page.getTotalElements()).isNull();
+        PageCursor cursor = PageCursor.decode(page.getNextCursor());
+        assertThat(cursor.getSort()).isEqualTo("createdAt");
+        assertThat(cursor.getValue()).isEqualTo(second.getCreatedAt().toString());
+        assertThat(cursor.getId()).isEqualTo(second.getId());
+
+        Query query = capturedQuery();
+        assertThat(query.getLimit()).isEqualTo(3);
+        assertThat(query.getSort()).isEqualTo(Sort.by(Sort.Direction.ASC, "createdAt", "id"));
+        verify(entityTemplate, never()).count(any(Query.class), any());
+    }
+
+    @Test
+    void page_LastPage_HasNoCursor() {
+        when(entityTemplate.select(any(Query.class), eq(Document.class))).thenReturn(Flux.just(document(1)));
+
+        StepVerifier.create(paginator.page(Document.class, DocumentCriteria.of(null),
+                        new CursorRequestDTO(null, 2, "createdAt", false), Function.identity()))
+                .assertNext(page -> {
+                    assertThat(page.getContent()).hasSize(1);
+                    assertThat(page.getNextCursor()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void page_WithCursorDescending_SeeksPastCursorWithinFilter() {
+        when(entityTemplate.select(any(Query.class), eq(Document.class))).thenReturn(Flux.empty());
+        String cursor = PageCursor.of("-createdAt", LocalDateTime.of(2025, 1, 2, 3, 4, 5).toString(), UUID.randomUUID()).encode();
+
+        paginator.page(Document.class, DocumentCriteria.of(DocumentQueryDTO.builder().tenantId("acme").build()),
+                new CursorRequestDTO(cursor, 10, "-createdAt", false), Function.identity()).block();
+
+        Query query = capturedQuery();
+        String criteria = query.getCriteria().orElseThrow().toString();
+        assertThat(criteria).contains("tenantId = 'acme'", "createdAt IS NOT NULL",
+                "createdAt <= '2025-01-02T03:04:05'", "createdAt < '2025-01-02T03:04:05'", "id <");
+        assertThat(query.getSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+    }
+
+    @Test
+    void page_IncludeTotal_CountsFilteredRows() {
+        when(entityTemplate.select(any(Query.class), eq(Document.class))).thenReturn(Flux.just(document(1)));
+        when(entityTemplate.count(any(Query.class), eq(Document.class))).thenReturn(Mono.just(42L));
+
+        StepVerifier.create(paginator.page(Document.class, DocumentCriteria.of(null),
+                        new CursorRequestDTO(null, null, null, true), Function.identity()))
+                .assertNext(page -> {
+                    assertThat(page.getTotalElements()).isEqualTo(42L);
+                    assertThat(page.getSize()).isEqualTo(20);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void page_SizeAboveMaximum_IsCapped() {
+        properties.getPaging().setMaxPageSize(50);
+        when(entityTemplate.select(any(Query.class), eq(Document.class))).thenReturn(Flux.empty());
+
+        paginator.page(Document.class, DocumentCriteria.of(null),
+                new CursorRequestDTO(null, 5000, "name", false), Function.identity()).block();
+
+        assertThat(capturedQuery().getLimit()).isEqualTo(51);
+    }
+
+    @Test
+    void page_CursorOfAnotherSort_IsRejected() {
+        String cursor = PageCursor.of("name", "report", UUID.randomUUID()).encode();
+
+        StepVerifier.create(paginator.page(Document.class, DocumentCriteria.of(null),
+                        new CursorRequestDTO(cursor, 10, "createdAt", false), Function.identity()))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        verify(entityTemplate, never()).select(any(Query.class), any());
+    }
+
+    @Test
+    void page_UnsortableOrUnknownProperty_IsRejected() {
+        StepVerifier.create(paginator.page(Document.class, DocumentCriteria.of(null),
+                        new CursorRequestDTO(null, 10, "documentType", false), Function.identity()))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(paginator.page(Document.class, DocumentCriteria.of(null),
+                        new CursorRequestDTO(null, 10, "unknown", false), Function.identity()))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    void cursor_RoundTripsValuesWithLineBreaks() {
+        UUID id = UUID.randomUUID();
+
+        PageCursor cursor = PageCursor.decode(PageCursor.of("name", "first\nsecond", id).encode());
+
+        assertThat(cursor).isEqualTo(PageCursor.of("name", "first\nsecond", id));
+        assertThatThrownBy(() -> PageCursor.decode("not a cursor"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    private Query capturedQuery() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(entityTemplate).select(query.capture(), eq(Document.class));
+        return query.getValue();
+    }
+
+    private Document document(int day) {
+        return Document.builder()
+                .id(UUID.randomUUID())
+                .name("document-" + day)
+                .createdAt(LocalDateTime.of(2025, 1, day, 12, 0))
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.search;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentFacetsDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentQueryDTO;
+import com.firefly.commons.ecm.interfaces.dtos.FacetValueDTO;
+import com.firefly.commons.ecm.interfaces.enums.DocumentFacet;
+import com.firefly.commons.ecm.interfaces.enums.DocumentType;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class DocumentFacetCounterTest {
+
+    private DatabaseClient databaseClient;
+    private EcmContentProperties properties;
+    private DocumentFacetCounter counter;
+    private List<Row> rows;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        R2dbcEntityTemplate entityTemplate = mock(R2dbcEntityTemplate.class);
+        databaseClient = mock(DatabaseClient.class);
+        DatabaseClient.GenericExecuteSpec executeSpec = mock(DatabaseClient.GenericExecuteSpec.class);
+        when(entityTemplate.getDatabaseClient()).thenReturn(databaseClient);
+        when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+        when(executeSpec.bind(anyString(), any())).thenReturn(executeSpec);
+        when(executeSpec.map(any(BiFunction.class))).thenAnswer(invocation -> {
+            BiFunction<Row, RowMetadata, Object> mapper = invocation.getArgument(0);
+            RowsFetchSpec<Object> spec = mock(RowsFetchSpec.class);
+            when(spec.all()).thenAnswer(all -> Flux.fromIterable(rows).map(row -> mapper.apply(row, null)));
+            return spec;
+        });
+        rows = List.of(
+                row(null, null, 5L),
+                row("DOCUMENT_TYPE", "INVOICE", 3L),
+                row("DOCUMENT_TYPE", "CONTRACT", 2L),
+                row("TAG", "7c9e6679-7425-40de-944b-e07fc1f90ae7", 4L),
+                row("TAG", null, 1L));
+        properties = new EcmContentProperties();
+        counter = new DocumentFacetCounter(entityTemplate, properties);
+    }
+
+    @Test
+    void count_GroupsFacetsByValueMostFrequentFirst() {
+        StepVerifier.create(counter.count(tenant("acme"), "invoice", EnumSet.of(DocumentFacet.DOCUMENT_TYPE, DocumentFacet.TAG)))
+                .assertNext(facets -> {
+                    assertThat(facets.getTotalDocuments()).isEqualTo(5L);
+                    assertThat(facets.getFacets().get(DocumentFacet.DOCUMENT_TYPE))
+                            .extracting(FacetValueDTO::getValue)
+                            .containsExactly("INVOICE", "CONTRACT");
+                    assertThat(facets.getFacets().get(DocumentFacet.TAG))
+                            .extracting(FacetValueDTO::getCount)
+                            .containsExactly(4L, 1L);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void count_UnfilteredCountsOfTenant_AreCached() {
+        DocumentFacetsDTO first = counter.count(tenant("acme"), null, null).block();
+        DocumentFacetsDTO second = counter.count(tenant("acme"), " ", Set.of()).block();
+        counter.count(tenant("other"), null, null).block();
+
+        assertThat(second).isSameAs(first);
+        verify(databaseClient, times(2)).sql(anyString());
+    }
+
+    @Test
+    void count_FilteredOrQueried_IsNotCached() {
+        DocumentQueryDTO filtered = DocumentQueryDTO.builder().tenantId("acme").documentType(DocumentType.INVOICE).build();
+
+        counter.count(filtered, null, null).block();
+        counter.count(filtered, null, null).block();
+        counter.count(tenant("acme"), "invoice", null).block();
+
+        verify(databaseClient, times(3)).sql(anyString());
+    }
+
+    @Test
+    void buildQuery_CountsRequestedFacetsInOneGroupingSetsQuery() {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        DocumentQueryDTO filter = DocumentQueryDTO.builder().tenantId("acme").documentType(DocumentType.INVOICE).build();
+
+        String sql = DocumentFacetCounter.buildQuery(filter, "invoice",
+                EnumSet.of(DocumentFacet.DOCUMENT_STATUS, DocumentFacet.FOLDER), bindings);
+
+        assertThat(sql)
+                .contains("GROUP BY GROUPING SETS ((d.document_status), (d.folder_id), ())")
+                .contains("d.document_type = CAST(:documentType AS document_type)")
+                .contains("websearch_to_tsquery('simple', :query)")
+                .contains("COUNT(*)")
+                .doesNotContain("document_tags");
+        assertThat(bindings).containsEntry("tenantId", "acme").containsEntry("documentType", "INVOICE");
+
+        assertThat(DocumentFacetCounter.buildQuery(filter, null, EnumSet.of(DocumentFacet.TAG), new LinkedHashMap<>()))
+                .contains("LEFT JOIN document_tags dt ON dt.document_id = d.id", "COUNT(DISTINCT d.id)");
+    }
+
+    private DocumentQueryDTO tenant(String tenantId) {
+        return DocumentQueryDTO.builder().tenantId(tenantId).build();
+    }
+
+    private Row row(String facet, String value, Long count) {
+        Row row = mock(Row.class);
+        when(row.get("facet", String.class)).thenReturn(facet);
+        when(row.get("value", String.class)).thenReturn(value);
+        when(row.get("document_count", Long.class)).thenReturn(count);
+        return row;
+    }
+}
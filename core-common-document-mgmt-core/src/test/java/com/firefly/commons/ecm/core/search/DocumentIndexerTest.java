@@ -0,0 +1,165 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.search;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.core.content.ContentDownloadPipeline;
+import com.firefly.commons.ecm.core.content.LocalFilesystemContentEngine;
+import com.firefly.commons.ecm.models.entities.Document;
+import com.firefly.commons.ecm.models.entities.DocumentMetadata;
+import com.firefly.commons.ecm.models.repositories.DocumentMetadataRepository;
+import com.firefly.commons.ecm.models.repositories.DocumentRepository;
+import org.fireflyframework.ecm.port.document.DocumentContentPort;
+import org.fireflyframework.ecm.service.EcmPortProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.firefly.commons.ecm.core.content.TestBuffers.buffers;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class DocumentIndexerTest {
+
+    private EcmContentProperties properties;
+    private LocalSearchIndex searchIndex;
+    private DocumentRepository documentRepository;
+    private DocumentMetadataRepository metadataRepository;
+    private ContentDownloadPipeline contentDownloadPipeline;
+    private DocumentContentPort port;
+    private DocumentIndexer indexer;
+    private final UUID documentId = UUID.fromString("11111111-2222-3333-4444-555555555555");
+
+    @BeforeEach
+    void setUp() {
+        properties = new EcmContentProperties();
+        properties.getSearch().setDirectory("");
+        searchIndex = new LocalSearchIndex(properties);
+        documentRepository = mock(DocumentRepository.class);
+        metadataRepository = mock(DocumentMetadataRepository.class);
+        contentDownloadPipeline = mock(ContentDownloadPipeline.class);
+        port = mock(DocumentContentPort.class);
+        EcmPortProvider ecmPortProvider = mock(EcmPortProvider.class);
+        when(ecmPortProvider.getDocumentContentPort()).thenReturn(Optional.of(port));
+        LocalFilesystemContentEngine localContentEngine = mock(LocalFilesystemContentEngine.class);
+        when(localContentEngine.resolvePort(any(), any())).thenReturn(Optional.of(port));
+        when(metadataRepository.findByDocumentId(any())).thenReturn(Flux.empty());
+        indexer = new DocumentIndexer(properties, searchIndex, documentRepository, metadataRepository,
+                ecmPortProvider, localContentEngine, contentDownloadPipeline);
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchIndex.close();
+    }
+
+    @Test
+    void index_TextContent_IndexesSearchableMetadataAndExtractedText() {
+        when(metadataRepository.findByDocumentId(documentId)).thenReturn(Flux.just(
+                DocumentMetadata.builder().documentId(documentId).key("customer").value("ACME").isSearchable(true).build(),
+                DocumentMetadata.builder().documentId(documentId).key("internal").value("confidential").isSearchable(false).build()));
+        when(contentDownloadPipeline.read(eq(port), any())).thenReturn(buffers("Delivery note, ", "signed on arrival"));
+
+        indexer.index(textDocument(documentId)).block();
+        searchIndex.refresh();
+
+        assertThat(hitCount("acme")).isEqualTo(1);
+        assertThat(hitCount("arrival")).isEqualTo(1);
+        assertThat(hitCount("confidential")).isZero();
+    }
+
+    @Test
+    void index_ContentBeyondMaxExtractedSize_IsNotSearchable() {
+        properties.getSearch().setMaxExtractedSize(13L);
+        when(contentDownloadPipeline.read(eq(port), any())).thenReturn(buffers("Delivery note", " signed on arrival"));
+
+        indexer.index(textDocument(documentId)).block();
+        searchIndex.refresh();
+
+        assertThat(hitCount("delivery")).isEqualTo(1);
+        assertThat(hitCount("arrival")).isZero();
+    }
+
+    @Test
+    void index_EncryptedOrBinaryContent_IsNotRead() {
+        Document encrypted = textDocument(documentId);
+        encrypted.setEncryptionKeyId("master-2026");
+        Document binary = textDocument(UUID.randomUUID());
+        binary.setMimeType("application/pdf");
+
+        indexer.index(encrypted).block();
+        indexer.index(binary).block();
+        searchIndex.refresh();
+
+        verify(contentDownloadPipeline, never()).read(any(), any());
+        assertThat(hitCount("note")).isEqualTo(2);
+    }
+
+    @Test
+    void index_ContentReadFails_StillIndexesDocument() {
+        when(contentDownloadPipeline.read(eq(port), any())).thenReturn(Flux.error(new RuntimeException("storage unavailable")));
+
+        StepVerifier.create(indexer.index(textDocument(documentId))).verifyComplete();
+        searchIndex.refresh();
+
+        assertThat(hitCount("note")).isEqualTo(1);
+    }
+
+    @Test
+    void rebuild_WalksDocumentsInBatches() {
+        properties.getSearch().setRebuildBatchSize(2);
+        properties.getSearch().setExtractContent(false);
+        UUID secondId = UUID.fromString("22222222-2222-3333-4444-555555555555");
+        UUID thirdId = UUID.fromString("33333333-2222-3333-4444-555555555555");
+        when(documentRepository.findAfter(eq(new UUID(0, 0)), anyInt()))
+                .thenReturn(Flux.just(textDocument(documentId), textDocument(secondId)));
+        when(documentRepository.findAfter(eq(secondId), anyInt())).thenReturn(Flux.just(textDocument(thirdId)));
+        when(documentRepository.findAfter(eq(thirdId), anyInt())).thenReturn(Flux.empty());
+
+        StepVerifier.create(indexer.rebuild())
+                .expectNext(3L)
+                .verifyComplete();
+
+        assertThat(hitCount("note")).isEqualTo(3);
+        verify(documentRepository).findAfter(new UUID(0, 0), 2);
+    }
+
+    private Document textDocument(UUID id) {
+        return Document.builder()
+                .id(id)
+                .name("Delivery note")
+                .fileName("note.txt")
+                .mimeType("text/plain; charset=UTF-8")
+                .storagePath("documents/" + id)
+                .checksum("abc123")
+                .fileSize(32L)
+                .version(1L)
+                .build();
+    }
+
+    private long hitCount(String query) {
+        return searchIndex.search(null, query, 0, 10).block().getTotalHits();
+    }
+}
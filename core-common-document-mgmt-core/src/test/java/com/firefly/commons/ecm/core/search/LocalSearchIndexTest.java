@@ -0,0 +1,187 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.search;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalSearchIndexTest {
+
+    private EcmContentProperties properties;
+    private LocalSearchIndex index;
+
+    private final UUID invoiceId = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private final UUID reportId = UUID.fromString("22222222-2222-2222-2222-222222222222");
+    private final UUID otherTenantId = UUID.fromString("33333333-3333-3333-3333-333333333333");
+
+    @BeforeEach
+    void setUp() {
+        properties = new EcmContentProperties();
+        // In-memory partitions
+        properties.getSearch().setDirectory("");
+        index = new LocalSearchIndex(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.close();
+    }
+
+    @Test
+    void search_RanksNameMatchesFirstAndHighlightsMatches() {
+        index.index(document(reportId, "tenant-a", "Quarterly report", "Summary of the invoice totals")).block();
+        index.index(document(invoiceId, "tenant-a", "Invoice 2026-001", "Office supplies")).block();
+        index.refresh();
+
+        StepVerifier.create(index.search("tenant-a", "invoice", 0, 10))
+                .assertNext(results -> {
+                    assertThat(results.getTotalHits()).isEqualTo(2);
+                    assertThat(results.getHits()).extracting(SearchHit::getDocumentId).containsExactly(invoiceId, reportId);
+                    assertThat(results.getHits().get(0).getScore()).isGreaterThan(results.getHits().get(1).getScore());
+                    assertThat(results.getHits().get(0).getHighlights().get(LocalSearchIndex.NAME)).contains("<b>Invoice</b>");
+                    assertThat(results.getHits().get(1).getHighlights())
+                            .containsOnlyKeys(LocalSearchIndex.DESCRIPTION)
+                            .hasEntrySatisfying(LocalSearchIndex.DESCRIPTION, passage -> assertThat(passage).contains("<b>invoice</b>"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void search_OnlySeesPartitionOfTenant() {
+        index.index(document(invoiceId, "tenant-a", "Invoice", null)).block();
+        index.index(document(otherTenantId, "tenant-b", "Invoice", null)).block();
+        index.refresh();
+
+        StepVerifier.create(index.search("tenant-b", "invoice", 0, 10))
+                .assertNext(results -> assertThat(results.getHits()).extracting(SearchHit::getDocumentId).containsExactly(otherTenantId))
+                .verifyComplete();
+        StepVerifier.create(index.search("tenant-c", "invoice", 0, 10))
+                .assertNext(results -> assertThat(results.getTotalHits()).isZero())
+                .verifyComplete();
+    }
+
+    @Test
+    void index_ChangesBecomeVisibleOnRefresh() {
+        index.index(document(invoiceId, null, "Invoice", null)).block();
+        index.refresh();
+        index.index(document(invoiceId, null, "Receipt", null)).block();
+        index.remove(null, reportId).block();
+
+        // Searches keep seeing the last refreshed state
+        StepVerifier.create(index.search(null, "invoice", 0, 10))
+                .assertNext(results -> assertThat(results.getTotalHits()).isEqualTo(1))
+                .verifyComplete();
+
+        index.refresh();
+
+        StepVerifier.create(index.search(null, "invoice", 0, 10))
+                .assertNext(results -> assertThat(results.getTotalHits()).isZero())
+                .verifyComplete();
+        StepVerifier.create(index.search(null, "receipt", 0, 10))
+                .assertNext(results -> assertThat(results.getTotalHits()).isEqualTo(1))
+                .verifyComplete();
+
+        index.remove(null, invoiceId).block();
+        index.refresh();
+
+        StepVerifier.create(index.search(null, "receipt", 0, 10))
+                .assertNext(results -> assertThat(results.getTotalHits()).isZero())
+                .verifyComplete();
+    }
+
+    @Test
+    void search_PagesThroughHitsAndSearchesMetadataAndContent() {
+        index.index(SearchableDocument.builder()
+                .id(invoiceId)
+                .name("Scan 1")
+                .metadata(List.of("ACME Corporation"))
+                .build()).block();
+        index.index(SearchableDocument.builder()
+                .id(reportId)
+                .name("Scan 2")
+                .content("Delivery note for ACME, signed on arrival")
+                .build()).block();
+        index.refresh();
+
+        StepVerifier.create(index.search(null, "acme", 1, 1))
+                .assertNext(results -> {
+                    assertThat(results.getTotalHits()).isEqualTo(2);
+                    assertThat(results.getHits()).hasSize(1);
+                })
+                .verifyComplete();
+        StepVerifier.create(index.search(null, "signed", 0, 10))
+                .assertNext(results -> {
+                    assertThat(results.getHits()).extracting(SearchHit::getDocumentId).containsExactly(reportId);
+                    assertThat(results.getHits().get(0).getHighlights().get(LocalSearchIndex.CONTENT)).contains("<b>signed</b>");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void search_UnparsableQuery_IsSearchedAsText() {
+        index.index(document(invoiceId, null, "Invoice (draft)", null)).block();
+        index.refresh();
+
+        StepVerifier.create(index.search(null, "invoice (draft", 0, 10))
+                .assertNext(results -> assertThat(results.getTotalHits()).isEqualTo(1))
+                .verifyComplete();
+    }
+
+    @Test
+    void search_BlankQueryOrBeyondResultWindow_IsRejected() {
+        StepVerifier.create(index.search(null, " ", 0, 10))
+                .verifyError(IllegalArgumentException.class);
+        StepVerifier.create(index.search(null, "invoice", LocalSearchIndex.MAX_RESULT_WINDOW, 10))
+                .verifyError(IllegalArgumentException.class);
+    }
+
+    @Test
+    void close_CommitsPartitionsWhichAreReopenedFromDisk(@TempDir Path directory) {
+        properties.getSearch().setDirectory(directory.toString());
+        LocalSearchIndex onDisk = new LocalSearchIndex(properties);
+        onDisk.index(document(invoiceId, "tenant-a", "Invoice", null)).block();
+        onDisk.close();
+
+        LocalSearchIndex reopened = new LocalSearchIndex(properties);
+        try {
+            StepVerifier.create(reopened.search("tenant-a", "invoice", 0, 10))
+                    .assertNext(results -> assertThat(results.getHits()).extracting(SearchHit::getDocumentId).containsExactly(invoiceId))
+                    .verifyComplete();
+        } finally {
+            reopened.close();
+        }
+    }
+
+    private SearchableDocument document(UUID id, String tenantId, String name, String description) {
+        return SearchableDocument.builder()
+                .id(id)
+                .tenantId(tenantId)
+                .name(name)
+                .description(description)
+                .build();
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.core.mappers.DocumentMapper;
+import com.firefly.commons.ecm.core.mappers.DocumentMetadataMapper;
+import com.firefly.commons.ecm.core.query.EntityBatchInserter;
+import com.firefly.commons.ecm.core.services.DocumentService;
+import com.firefly.commons.ecm.interfaces.dtos.BulkIngestResultDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentMetadataDTO;
+import com.firefly.commons.ecm.interfaces.enums.BulkIngestStatus;
+import com.firefly.commons.ecm.models.entities.Document;
+import com.firefly.commons.ecm.models.entities.DocumentMetadata;
+import com.firefly.commons.ecm.models.entities.DocumentTag;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.http.codec.multipart.FormFieldPart;
+import org.springframework.http.codec.multipart.Part;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkIngestServiceImplTest {
+
+    @Mock
+    private EntityBatchInserter batchInserter;
+
+    @Mock
+    private DocumentMapper documentMapper;
+
+    @Mock
+    private DocumentMetadataMapper metadataMapper;
+
+    @Mock
+    private DocumentService documentService;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Spy
+    private EcmContentProperties contentProperties = new EcmContentProperties();
+
+    @InjectMocks
+    private BulkIngestServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(documentMapper.toEntity(any(DocumentDTO.class))).thenAnswer(invocation -> {
+            DocumentDTO dto = invocation.getArgument(0);
+            return Document.builder().name(dto.getName()).tenantId(dto.getTenantId()).build();
+        });
+        lenient().when(batchInserter.insertAll(eq(Document.class), anyList())).thenAnswer(invocation -> {
+            List<Document> documents = invocation.getArgument(1);
+            documents.forEach(document -> document.setId(UUID.randomUUID()));
+            return Mono.just(documents);
+        });
+        lenient().when(batchInserter.insertAll(eq(DocumentMetadata.class), anyList()))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(1)));
+        lenient().when(batchInserter.insertAll(eq(DocumentTag.class), anyList()))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(1)));
+    }
+
+    @Test
+    void ingest_FilesWithManifests_CreatesDocumentsAndAttachesMetadataAndTags() {
+        UUID tagId = UUID.randomUUID();
+        when(metadataMapper.toEntity(any(DocumentMetadataDTO.class))).thenAnswer(invocation -> {
+            DocumentMetadataDTO dto = invocation.getArgument(0);
+            return DocumentMetadata.builder().key(dto.getKey()).value(dto.getValue()).build();
+        });
+        when(documentService.storeContent(any(), any(), any(), any(), any()))
+                .thenReturn(Mono.just(DocumentDTO.builder().fileSize(5L).checksum("abc123").build()));
+
+        Flux<Part> parts = Flux.just(
+                manifest("{\"reference\":\"inv-1\",\"document\":{\"name\":\"Invoice 1\",\"tenantId\":\"acme\"},"
+                        + "\"metadata\":[{\"key\":\"customer\",\"value\":\"42\"}],\"tagIds\":[\"" + tagId + "\"]}"),
+                file("invoice-1.pdf"),
+                file("notes.txt"));
+
+        List<BulkIngestResultDTO> results = ingest(parts);
+
+        assertThat(results).extracting(BulkIngestResultDTO::getStatus)
+                .containsExactly(BulkIngestStatus.CREATED, BulkIngestStatus.CREATED);
+        assertThat(results.get(0).getReference()).isEqualTo("inv-1");
+        assertThat(results.get(0).getChecksum()).isEqualTo("abc123");
+        assertThat(results.get(1).getFileName()).isEqualTo("notes.txt");
+
+        ArgumentCaptor<List<Document>> documents = ArgumentCaptor.forClass(List.class);
+        verify(batchInserter, times(1)).insertAll(eq(Document.class), documents.capture());
+        assertThat(documents.getValue()).extracting(Document::getName).containsExactly("Invoice 1", "notes.txt");
+
+        ArgumentCaptor<List<DocumentMetadata>> metadata = ArgumentCaptor.forClass(List.class);
+        verify(batchInserter).insertAll(eq(DocumentMetadata.class), metadata.capture());
+        assertThat(metadata.getValue()).singleElement().satisfies(entry -> {
+            assertThat(entry.getDocumentId()).isEqualTo(results.get(0).getDocumentId());
+            assertThat(entry.getTenantId()).isEqualTo("acme");
+        });
+        ArgumentCaptor<List<DocumentTag>> tags = ArgumentCaptor.forClass(List.class);
+        verify(batchInserter).insertAll(eq(DocumentTag.class), tags.capture());
+        assertThat(tags.getValue()).singleElement().extracting(DocumentTag::getTagId).isEqualTo(tagId);
+    }
+
+    @Test
+    void ingest_InvalidManifest_FailsOnlyThatFile() {
+        when(documentService.storeContent(any(), any(), eq("good.txt"), any(), any()))
+                .thenReturn(Mono.just(DocumentDTO.builder().fileSize(5L).build()));
+
+        List<BulkIngestResultDTO> results = ingest(Flux.just(manifest("{not json"), file("bad.txt"), file("good.txt")));
+
+        assertThat(results.get(0).getStatus()).isEqualTo(BulkIngestStatus.FAILED);
+        assertThat(results.get(0).getDocumentId()).isNull();
+        assertThat(results.get(0).getError()).startsWith("Invalid manifest");
+        assertThat(results.get(1).getStatus()).isEqualTo(BulkIngestStatus.CREATED);
+    }
+
+    @Test
+    void ingest_ContentFails_ReportsCreatedDocument() {
+        when(documentService.storeContent(any(), any(), any(), any(), any()))
+                .thenReturn(Mono.error(new RuntimeException("storage down")));
+
+        List<BulkIngestResultDTO> results = ingest(Flux.just(file("a.txt")));
+
+        assertThat(results).singleElement().satisfies(result -> {
+            assertThat(result.getStatus()).isEqualTo(BulkIngestStatus.CONTENT_FAILED);
+            assertThat(result.getDocumentId()).isNotNull();
+            assertThat(result.getError()).isEqualTo("storage down");
+        });
+    }
+
+    @Test
+    void ingest_BatchInsertFails_FailsFilesOfThatBatch() {
+        contentProperties.getBulk().setBatchSize(2);
+        doReturn(Mono.error(new RuntimeException("constraint violated")))
+                .doAnswer(invocation -> {
+                    List<Document> documents = invocation.getArgument(1);
+                    documents.forEach(document -> document.setId(UUID.randomUUID()));
+                    return Mono.just(documents);
+                })
+                .when(batchInserter).insertAll(eq(Document.class), anyList());
+        when(documentService.storeContent(any(), any(), any(), any(), any()))
+                .thenReturn(Mono.just(DocumentDTO.builder().fileSize(5L).build()));
+
+        List<BulkIngestResultDTO> results = ingest(Flux.just(file("a.txt"), file("b.txt"), file("c.txt")));
+
+        assertThat(results).extracting(BulkIngestResultDTO::getStatus)
+                .containsExactly(BulkIngestStatus.FAILED, BulkIngestStatus.FAILED, BulkIngestStatus.CREATED);
+        verify(batchInserter, times(2)).insertAll(eq(Document.class), anyList());
+        verify(documentService, times(1)).storeContent(any(), any(), eq("c.txt"), any(), any());
+    }
+
+    private List<BulkIngestResultDTO> ingest(Flux<Part> parts) {
+        List<BulkIngestResultDTO> results = service.ingest(parts).collectList().block();
+        assertThat(results).isNotNull();
+        results.sort(Comparator.comparing(BulkIngestResultDTO::getIndex));
+        return results;
+    }
+
+    private FormFieldPart manifest(String json) {
+        FormFieldPart part = mock(FormFieldPart.class);
+        when(part.name()).thenReturn(BulkIngestServiceImpl.MANIFEST_PART);
+        when(part.value()).thenReturn(json);
+        return part;
+    }
+
+    private FilePart file(String name) {
+        FilePart part = mock(FilePart.class);
+        DataBuffer content = DefaultDataBufferFactory.sharedInstance.wrap("hello".getBytes(StandardCharsets.UTF_8));
+        lenient().when(part.filename()).thenReturn(name);
+        lenient().when(part.content()).thenReturn(Flux.just(content));
+        lenient().when(part.headers()).thenReturn(new HttpHeaders());
+        lenient().when(part.delete()).thenReturn(Mono.empty());
+        return part;
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.core.services.impl;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.core.content.ContentAccessTracker;
+import com.firefly.commons.ecm.core.content.ContentBlobStore;
+import com.firefly.commons.ecm.core.content.ContentDigest;
+import com.firefly.commons.ecm.core.content.ContentDownloadPipeline;
+import com.firefly.commons.ecm.core.content.LocalFilesystemContentEngine;
+import com.firefly.commons.ecm.core.content.PresignableContentPort;
+import com.firefly.commons.ecm.core.content.PresignedRequest;
+import com.firefly.commons.ecm.core.content.StoredContent;
+import com.firefly.commons.ecm.core.mappers.DocumentMapper;
+import com.firefly.commons.ecm.core.search.DocumentIndexer;
+import com.firefly.commons.ecm.core.services.DocumentPermissionService;
+import com.firefly.commons.ecm.interfaces.dtos.DirectUploadRequestDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentDTO;
+import com.firefly.commons.ecm.interfaces.enums.PermissionType;
+import com.firefly.commons.ecm.interfaces.enums.UploadSessionStatus;
+import com.firefly.commons.ecm.models.entities.DirectUpload;
+import com.firefly.commons.ecm.models.entities.Document;
+import com.firefly.commons.ecm.models.repositories.DirectUploadRepository;
+import com.firefly.commons.ecm.models.repositories.DocumentRepository;
+import org.fireflyframework.ecm.port.document.DocumentContentPort;
+import org.fireflyframework.ecm.service.EcmPortProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.firefly.commons.ecm.core.content.TestBuffers.buffers;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DirectTransferServiceImplTest {
+
+    private static final String CHECKSUM = "b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9";
+
+    @Mock
+    private DocumentRepository documentRepository;
+
+    @Mock
+    private DirectUploadRepository uploadRepository;
+
+    @Mock
+    private DocumentMapper mapper;
+
+    @Mock
+    private DocumentPermissionService documentPermissionService;
+
+    @Mock
+    private EcmPortProvider ecmPortProvider;
+
+    @Mock
+    private LocalFilesystemContentEngine localContentEngine;
+
+    @Mock
+    private ContentBlobStore contentBlobStore;
+
+    @Mock
+    private ContentDownloadPipeline contentDownloadPipeline;
+
+    @Mock
+    private ContentAccessTracker contentAccessTracker;
+
+    @Mock
+    private DocumentIndexer documentIndexer;
+
+    @Mock
+    private R2dbcEntityTemplate entityTemplate;
+
+    @Spy
+    private EcmContentProperties contentProperties = new EcmContentProperties();
+
+    @InjectMocks
+    private DirectTransferServiceImpl service;
+
+    /**
+     * Stand-in for an S3 compatible bucket: content lengths of the objects stored in it by key
+     */
+    private final Map<UUID, Long> bucket = new ConcurrentHashMap<>();
+    private final DocumentContentPort port = mock(DocumentContentPort.class, withSettings().extraInterfaces(PresignableContentPort.class));
+    private final UUID principalId = UUID.fromString("99999999-8888-7777-6666-555555555555");
+    private UUID documentId;
+    private Document document;
+
+    @BeforeEach
+    void setup() {
+        documentId = UUID.fromString("11111111-2222-3333-4444-555555555555");
+        document = Document.builder()
+                .id(documentId)
+                .tenantId("tenant-a")
+                .name("contract.pdf")
+                .fileName("contract.pdf")
+                .mimeType("application/pdf")
+                .version(0L)
+                .build();
+        when(documentRepository.findById(documentId)).thenReturn(Mono.just(document));
+    }
+
+    @Test
+    void createUpload_WritePermitted_IssuesSignedPutAndRecordsUpload() {
+        permit(PermissionType.WRITE, true);
+        routeToPort();
+        when(contentBlobStore.newDigest()).thenReturn(ContentDigest.create("SHA-256"));
+        when(presignable().presignUpload(any(), eq("application/pdf"), eq(11L), eq("SHA-256"), eq(CHECKSUM), any()))
+                .thenAnswer(invocation -> Mono.just(PresignedRequest.builder()
+                        .method("PUT")
+                        .url("http://localhost:9000/ecm/" + invocation.getArgument(0) + "?X-Amz-Signature=abc")
+                        .headers(Map.of("x-amz-checksum-sha256", "uU0nuZNNPgilLlLX2n2r+sSE7+N6U4DukIj3rOLvzek="))
+                        .storagePath("ecm/" + invocation.getArgument(0))
+                        .build()));
+        when(entityTemplate.insert(any(DirectUpload.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(service.createUpload(documentId, principalId, uploadRequest(CHECKSUM.toUpperCase())))
+                .assertNext(transfer -> {
+                    assertThat(transfer.getMethod()).isEqualTo("PUT");
+                    assertThat(transfer.getUrl()).contains(transfer.getUploadId().toString());
+                    assertThat(transfer.getHeaders()).containsKey("x-amz-checksum-sha256");
+                    assertThat(transfer.getExpiresAt()).isAfter(transfer.getUrlExpiresAt());
+                })
+                .verifyComplete();
+
+        ArgumentCaptor<DirectUpload> upload = ArgumentCaptor.forClass(DirectUpload.class);
+        verify(entityTemplate).insert(upload.capture());
+        assertThat(upload.getValue().getChecksum()).isEqualTo(CHECKSUM);
+        assertThat(upload.getValue().getStatus()).isEqualTo(UploadSessionStatus.ACTIVE);
+        assertThat(upload.getValue().getId()).isNotEqualTo(documentId);
+    }
+
+    @Test
+    void createUpload_WithoutPermission_FailsWithoutSigning() {
+        permit(PermissionType.WRITE, false);
+
+        StepVerifier.create(service.createUpload(documentId, principalId, uploadRequest(CHECKSUM)))
+                .verifyError(SecurityException.class);
+
+        verifyNoInteractions(ecmPortProvider, entityTemplate);
+    }
+
+    @Test
+    void createDownload_EncryptedContent_IsServedThroughService() {
+        document.setEncryptionKeyId("master-2026");
+        permit(PermissionType.READ, true);
+
+        StepVerifier.create(service.createDownload(documentId, principalId))
+                .verifyError(IllegalStateException.class);
+
+        verifyNoInteractions(port);
+    }
+
+    @Test
+    void completeUpload_ContentReceived_AdoptsBlobAndUpdatesDocument() {
+        UUID previousBlobId = UUID.randomUUID();
+        document.setContentBlobId(previousBlobId);
+        DirectUpload upload = activeUpload();
+        bucket.put(upload.getId(), 11L);
+        permit(PermissionType.WRITE, true);
+        routeToPort();
+        when(uploadRepository.findById(upload.getId())).thenReturn(Mono.just(upload));
+        when(uploadRepository.transitionStatus(eq(upload.getId()), any(), any())).thenReturn(Mono.just(1));
+        when(presignable().getContentLength(any())).thenAnswer(invocation -> Mono.justOrEmpty(bucket.get(invocation.<UUID>getArgument(0))));
+        storeInBucket("hello world");
+        when(contentBlobStore.adopt(port, "tenant-a", upload.getId(), upload.getStoragePath(), CHECKSUM, 11L))
+                .thenReturn(Mono.just(StoredContent.builder()
+                        .blobId(upload.getId())
+                        .storagePath(upload.getStoragePath())
+                        .checksum(CHECKSUM)
+                        .size(11L)
+                        .build()));
+        when(documentRepository.save(document)).thenReturn(Mono.just(document));
+        when(contentBlobStore.release(previousBlobId)).thenReturn(Mono.empty());
+        when(ecmPortProvider.getDocumentSearchPort()).thenReturn(Optional.empty());
+        when(documentIndexer.index(any(Document.class))).thenReturn(Mono.empty());
+        DocumentDTO dto = DocumentDTO.builder().id(documentId).build();
+        when(mapper.toDTO(document)).thenReturn(dto);
+
+        StepVerifier.create(service.completeUpload(documentId, principalId, upload.getId()))
+                .expectNext(dto)
+                .verifyComplete();
+
+        assertThat(document.getContentBlobId()).isEqualTo(upload.getId());
+        assertThat(document.getChecksum()).isEqualTo(CHECKSUM);
+        assertThat(document.getIsChecksumVerified()).isTrue();
+        assertThat(document.getFileSize()).isEqualTo(11L);
+        assertThat(document.getFileName()).isEqualTo("scan.pdf");
+        verify(contentBlobStore).release(previousBlobId);
+        verify(uploadRepository).transitionStatus(upload.getId(), UploadSessionStatus.ACTIVE, UploadSessionStatus.COMPLETING);
+        verify(uploadRepository).transitionStatus(upload.getId(), UploadSessionStatus.COMPLETING, UploadSessionStatus.COMPLETED);
+    }
+
+    @Test
+    void completeUpload_ContentIncomplete_ReactivatesUpload() {
+        DirectUpload upload = activeUpload();
+        bucket.put(upload.getId(), 6L);
+        permit(PermissionType.WRITE, true);
+        routeToPort();
+        when(uploadRepository.findById(upload.getId())).thenReturn(Mono.just(upload));
+        when(uploadRepository.transitionStatus(eq(upload.getId()), any(), any())).thenReturn(Mono.just(1));
+        when(presignable().getContentLength(any())).thenAnswer(invocation -> Mono.justOrEmpty(bucket.get(invocation.<UUID>getArgument(0))));
+
+        StepVerifier.create(service.completeUpload(documentId, principalId, upload.getId()))
+                .verifyErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("holds 6 bytes, expected 11"));
+
+        verify(contentBlobStore, never()).adopt(any(), any(), any(), any(), anyString(), anyLong());
+        verify(documentRepository, never()).save(any());
+        verify(uploadRepository).transitionStatus(upload.getId(), UploadSessionStatus.COMPLETING, UploadSessionStatus.ACTIVE);
+    }
+
+    @Test
+    void completeUpload_ContentDoesNotMatchChecksum_RefusesContent() {
+        DirectUpload upload = activeUpload();
+        bucket.put(upload.getId(), 11L);
+        permit(PermissionType.WRITE, true);
+        routeToPort();
+        when(uploadRepository.findById(upload.getId())).thenReturn(Mono.just(upload));
+        when(uploadRepository.transitionStatus(eq(upload.getId()), any(), any())).thenReturn(Mono.just(1));
+        when(presignable().getContentLength(any())).thenAnswer(invocation -> Mono.justOrEmpty(bucket.get(invocation.<UUID>getArgument(0))));
+        storeInBucket("hello there");
+
+        StepVerifier.create(service.completeUpload(documentId, principalId, upload.getId()))
+                .verifyErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("does not match its declared checksum"));
+
+        verify(contentBlobStore, never()).adopt(any(), any(), any(), any(), anyString(), anyLong());
+        verify(documentRepository, never()).save(any());
+        verify(uploadRepository).transitionStatus(upload.getId(), UploadSessionStatus.COMPLETING, UploadSessionStatus.ACTIVE);
+    }
+
+    private void storeInBucket(String content) {
+        when(contentBlobStore.newDigest()).thenAnswer(invocation -> ContentDigest.create("SHA-256"));
+        when(contentDownloadPipeline.readFromStorage(eq(port), any())).thenReturn(buffers(content));
+    }
+
+    private void permit(PermissionType permissionType, boolean granted) {
+        when(documentPermissionService.hasPermission(documentId, principalId, permissionType)).thenReturn(Mono.just(granted));
+    }
+
+    private void routeToPort() {
+        when(ecmPortProvider.getDocumentContentPort()).thenReturn(Optional.of(port));
+        when(localContentEngine.resolvePort(any(), any())).thenReturn(Optional.of(port));
+    }
+
+    private PresignableContentPort presignable() {
+        return (PresignableContentPort) port;
+    }
+
+    private DirectUploadRequestDTO uploadRequest(String checksum) {
+        return DirectUploadRequestDTO.builder()
+                .fileName("scan.pdf")
+                .mimeType("application/pdf")
+                .contentLength(11L)
+                .checksum(checksum)
+                .build();
+    }
+
+    private DirectUpload activeUpload() {
+        UUID uploadId = UUID.fromString("66666666-7777-8888-9999-000000000000");
+        return DirectUpload.builder()
+                .id(uploadId)
+                .documentId(documentId)
+                .tenantId("tenant-a")
+                .fileName("scan.pdf")
+                .mimeType("application/pdf")
+                .contentLength(11L)
+                .checksum(CHECKSUM)
+                .storagePath("ecm/" + uploadId)
+                .status(UploadSessionStatus.ACTIVE)
+                .expiresAt(LocalDateTime.now().plus(Duration.ofHours(1)))
+                .build();
+    }
+}
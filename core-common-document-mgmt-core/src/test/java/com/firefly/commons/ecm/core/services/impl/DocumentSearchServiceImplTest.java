@@ -18,16 +18,39 @@ package com.firefly.commons.ecm.core.services.impl;
 
 import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
 import com.firefly.commons.ecm.core.mappers.DocumentMapper;
+import com.firefly.commons.ecm.core.search.DocumentFacetCounter;
+import com.firefly.commons.ecm.core.search.DocumentIndexer;
+import com.firefly.commons.ecm.core.search.LocalSearchIndex;
+import com.firefly.commons.ecm.core.search.SearchHit;
+import com.firefly.commons.ecm.core.search.SearchResults;
+import com.firefly.commons.ecm.interfaces.dtos.CursorPageDTO;
 import com.firefly.commons.ecm.interfaces.dtos.DocumentDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentQueryDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentSearchHitDTO;
+import com.firefly.commons.ecm.models.entities.Document;
+import com.firefly.commons.ecm.models.entities.DocumentTextMatch;
+import com.firefly.commons.ecm.models.repositories.DocumentRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class DocumentSearchServiceImplTest {
@@ -35,6 +58,21 @@ class DocumentSearchServiceImplTest {
     @Mock
     private DocumentMapper documentMapper;
 
+    @Mock
+    private DocumentRepository documentRepository;
+
+    @Mock
+    private LocalSearchIndex searchIndex;
+
+    @Mock
+    private DocumentIndexer documentIndexer;
+
+    @Mock
+    private DocumentFacetCounter facetCounter;
+
+    @Spy
+    private EcmContentProperties contentProperties = new EcmContentProperties();
+
     @InjectMocks
     private DocumentSearchServiceImpl service;
 
@@ -43,4 +81,91 @@ class DocumentSearchServiceImplTest {
         FilterRequest<DocumentDTO> request = new FilterRequest<>();
         assertThrows(IllegalStateException.class, () -> service.filter(request));
     }
-}
\ No newline at end of file
+
+    @Test
+    void search_ReturnsHitsInRankOrderAndDropsStaleEntries() {
+        UUID first = UUID.fromString("11111111-1111-1111-1111-111111111111");
+        UUID second = UUID.fromString("22222222-2222-2222-2222-222222222222");
+        UUID movedAway = UUID.fromString("33333333-3333-3333-3333-333333333333");
+        UUID deleted = UUID.fromString("44444444-4444-4444-4444-444444444444");
+        contentProperties.getSearch().setMaxPageSize(10);
+        when(searchIndex.isEnabled()).thenReturn(true);
+        when(searchIndex.search("tenant-a", "invoice", 10, 10)).thenReturn(Mono.just(SearchResults.of(14, List.of(
+                SearchHit.of(second, 3.5f, Map.of("name", "<b>Invoice</b>")),
+                SearchHit.of(movedAway, 2.0f, Map.of()),
+                SearchHit.of(first, 1.5f, Map.of()),
+                SearchHit.of(deleted, 1.0f, Map.of())))));
+        when(documentRepository.findAllById(List.of(second, movedAway, first, deleted))).thenReturn(Flux.just(
+                Document.builder().id(first).tenantId("tenant-a").build(),
+                Document.builder().id(second).tenantId("tenant-a").build(),
+                Document.builder().id(movedAway).tenantId("tenant-b").build()));
+        when(documentMapper.toDTO(any(Document.class)))
+                .thenAnswer(inv -> DocumentDTO.builder().id(((Document) inv.getArgument(0)).getId()).build());
+
+        StepVerifier.create(service.search("tenant-a", "invoice", 1, 50))
+                .assertNext(result -> {
+                    assertThat(result.getTotalHits()).isEqualTo(14);
+                    assertThat(result.getSize()).isEqualTo(10);
+                    assertThat(result.getHits()).extracting(hit -> hit.getDocument().getId()).containsExactly(second, first);
+                    assertThat(result.getHits().get(0).getScore()).isEqualTo(3.5f);
+                    assertThat(result.getHits().get(0).getHighlights()).containsEntry("name", "<b>Invoice</b>");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void search_IndexDisabled_Fails() {
+        when(searchIndex.isEnabled()).thenReturn(false);
+
+        StepVerifier.create(service.search(null, "invoice", 0, 10))
+                .verifyError(IllegalStateException.class);
+    }
+
+    @Test
+    void searchText_PagesByRankAndIdCursor() {
+        UUID first = UUID.fromString("11111111-1111-1111-1111-111111111111");
+        UUID second = UUID.fromString("22222222-2222-2222-2222-222222222222");
+        UUID third = UUID.fromString("33333333-3333-3333-3333-333333333333");
+        when(documentRepository.searchText("tenant-a", "invoice", 3)).thenReturn(Flux.just(
+                new DocumentTextMatch(second, 0.3f), new DocumentTextMatch(first, 0.1f), new DocumentTextMatch(third, 0.1f)));
+        when(documentRepository.findAllById(List.of(second, first))).thenReturn(Flux.just(
+                Document.builder().id(first).build(), Document.builder().id(second).build()));
+        when(documentMapper.toDTO(any(Document.class)))
+                .thenAnswer(inv -> DocumentDTO.builder().id(((Document) inv.getArgument(0)).getId()).build());
+
+        CursorPageDTO<DocumentSearchHitDTO> firstPage = service.searchText("tenant-a", "invoice", null, 2).block();
+
+        assertThat(firstPage.getContent()).extracting(hit -> hit.getDocument().getId()).containsExactly(second, first);
+        String cursor = firstPage.getNextCursor();
+        assertThat(cursor).isNotNull();
+        when(documentRepository.searchTextAfter("tenant-a", "invoice", 0.1f, first, 3))
+                .thenReturn(Flux.just(new DocumentTextMatch(third, 0.1f)));
+        when(documentRepository.findAllById(List.of(third))).thenReturn(Flux.just(Document.builder().id(third).build()));
+
+        StepVerifier.create(service.searchText("tenant-a", "invoice", cursor, 2))
+                .assertNext(page -> {
+                    assertThat(page.getContent()).extracting(hit -> hit.getDocument().getId()).containsExactly(third);
+                    assertThat(page.getContent().get(0).getScore()).isEqualTo(0.1f);
+                    assertThat(page.getNextCursor()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void searchText_InvalidCursorOrMissingTenant_Fails() {
+        StepVerifier.create(service.searchText("tenant-a", "invoice", "not-a-cursor", 20))
+                .verifyError(IllegalArgumentException.class);
+        StepVerifier.create(service.searchText(null, "invoice", null, 20))
+                .verifyError(IllegalArgumentException.class);
+        verifyNoInteractions(documentRepository);
+    }
+
+    @Test
+    void facets_MissingTenant_Fails() {
+        StepVerifier.create(service.facets(DocumentQueryDTO.builder().build(), "invoice", null))
+                .verifyError(IllegalArgumentException.class);
+        StepVerifier.create(service.facets(null, null, null))
+                .verifyError(IllegalArgumentException.class);
+        verifyNoInteractions(facetCounter);
+    }
+}
@@ -16,29 +16,58 @@
 
 package com.firefly.commons.ecm.core.services.impl;
 
+import com.firefly.commons.ecm.core.content.ContentBlobStore;
+import com.firefly.commons.ecm.core.content.ContentDigest;
+import com.firefly.commons.ecm.core.content.ContentUploadPipeline;
+import com.firefly.commons.ecm.core.content.LocalFilesystemContentEngine;
+import com.firefly.commons.ecm.core.content.StoredContent;
 import com.firefly.commons.ecm.core.mappers.DocumentMapper;
 import com.firefly.commons.ecm.core.mappers.EcmDomainMapper;
+import com.firefly.commons.ecm.core.search.DocumentIndexer;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentCopyRequestDTO;
 import com.firefly.commons.ecm.interfaces.dtos.DocumentDTO;
+import com.firefly.commons.ecm.interfaces.enums.PermissionType;
 import com.firefly.commons.ecm.models.entities.Document;
+import com.firefly.commons.ecm.models.entities.DocumentMetadata;
+import com.firefly.commons.ecm.models.entities.DocumentPermission;
+import com.firefly.commons.ecm.models.entities.DocumentTag;
+import com.firefly.commons.ecm.models.repositories.DocumentMetadataRepository;
+import com.firefly.commons.ecm.models.repositories.DocumentPermissionRepository;
 import com.firefly.commons.ecm.models.repositories.DocumentRepository;
+import com.firefly.commons.ecm.models.repositories.DocumentTagRepository;
+import org.fireflyframework.ecm.domain.model.document.DocumentVersion;
+import org.fireflyframework.ecm.port.document.DocumentContentPort;
 import org.fireflyframework.ecm.port.document.DocumentSearchPort;
+import org.fireflyframework.ecm.port.document.DocumentVersionPort;
 import org.fireflyframework.ecm.service.EcmPortProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.multipart.FilePart;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -62,6 +91,33 @@ class DocumentServiceImplTest {
     @Mock
     private DocumentSearchPort searchPort;
 
+    @Mock
+    private DocumentIndexer documentIndexer;
+
+    @Mock
+    private DocumentVersionPort versionPort;
+
+    @Mock
+    private ContentBlobStore contentBlobStore;
+
+    @Mock
+    private ContentUploadPipeline contentUploadPipeline;
+
+    @Mock
+    private LocalFilesystemContentEngine localContentEngine;
+
+    @Mock
+    private DocumentContentPort contentPort;
+
+    @Mock
+    private DocumentMetadataRepository metadataRepository;
+
+    @Mock
+    private DocumentTagRepository documentTagRepository;
+
+    @Mock
+    private DocumentPermissionRepository permissionRepository;
+
     @InjectMocks
     private DocumentServiceImpl service;
 
@@ -93,6 +149,7 @@ class DocumentServiceImplTest {
         when(ecmPortProvider.getDocumentVersionPort()).thenReturn(Optional.empty());
         when(ecmPortProvider.getDocumentSearchPort()).thenReturn(Optional.of(searchPort));
         when(searchPort.indexDocument(any())).thenReturn(Mono.empty());
+        when(documentIndexer.index(any(Document.class))).thenReturn(Mono.empty());
         when(mapper.toDTO(any(Document.class))).thenAnswer(inv -> {
             Document d = inv.getArgument(0);
             return DocumentDTO.builder()
@@ -116,5 +173,299 @@ class DocumentServiceImplTest {
                 .verifyComplete();
 
         verify(searchPort).indexDocument(any());
+        verify(documentIndexer).index(any(Document.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createVersion_DeduplicatedDocument_PointsAtVersionContentAndReleasesBlob() {
+        UUID previousBlobId = UUID.fromString("99999999-8888-7777-6666-555555555555");
+        entity.setContentBlobId(previousBlobId);
+        entity.setContentEncoding("gzip");
+        entity.setEncryptionKeyId("key-1");
+        entity.setChecksum("old-checksum");
+        entity.setFileSize(1024L);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        when(filePart.filename()).thenReturn("contract-v2.pdf");
+        when(filePart.headers()).thenReturn(headers);
+        when(filePart.content()).thenReturn(Flux.just(DefaultDataBufferFactory.sharedInstance
+                .wrap("version two".getBytes(StandardCharsets.UTF_8))));
+
+        when(repository.findById(docId)).thenReturn(Mono.just(entity));
+        when(repository.save(any(Document.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(ecmPortProvider.getDocumentVersionPort()).thenReturn(Optional.of(versionPort));
+        when(ecmPortProvider.getDocumentSearchPort()).thenReturn(Optional.empty());
+        when(contentBlobStore.newDigest()).thenAnswer(inv -> ContentDigest.create("SHA-256"));
+        when(contentBlobStore.release(previousBlobId)).thenReturn(Mono.empty());
+        when(contentUploadPipeline.withByteArray(any(), any())).thenAnswer(inv -> {
+            Flux<DataBuffer> content = inv.getArgument(0);
+            Function<byte[], Mono<Object>> consumer = inv.getArgument(1);
+            return DataBufferUtils.join(content)
+                    .map(buffer -> {
+                        byte[] bytes = new byte[buffer.readableByteCount()];
+                        buffer.read(bytes);
+                        DataBufferUtils.release(buffer);
+                        return bytes;
+                    })
+                    .flatMap(consumer);
+        });
+        when(versionPort.createVersion(any(DocumentVersion.class), any(byte[].class)))
+                .thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(documentIndexer.index(any(Document.class))).thenReturn(Mono.empty());
+        when(mapper.toDTO(any(Document.class))).thenReturn(new DocumentDTO());
+
+        StepVerifier.create(service.createVersion(docId, filePart, "v2"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        ArgumentCaptor<Document> saved = ArgumentCaptor.forClass(Document.class);
+        verify(repository).save(saved.capture());
+        assertThat(saved.getValue().getContentBlobId()).isNull();
+        assertThat(saved.getValue().getContentEncoding()).isNull();
+        assertThat(saved.getValue().getEncryptionKeyId()).isNull();
+        assertThat(saved.getValue().getFileSize()).isEqualTo(11L);
+        assertThat(saved.getValue().getChecksum()).isNotEqualTo("old-checksum").hasSize(64);
+        assertThat(saved.getValue().getIsChecksumVerified()).isTrue();
+        assertThat(saved.getValue().getVersion()).isEqualTo(1L);
+        verify(contentBlobStore).release(previousBlobId);
+    }
+
+    @Test
+    void update_PreservesContentManagedByUploads() {
+        entity.setChecksum("abc123");
+        entity.setFileSize(2048L);
+        entity.setStoragePath("documents/contract.pdf");
+        entity.setIsChecksumVerified(true);
+        DocumentDTO changes = DocumentDTO.builder().id(docId).name("renamed.pdf").build();
+        when(repository.findById(docId)).thenReturn(Mono.just(entity));
+        when(mapper.toEntity(changes)).thenReturn(Document.builder()
+                .id(docId)
+                .name("renamed.pdf")
+                .checksum("forged")
+                .fileSize(1L)
+                .storagePath("elsewhere")
+                .build());
+        when(repository.save(any(Document.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(documentIndexer.index(any(Document.class))).thenReturn(Mono.empty());
+        when(mapper.toDTO(any(Document.class))).thenReturn(changes);
+
+        StepVerifier.create(service.update(changes))
+                .expectNext(changes)
+                .verifyComplete();
+
+        verify(repository).save(argThat(saved -> "renamed.pdf".equals(saved.getName())
+                && "abc123".equals(saved.getChecksum())
+                && Boolean.TRUE.equals(saved.getIsChecksumVerified())
+                && Long.valueOf(2048L).equals(saved.getFileSize())
+                && "documents/contract.pdf".equals(saved.getStoragePath())));
+    }
+
+    @Test
+    void storeContent_OwnContentReplacedByBlob_DeletesOldContent() {
+        UUID blobId = UUID.randomUUID();
+        entity.setStoragePath("documents/" + docId);
+        stubStoreContent(StoredContent.builder().blobId(blobId).storagePath("blobs/" + blobId).checksum("abc123").size(5).build());
+        when(contentPort.deleteContent(docId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.storeContent(docId, Flux.empty(), "contract-v2.pdf", "application/pdf", 5L))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(entity.getContentBlobId()).isEqualTo(blobId);
+        verify(contentPort).deleteContent(docId);
+        verify(contentBlobStore, never()).release(any());
+    }
+
+    @Test
+    void storeContent_OwnContentOverwritten_KeepsContent() {
+        entity.setStoragePath("documents/" + docId);
+        stubStoreContent(StoredContent.builder().storagePath("documents/" + docId).checksum("abc123").size(5).build());
+
+        StepVerifier.create(service.storeContent(docId, Flux.empty(), "contract-v2.pdf", "application/pdf", 5L))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(contentPort, never()).deleteContent(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void copy_SameTenant_SharesBlobAndClonesMetadataTagsAndPermissions() {
+        UUID blobId = UUID.randomUUID();
+        UUID folderId = UUID.randomUUID();
+        UUID tagId = UUID.randomUUID();
+        UUID partyId = UUID.randomUUID();
+        entity.setTenantId("acme");
+        entity.setFolderId(folderId);
+        entity.setContentBlobId(blobId);
+        stubCopySource();
+        when(contentBlobStore.share(contentPort, blobId, "acme")).thenReturn(Mono.just(StoredContent.builder()
+                .blobId(blobId).storagePath("blobs/" + blobId).checksum("abc123").size(5).deduplicated(true).build()));
+        stubSavedCopy();
+        when(metadataRepository.findByDocumentId(docId)).thenReturn(Flux.just(DocumentMetadata.builder()
+                .id(UUID.randomUUID()).documentId(docId).key("customer").value("42").tenantId("acme").build()));
+        when(metadataRepository.saveAll(anyList())).thenAnswer(inv -> Flux.fromIterable(inv.getArgument(0)));
+        when(documentTagRepository.findByDocumentId(docId)).thenReturn(Flux.just(DocumentTag.builder()
+                .id(UUID.randomUUID()).documentId(docId).tagId(tagId).tenantId("acme").build()));
+        when(documentTagRepository.saveAll(anyList())).thenAnswer(inv -> Flux.fromIterable(inv.getArgument(0)));
+        when(permissionRepository.findByDocumentId(docId)).thenReturn(Flux.just(DocumentPermission.builder()
+                .id(UUID.randomUUID()).documentId(docId).partyId(partyId).permissionType(PermissionType.READ)
+                .isGranted(true).tenantId("acme").build()));
+        when(permissionRepository.saveAll(anyList())).thenAnswer(inv -> Flux.fromIterable(inv.getArgument(0)));
+
+        StepVerifier.create(service.copy(docId, DocumentCopyRequestDTO.builder().name("copy.pdf").build()))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        ArgumentCaptor<Document> saved = ArgumentCaptor.forClass(Document.class);
+        verify(repository).save(saved.capture());
+        Document copy = saved.getValue();
+        assertThat(copy.getId()).isNotNull().isNotEqualTo(docId);
+        assertThat(copy.getName()).isEqualTo("copy.pdf");
+        assertThat(copy.getTenantId()).isEqualTo("acme");
+        assertThat(copy.getFolderId()).isEqualTo(folderId);
+        assertThat(copy.getContentBlobId()).isEqualTo(blobId);
+        assertThat(copy.getVersion()).isNull();
+
+        ArgumentCaptor<List<DocumentMetadata>> metadata = ArgumentCaptor.forClass(List.class);
+        verify(metadataRepository).saveAll(metadata.capture());
+        assertThat(metadata.getValue()).singleElement().satisfies(entry -> {
+            assertThat(entry.getId()).isNull();
+            assertThat(entry.getDocumentId()).isEqualTo(copy.getId());
+            assertThat(entry.getKey()).isEqualTo("customer");
+        });
+        ArgumentCaptor<List<DocumentTag>> tags = ArgumentCaptor.forClass(List.class);
+        verify(documentTagRepository).saveAll(tags.capture());
+        assertThat(tags.getValue()).singleElement().satisfies(tag -> {
+            assertThat(tag.getDocumentId()).isEqualTo(copy.getId());
+            assertThat(tag.getTagId()).isEqualTo(tagId);
+        });
+        ArgumentCaptor<List<DocumentPermission>> permissions = ArgumentCaptor.forClass(List.class);
+        verify(permissionRepository).saveAll(permissions.capture());
+        assertThat(permissions.getValue()).singleElement().satisfies(permission -> {
+            assertThat(permission.getDocumentId()).isEqualTo(copy.getId());
+            assertThat(permission.getPartyId()).isEqualTo(partyId);
+            assertThat(permission.getPermissionType()).isEqualTo(PermissionType.READ);
+        });
+        verify(contentBlobStore, never()).copy(any(), any(), any());
+    }
+
+    @Test
+    void copy_OtherTenant_SharesIntoThatTenantWithoutTagsOrPermissions() {
+        UUID blobId = UUID.randomUUID();
+        UUID tenantBlobId = UUID.randomUUID();
+        entity.setTenantId("acme");
+        entity.setFolderId(UUID.randomUUID());
+        entity.setContentBlobId(blobId);
+        stubCopySource();
+        when(contentBlobStore.share(contentPort, blobId, "globex")).thenReturn(Mono.just(StoredContent.builder()
+                .blobId(tenantBlobId).storagePath("blobs/" + tenantBlobId).checksum("abc123").size(5).build()));
+        stubSavedCopy();
+        when(metadataRepository.findByDocumentId(docId)).thenReturn(Flux.empty());
+        when(metadataRepository.saveAll(anyList())).thenReturn(Flux.empty());
+
+        StepVerifier.create(service.copy(docId, DocumentCopyRequestDTO.builder().tenantId("globex").build()))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(repository).save(argThat(copy -> "globex".equals(copy.getTenantId())
+                && copy.getFolderId() == null
+                && tenantBlobId.equals(copy.getContentBlobId())
+                && "contract.pdf".equals(copy.getName())));
+        verifyNoInteractions(documentTagRepository, permissionRepository);
+    }
+
+    @Test
+    void copy_ContentNotDeduplicated_CopiesContentUnderCopyId() {
+        entity.setStoragePath("documents/" + docId);
+        entity.setChecksum("abc123");
+        entity.setFileSize(5L);
+        entity.setContentEncoding("gzip");
+        stubCopySource();
+        when(contentBlobStore.copy(eq(contentPort), eq(docId), any(UUID.class)))
+                .thenAnswer(inv -> Mono.just("documents/" + inv.getArgument(2)));
+        stubSavedCopy();
+        when(metadataRepository.findByDocumentId(docId)).thenReturn(Flux.empty());
+        when(metadataRepository.saveAll(anyList())).thenReturn(Flux.empty());
+        when(documentTagRepository.findByDocumentId(docId)).thenReturn(Flux.empty());
+        when(documentTagRepository.saveAll(anyList())).thenReturn(Flux.empty());
+        when(permissionRepository.findByDocumentId(docId)).thenReturn(Flux.empty());
+        when(permissionRepository.saveAll(anyList())).thenReturn(Flux.empty());
+
+        StepVerifier.create(service.copy(docId, new DocumentCopyRequestDTO()))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        ArgumentCaptor<Document> saved = ArgumentCaptor.forClass(Document.class);
+        verify(repository).save(saved.capture());
+        Document copy = saved.getValue();
+        verify(contentBlobStore).copy(contentPort, docId, copy.getId());
+        assertThat(copy.getContentBlobId()).isNull();
+        assertThat(copy.getStoragePath()).isEqualTo("documents/" + copy.getId());
+        assertThat(copy.getChecksum()).isEqualTo("abc123");
+        assertThat(copy.getContentEncoding()).isEqualTo("gzip");
+        verify(contentBlobStore, never()).share(any(), any(), any());
+    }
+
+    @Test
+    void copy_SaveFails_DiscardsCopiedContent() {
+        entity.setStoragePath("documents/" + docId);
+        stubCopySource();
+        when(contentBlobStore.copy(eq(contentPort), eq(docId), any(UUID.class)))
+                .thenAnswer(inv -> Mono.just("documents/" + inv.getArgument(2)));
+        when(repository.save(any(Document.class))).thenReturn(Mono.error(new RuntimeException("constraint violated")));
+        when(contentPort.deleteContent(any(UUID.class))).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.copy(docId, new DocumentCopyRequestDTO()))
+                .expectErrorMessage("constraint violated")
+                .verify();
+
+        ArgumentCaptor<Document> saved = ArgumentCaptor.forClass(Document.class);
+        verify(repository).save(saved.capture());
+        verify(contentPort).deleteContent(saved.getValue().getId());
+        verify(contentPort, never()).deleteContent(docId);
+    }
+
+    @Test
+    void copy_SaveFailsAfterSharing_KeepsSharedContent() {
+        UUID blobId = UUID.randomUUID();
+        entity.setTenantId("acme");
+        entity.setContentBlobId(blobId);
+        stubCopySource();
+        when(contentBlobStore.share(contentPort, blobId, "acme")).thenReturn(Mono.just(StoredContent.builder()
+                .blobId(blobId).storagePath("blobs/" + blobId).deduplicated(true).build()));
+        when(repository.save(any(Document.class))).thenReturn(Mono.error(new RuntimeException("constraint violated")));
+
+        StepVerifier.create(service.copy(docId, new DocumentCopyRequestDTO()))
+                .expectErrorMessage("constraint violated")
+                .verify();
+
+        verifyNoInteractions(contentPort);
+    }
+
+    private void stubStoreContent(StoredContent stored) {
+        when(repository.findById(docId)).thenReturn(Mono.just(entity));
+        when(ecmPortProvider.getDocumentContentPort()).thenReturn(Optional.of(contentPort));
+        when(localContentEngine.resolvePort(any(), any())).thenReturn(Optional.of(contentPort));
+        when(contentBlobStore.store(eq(contentPort), any(), eq(docId), any(), any(), any(), anyBoolean()))
+                .thenReturn(Mono.just(stored));
+        when(repository.save(any(Document.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(ecmPortProvider.getDocumentSearchPort()).thenReturn(Optional.empty());
+        when(documentIndexer.index(any(Document.class))).thenReturn(Mono.empty());
+        when(mapper.toDTO(any(Document.class))).thenReturn(new DocumentDTO());
+    }
+
+    private void stubCopySource() {
+        when(repository.findById(docId)).thenReturn(Mono.just(entity));
+        when(ecmPortProvider.getDocumentContentPort()).thenReturn(Optional.of(contentPort));
+        when(localContentEngine.resolvePort(any(), any())).thenReturn(Optional.of(contentPort));
+    }
+
+    private void stubSavedCopy() {
+        when(repository.save(any(Document.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(ecmPortProvider.getDocumentSearchPort()).thenReturn(Optional.empty());
+        when(documentIndexer.index(any(Document.class))).thenReturn(Mono.empty());
+        when(mapper.toDTO(any(Document.class))).thenReturn(new DocumentDTO());
     }
 }
@@ -17,10 +17,22 @@
 
 package com.firefly.commons.ecm.core.services.impl;
 
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.core.content.ChunkedVersionStore;
+import com.firefly.commons.ecm.core.content.ContentBlobStore;
+import com.firefly.commons.ecm.core.content.ContentCompression;
+import com.firefly.commons.ecm.core.content.ContentEncryption;
+import com.firefly.commons.ecm.core.content.ContentUploadPipeline;
+import com.firefly.commons.ecm.core.content.LocalContentKeyProvider;
+import com.firefly.commons.ecm.core.content.LocalFilesystemContentEngine;
+import com.firefly.commons.ecm.core.content.MultipartUploadOrchestrator;
+import com.firefly.commons.ecm.core.content.StoredContent;
+import com.firefly.commons.ecm.core.content.UploadStagingArea;
 import com.firefly.commons.ecm.core.mappers.DocumentVersionMapper;
 import com.firefly.commons.ecm.interfaces.dtos.DocumentVersionDTO;
 import com.firefly.commons.ecm.interfaces.enums.StorageType;
 import com.firefly.commons.ecm.models.entities.DocumentVersion;
+import com.firefly.commons.ecm.models.repositories.ContentBlobRepository;
 import com.firefly.commons.ecm.models.repositories.DocumentVersionRepository;
 import org.fireflyframework.ecm.service.EcmPortProvider;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,6 +40,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
@@ -37,7 +50,9 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -64,6 +79,26 @@ class DocumentVersionServiceImplTest {
     @Mock
     private HttpHeaders httpHeaders;
 
+    @Mock
+    private ChunkedVersionStore chunkedVersionStore;
+
+    private final EcmContentProperties contentProperties = new EcmContentProperties();
+
+    @Spy
+    private ContentUploadPipeline contentUploadPipeline =
+            new ContentUploadPipeline(contentProperties, new UploadStagingArea(contentProperties),
+                    new MultipartUploadOrchestrator(contentProperties));
+
+    @Spy
+    private ContentBlobStore contentBlobStore = new ContentBlobStore(contentProperties, contentUploadPipeline,
+            new UploadStagingArea(contentProperties), mock(ContentBlobRepository.class),
+            mock(EcmPortProvider.class), new LocalFilesystemContentEngine(contentProperties),
+            new ContentCompression(contentProperties),
+            new ContentEncryption(contentProperties, new LocalContentKeyProvider(contentProperties)));
+
+    @Spy
+    private LocalFilesystemContentEngine localContentEngine = new LocalFilesystemContentEngine(contentProperties);
+
     @InjectMocks
     private DocumentVersionServiceImpl documentVersionService;
 
@@ -75,6 +110,9 @@ class DocumentVersionServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        // Content is stored under the version ID unless deduplication is enabled
+        contentProperties.getDeduplication().setEnabled(false);
+
         testDocumentVersion = DocumentVersion.builder()
                 .id(TEST_VERSION_ID)
                 .documentId(TEST_DOCUMENT_ID)
@@ -194,12 +232,19 @@ class DocumentVersionServiceImplTest {
                 .changeSummary("Original version")
                 .createdAt(null)
                 .createdBy("original-user")
+                .version(3L)
+                .checksum("abc123")
+                .fileSize(2048L)
+                .storagePath("versions/3")
                 .build();
 
         DocumentVersion updateEntity = DocumentVersion.builder()
                 .id(TEST_VERSION_ID)
                 .documentId(TEST_DOCUMENT_ID)
                 .changeSummary("Updated version")
+                .checksum("forged")
+                .fileSize(1L)
+                .storagePath("elsewhere")
                 .build();
 
         DocumentVersion savedEntity = DocumentVersion.builder()
@@ -220,7 +265,10 @@ class DocumentVersionServiceImplTest {
                 .verifyComplete();
 
         verify(repository).findById(TEST_VERSION_ID);
-        verify(repository).save(any(DocumentVersion.class));
+        verify(repository).save(argThat(entity -> Long.valueOf(3L).equals(entity.getVersion())
+                && "abc123".equals(entity.getChecksum())
+                && Long.valueOf(2048L).equals(entity.getFileSize())
+                && "versions/3".equals(entity.getStoragePath())));
     }
 
     @Test
@@ -253,6 +301,23 @@ class DocumentVersionServiceImplTest {
         verify(repository).delete(testDocumentVersion);
     }
 
+    @Test
+    void delete_ShouldDeleteOwnContentThroughContentPort_WhenNotShared() {
+        // Given
+        org.fireflyframework.ecm.port.document.DocumentContentPort contentPort = mock(org.fireflyframework.ecm.port.document.DocumentContentPort.class);
+        when(ecmPortProvider.getDocumentContentPort()).thenReturn(java.util.Optional.of(contentPort));
+        when(contentPort.deleteContent(TEST_VERSION_ID)).thenReturn(Mono.empty());
+        when(repository.findById(TEST_VERSION_ID)).thenReturn(Mono.just(testDocumentVersion));
+        when(repository.delete(testDocumentVersion)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(documentVersionService.delete(TEST_VERSION_ID))
+                .verifyComplete();
+
+        verify(contentPort).deleteContent(TEST_VERSION_ID);
+        verify(repository).delete(testDocumentVersion);
+    }
+
     @Test
     void delete_ShouldThrowError_WhenVersionDoesNotExist() {
         // Given
@@ -294,6 +359,35 @@ class DocumentVersionServiceImplTest {
         verify(repository).save(any(DocumentVersion.class));
         verify(filePart, atLeastOnce()).filename();
         verify(filePart, atLeastOnce()).headers();
+        // The new content replaced the old one under the version ID
+        verify(contentPort, never()).deleteContent(any(UUID.class));
+    }
+
+    @Test
+    void uploadVersionContent_ShouldDeleteOwnContent_WhenNewContentGoesToBlob() {
+        // Given
+        UUID blobId = UUID.randomUUID();
+        when(filePart.filename()).thenReturn("uploaded-version.pdf");
+        when(filePart.headers()).thenReturn(httpHeaders);
+        when(httpHeaders.getContentType()).thenReturn(MediaType.APPLICATION_PDF);
+        when(repository.findById(TEST_VERSION_ID)).thenReturn(Mono.just(testDocumentVersion));
+        when(repository.save(any(DocumentVersion.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(mapper.toDTO(testDocumentVersion)).thenReturn(testDocumentVersionDTO);
+
+        org.fireflyframework.ecm.port.document.DocumentContentPort contentPort = mock(org.fireflyframework.ecm.port.document.DocumentContentPort.class);
+        when(ecmPortProvider.getDocumentContentPort()).thenReturn(java.util.Optional.of(contentPort));
+        when(filePart.content()).thenReturn(Flux.empty());
+        doReturn(Mono.just(StoredContent.builder().blobId(blobId).storagePath("/blobs/" + blobId).checksum("abc123").size(2048).build()))
+                .when(contentBlobStore).store(eq(contentPort), any(), eq(TEST_VERSION_ID), any(), any(), any(), anyBoolean());
+        when(contentPort.deleteContent(TEST_VERSION_ID)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(documentVersionService.uploadVersionContent(TEST_VERSION_ID, filePart))
+                .expectNext(testDocumentVersionDTO)
+                .verifyComplete();
+
+        assertThat(testDocumentVersion.getContentBlobId()).isEqualTo(blobId);
+        verify(contentPort).deleteContent(TEST_VERSION_ID);
     }
 
     @Test
@@ -310,6 +404,39 @@ class DocumentVersionServiceImplTest {
         verify(repository, never()).save(any());
     }
 
+    @Test
+    void uploadVersionContent_ShouldStoreChunks_WhenDeltaStorageApplies() {
+        // Given
+        when(filePart.filename()).thenReturn("uploaded-version.pdf");
+        when(filePart.headers()).thenReturn(httpHeaders);
+        when(httpHeaders.getContentType()).thenReturn(MediaType.APPLICATION_PDF);
+        when(repository.findById(TEST_VERSION_ID)).thenReturn(Mono.just(testDocumentVersion));
+        when(repository.save(any(DocumentVersion.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(mapper.toDTO(testDocumentVersion)).thenReturn(testDocumentVersionDTO);
+
+        org.fireflyframework.ecm.port.document.DocumentContentPort contentPort = mock(org.fireflyframework.ecm.port.document.DocumentContentPort.class);
+        when(ecmPortProvider.getDocumentContentPort()).thenReturn(java.util.Optional.of(contentPort));
+        when(filePart.content()).thenReturn(Flux.empty());
+        when(chunkedVersionStore.shouldChunk(testDocumentVersion)).thenReturn(true);
+        when(chunkedVersionStore.store(eq(contentPort), eq(testDocumentVersion), any()))
+                .thenReturn(Mono.just(StoredContent.builder().checksum("abc123").size(2048).build()));
+        when(contentPort.deleteContent(TEST_VERSION_ID)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(documentVersionService.uploadVersionContent(TEST_VERSION_ID, filePart))
+                .expectNext(testDocumentVersionDTO)
+                .verifyComplete();
+
+        assertThat(testDocumentVersion.getChunked()).isTrue();
+        assertThat(testDocumentVersion.getContentBlobId()).isNull();
+        assertThat(testDocumentVersion.getChecksum()).isEqualTo("abc123");
+        assertThat(testDocumentVersion.getIsChecksumVerified()).isTrue();
+        assertThat(testDocumentVersion.getFileSize()).isEqualTo(2048L);
+        verify(contentPort, never()).storeContent(any(UUID.class), any(byte[].class), any(String.class));
+        // The version's previous content was stored under its own ID, outside the chunk store
+        verify(contentPort).deleteContent(TEST_VERSION_ID);
+    }
+
     @Test
     void downloadVersionContent_ShouldThrowError_WhenEcmNotImplemented() {
         // Given
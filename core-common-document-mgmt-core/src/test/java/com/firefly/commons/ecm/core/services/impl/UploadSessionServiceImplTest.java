@@ -0,0 +1,249 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.core.services.impl;
+
+import com.firefly.commons.ecm.core.config.EcmContentProperties;
+import com.firefly.commons.ecm.core.content.UploadSessionSpool;
+import com.firefly.commons.ecm.core.mappers.UploadSessionMapper;
+import com.firefly.commons.ecm.core.services.DocumentService;
+import com.firefly.commons.ecm.interfaces.dtos.ByteRangeDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentDTO;
+import com.firefly.commons.ecm.interfaces.dtos.UploadSessionDTO;
+import com.firefly.commons.ecm.interfaces.enums.UploadSessionStatus;
+import com.firefly.commons.ecm.models.entities.UploadSession;
+import com.firefly.commons.ecm.models.entities.UploadSessionChunk;
+import com.firefly.commons.ecm.models.repositories.UploadSessionChunkRepository;
+import com.firefly.commons.ecm.models.repositories.UploadSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UploadSessionServiceImplTest {
+
+    @Mock
+    private UploadSessionRepository repository;
+
+    @Mock
+    private UploadSessionChunkRepository chunkRepository;
+
+    @Mock
+    private UploadSessionMapper mapper;
+
+    @Mock
+    private DocumentService documentService;
+
+    @Mock
+    private UploadSessionSpool spool;
+
+    @Spy
+    private EcmContentProperties contentProperties = new EcmContentProperties();
+
+    @InjectMocks
+    private UploadSessionServiceImpl service;
+
+    private UUID documentId;
+    private UUID sessionId;
+    private UploadSession session;
+
+    @BeforeEach
+    void setup() {
+        documentId = UUID.fromString("11111111-2222-3333-4444-555555555555");
+        sessionId = UUID.fromString("66666666-7777-8888-9999-000000000000");
+        session = UploadSession.builder()
+                .id(sessionId)
+                .documentId(documentId)
+                .fileName("contract.pdf")
+                .mimeType("application/pdf")
+                .totalSize(11L)
+                .status(UploadSessionStatus.ACTIVE)
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .spoolNode("node-1")
+                .build();
+    }
+
+    @Test
+    void complete_AllBytesReceived_CommitsSpooledContent() {
+        Flux<DataBuffer> spooled = Flux.just(DefaultDataBufferFactory.sharedInstance.wrap("hello world".getBytes(StandardCharsets.UTF_8)));
+        DocumentDTO document = DocumentDTO.builder().id(documentId).fileSize(11L).build();
+        when(repository.findById(sessionId)).thenReturn(Mono.just(session));
+        when(chunkRepository.findBySessionIdOrderByChunkOffset(sessionId)).thenReturn(Flux.just(chunk(0, 6), chunk(6, 5)));
+        when(spool.nodeId()).thenReturn("node-1");
+        when(spool.size(sessionId)).thenReturn(Mono.just(11L));
+        when(repository.transitionStatus(eq(sessionId), any(), any())).thenReturn(Mono.just(1));
+        when(spool.read(sessionId)).thenReturn(spooled);
+        when(spool.delete(sessionId)).thenReturn(Mono.empty());
+        when(documentService.storeContent(documentId, spooled, "contract.pdf", "application/pdf", 11L)).thenReturn(Mono.just(document));
+
+        StepVerifier.create(service.complete(documentId, sessionId))
+                .expectNext(document)
+                .verifyComplete();
+
+        verify(repository).transitionStatus(sessionId, UploadSessionStatus.ACTIVE, UploadSessionStatus.COMPLETING);
+        verify(repository).transitionStatus(sessionId, UploadSessionStatus.COMPLETING, UploadSessionStatus.COMPLETED);
+        verify(spool).delete(sessionId);
+    }
+
+    @Test
+    void complete_MissingBytes_FailsWithoutCommitting() {
+        when(repository.findById(sessionId)).thenReturn(Mono.just(session));
+        when(chunkRepository.findBySessionIdOrderByChunkOffset(sessionId)).thenReturn(Flux.just(chunk(0, 6), chunk(8, 3)));
+
+        StepVerifier.create(service.complete(documentId, sessionId))
+                .verifyErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("9 of 11 bytes"));
+
+        verify(repository, never()).transitionStatus(any(), any(), any());
+        verifyNoInteractions(documentService);
+    }
+
+    @Test
+    void complete_StoreFails_ReactivatesSession() {
+        when(repository.findById(sessionId)).thenReturn(Mono.just(session));
+        when(chunkRepository.findBySessionIdOrderByChunkOffset(sessionId)).thenReturn(Flux.just(chunk(0, 11)));
+        when(spool.nodeId()).thenReturn("node-1");
+        when(spool.size(sessionId)).thenReturn(Mono.just(11L));
+        when(repository.transitionStatus(eq(sessionId), any(), any())).thenReturn(Mono.just(1));
+        when(spool.read(sessionId)).thenReturn(Flux.empty());
+        when(documentService.storeContent(any(), any(), any(), any(), any())).thenReturn(Mono.error(new RuntimeException("storage down")));
+
+        StepVerifier.create(service.complete(documentId, sessionId))
+                .verifyErrorMessage("storage down");
+
+        verify(repository).transitionStatus(sessionId, UploadSessionStatus.COMPLETING, UploadSessionStatus.ACTIVE);
+        verify(spool, never()).delete(any());
+    }
+
+    @Test
+    void complete_SpooledOnOtherInstance_FailsWithoutCommitting() {
+        when(repository.findById(sessionId)).thenReturn(Mono.just(session));
+        when(chunkRepository.findBySessionIdOrderByChunkOffset(sessionId)).thenReturn(Flux.just(chunk(0, 11)));
+        when(spool.nodeId()).thenReturn("node-2");
+
+        StepVerifier.create(service.complete(documentId, sessionId))
+                .verifyErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("spooled on another instance (node-1)"));
+
+        verify(repository, never()).transitionStatus(any(), any(), any());
+        verify(spool, never()).read(any());
+        verifyNoInteractions(documentService);
+    }
+
+    @Test
+    void complete_LocalSpoolMissingBytes_FailsWithoutCommitting() {
+        when(repository.findById(sessionId)).thenReturn(Mono.just(session));
+        when(chunkRepository.findBySessionIdOrderByChunkOffset(sessionId)).thenReturn(Flux.just(chunk(0, 11)));
+        when(spool.nodeId()).thenReturn("node-1");
+        when(spool.size(sessionId)).thenReturn(Mono.just(6L));
+
+        StepVerifier.create(service.complete(documentId, sessionId))
+                .verifyErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("6 of 11 bytes spooled"));
+
+        verify(repository, never()).transitionStatus(any(), any(), any());
+        verifyNoInteractions(documentService);
+    }
+
+    @Test
+    void uploadChunk_ClaimsSessionBeforeSpooling() {
+        Flux<DataBuffer> content = Flux.just(DefaultDataBufferFactory.sharedInstance.wrap("hello".getBytes(StandardCharsets.UTF_8)));
+        when(repository.findById(sessionId)).thenReturn(Mono.just(session));
+        when(spool.nodeId()).thenReturn("node-1");
+        when(repository.claimSpoolNode(sessionId, "node-1")).thenReturn(Mono.just(1));
+        when(spool.write(sessionId, 0L, 11L, content)).thenReturn(Mono.just(5L));
+        when(chunkRepository.upsertChunk(sessionId, 0L, 5L)).thenReturn(Mono.just(1));
+        when(chunkRepository.findBySessionIdOrderByChunkOffset(sessionId)).thenReturn(Flux.just(chunk(0, 5)));
+        when(mapper.toDTO(session)).thenReturn(new UploadSessionDTO());
+
+        StepVerifier.create(service.uploadChunk(documentId, sessionId, 0, content))
+                .assertNext(dto -> assertThat(dto.getReceivedBytes()).isEqualTo(5L))
+                .verifyComplete();
+    }
+
+    @Test
+    void uploadChunk_SessionSpooledOnOtherInstance_IsRejected() {
+        when(repository.findById(sessionId)).thenReturn(Mono.just(session));
+        when(spool.nodeId()).thenReturn("node-2");
+        when(repository.claimSpoolNode(sessionId, "node-2")).thenReturn(Mono.just(0));
+
+        StepVerifier.create(service.uploadChunk(documentId, sessionId, 0, Flux.empty()))
+                .verifyErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("spooled on another instance"));
+
+        verify(spool, never()).write(any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void uploadChunk_OffsetOutsideContent_IsRejected() {
+        when(repository.findById(sessionId)).thenReturn(Mono.just(session));
+
+        StepVerifier.create(service.uploadChunk(documentId, sessionId, 11, Flux.empty()))
+                .verifyError(IllegalArgumentException.class);
+
+        verify(spool, never()).write(any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void uploadChunk_SessionOfOtherDocument_IsNotFound() {
+        when(repository.findById(sessionId)).thenReturn(Mono.just(session));
+
+        StepVerifier.create(service.uploadChunk(UUID.randomUUID(), sessionId, 0, Flux.empty()))
+                .verifyErrorMessage("Upload session not found with ID: " + sessionId);
+    }
+
+    @Test
+    void mergeRanges_OverlappingAndAdjacentChunks_AreCombined() {
+        List<ByteRangeDTO> ranges = UploadSessionServiceImpl.mergeRanges(List.of(
+                chunk(0, 4), chunk(2, 4), chunk(6, 2), chunk(10, 5)));
+
+        assertThat(ranges).containsExactly(
+                ByteRangeDTO.builder().offset(0L).length(8L).build(),
+                ByteRangeDTO.builder().offset(10L).length(5L).build());
+    }
+
+    private UploadSessionChunk chunk(long offset, long length) {
+        return UploadSessionChunk.builder()
+                .sessionId(sessionId)
+                .chunkOffset(offset)
+                .chunkLength(length)
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.interfaces.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object describing one file of a bulk ingest.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Bulk ingest manifest of one file")
+public class BulkIngestManifestDTO {
+
+    @Schema(description = "Client reference echoed in the result of the file", example = "invoice-0001")
+    private String reference;
+
+    @Schema(description = "Document to create for the file. The name defaults to the file name")
+    private DocumentDTO document;
+
+    @Schema(description = "Metadata entries to attach to the document")
+    private List<DocumentMetadataDTO> metadata;
+
+    @Schema(description = "IDs of the tags to attach to the document")
+    private List<UUID> tagIds;
+}
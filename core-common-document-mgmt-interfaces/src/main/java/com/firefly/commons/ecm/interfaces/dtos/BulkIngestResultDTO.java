@@ -0,0 +1,64 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.interfaces.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.firefly.commons.ecm.interfaces.enums.BulkIngestStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Data Transfer Object reporting the outcome of one file of a bulk ingest.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Bulk ingest result of one file")
+public class BulkIngestResultDTO {
+
+    @Schema(description = "Zero-based position of the file in the request")
+    private Integer index;
+
+    @Schema(description = "Client reference from the manifest of the file")
+    private String reference;
+
+    @Schema(description = "File name of the file")
+    private String fileName;
+
+    @Schema(description = "Outcome of the file")
+    private BulkIngestStatus status;
+
+    @Schema(description = "ID of the created document")
+    private UUID documentId;
+
+    @Schema(description = "Size of the stored content in bytes")
+    private Long fileSize;
+
+    @Schema(description = "Checksum of the stored content")
+    private String checksum;
+
+    @Schema(description = "Reason the file failed")
+    private String error;
+}
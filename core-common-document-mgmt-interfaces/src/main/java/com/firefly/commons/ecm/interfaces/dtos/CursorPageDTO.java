@@ -0,0 +1,54 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.interfaces.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of results paged by keyset. The next page is requested with
+ * the returned cursor, so deep pages cost the same as the first one.
+ *
+ * @param <T> The type of the results
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Cursor page data transfer object")
+public class CursorPageDTO<T> {
+
+    @Schema(description = "Results of the page")
+    private List<T> content;
+
+    @Schema(description = "Opaque cursor of the next page, absent on the last page")
+    private String nextCursor;
+
+    @Schema(description = "Requested page size", example = "20")
+    private Integer size;
+
+    @Schema(description = "Total number of results across all pages, absent unless requested", example = "1250")
+    private Long totalElements;
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.interfaces.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object requesting one page of results paged by keyset. The first page is
+ * requested without a cursor, every following page with the cursor returned by the previous one.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Cursor page request data transfer object")
+public class CursorRequestDTO {
+
+    @Schema(description = "Opaque cursor returned with the previous page, absent for the first page")
+    private String cursor;
+
+    @Schema(description = "Page size, defaults to the configured page size", example = "20")
+    private Integer size;
+
+    @Schema(description = "Property the results are ordered by, descending when prefixed with '-'. "
+            + "Ties are broken by ID", example = "-createdAt")
+    private String sort = "createdAt";
+
+    @Schema(description = "Whether to count the results across all pages", example = "false")
+    private Boolean includeTotal = false;
+}
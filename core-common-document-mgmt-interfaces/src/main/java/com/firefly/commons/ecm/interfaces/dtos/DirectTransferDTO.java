@@ -0,0 +1,60 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.interfaces.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object describing a pre-signed request that transfers document content
+ * directly between the client and the storage backend.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Pre-signed direct transfer data transfer object")
+public class DirectTransferDTO {
+
+    @Schema(description = "ID of the direct upload, used to complete it. Not set for downloads.")
+    private UUID uploadId;
+
+    @Schema(description = "HTTP method of the pre-signed request", example = "PUT")
+    private String method;
+
+    @Schema(description = "Pre-signed URL of the storage backend")
+    private String url;
+
+    @Schema(description = "Headers the request must be sent with, as they are part of the signature")
+    private Map<String, String> headers;
+
+    @Schema(description = "Date and time after which the URL is no longer accepted")
+    private LocalDateTime urlExpiresAt;
+
+    @Schema(description = "Date and time after which an upload can no longer be completed. Not set for downloads.")
+    private LocalDateTime expiresAt;
+}
@@ -129,4 +129,8 @@ public class DocumentDTO {
 
     @Schema(description = "Checksum of the document file for integrity verification")
     private String checksum;
+
+    @Schema(description = "Encoding of the stored content, such as gzip when it is compressed at rest, or null if stored as uploaded")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String contentEncoding;
 }
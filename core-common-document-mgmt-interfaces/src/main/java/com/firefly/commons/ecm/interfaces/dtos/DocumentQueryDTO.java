@@ -0,0 +1,61 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.interfaces.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.firefly.commons.ecm.interfaces.enums.DocumentStatus;
+import com.firefly.commons.ecm.interfaces.enums.DocumentType;
+import com.firefly.commons.ecm.interfaces.enums.SecurityLevel;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Data Transfer Object selecting documents by exact match on indexed columns. Absent criteria
+ * match every document.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Document query data transfer object")
+public class DocumentQueryDTO {
+
+    @Schema(description = "Tenant of the documents")
+    private String tenantId;
+
+    @Schema(description = "Folder containing the documents")
+    private UUID folderId;
+
+    @Schema(description = "Type of the documents")
+    private DocumentType documentType;
+
+    @Schema(description = "Status of the documents")
+    private DocumentStatus documentStatus;
+
+    @Schema(description = "Security level of the documents")
+    private SecurityLevel securityLevel;
+
+    @Schema(description = "MIME type of the documents", example = "application/pdf")
+    private String mimeType;
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.interfaces.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of full-text search results.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Full-text search result data transfer object")
+public class DocumentSearchResultDTO {
+
+    @Schema(description = "The query that was searched for", example = "quarterly report")
+    private String query;
+
+    @Schema(description = "Number of documents matching the query across all pages", example = "42")
+    private Long totalHits;
+
+    @Schema(description = "Zero-based page number", example = "0")
+    private Integer page;
+
+    @Schema(description = "Page size", example = "20")
+    private Integer size;
+
+    @Schema(description = "Matching documents, most relevant first")
+    private List<DocumentSearchHitDTO> hits;
+}
@@ -86,4 +86,24 @@ public class DocumentVersionDTO {
 
     @Schema(description = "User who created this version")
     private String createdBy;
+
+    @Schema(description = "Date and time when this version was last updated")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime updatedAt;
+
+    @Schema(description = "Version number of this record, incremented on every change")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    @Schema(description = "Checksum of this version's file for integrity verification")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String checksum;
+
+    @Schema(description = "Whether this version's content is stored as chunks shared with other versions")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Boolean chunked;
+
+    @Schema(description = "Encoding of the stored content, such as gzip when it is compressed at rest, or null if stored as uploaded")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String contentEncoding;
 }
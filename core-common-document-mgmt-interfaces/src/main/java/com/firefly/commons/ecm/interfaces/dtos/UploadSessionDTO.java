@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.interfaces.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.firefly.commons.ecm.interfaces.enums.UploadSessionStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for UploadSession entity.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Resumable upload session data transfer object")
+public class UploadSessionDTO {
+
+    @Schema(description = "Unique identifier of the upload session")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private UUID id;
+
+    @Schema(description = "ID of the document the content is uploaded for")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private UUID documentId;
+
+    @Schema(description = "File name of the uploaded content")
+    private String fileName;
+
+    @Schema(description = "MIME type of the uploaded content")
+    private String mimeType;
+
+    @Schema(description = "Total size of the content in bytes")
+    private Long totalSize;
+
+    @Schema(description = "Number of distinct bytes received so far")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long receivedBytes;
+
+    @Schema(description = "Byte ranges received so far, merged and ordered by offset")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private List<ByteRangeDTO> receivedRanges;
+
+    @Schema(description = "Status of the upload session")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private UploadSessionStatus status;
+
+    @Schema(description = "Date and time after which an incomplete session is discarded")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime expiresAt;
+
+    @Schema(description = "Tenant ID for multi-tenancy support")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String tenantId;
+
+    @Schema(description = "Date and time when the session was created")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime createdAt;
+
+    @Schema(description = "User who created the session")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String createdBy;
+
+    @Schema(description = "Date and time when the session was last updated")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime updatedAt;
+}
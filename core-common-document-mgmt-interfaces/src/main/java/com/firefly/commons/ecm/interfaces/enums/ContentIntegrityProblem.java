@@ -0,0 +1,43 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.interfaces.enums;
+
+/**
+ * Enum representing a problem found when stored content is verified against its recorded checksum.
+ */
+public enum ContentIntegrityProblem {
+    /**
+     * Content was read in full but its checksum differs from the recorded one
+     */
+    CHECKSUM_MISMATCH,
+
+    /**
+     * Content was read in full but its size differs from the recorded one
+     */
+    SIZE_MISMATCH,
+
+    /**
+     * Content is not present in storage
+     */
+    MISSING,
+
+    /**
+     * Content is present but could not be read, decrypted or decoded
+     */
+    UNREADABLE
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.interfaces.enums;
+
+/**
+ * Enum representing a property documents are counted by next to search results.
+ */
+public enum DocumentFacet {
+    /**
+     * Type of the document
+     */
+    DOCUMENT_TYPE,
+
+    /**
+     * Status of the document
+     */
+    DOCUMENT_STATUS,
+
+    /**
+     * Security level of the document
+     */
+    SECURITY_LEVEL,
+
+    /**
+     * Tags of the document, counting a document once for every tag it carries
+     */
+    TAG,
+
+    /**
+     * Folder containing the document
+     */
+    FOLDER
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.interfaces.enums;
+
+/**
+ * Enum representing the access tier of stored content within its storage backend, such as an
+ * S3 storage class or an Azure Blob access tier. Every tier keeps content readable without a restore step.
+ */
+public enum StorageTier {
+    /**
+     * Frequently accessed content, stored at the highest storage and lowest access cost
+     */
+    HOT,
+
+    /**
+     * Infrequently accessed content, such as S3 Standard-IA or the Azure Cool tier
+     */
+    COOL,
+
+    /**
+     * Rarely accessed content, such as S3 Glacier Instant Retrieval or the Azure Cold tier
+     */
+    COLD
+}
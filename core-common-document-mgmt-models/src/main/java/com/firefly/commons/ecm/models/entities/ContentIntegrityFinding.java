@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.models.entities;
+
+import com.firefly.commons.ecm.interfaces.enums.ContentIntegrityProblem;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity representing a problem the content scrubber found with the stored content of a document or version.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("content_integrity_findings")
+public class ContentIntegrityFinding {
+
+    @Id
+    @Column("id")
+    private UUID id;
+
+    @Column("target")
+    private String target;
+
+    @Column("target_id")
+    private UUID targetId;
+
+    @Column("content_id")
+    private UUID contentId;
+
+    @Column("tenant_id")
+    private String tenantId;
+
+    @Column("problem")
+    private ContentIntegrityProblem problem;
+
+    @Column("expected_checksum")
+    private String expectedChecksum;
+
+    @Column("actual_checksum")
+    private String actualChecksum;
+
+    @Column("expected_size")
+    private Long expectedSize;
+
+    @Column("actual_size")
+    private Long actualSize;
+
+    @Column("message")
+    private String message;
+
+    @Column("detected_at")
+    private LocalDateTime detectedAt;
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.models.entities;
+
+import com.firefly.commons.ecm.interfaces.enums.UploadSessionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity representing an upload of document content sent by the client straight to the
+ * storage backend through a pre-signed URL. The ID is the ID the content is stored under.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("direct_uploads")
+public class DirectUpload {
+
+    @Id
+    @Column("id")
+    private UUID id;
+
+    @Column("document_id")
+    private UUID documentId;
+
+    @Column("tenant_id")
+    private String tenantId;
+
+    @Column("file_name")
+    private String fileName;
+
+    @Column("mime_type")
+    private String mimeType;
+
+    @Column("content_length")
+    private Long contentLength;
+
+    @Column("checksum")
+    private String checksum;
+
+    @Column("storage_path")
+    private String storagePath;
+
+    @Column("status")
+    private UploadSessionStatus status;
+
+    @Column("expires_at")
+    private LocalDateTime expiresAt;
+
+    @CreatedDate
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @CreatedBy
+    @Column("created_by")
+    private String createdBy;
+
+    @LastModifiedDate
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+}
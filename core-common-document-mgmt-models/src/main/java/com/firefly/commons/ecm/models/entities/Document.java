@@ -20,6 +20,7 @@ package com.firefly.commons.ecm.models.entities;
 import com.firefly.commons.ecm.interfaces.enums.DocumentStatus;
 import com.firefly.commons.ecm.interfaces.enums.DocumentType;
 import com.firefly.commons.ecm.interfaces.enums.SecurityLevel;
+import com.firefly.commons.ecm.interfaces.enums.StorageTier;
 import com.firefly.commons.ecm.interfaces.enums.StorageType;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -127,4 +128,19 @@ public class Document {
 
     @Column("checksum")
     private String checksum;
+
+    @Column("is_checksum_verified")
+    private Boolean isChecksumVerified;
+
+    @Column("content_blob_id")
+    private UUID contentBlobId;
+
+    @Column("content_encoding")
+    private String contentEncoding;
+
+    @Column("encryption_key_id")
+    private String encryptionKeyId;
+
+    @Column("storage_tier")
+    private StorageTier storageTier;
 }
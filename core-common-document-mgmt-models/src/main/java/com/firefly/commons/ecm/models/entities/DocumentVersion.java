@@ -25,6 +25,8 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -88,4 +90,29 @@ public class DocumentVersion {
     @CreatedBy
     @Column("created_by")
     private String createdBy;
+
+    @LastModifiedDate
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
+
+    @Column("checksum")
+    private String checksum;
+
+    @Column("is_checksum_verified")
+    private Boolean isChecksumVerified;
+
+    @Column("content_blob_id")
+    private UUID contentBlobId;
+
+    @Column("chunked")
+    private Boolean chunked;
+
+    @Column("content_encoding")
+    private String contentEncoding;
+
+    @Column("encryption_key_id")
+    private String encryptionKeyId;
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.models.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity representing the progress of the content scrubber through one table.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("scrub_checkpoints")
+public class ScrubCheckpoint {
+
+    @Id
+    @Column("target")
+    private String target;
+
+    @Column("last_id")
+    private UUID lastId;
+
+    @Column("pass_started_at")
+    private LocalDateTime passStartedAt;
+
+    @Column("last_pass_completed_at")
+    private LocalDateTime lastPassCompletedAt;
+
+    @Column("locked_by")
+    private String lockedBy;
+
+    @Column("locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+}
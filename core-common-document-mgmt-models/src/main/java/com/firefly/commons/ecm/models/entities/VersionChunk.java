@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.models.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity representing one chunk of the content of a chunked document version.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("version_chunks")
+public class VersionChunk {
+
+    @Id
+    @Column("id")
+    private UUID id;
+
+    @Column("version_id")
+    private UUID versionId;
+
+    @Column("chunk_index")
+    private Integer chunkIndex;
+
+    @Column("chunk_offset")
+    private Long chunkOffset;
+
+    @Column("chunk_size")
+    private Integer chunkSize;
+
+    @Column("blob_id")
+    private UUID blobId;
+
+    @Column("checksum")
+    private String checksum;
+
+    @Column("content_encoding")
+    private String contentEncoding;
+
+    @CreatedDate
+    @Column("created_at")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.models.repositories;
+
+import com.firefly.commons.ecm.models.entities.ContentBlob;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Repository for managing ContentBlob entities in the Enterprise Content Management system.
+ */
+@Repository
+public interface ContentBlobRepository extends BaseRepository<ContentBlob, UUID> {
+
+    /**
+     * Find the blob of a tenant with the given checksum.
+     *
+     * @param tenantId The tenant ID
+     * @param checksumAlgorithm The checksum algorithm
+     * @param checksum The hex encoded checksum
+     * @return A Mono emitting the matching blob, if any
+     */
+    Mono<ContentBlob> findByTenantIdAndChecksumAlgorithmAndChecksum(String tenantId, String checksumAlgorithm, String checksum);
+
+    /**
+     * Register a new blob with a single reference, unless the tenant already has a blob with the same checksum.
+     * The conflict is skipped rather than raised, so the surrounding transaction stays usable.
+     *
+     * @param id The blob ID
+     * @param tenantId The tenant ID
+     * @param checksumAlgorithm The checksum algorithm
+     * @param checksum The hex encoded checksum
+     * @param fileSize The content size in bytes
+     * @param storagePath The storage path of the content
+     * @param contentEncoding The encoding the content is stored with, if any
+     * @return A Mono emitting the blob ID if it was inserted, or empty if a blob with the checksum already exists
+     */
+    @Query("INSERT INTO content_blobs (id, tenant_id, checksum_algorithm, checksum, file_size, storage_path, " +
+            "ref_count, content_encoding, created_at, updated_at) " +
+            "VALUES (:id, :tenantId, :checksumAlgorithm, :checksum, :fileSize, :storagePath, 1, :contentEncoding, " +
+            "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (tenant_id, checksum_algorithm, checksum) DO NOTHING RETURNING id")
+    Mono<UUID> insertIfAbsent(UUID id, String tenantId, String checksumAlgorithm, String checksum, Long fileSize,
+                              String storagePath, String contentEncoding);
+
+    /**
+     * Find blobs that are no longer referenced and were last touched before the given time.
+     *
+     * @param refCount The reference count threshold, usually zero
+     * @param updatedAt The last update cutoff
+     * @return A Flux emitting the unreferenced blobs
+     */
+    Flux<ContentBlob> findByRefCountLessThanEqualAndUpdatedAtBefore(Integer refCount, LocalDateTime updatedAt);
+
+    /**
+     * Atomically add a reference to a blob.
+     *
+     * @param id The blob ID
+     * @return A Mono emitting the number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE content_blobs SET ref_count = ref_count + 1, updated_at = CURRENT_TIMESTAMP WHERE id = :id")
+    Mono<Integer> incrementRefCount(UUID id);
+
+    /**
+     * Atomically remove a reference from a blob.
+     *
+     * @param id The blob ID
+     * @return A Mono emitting the number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE content_blobs SET ref_count = ref_count - 1, updated_at = CURRENT_TIMESTAMP WHERE id = :id")
+    Mono<Integer> decrementRefCount(UUID id);
+
+    /**
+     * Remove the references held by all versions of a document, before the versions are deleted.
+     *
+     * @param documentId The document ID
+     * @return A Mono emitting the number of updated blobs
+     */
+    @Modifying
+    @Query("UPDATE content_blobs b SET ref_count = b.ref_count - v.refs, updated_at = CURRENT_TIMESTAMP " +
+            "FROM (SELECT content_blob_id, COUNT(*) AS refs FROM document_versions " +
+            "WHERE document_id = :documentId AND content_blob_id IS NOT NULL GROUP BY content_blob_id) v " +
+            "WHERE b.id = v.content_blob_id")
+    Mono<Integer> decrementRefCountForDocumentVersions(UUID documentId);
+
+    /**
+     * Remove the references held by the chunks of a chunked version.
+     *
+     * @param versionId The version ID
+     * @return A Mono emitting the number of updated blobs
+     */
+    @Modifying
+    @Query("UPDATE content_blobs b SET ref_count = b.ref_count - c.refs, updated_at = CURRENT_TIMESTAMP " +
+            "FROM (SELECT blob_id, COUNT(*) AS refs FROM version_chunks " +
+            "WHERE version_id = :versionId GROUP BY blob_id) c " +
+            "WHERE b.id = c.blob_id")
+    Mono<Integer> decrementRefCountForVersionChunks(UUID versionId);
+
+    /**
+     * Remove the references held by the chunks of all chunked versions of a document, before the versions are deleted.
+     *
+     * @param documentId The document ID
+     * @return A Mono emitting the number of updated blobs
+     */
+    @Modifying
+    @Query("UPDATE content_blobs b SET ref_count = b.ref_count - c.refs, updated_at = CURRENT_TIMESTAMP " +
+            "FROM (SELECT vc.blob_id, COUNT(*) AS refs FROM version_chunks vc " +
+            "JOIN document_versions v ON v.id = vc.version_id " +
+            "WHERE v.document_id = :documentId GROUP BY vc.blob_id) c " +
+            "WHERE b.id = c.blob_id")
+    Mono<Integer> decrementRefCountForDocumentVersionChunks(UUID documentId);
+
+    /**
+     * Record the storage path of a blob whose content moved.
+     *
+     * @param id The blob ID
+     * @param storagePath The new storage path
+     * @return A Mono emitting the number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE content_blobs SET storage_path = :storagePath, updated_at = CURRENT_TIMESTAMP WHERE id = :id")
+    Mono<Integer> updateStoragePath(UUID id, String storagePath);
+
+    /**
+     * Delete a blob if it is still unreferenced.
+     *
+     * @param id The blob ID
+     * @return A Mono emitting the number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM content_blobs WHERE id = :id AND ref_count <= 0")
+    Mono<Integer> deleteIfUnreferenced(UUID id);
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.models.repositories;
+
+import com.firefly.commons.ecm.interfaces.enums.ContentIntegrityProblem;
+import com.firefly.commons.ecm.models.entities.ContentIntegrityFinding;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@Repository
+public interface ContentIntegrityFindingRepository extends BaseRepository<ContentIntegrityFinding, UUID> {
+
+    /**
+     * Find the findings of a tenant with the given problem.
+     *
+     * @param tenantId The tenant ID
+     * @param problem The problem
+     * @return A Flux emitting the findings
+     */
+    Flux<ContentIntegrityFinding> findByTenantIdAndProblem(String tenantId, ContentIntegrityProblem problem);
+
+    /**
+     * Delete the finding of a document or version, once its content verifies or before a new finding is recorded.
+     *
+     * @param targetId The document or version ID
+     * @return A Mono emitting the number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM content_integrity_findings WHERE target_id = :targetId")
+    Mono<Integer> deleteByTargetId(UUID targetId);
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.models.repositories;
+
+import com.firefly.commons.ecm.interfaces.enums.UploadSessionStatus;
+import com.firefly.commons.ecm.models.entities.DirectUpload;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Repository for managing DirectUpload entities in the Enterprise Content Management system.
+ */
+@Repository
+public interface DirectUploadRepository extends BaseRepository<DirectUpload, UUID> {
+
+    /**
+     * Find uploads in the given status that expired before the given time.
+     *
+     * @param status The upload status
+     * @param expiresAt The expiry cutoff
+     * @return A Flux emitting the expired uploads
+     */
+    Flux<DirectUpload> findByStatusAndExpiresAtBefore(UploadSessionStatus status, LocalDateTime expiresAt);
+
+    /**
+     * Atomically move an upload from one status to another.
+     *
+     * @param id The upload ID
+     * @param from The expected current status
+     * @param to The new status
+     * @return A Mono emitting the number of updated rows, zero if the upload was not in the expected status
+     */
+    @Modifying
+    @Query("UPDATE direct_uploads SET status = :to, updated_at = CURRENT_TIMESTAMP WHERE id = :id AND status = :from")
+    Mono<Integer> transitionStatus(UUID id, UploadSessionStatus from, UploadSessionStatus to);
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.models.repositories;
+
+import com.firefly.commons.ecm.models.entities.DocumentAccessStats;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface DocumentAccessStatsRepository extends BaseRepository<DocumentAccessStats, UUID> {
+
+    /**
+     * Merge accesses into the stats of a document. The stored score is decayed to the current
+     * time before the new hits are added.
+     *
+     * @param documentId The document ID
+     * @param lastAccessedAt The time of the latest access
+     * @param hits The number of accesses
+     * @param halfLifeSeconds The time in seconds after which a hit counts half
+     * @return A Mono emitting the number of inserted or updated rows
+     */
+    @Modifying
+    @Query("INSERT INTO document_access_stats (document_id, last_accessed_at, access_score, scored_at) " +
+            "SELECT :documentId, :lastAccessedAt, :hits, CURRENT_TIMESTAMP WHERE EXISTS (SELECT 1 FROM documents WHERE id = :documentId) " +
+            "ON CONFLICT (document_id) DO UPDATE SET " +
+            "access_score = document_access_stats.access_score * POWER(0.5, " +
+            "GREATEST(EXTRACT(EPOCH FROM (EXCLUDED.scored_at - document_access_stats.scored_at)), 0) / :halfLifeSeconds) " +
+            "+ EXCLUDED.access_score, " +
+            "last_accessed_at = GREATEST(document_access_stats.last_accessed_at, EXCLUDED.last_accessed_at), " +
+            "scored_at = EXCLUDED.scored_at")
+    Mono<Integer> recordAccesses(UUID documentId, LocalDateTime lastAccessedAt, double hits, double halfLifeSeconds);
+}
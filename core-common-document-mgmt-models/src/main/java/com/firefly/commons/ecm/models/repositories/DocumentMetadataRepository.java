@@ -19,6 +19,7 @@ package com.firefly.commons.ecm.models.repositories;
 
 import com.firefly.commons.ecm.models.entities.DocumentMetadata;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 
 import java.util.UUID;
 
@@ -29,4 +30,11 @@ import java.util.UUID;
 @Repository
 public interface DocumentMetadataRepository extends BaseRepository<DocumentMetadata, UUID> {
 
+    /**
+     * Find all metadata entries of a document.
+     *
+     * @param documentId The document ID
+     * @return A Flux emitting the metadata entries of the document
+     */
+    Flux<DocumentMetadata> findByDocumentId(UUID documentId);
 }
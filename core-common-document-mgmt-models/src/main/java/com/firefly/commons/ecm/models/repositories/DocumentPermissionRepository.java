@@ -19,6 +19,7 @@ package com.firefly.commons.ecm.models.repositories;
 
 import com.firefly.commons.ecm.models.entities.DocumentPermission;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 
 import java.util.UUID;
 
@@ -28,4 +29,11 @@ import java.util.UUID;
 @Repository
 public interface DocumentPermissionRepository extends BaseRepository<DocumentPermission, UUID> {
 
+    /**
+     * Find all permissions of a document.
+     *
+     * @param documentId The document ID
+     * @return A Flux emitting the permissions of the document
+     */
+    Flux<DocumentPermission> findByDocumentId(UUID documentId);
 }
@@ -17,9 +17,17 @@
 
 package com.firefly.commons.ecm.models.repositories;
 
+import com.firefly.commons.ecm.interfaces.enums.StorageTier;
+import com.firefly.commons.ecm.interfaces.enums.StorageType;
 import com.firefly.commons.ecm.models.entities.Document;
+import com.firefly.commons.ecm.models.entities.DocumentTextMatch;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 /**
@@ -28,4 +36,127 @@ import java.util.UUID;
 @Repository
 public interface DocumentRepository extends BaseRepository<Document, UUID> {
 
+    /**
+     * Find the documents of a folder and of all folders below it, grouped by folder.
+     *
+     * @param folderId The ID of the root folder
+     * @return A Flux emitting the documents ordered by folder and name
+     */
+    @Query("WITH RECURSIVE subtree AS (" +
+            "SELECT id FROM folders WHERE id = :folderId " +
+            "UNION " +
+            "SELECT f.id FROM folders f JOIN subtree s ON f.parent_folder_id = s.id) " +
+            "SELECT d.* FROM documents d JOIN subtree s ON d.folder_id = s.id " +
+            "ORDER BY d.folder_id, d.name, d.id")
+    Flux<Document> findAllInFolderTree(UUID folderId);
+
+    /**
+     * Find a batch of documents in ID order, for walking the table by keyset.
+     *
+     * @param afterId The ID after which the batch starts
+     * @param limit The maximum number of documents
+     * @return A Flux emitting the documents ordered by ID
+     */
+    @Query("SELECT * FROM documents WHERE id > :afterId ORDER BY id LIMIT :limit")
+    Flux<Document> findAfter(UUID afterId, int limit);
+
+    /**
+     * Find a batch of documents whose checksum was computed from their stored content, in ID order,
+     * for walking the table by keyset.
+     *
+     * @param afterId The ID after which the batch starts
+     * @param limit The maximum number of documents
+     * @return A Flux emitting the documents ordered by ID
+     */
+    @Query("SELECT * FROM documents WHERE id > :afterId AND checksum IS NOT NULL AND is_checksum_verified = TRUE " +
+            "ORDER BY id LIMIT :limit")
+    Flux<Document> findWithChecksumAfter(UUID afterId, int limit);
+
+    /**
+     * Find a batch of documents in the default or hot tier whose content has gone cold: its access
+     * score, decayed to the current time, is below the given score. Content shared with other
+     * documents is left out, since it cannot be moved for one of them alone.
+     *
+     * @param afterId The ID after which the batch starts
+     * @param createdBefore Documents created later are never considered cold
+     * @param halfLifeSeconds The time in seconds after which an access counts half
+     * @param maxScore The score below which content is cold
+     * @param limit The maximum number of documents
+     * @return A Flux emitting the documents ordered by ID
+     */
+    @Query("SELECT d.* FROM documents d LEFT JOIN document_access_stats s ON s.document_id = d.id " +
+            "WHERE d.id > :afterId AND (d.storage_tier IS NULL OR d.storage_tier = 'HOT') AND d.created_at < :createdBefore " +
+            "AND d.checksum IS NOT NULL " +
+            "AND (d.content_blob_id IS NULL OR EXISTS (SELECT 1 FROM content_blobs b WHERE b.id = d.content_blob_id AND b.ref_count = 1)) " +
+            "AND COALESCE(s.access_score * POWER(0.5, EXTRACT(EPOCH FROM (CURRENT_TIMESTAMP - s.scored_at)) / :halfLifeSeconds), 0) < :maxScore " +
+            "ORDER BY d.id LIMIT :limit")
+    Flux<Document> findCooledDown(UUID afterId, LocalDateTime createdBefore, double halfLifeSeconds, double maxScore, int limit);
+
+    /**
+     * Find a batch of documents in the given tier whose content has become hot again: its access
+     * score, decayed to the current time, is at least the given score.
+     *
+     * @param afterId The ID after which the batch starts
+     * @param storageTier The tier the content is stored in
+     * @param halfLifeSeconds The time in seconds after which an access counts half
+     * @param minScore The score from which content is hot
+     * @param limit The maximum number of documents
+     * @return A Flux emitting the documents ordered by ID
+     */
+    @Query("SELECT d.* FROM documents d JOIN document_access_stats s ON s.document_id = d.id " +
+            "WHERE d.id > :afterId AND d.storage_tier = :storageTier " +
+            "AND s.access_score * POWER(0.5, EXTRACT(EPOCH FROM (CURRENT_TIMESTAMP - s.scored_at)) / :halfLifeSeconds) >= :minScore " +
+            "ORDER BY d.id LIMIT :limit")
+    Flux<Document> findWarmedUp(UUID afterId, StorageTier storageTier, double halfLifeSeconds, double minScore, int limit);
+
+    /**
+     * Record where the content of a document is stored after it moved, unless the document was
+     * changed since it was read.
+     *
+     * @param id The document ID
+     * @param version The version of the document when it was read
+     * @param storageType The storage type the content is now held in
+     * @param storagePath The storage path of the content
+     * @param storageTier The tier the content is now stored in
+     * @return A Mono emitting the number of updated rows, zero if the document was changed
+     */
+    @Modifying
+    @Query("UPDATE documents SET storage_type = :storageType, storage_path = :storagePath, storage_tier = :storageTier, " +
+            "version = version + 1 WHERE id = :id AND version = :version")
+    Mono<Integer> updateStorage(UUID id, Long version, StorageType storageType, String storagePath, StorageTier storageTier);
+
+    /**
+     * Find the first documents of a tenant matching a full-text query, ranked by {@code ts_rank_cd}
+     * over their weighted search vector. The query uses the web search syntax of
+     * {@code websearch_to_tsquery}: quoted phrases, {@code or} and {@code -} to exclude words.
+     *
+     * @param tenantId The tenant
+     * @param query The query
+     * @param limit The maximum number of documents
+     * @return A Flux emitting the matches ordered by rank, then ID
+     */
+    @Query("SELECT d.id, ts_rank_cd(d.search_vector, q.query) AS search_rank " +
+            "FROM documents d, websearch_to_tsquery('simple', :query) AS q(query) " +
+            "WHERE d.tenant_id = :tenantId AND d.search_vector @@ q.query " +
+            "ORDER BY search_rank DESC, d.id LIMIT :limit")
+    Flux<DocumentTextMatch> searchText(String tenantId, String query, int limit);
+
+    /**
+     * Find the documents of a tenant matching a full-text query that follow the given match in
+     * rank order, for paging through the matches by keyset.
+     *
+     * @param tenantId The tenant
+     * @param query The query
+     * @param afterRank The rank of the last match of the previous page
+     * @param afterId The ID of the last match of the previous page
+     * @param limit The maximum number of documents
+     * @return A Flux emitting the matches ordered by rank, then ID
+     */
+    @Query("SELECT d.id, ts_rank_cd(d.search_vector, q.query) AS search_rank " +
+            "FROM documents d, websearch_to_tsquery('simple', :query) AS q(query) " +
+            "WHERE d.tenant_id = :tenantId AND d.search_vector @@ q.query " +
+            "AND (ts_rank_cd(d.search_vector, q.query) < :afterRank " +
+            "OR (ts_rank_cd(d.search_vector, q.query) = :afterRank AND d.id > :afterId)) " +
+            "ORDER BY search_rank DESC, d.id LIMIT :limit")
+    Flux<DocumentTextMatch> searchTextAfter(String tenantId, String query, Float afterRank, UUID afterId, int limit);
 }
@@ -19,6 +19,7 @@ package com.firefly.commons.ecm.models.repositories;
 
 import com.firefly.commons.ecm.models.entities.DocumentTag;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 
 import java.util.UUID;
 
@@ -29,4 +30,11 @@ import java.util.UUID;
 @Repository
 public interface DocumentTagRepository extends BaseRepository<DocumentTag, UUID> {
 
+    /**
+     * Find all tag assignments of a document.
+     *
+     * @param documentId The document ID
+     * @return A Flux emitting the tag assignments of the document
+     */
+    Flux<DocumentTag> findByDocumentId(UUID documentId);
 }
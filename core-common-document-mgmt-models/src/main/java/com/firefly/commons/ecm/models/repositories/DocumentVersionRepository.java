@@ -18,6 +18,7 @@
 package com.firefly.commons.ecm.models.repositories;
 
 import com.firefly.commons.ecm.models.entities.DocumentVersion;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 
@@ -37,4 +38,16 @@ public interface DocumentVersionRepository extends BaseRepository<DocumentVersio
      * @return A Flux emitting all versions for the specified document
      */
     Flux<DocumentVersion> findByDocumentId(UUID documentId);
+
+    /**
+     * Find a batch of versions whose checksum was computed from their stored content, in ID order,
+     * for walking the table by keyset.
+     *
+     * @param afterId The ID after which the batch starts
+     * @param limit The maximum number of versions
+     * @return A Flux emitting the versions ordered by ID
+     */
+    @Query("SELECT * FROM document_versions WHERE id > :afterId AND checksum IS NOT NULL AND is_checksum_verified = TRUE " +
+            "ORDER BY id LIMIT :limit")
+    Flux<DocumentVersion> findWithChecksumAfter(UUID afterId, int limit);
 }
@@ -18,7 +18,9 @@
 package com.firefly.commons.ecm.models.repositories;
 
 import com.firefly.commons.ecm.models.entities.Folder;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 
 import java.util.UUID;
 
@@ -29,4 +31,16 @@ import java.util.UUID;
 @Repository
 public interface FolderRepository extends BaseRepository<Folder, UUID> {
 
+    /**
+     * Find a folder and all folders below it, following {@code parent_folder_id}.
+     *
+     * @param folderId The ID of the root folder
+     * @return A Flux emitting the root folder and its descendants
+     */
+    @Query("WITH RECURSIVE subtree AS (" +
+            "SELECT * FROM folders WHERE id = :folderId " +
+            "UNION " +
+            "SELECT f.* FROM folders f JOIN subtree s ON f.parent_folder_id = s.id) " +
+            "SELECT * FROM subtree")
+    Flux<Folder> findSubtree(UUID folderId);
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.models.repositories;
+
+import com.firefly.commons.ecm.models.entities.ScrubCheckpoint;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface ScrubCheckpointRepository extends BaseRepository<ScrubCheckpoint, String> {
+
+    /**
+     * Take the lease of a target unless another instance holds an unexpired one, starting a new pass if none is in progress.
+     *
+     * @param target The scrubbed table
+     * @param owner The ID of the instance taking the lease
+     * @param lockedUntil The time the lease expires
+     * @return A Mono emitting the number of updated rows, zero if the lease is held elsewhere
+     */
+    @Modifying
+    @Query("UPDATE scrub_checkpoints SET locked_by = :owner, locked_until = :lockedUntil, " +
+            "pass_started_at = COALESCE(pass_started_at, CURRENT_TIMESTAMP), updated_at = CURRENT_TIMESTAMP " +
+            "WHERE target = :target AND (locked_until IS NULL OR locked_until < CURRENT_TIMESTAMP)")
+    Mono<Integer> claim(String target, String owner, LocalDateTime lockedUntil);
+
+    /**
+     * Record the last ID verified in the current pass.
+     *
+     * @param target The scrubbed table
+     * @param owner The ID of the instance holding the lease
+     * @param lastId The last verified ID
+     * @return A Mono emitting the number of updated rows, zero if the lease was lost
+     */
+    @Modifying
+    @Query("UPDATE scrub_checkpoints SET last_id = :lastId, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE target = :target AND locked_by = :owner")
+    Mono<Integer> saveProgress(String target, String owner, UUID lastId);
+
+    /**
+     * Mark the current pass as completed, so the next run starts a new pass.
+     *
+     * @param target The scrubbed table
+     * @param owner The ID of the instance holding the lease
+     * @return A Mono emitting the number of updated rows, zero if the lease was lost
+     */
+    @Modifying
+    @Query("UPDATE scrub_checkpoints SET last_id = NULL, pass_started_at = NULL, " +
+            "last_pass_completed_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE target = :target AND locked_by = :owner")
+    Mono<Integer> completePass(String target, String owner);
+
+    /**
+     * Give up the lease of a target.
+     *
+     * @param target The scrubbed table
+     * @param owner The ID of the instance holding the lease
+     * @return A Mono emitting the number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE scrub_checkpoints SET locked_by = NULL, locked_until = NULL, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE target = :target AND locked_by = :owner")
+    Mono<Integer> release(String target, String owner);
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.models.repositories;
+
+import com.firefly.commons.ecm.models.entities.UploadSessionChunk;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Repository for managing UploadSessionChunk entities in the Enterprise Content Management system.
+ */
+@Repository
+public interface UploadSessionChunkRepository extends BaseRepository<UploadSessionChunk, UUID> {
+
+    /**
+     * Find the chunks received by a session, ordered by offset.
+     *
+     * @param sessionId The session ID
+     * @return A Flux emitting the chunks
+     */
+    Flux<UploadSessionChunk> findBySessionIdOrderByChunkOffset(UUID sessionId);
+
+    /**
+     * Record a received chunk, replacing a chunk previously received at the same offset.
+     *
+     * @param sessionId The session ID
+     * @param chunkOffset The offset of the chunk
+     * @param chunkLength The length of the chunk
+     * @return A Mono emitting the number of inserted or updated rows
+     */
+    @Modifying
+    @Query("INSERT INTO upload_session_chunks (session_id, chunk_offset, chunk_length) " +
+            "VALUES (:sessionId, :chunkOffset, :chunkLength) " +
+            "ON CONFLICT (session_id, chunk_offset) DO UPDATE SET chunk_length = EXCLUDED.chunk_length, " +
+            "created_at = CURRENT_TIMESTAMP")
+    Mono<Integer> upsertChunk(UUID sessionId, Long chunkOffset, Long chunkLength);
+}
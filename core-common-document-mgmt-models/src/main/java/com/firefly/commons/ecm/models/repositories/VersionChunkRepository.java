@@ -0,0 +1,64 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.models.repositories;
+
+import com.firefly.commons.ecm.models.entities.VersionChunk;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Repository for managing VersionChunk entities in the Enterprise Content Management system.
+ */
+@Repository
+public interface VersionChunkRepository extends BaseRepository<VersionChunk, UUID> {
+
+    /**
+     * Find the chunks of a version, in content order.
+     *
+     * @param versionId The version ID
+     * @return A Flux emitting the chunks
+     */
+    Flux<VersionChunk> findByVersionIdOrderByChunkIndex(UUID versionId);
+
+    /**
+     * Find the chunks of a version overlapping a byte range, in content order.
+     *
+     * @param versionId The version ID
+     * @param offset The zero-based offset of the first byte of the range
+     * @param end The offset just past the last byte of the range
+     * @return A Flux emitting the chunks
+     */
+    @Query("SELECT * FROM version_chunks WHERE version_id = :versionId " +
+            "AND chunk_offset < :end AND chunk_offset + chunk_size > :offset ORDER BY chunk_index")
+    Flux<VersionChunk> findOverlapping(UUID versionId, long offset, long end);
+
+    /**
+     * Delete the chunks of a version.
+     *
+     * @param versionId The version ID
+     * @return A Mono emitting the number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM version_chunks WHERE version_id = :versionId")
+    Mono<Integer> deleteByVersionId(UUID versionId);
+}
@@ -0,0 +1,48 @@
+-- Background verification of stored content against its recorded checksum
+
+CREATE TYPE content_integrity_problem AS ENUM (
+    'CHECKSUM_MISMATCH',
+    'SIZE_MISMATCH',
+    'MISSING',
+    'UNREADABLE'
+);
+
+CREATE CAST (varchar AS content_integrity_problem) WITH INOUT AS IMPLICIT;
+CREATE CAST (content_integrity_problem AS varchar) WITH INOUT AS IMPLICIT;
+
+-- Scrub Checkpoints Table
+-- One row per scrubbed table, holding the last ID verified in the current pass and the
+-- lease of the instance currently scrubbing it
+CREATE TABLE scrub_checkpoints (
+    target VARCHAR(50) PRIMARY KEY,
+    last_id UUID,
+    pass_started_at TIMESTAMP WITH TIME ZONE,
+    last_pass_completed_at TIMESTAMP WITH TIME ZONE,
+    locked_by VARCHAR(100),
+    locked_until TIMESTAMP WITH TIME ZONE,
+    updated_at TIMESTAMP WITH TIME ZONE
+);
+
+INSERT INTO scrub_checkpoints (target) VALUES ('documents'), ('document_versions');
+
+-- Content Integrity Findings Table
+-- The latest problem found with the content of a document or version, removed once it verifies again
+CREATE TABLE content_integrity_findings (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    target VARCHAR(50) NOT NULL,
+    target_id UUID NOT NULL,
+    content_id UUID,
+    tenant_id VARCHAR(100),
+    problem content_integrity_problem NOT NULL,
+    expected_checksum VARCHAR(255),
+    actual_checksum VARCHAR(255),
+    expected_size BIGINT,
+    actual_size BIGINT,
+    message VARCHAR(1000),
+    detected_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_content_integrity_finding_target UNIQUE (target_id)
+);
+
+-- Create indexes for performance
+CREATE INDEX idx_content_integrity_findings_tenant_id ON content_integrity_findings(tenant_id);
+CREATE INDEX idx_content_integrity_findings_problem ON content_integrity_findings(problem);
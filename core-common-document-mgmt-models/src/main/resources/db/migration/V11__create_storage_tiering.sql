@@ -0,0 +1,28 @@
+-- Access tracking and tiered storage of document content
+
+CREATE TYPE storage_tier AS ENUM (
+    'HOT',
+    'COOL',
+    'COLD'
+);
+
+CREATE CAST (varchar AS storage_tier) WITH INOUT AS IMPLICIT;
+CREATE CAST (storage_tier AS varchar) WITH INOUT AS IMPLICIT;
+
+-- Access tier of the document content within its storage backend
+-- NULL means the default tier content is written to
+ALTER TABLE documents ADD COLUMN storage_tier storage_tier;
+
+-- Document Access Stats Table
+-- Accesses are counted in memory and merged here periodically. The access score is a hit
+-- count that halves every configured half-life, as of scored_at
+CREATE TABLE document_access_stats (
+    document_id UUID PRIMARY KEY,
+    last_accessed_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    access_score DOUBLE PRECISION NOT NULL DEFAULT 0,
+    scored_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT fk_document_access_stats_document FOREIGN KEY (document_id) REFERENCES documents(id) ON DELETE CASCADE
+);
+
+-- Create indexes for performance
+CREATE INDEX idx_documents_storage_tier ON documents(storage_tier);
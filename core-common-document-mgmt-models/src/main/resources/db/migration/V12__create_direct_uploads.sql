@@ -0,0 +1,24 @@
+-- Uploads sent by clients straight to the storage backend through pre-signed URLs
+
+-- Direct Uploads Table
+-- The upload ID is also the ID the content is stored under in the ECM content port
+CREATE TABLE direct_uploads (
+    id UUID PRIMARY KEY,
+    document_id UUID NOT NULL,
+    tenant_id VARCHAR(100),
+    file_name VARCHAR(255) NOT NULL,
+    mime_type VARCHAR(100),
+    content_length BIGINT NOT NULL,
+    checksum VARCHAR(255) NOT NULL,
+    storage_path VARCHAR(1000),
+    status upload_session_status NOT NULL DEFAULT 'ACTIVE',
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT fk_direct_upload_document FOREIGN KEY (document_id) REFERENCES documents(id) ON DELETE CASCADE
+);
+
+-- Create indexes for performance
+CREATE INDEX idx_direct_uploads_document_id ON direct_uploads(document_id);
+CREATE INDEX idx_direct_uploads_expires_at ON direct_uploads(expires_at) WHERE status = 'ACTIVE';
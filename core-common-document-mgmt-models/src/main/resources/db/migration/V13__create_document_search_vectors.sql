@@ -0,0 +1,75 @@
+-- Full-text search over documents with weighted tsvectors
+-- The 'simple' configuration lower-cases words without stemming, so it treats every language alike
+
+-- Weighted search vector of a document: name (A), file name (B), description (C) and the values
+-- of its searchable metadata entries (D)
+CREATE FUNCTION document_search_vector(p_document_id UUID, p_name TEXT, p_file_name TEXT, p_description TEXT)
+RETURNS tsvector
+LANGUAGE sql STABLE AS $$
+    SELECT setweight(to_tsvector('simple', COALESCE(p_name, '')), 'A')
+        || setweight(to_tsvector('simple', COALESCE(p_file_name, '')), 'B')
+        || setweight(to_tsvector('simple', COALESCE(p_description, '')), 'C')
+        || setweight(to_tsvector('simple', COALESCE((
+               SELECT string_agg(m.metadata_value, ' ')
+               FROM document_metadata m
+               WHERE m.document_id = p_document_id AND m.is_searchable
+           ), '')), 'D')
+$$;
+
+ALTER TABLE documents ADD COLUMN search_vector tsvector;
+
+-- Keep the vector in step with the searchable columns of the document
+CREATE FUNCTION documents_search_vector_trigger() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.search_vector := document_search_vector(NEW.id, NEW.name, NEW.file_name, NEW.description);
+    RETURN NEW;
+END
+$$;
+
+CREATE TRIGGER trg_documents_search_vector
+    BEFORE INSERT OR UPDATE OF name, file_name, description ON documents
+    FOR EACH ROW EXECUTE FUNCTION documents_search_vector_trigger();
+
+-- Refresh the vectors of the documents whose metadata changed, once per statement, so bulk
+-- inserts of metadata update each document once
+CREATE FUNCTION document_metadata_search_vector_trigger() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        UPDATE documents d
+        SET search_vector = document_search_vector(d.id, d.name, d.file_name, d.description)
+        WHERE d.id IN (SELECT document_id FROM new_rows);
+    ELSIF TG_OP = 'UPDATE' THEN
+        UPDATE documents d
+        SET search_vector = document_search_vector(d.id, d.name, d.file_name, d.description)
+        WHERE d.id IN (SELECT document_id FROM new_rows UNION SELECT document_id FROM old_rows);
+    ELSE
+        UPDATE documents d
+        SET search_vector = document_search_vector(d.id, d.name, d.file_name, d.description)
+        WHERE d.id IN (SELECT document_id FROM old_rows);
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_document_metadata_search_vector_insert
+    AFTER INSERT ON document_metadata
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION document_metadata_search_vector_trigger();
+
+CREATE TRIGGER trg_document_metadata_search_vector_update
+    AFTER UPDATE ON document_metadata
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION document_metadata_search_vector_trigger();
+
+CREATE TRIGGER trg_document_metadata_search_vector_delete
+    AFTER DELETE ON document_metadata
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION document_metadata_search_vector_trigger();
+
+-- Fill the vectors of existing documents
+UPDATE documents SET search_vector = document_search_vector(id, name, file_name, description);
+
+-- Create indexes for performance
+CREATE INDEX idx_documents_search_vector ON documents USING GIN (search_vector);
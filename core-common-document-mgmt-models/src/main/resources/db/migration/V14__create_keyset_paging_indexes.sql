@@ -0,0 +1,11 @@
+-- Indexes for keyset (cursor) pagination on the default (created_at, id) order
+-- A page seeks to the row after its cursor and reads the page size from there, in either direction
+
+CREATE INDEX idx_documents_created_at_id ON documents(created_at, id);
+CREATE INDEX idx_documents_tenant_id_created_at_id ON documents(tenant_id, created_at, id);
+CREATE INDEX idx_documents_folder_id_created_at_id ON documents(folder_id, created_at, id);
+
+CREATE INDEX idx_folders_tenant_id_created_at_id ON folders(tenant_id, created_at, id);
+CREATE INDEX idx_folders_parent_folder_id_created_at_id ON folders(parent_folder_id, created_at, id);
+
+CREATE INDEX idx_tags_tenant_id_created_at_id ON tags(tenant_id, created_at, id);
@@ -0,0 +1,4 @@
+-- Instance holding the spool file of an upload session
+-- Spool files are local, so chunks and completion of a session must reach that instance
+
+ALTER TABLE upload_sessions ADD COLUMN spool_node VARCHAR(255);
@@ -0,0 +1,5 @@
+-- Whether the recorded checksum was computed by the service from the stored content
+-- Checksums declared by clients are recorded but not trusted, so content scrubbing only verifies checked rows
+
+ALTER TABLE documents ADD COLUMN is_checksum_verified BOOLEAN DEFAULT FALSE;
+ALTER TABLE document_versions ADD COLUMN is_checksum_verified BOOLEAN DEFAULT FALSE;
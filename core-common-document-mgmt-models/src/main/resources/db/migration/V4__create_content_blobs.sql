@@ -0,0 +1,31 @@
+-- Content-addressed storage of document content for deduplication
+
+-- Content Blobs Table
+-- The blob ID is also the ID the content is stored under in the ECM content port
+CREATE TABLE content_blobs (
+    id UUID PRIMARY KEY,
+    tenant_id VARCHAR(100) NOT NULL,
+    checksum_algorithm VARCHAR(50) NOT NULL,
+    checksum VARCHAR(255) NOT NULL,
+    file_size BIGINT NOT NULL,
+    storage_path VARCHAR(1000),
+    ref_count INTEGER NOT NULL DEFAULT 1,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT uk_content_blob_checksum UNIQUE (tenant_id, checksum_algorithm, checksum)
+);
+
+ALTER TABLE documents ADD COLUMN content_blob_id UUID;
+ALTER TABLE document_versions ADD COLUMN content_blob_id UUID;
+ALTER TABLE document_versions ADD COLUMN checksum VARCHAR(255);
+
+ALTER TABLE documents ADD CONSTRAINT fk_document_content_blob
+    FOREIGN KEY (content_blob_id) REFERENCES content_blobs(id) ON DELETE SET NULL;
+ALTER TABLE document_versions ADD CONSTRAINT fk_document_version_content_blob
+    FOREIGN KEY (content_blob_id) REFERENCES content_blobs(id) ON DELETE SET NULL;
+
+-- Create indexes for performance
+CREATE INDEX idx_content_blobs_unreferenced ON content_blobs(updated_at) WHERE ref_count <= 0;
+CREATE INDEX idx_documents_content_blob_id ON documents(content_blob_id);
+CREATE INDEX idx_document_versions_content_blob_id ON document_versions(content_blob_id);
+CREATE INDEX idx_document_versions_checksum ON document_versions(checksum);
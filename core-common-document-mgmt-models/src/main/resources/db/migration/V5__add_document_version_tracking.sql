@@ -0,0 +1,4 @@
+-- Change tracking for document versions, used to derive HTTP cache validators
+
+ALTER TABLE document_versions ADD COLUMN updated_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE document_versions ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,44 @@
+-- Resumable chunked upload sessions
+
+CREATE TYPE upload_session_status AS ENUM (
+    'ACTIVE',
+    'COMPLETING',
+    'COMPLETED',
+    'ABORTED',
+    'EXPIRED'
+);
+
+CREATE CAST (varchar AS upload_session_status) WITH INOUT AS IMPLICIT;
+CREATE CAST (upload_session_status AS varchar) WITH INOUT AS IMPLICIT;
+
+-- Upload Sessions Table
+CREATE TABLE upload_sessions (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    document_id UUID NOT NULL,
+    tenant_id VARCHAR(100),
+    file_name VARCHAR(255) NOT NULL,
+    mime_type VARCHAR(100),
+    total_size BIGINT NOT NULL,
+    status upload_session_status NOT NULL DEFAULT 'ACTIVE',
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT fk_upload_session_document FOREIGN KEY (document_id) REFERENCES documents(id) ON DELETE CASCADE
+);
+
+-- Upload Session Chunks Table
+-- A chunk re-sent at the same offset replaces the earlier one
+CREATE TABLE upload_session_chunks (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    session_id UUID NOT NULL,
+    chunk_offset BIGINT NOT NULL,
+    chunk_length BIGINT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_upload_session_chunk_session FOREIGN KEY (session_id) REFERENCES upload_sessions(id) ON DELETE CASCADE,
+    CONSTRAINT uk_upload_session_chunk_offset UNIQUE (session_id, chunk_offset)
+);
+
+-- Create indexes for performance
+CREATE INDEX idx_upload_sessions_document_id ON upload_sessions(document_id);
+CREATE INDEX idx_upload_sessions_expires_at ON upload_sessions(expires_at) WHERE status = 'ACTIVE';
@@ -0,0 +1,24 @@
+-- Chunked storage of document version content
+-- Versions are split into content-defined chunks, each stored as a shared content blob,
+-- so consecutive versions only add the chunks that changed
+
+ALTER TABLE document_versions ADD COLUMN chunked BOOLEAN DEFAULT FALSE;
+
+-- Version Chunks Table
+-- The ordered list of chunks a chunked version is reassembled from
+CREATE TABLE version_chunks (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    version_id UUID NOT NULL,
+    chunk_index INTEGER NOT NULL,
+    chunk_offset BIGINT NOT NULL,
+    chunk_size INTEGER NOT NULL,
+    blob_id UUID NOT NULL,
+    checksum VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_version_chunk_version FOREIGN KEY (version_id) REFERENCES document_versions(id) ON DELETE CASCADE,
+    CONSTRAINT uk_version_chunk_index UNIQUE (version_id, chunk_index)
+);
+
+-- Create indexes for performance
+CREATE INDEX idx_version_chunks_blob_id ON version_chunks(blob_id);
+CREATE INDEX idx_version_chunks_offset ON version_chunks(version_id, chunk_offset);
@@ -0,0 +1,7 @@
+-- Content encoding of stored content, such as gzip for content compressed at rest
+-- NULL means the content is stored as uploaded
+
+ALTER TABLE content_blobs ADD COLUMN content_encoding VARCHAR(20);
+ALTER TABLE documents ADD COLUMN content_encoding VARCHAR(20);
+ALTER TABLE document_versions ADD COLUMN content_encoding VARCHAR(20);
+ALTER TABLE version_chunks ADD COLUMN content_encoding VARCHAR(20);
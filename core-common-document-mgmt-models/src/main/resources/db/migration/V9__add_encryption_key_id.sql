@@ -0,0 +1,5 @@
+-- ID of the master key the data key of encrypted content is encrypted with
+-- NULL means the content is stored unencrypted
+
+ALTER TABLE documents ADD COLUMN encryption_key_id VARCHAR(100);
+ALTER TABLE document_versions ADD COLUMN encryption_key_id VARCHAR(100);
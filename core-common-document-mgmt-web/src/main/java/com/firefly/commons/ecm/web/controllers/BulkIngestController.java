@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.web.controllers;
+
+import com.firefly.commons.ecm.core.services.BulkIngestService;
+import com.firefly.commons.ecm.interfaces.dtos.BulkIngestResultDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.multipart.Part;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+/**
+ * REST controller for ingesting many documents in one request.
+ */
+@RestController
+@RequestMapping("/api/v1/documents/bulk")
+@RequiredArgsConstructor
+@Tag(name = "Bulk Ingest Controller", description = "API for ingesting many documents with their content, metadata and tags")
+public class BulkIngestController {
+
+    private final BulkIngestService bulkIngestService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Ingest documents in bulk",
+            description = "Creates a document for every file part, with the metadata and tags of the manifest part "
+                    + "sent before it. Results are streamed as NDJSON, one line per file, as soon as each file is stored")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Per-file results streamed successfully",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = BulkIngestResultDTO.class)))
+    })
+    public Flux<BulkIngestResultDTO> ingest(
+            @Parameter(description = "File parts, each optionally preceded by a manifest part") @RequestBody Flux<Part> parts) {
+        return bulkIngestService.ingest(parts);
+    }
+}
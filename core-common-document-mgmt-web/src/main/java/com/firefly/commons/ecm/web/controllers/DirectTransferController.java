@@ -0,0 +1,110 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.web.controllers;
+
+import com.firefly.commons.ecm.core.services.DirectTransferService;
+import com.firefly.commons.ecm.interfaces.dtos.DirectTransferDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DirectUploadRequestDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * REST controller for transfers of document content directly between clients and the storage
+ * backend through pre-signed URLs.
+ */
+@RestController
+@RequestMapping("/api/v1/documents/{documentId}/direct")
+@RequiredArgsConstructor
+@Tag(name = "Direct Transfer Controller", description = "API for pre-signed direct downloads and uploads of document content")
+public class DirectTransferController {
+
+    private final DirectTransferService directTransferService;
+
+    @PostMapping("/download")
+    @Operation(summary = "Issue a direct download URL",
+            description = "Returns a short-lived pre-signed URL that downloads the document content straight from the storage backend")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Pre-signed download issued successfully",
+                    content = @Content(schema = @Schema(implementation = DirectTransferDTO.class))),
+            @ApiResponse(responseCode = "403", description = "Principal lacks read permission on the document"),
+            @ApiResponse(responseCode = "404", description = "Document not found"),
+            @ApiResponse(responseCode = "409", description = "Content cannot be transferred directly")
+    })
+    public Mono<DirectTransferDTO> createDownload(
+            @Parameter(description = "ID of the document") @PathVariable UUID documentId,
+            @Parameter(description = "Principal ID") @RequestParam("principalId") UUID principalId) {
+        return directTransferService.createDownload(documentId, principalId)
+                .onErrorMap(SecurityException.class, this::forbidden);
+    }
+
+    @PostMapping("/uploads")
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Issue a direct upload URL",
+            description = "Returns a short-lived pre-signed URL the content is sent to, straight to the storage backend. "
+                    + "The document content is replaced once the upload is completed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Pre-signed upload issued successfully",
+                    content = @Content(schema = @Schema(implementation = DirectTransferDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid file name, size or checksum"),
+            @ApiResponse(responseCode = "403", description = "Principal lacks write permission on the document"),
+            @ApiResponse(responseCode = "404", description = "Document not found"),
+            @ApiResponse(responseCode = "409", description = "Content cannot be transferred directly")
+    })
+    public Mono<DirectTransferDTO> createUpload(
+            @Parameter(description = "ID of the document") @PathVariable UUID documentId,
+            @Parameter(description = "Principal ID") @RequestParam("principalId") UUID principalId,
+            @Parameter(description = "File name, MIME type, size and checksum of the content") @RequestBody DirectUploadRequestDTO request) {
+        return directTransferService.createUpload(documentId, principalId, request)
+                .onErrorMap(SecurityException.class, this::forbidden);
+    }
+
+    @PostMapping("/uploads/{uploadId}/complete")
+    @Operation(summary = "Complete a direct upload",
+            description = "Stores the content sent to the pre-signed URL as the document content")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Document content uploaded successfully",
+                    content = @Content(schema = @Schema(implementation = DocumentDTO.class))),
+            @ApiResponse(responseCode = "403", description = "Principal lacks write permission on the document"),
+            @ApiResponse(responseCode = "404", description = "Direct upload not found"),
+            @ApiResponse(responseCode = "409", description = "Content not received in full or upload not active")
+    })
+    public Mono<DocumentDTO> completeUpload(
+            @Parameter(description = "ID of the document") @PathVariable UUID documentId,
+            @Parameter(description = "ID of the direct upload") @PathVariable UUID uploadId,
+            @Parameter(description = "Principal ID") @RequestParam("principalId") UUID principalId) {
+        return directTransferService.completeUpload(documentId, principalId, uploadId)
+                .onErrorMap(SecurityException.class, this::forbidden);
+    }
+
+    private ResponseStatusException forbidden(SecurityException error) {
+        return new ResponseStatusException(HttpStatus.FORBIDDEN, error.getMessage(), error);
+    }
+}
@@ -20,7 +20,14 @@ package com.firefly.commons.ecm.web.controllers;
 import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
 import com.firefly.commons.ecm.core.services.DocumentService;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentCopyRequestDTO;
+import com.firefly.commons.ecm.interfaces.dtos.CursorPageDTO;
+import com.firefly.commons.ecm.interfaces.dtos.CursorRequestDTO;
 import com.firefly.commons.ecm.interfaces.dtos.DocumentDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentQueryDTO;
+import com.firefly.commons.ecm.web.support.CacheValidators;
+import com.firefly.commons.ecm.web.support.ContentDescriptor;
+import com.firefly.commons.ecm.web.support.ContentResponseWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -30,14 +37,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
-import org.springframework.core.io.buffer.DataBuffer;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import java.util.UUID;
@@ -51,6 +57,7 @@ import java.util.UUID;
 public class DocumentController {
 
     private final DocumentService documentService;
+    private final ContentResponseWriter contentResponseWriter;
 
     @GetMapping
     @Operation(summary = "List all documents", description = "Returns a paginated list of documents with optional filtering")
@@ -63,16 +70,48 @@ public class DocumentController {
         return documentService.filter(filterRequest != null ? filterRequest : new FilterRequest<>());
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "List documents by cursor", description = "Returns a page of documents matching exact criteria, "
+            + "paged by an opaque cursor instead of a page number, so deep pages cost the same as the first one")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved documents",
+                    content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid sort, size or cursor")
+    })
+    public Mono<CursorPageDTO<DocumentDTO>> listDocumentsByCursor(
+            @Parameter(description = "Criteria the documents match") @ParameterObject @ModelAttribute DocumentQueryDTO query,
+            @Parameter(description = "Cursor, size and sort of the page") @ParameterObject @ModelAttribute CursorRequestDTO page) {
+        return documentService.listByCursor(query, page);
+    }
+
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Stream documents", description = "Streams every document matching exact criteria, oldest first, "
+            + "as NDJSON or server-sent events. Rows are read from a single database cursor as the client consumes them")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Documents streamed successfully",
+                    content = {
+                            @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = DocumentDTO.class)),
+                            @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = DocumentDTO.class))
+                    })
+    })
+    public Flux<DocumentDTO> streamDocuments(
+            @Parameter(description = "Criteria the documents match") @ParameterObject @ModelAttribute DocumentQueryDTO query) {
+        return documentService.stream(query);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get document by ID", description = "Returns a document by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved document",
                     content = @Content(schema = @Schema(implementation = DocumentDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Document not modified"),
             @ApiResponse(responseCode = "404", description = "Document not found")
     })
-    public Mono<DocumentDTO> getDocumentById(
+    public Mono<ResponseEntity<DocumentDTO>> getDocumentById(
             @Parameter(description = "ID of the document to retrieve") @PathVariable UUID id) {
-        return documentService.getById(id);
+        return documentService.getById(id)
+                .map(this::withValidators)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
     @PostMapping
@@ -115,6 +154,22 @@ public class DocumentController {
         return documentService.delete(id);
     }
 
+    @PostMapping("/{id}/copy")
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Copy a document",
+            description = "Copies a document with its metadata, tags and permissions into a folder or tenant. "
+                    + "The content is shared or copied inside the storage backend without being downloaded")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Document copied successfully",
+                    content = @Content(schema = @Schema(implementation = DocumentDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Document not found")
+    })
+    public Mono<DocumentDTO> copyDocument(
+            @Parameter(description = "ID of the document to copy") @PathVariable UUID id,
+            @Parameter(description = "Target folder, tenant and name of the copy") @RequestBody DocumentCopyRequestDTO request) {
+        return documentService.copy(id, request);
+    }
+
     // ECM Operations
 
     @PostMapping(value = "/{id}/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -135,27 +190,31 @@ public class DocumentController {
     @Operation(summary = "Download document content", description = "Downloads the content of a document")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Document content downloaded successfully"),
+            @ApiResponse(responseCode = "206", description = "Requested byte ranges of the document content"),
+            @ApiResponse(responseCode = "304", description = "Document content not modified"),
+            @ApiResponse(responseCode = "416", description = "Requested range not satisfiable"),
             @ApiResponse(responseCode = "404", description = "Document not found"),
             @ApiResponse(responseCode = "404", description = "Document content not available")
     })
-    public Mono<ResponseEntity<Flux<DataBuffer>>> downloadContent(
-            @Parameter(description = "ID of the document to download") @PathVariable UUID id) {
+    public Mono<Void> downloadContent(
+            @Parameter(description = "ID of the document to download") @PathVariable UUID id,
+            ServerWebExchange exchange) {
         return documentService.getById(id)
-                .map(document -> {
-                    Flux<DataBuffer> content = documentService.downloadContent(id);
-                    
-                    HttpHeaders headers = new HttpHeaders();
-                    headers.add(HttpHeaders.CONTENT_DISPOSITION, 
-                        "attachment; filename=\"" + document.getFileName() + "\"");
-                    if (document.getMimeType() != null) {
-                        headers.add(HttpHeaders.CONTENT_TYPE, document.getMimeType());
-                    }
-                    
-                    return ResponseEntity.ok()
-                            .headers(headers)
-                            .body(content);
-                })
-                .switchIfEmpty(Mono.just(ResponseEntity.notFound().build()));
+                .map(document -> contentResponseWriter.write(exchange,
+                        ContentDescriptor.builder()
+                                .fileName(document.getFileName())
+                                .mimeType(document.getMimeType())
+                                .size(document.getFileSize())
+                                .etag(CacheValidators.contentTag(document.getVersion(), document.getChecksum()))
+                                .lastModified(CacheValidators.lastModified(document.getUpdatedAt(), document.getCreatedAt()))
+                                .encoding(document.getContentEncoding())
+                                .build(),
+                        () -> documentService.downloadContent(id),
+                        (offset, length) -> documentService.downloadContentRange(id, offset, length),
+                        documentService.locateLocalContent(id),
+                        () -> documentService.downloadStoredContent(id)))
+                .switchIfEmpty(Mono.fromSupplier(() -> contentResponseWriter.notFound(exchange)))
+                .flatMap(response -> response);
     }
 
     @PostMapping(value = "/{id}/versions", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -178,10 +237,18 @@ public class DocumentController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Document metadata retrieved successfully",
                     content = @Content(schema = @Schema(implementation = DocumentDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Document metadata not modified"),
             @ApiResponse(responseCode = "404", description = "Document not found")
     })
-    public Mono<DocumentDTO> getContentMetadata(
+    public Mono<ResponseEntity<DocumentDTO>> getContentMetadata(
             @Parameter(description = "ID of the document") @PathVariable UUID id) {
-        return documentService.getContentMetadata(id);
+        return documentService.getContentMetadata(id)
+                .map(this::withValidators);
+    }
+
+    private ResponseEntity<DocumentDTO> withValidators(DocumentDTO document) {
+        return CacheValidators.ok(document,
+                CacheValidators.representationTag(document.getVersion(), document.getChecksum()),
+                CacheValidators.lastModified(document.getUpdatedAt(), document.getCreatedAt()));
     }
 }
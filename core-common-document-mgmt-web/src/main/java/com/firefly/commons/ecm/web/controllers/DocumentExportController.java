@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.web.controllers;
+
+import com.firefly.commons.ecm.core.services.DocumentExportService;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentExportRequestDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * REST controller for exporting documents as ZIP archives.
+ */
+@RestController
+@RequestMapping("/api/v1/documents/export")
+@RequiredArgsConstructor
+@Tag(name = "Document Export Controller", description = "API for exporting folders and document selections as ZIP archives")
+public class DocumentExportController {
+
+    private static final String DEFAULT_FILE_NAME = "export.zip";
+    private static final MediaType APPLICATION_ZIP = MediaType.parseMediaType("application/zip");
+
+    private final DocumentExportService exportService;
+
+    @PostMapping(produces = "application/zip")
+    @Operation(summary = "Export documents as a ZIP archive",
+            description = "Streams a ZIP archive of the content of a folder tree or of a list of documents. "
+                    + "The archive is written while the content is read, so the download starts immediately")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "ZIP archive streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid export request"),
+            @ApiResponse(responseCode = "404", description = "Folder or document not found")
+    })
+    public ResponseEntity<Flux<DataBuffer>> export(
+            @Parameter(description = "Folder or documents to export") @RequestBody DocumentExportRequestDTO request) {
+        String fileName = request.getFileName() != null && !request.getFileName().isBlank()
+                ? request.getFileName() : DEFAULT_FILE_NAME;
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_ZIP)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName, StandardCharsets.UTF_8).build().toString())
+                .body(exportService.export(request));
+    }
+}
@@ -19,21 +19,34 @@ package com.firefly.commons.ecm.web.controllers;
 import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
 import com.firefly.commons.ecm.core.services.DocumentSearchService;
+import com.firefly.commons.ecm.interfaces.dtos.CursorPageDTO;
+import com.firefly.commons.ecm.interfaces.dtos.CursorRequestDTO;
 import com.firefly.commons.ecm.interfaces.dtos.DocumentDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentFacetsDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentQueryDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentSearchHitDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentSearchResultDTO;
+import com.firefly.commons.ecm.interfaces.enums.DocumentFacet;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Set;
+
 @RestController
 @RequestMapping("/api/v1/documents/search")
 @RequiredArgsConstructor
-@Tag(name = "Document Search Controller", description = "Filter-based document search API")
+@Tag(name = "Document Search Controller", description = "Filter-based and full-text document search API")
 public class DocumentSearchController {
 
     private final DocumentSearchService documentSearchService;
@@ -47,4 +60,91 @@ public class DocumentSearchController {
     public Mono<PaginationResponse<DocumentDTO>> filter(@RequestBody FilterRequest<DocumentDTO> filterRequest) {
         return documentSearchService.filter(filterRequest != null ? filterRequest : new FilterRequest<>());
     }
+
+    @PostMapping("/filter/cursor")
+    @Operation(summary = "Filter documents by cursor", description = "Filters documents by exact criteria, paged by an "
+            + "opaque cursor instead of a page number, so deep pages cost the same as the first one")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved documents",
+                    content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid sort, size or cursor")
+    })
+    public Mono<CursorPageDTO<DocumentDTO>> filterByCursor(
+            @Parameter(description = "Criteria the documents match") @RequestBody(required = false) DocumentQueryDTO query,
+            @Parameter(description = "Cursor, size and sort of the page") @ParameterObject @ModelAttribute CursorRequestDTO page) {
+        return documentSearchService.filterByCursor(query, page);
+    }
+
+    @PostMapping(value = "/filter/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Stream filtered documents", description = "Streams every document matching exact criteria, "
+            + "oldest first, as NDJSON or server-sent events. Rows are read from a single database cursor as the client "
+            + "consumes them")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Documents streamed successfully",
+                    content = {
+                            @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = DocumentDTO.class)),
+                            @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = DocumentDTO.class))
+                    })
+    })
+    public Flux<DocumentDTO> filterStream(
+            @Parameter(description = "Criteria the documents match") @RequestBody(required = false) DocumentQueryDTO query) {
+        return documentSearchService.filterStream(query);
+    }
+
+    @GetMapping
+    @Operation(summary = "Full-text search", description = "Searches the documents of a tenant by free text over their names, "
+            + "file names, descriptions, searchable metadata values and text content, most relevant first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully searched documents",
+                    content = @Content(schema = @Schema(implementation = DocumentSearchResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid query or page")
+    })
+    public Mono<DocumentSearchResultDTO> search(
+            @Parameter(description = "Query, in Lucene query syntax or plain text") @RequestParam("q") String query,
+            @Parameter(description = "Tenant whose documents are searched") @RequestParam(required = false) String tenantId,
+            @Parameter(description = "Zero-based page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        return documentSearchService.search(tenantId, query, page, size);
+    }
+
+    @GetMapping("/text")
+    @Operation(summary = "Database full-text search", description = "Searches the documents of a tenant over the weighted "
+            + "search vector of their names, file names, descriptions and searchable metadata values, ranked by ts_rank_cd "
+            + "and paged by cursor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully searched documents",
+                    content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Missing tenant, blank query or invalid cursor")
+    })
+    public Mono<CursorPageDTO<DocumentSearchHitDTO>> searchText(
+            @Parameter(description = "Query, in web search syntax") @RequestParam("q") String query,
+            @Parameter(description = "Tenant whose documents are searched") @RequestParam String tenantId,
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        return documentSearchService.searchText(tenantId, query, cursor, size);
+    }
+
+    @GetMapping("/facets")
+    @Operation(summary = "Facet counts", description = "Counts the documents of a tenant matching the criteria and an optional "
+            + "free-text query by document type, status, security level, tag and folder, in a single query")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully counted documents",
+                    content = @Content(schema = @Schema(implementation = DocumentFacetsDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Missing tenant")
+    })
+    public Mono<DocumentFacetsDTO> facets(
+            @Parameter(description = "Criteria the documents match, including the tenant") @ParameterObject @ModelAttribute DocumentQueryDTO filter,
+            @Parameter(description = "Query, in web search syntax") @RequestParam(value = "q", required = false) String query,
+            @Parameter(description = "Facets to count, all when absent") @RequestParam(required = false) Set<DocumentFacet> facets) {
+        return documentSearchService.facets(filter, query, facets);
+    }
+
+    @PostMapping("/index/rebuild")
+    @Operation(summary = "Rebuild full-text index", description = "Indexes every document in the embedded full-text index")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Number of documents indexed")
+    })
+    public Mono<Long> rebuildIndex() {
+        return documentSearchService.rebuildIndex();
+    }
 }
@@ -21,6 +21,9 @@ import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
 import com.firefly.commons.ecm.core.services.DocumentVersionService;
 import com.firefly.commons.ecm.interfaces.dtos.DocumentVersionDTO;
+import com.firefly.commons.ecm.web.support.CacheValidators;
+import com.firefly.commons.ecm.web.support.ContentDescriptor;
+import com.firefly.commons.ecm.web.support.ContentResponseWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -30,14 +33,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
-import org.springframework.core.io.buffer.DataBuffer;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.web.bind.annotation.*;
-import reactor.core.publisher.Flux;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import java.util.UUID;
 /**
@@ -50,6 +51,7 @@ import java.util.UUID;
 public class DocumentVersionController {
 
     private final DocumentVersionService documentVersionService;
+    private final ContentResponseWriter contentResponseWriter;
 
     @GetMapping
     @Operation(summary = "List all versions of a document", description = "Returns a paginated list of versions for a specific document")
@@ -71,13 +73,16 @@ public class DocumentVersionController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved document version",
                     content = @Content(schema = @Schema(implementation = DocumentVersionDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Document version not modified"),
             @ApiResponse(responseCode = "404", description = "Document version not found")
     })
-    public Mono<DocumentVersionDTO> getDocumentVersion(
+    public Mono<ResponseEntity<DocumentVersionDTO>> getDocumentVersion(
             @Parameter(description = "ID of the document") @PathVariable UUID documentId,
             @Parameter(description = "ID of the version to retrieve") @PathVariable UUID versionId) {
         return documentVersionService.getById(versionId)
-                .filter(version -> version.getDocumentId().equals(documentId));
+                .filter(version -> version.getDocumentId().equals(documentId))
+                .map(this::withValidators)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
     @PostMapping
@@ -134,29 +139,33 @@ public class DocumentVersionController {
     @Operation(summary = "Download document version content", description = "Downloads the content of a specific document version")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Version content downloaded successfully"),
+            @ApiResponse(responseCode = "206", description = "Requested byte ranges of the version content"),
+            @ApiResponse(responseCode = "304", description = "Version content not modified"),
+            @ApiResponse(responseCode = "416", description = "Requested range not satisfiable"),
             @ApiResponse(responseCode = "404", description = "Document version not found"),
             @ApiResponse(responseCode = "404", description = "Version content not available")
     })
-    public Mono<ResponseEntity<Flux<DataBuffer>>> downloadVersionContent(
+    public Mono<Void> downloadVersionContent(
             @Parameter(description = "ID of the document") @PathVariable UUID documentId,
-            @Parameter(description = "ID of the version to download") @PathVariable UUID versionId) {
+            @Parameter(description = "ID of the version to download") @PathVariable UUID versionId,
+            ServerWebExchange exchange) {
         return documentVersionService.getById(versionId)
                 .filter(version -> version.getDocumentId().equals(documentId))
-                .map(version -> {
-                    Flux<DataBuffer> content = documentVersionService.downloadVersionContent(versionId);
-                    
-                    HttpHeaders headers = new HttpHeaders();
-                    headers.add(HttpHeaders.CONTENT_DISPOSITION, 
-                        "attachment; filename=\"" + version.getFileName() + "\"");
-                    if (version.getMimeType() != null) {
-                        headers.add(HttpHeaders.CONTENT_TYPE, version.getMimeType());
-                    }
-                    
-                    return ResponseEntity.ok()
-                            .headers(headers)
-                            .body(content);
-                })
-                .switchIfEmpty(Mono.just(ResponseEntity.notFound().build()));
+                .map(version -> contentResponseWriter.write(exchange,
+                        ContentDescriptor.builder()
+                                .fileName(version.getFileName())
+                                .mimeType(version.getMimeType())
+                                .size(version.getFileSize())
+                                .etag(CacheValidators.contentTag(version.getVersion(), version.getChecksum()))
+                                .lastModified(CacheValidators.lastModified(version.getUpdatedAt(), version.getCreatedAt()))
+                                .encoding(version.getContentEncoding())
+                                .build(),
+                        () -> documentVersionService.downloadVersionContent(versionId),
+                        (offset, length) -> documentVersionService.downloadVersionContentRange(versionId, offset, length),
+                        documentVersionService.locateLocalVersionContent(versionId),
+                        () -> documentVersionService.downloadStoredVersionContent(versionId)))
+                .switchIfEmpty(Mono.fromSupplier(() -> contentResponseWriter.notFound(exchange)))
+                .flatMap(response -> response);
     }
 
     @GetMapping("/{versionId}/metadata")
@@ -164,13 +173,21 @@ public class DocumentVersionController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Version metadata retrieved successfully",
                     content = @Content(schema = @Schema(implementation = DocumentVersionDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Version metadata not modified"),
             @ApiResponse(responseCode = "404", description = "Document version not found")
     })
-    public Mono<DocumentVersionDTO> getVersionContentMetadata(
+    public Mono<ResponseEntity<DocumentVersionDTO>> getVersionContentMetadata(
             @Parameter(description = "ID of the document") @PathVariable UUID documentId,
             @Parameter(description = "ID of the version") @PathVariable UUID versionId) {
+        // The version read for the ownership check already carries the metadata
         return documentVersionService.getById(versionId)
                 .filter(version -> version.getDocumentId().equals(documentId))
-                .flatMap(version -> documentVersionService.getVersionContentMetadata(versionId));
+                .map(this::withValidators);
+    }
+
+    private ResponseEntity<DocumentVersionDTO> withValidators(DocumentVersionDTO version) {
+        return CacheValidators.ok(version,
+                CacheValidators.representationTag(version.getVersion(), version.getChecksum()),
+                CacheValidators.lastModified(version.getUpdatedAt(), version.getCreatedAt()));
     }
 }
@@ -21,7 +21,10 @@ import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
 import com.firefly.commons.ecm.core.services.DocumentService;
 import com.firefly.commons.ecm.core.services.FolderService;
+import com.firefly.commons.ecm.interfaces.dtos.CursorPageDTO;
+import com.firefly.commons.ecm.interfaces.dtos.CursorRequestDTO;
 import com.firefly.commons.ecm.interfaces.dtos.DocumentDTO;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentQueryDTO;
 import com.firefly.commons.ecm.interfaces.dtos.FolderDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -59,6 +62,21 @@ public class FolderController {
         return folderService.filter(filterRequest != null ? filterRequest : new FilterRequest<>());
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "List folders by cursor", description = "Returns a page of folders paged by an opaque cursor "
+            + "instead of a page number, so deep pages cost the same as the first one")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved folders",
+                    content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid sort, size or cursor")
+    })
+    public Mono<CursorPageDTO<FolderDTO>> listFoldersByCursor(
+            @Parameter(description = "Tenant of the folders") @RequestParam(required = false) String tenantId,
+            @Parameter(description = "Parent of the folders") @RequestParam(required = false) UUID parentFolderId,
+            @Parameter(description = "Cursor, size and sort of the page") @ParameterObject @ModelAttribute CursorRequestDTO page) {
+        return folderService.listByCursor(tenantId, parentFolderId, page);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get folder by ID", description = "Returns a folder by its ID")
     @ApiResponses(value = {
@@ -89,6 +107,23 @@ public class FolderController {
         return documentService.filter(request);
     }
 
+    @GetMapping("/{id}/documents/cursor")
+    @Operation(summary = "List documents in a folder by cursor", description = "Returns a page of the documents in a "
+            + "specific folder, paged by an opaque cursor instead of a page number")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved documents",
+                    content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid sort, size or cursor")
+    })
+    public Mono<CursorPageDTO<DocumentDTO>> listDocumentsInFolderByCursor(
+            @Parameter(description = "ID of the folder") @PathVariable UUID id,
+            @Parameter(description = "Further criteria the documents match") @ParameterObject @ModelAttribute DocumentQueryDTO query,
+            @Parameter(description = "Cursor, size and sort of the page") @ParameterObject @ModelAttribute CursorRequestDTO page) {
+        DocumentQueryDTO inFolder = query != null ? query : new DocumentQueryDTO();
+        inFolder.setFolderId(id);
+        return documentService.listByCursor(inFolder, page);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Create a new folder", description = "Creates a new folder")
@@ -21,6 +21,8 @@ import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
 import com.firefly.commons.ecm.core.services.DocumentService;
 import com.firefly.commons.ecm.core.services.TagService;
+import com.firefly.commons.ecm.interfaces.dtos.CursorPageDTO;
+import com.firefly.commons.ecm.interfaces.dtos.CursorRequestDTO;
 import com.firefly.commons.ecm.interfaces.dtos.DocumentDTO;
 import com.firefly.commons.ecm.interfaces.dtos.TagDTO;
 import io.swagger.v3.oas.annotations.Operation;
@@ -59,6 +61,20 @@ public class TagController {
         return tagService.filter(filterRequest != null ? filterRequest : new FilterRequest<>());
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "List tags by cursor", description = "Returns a page of tags paged by an opaque cursor "
+            + "instead of a page number, so deep pages cost the same as the first one")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved tags",
+                    content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid sort, size or cursor")
+    })
+    public Mono<CursorPageDTO<TagDTO>> listTagsByCursor(
+            @Parameter(description = "Tenant of the tags") @RequestParam(required = false) String tenantId,
+            @Parameter(description = "Cursor, size and sort of the page") @ParameterObject @ModelAttribute CursorRequestDTO page) {
+        return tagService.listByCursor(tenantId, page);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get tag by ID", description = "Returns a tag by its ID")
     @ApiResponses(value = {
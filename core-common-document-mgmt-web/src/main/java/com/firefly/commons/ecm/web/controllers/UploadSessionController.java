@@ -0,0 +1,129 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.web.controllers;
+
+import com.firefly.commons.ecm.core.services.UploadSessionService;
+import com.firefly.commons.ecm.interfaces.dtos.DocumentDTO;
+import com.firefly.commons.ecm.interfaces.dtos.UploadSessionDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * REST controller for resumable chunked uploads of document content.
+ */
+@RestController
+@RequestMapping("/api/v1/documents/{documentId}/upload-sessions")
+@RequiredArgsConstructor
+@Tag(name = "Upload Session Controller", description = "API for resumable chunked uploads of document content")
+public class UploadSessionController {
+
+    private final UploadSessionService uploadSessionService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Create an upload session",
+            description = "Starts a resumable upload of content with the given total size for an existing document")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Upload session created successfully",
+                    content = @Content(schema = @Schema(implementation = UploadSessionDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid upload session data"),
+            @ApiResponse(responseCode = "404", description = "Document not found")
+    })
+    public Mono<UploadSessionDTO> createSession(
+            @Parameter(description = "ID of the document to upload content for") @PathVariable UUID documentId,
+            @Parameter(description = "File name, MIME type and total size of the content") @RequestBody UploadSessionDTO uploadSessionDTO) {
+        return uploadSessionService.create(documentId, uploadSessionDTO);
+    }
+
+    @GetMapping("/{sessionId}")
+    @Operation(summary = "Get upload session progress",
+            description = "Returns an upload session with the byte ranges received so far")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved upload session",
+                    content = @Content(schema = @Schema(implementation = UploadSessionDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Upload session not found")
+    })
+    public Mono<ResponseEntity<UploadSessionDTO>> getSession(
+            @Parameter(description = "ID of the document") @PathVariable UUID documentId,
+            @Parameter(description = "ID of the upload session") @PathVariable UUID sessionId) {
+        return uploadSessionService.getById(documentId, sessionId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/{sessionId}/chunks")
+    @Operation(summary = "Upload a chunk",
+            description = "Writes the request body at the given offset of the content. Chunks may be sent in any order "
+                    + "and in parallel, and a chunk sent again at the same offset replaces the earlier one")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Chunk received successfully",
+                    content = @Content(schema = @Schema(implementation = UploadSessionDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid chunk offset or size"),
+            @ApiResponse(responseCode = "404", description = "Upload session not found"),
+            @ApiResponse(responseCode = "409", description = "Upload session is not active or has too many chunks in progress")
+    })
+    public Mono<UploadSessionDTO> uploadChunk(
+            @Parameter(description = "ID of the document") @PathVariable UUID documentId,
+            @Parameter(description = "ID of the upload session") @PathVariable UUID sessionId,
+            @Parameter(description = "Zero-based offset of the chunk in the content") @RequestParam long offset,
+            @Parameter(description = "Chunk content") @RequestBody Flux<DataBuffer> content) {
+        return uploadSessionService.uploadChunk(documentId, sessionId, offset, content);
+    }
+
+    @PostMapping("/{sessionId}/complete")
+    @Operation(summary = "Complete an upload session",
+            description = "Stores the received content as the document content once every byte has been received")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Document content uploaded successfully",
+                    content = @Content(schema = @Schema(implementation = DocumentDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Upload session not found"),
+            @ApiResponse(responseCode = "409", description = "Upload session is incomplete or not active")
+    })
+    public Mono<DocumentDTO> completeSession(
+            @Parameter(description = "ID of the document") @PathVariable UUID documentId,
+            @Parameter(description = "ID of the upload session") @PathVariable UUID sessionId) {
+        return uploadSessionService.complete(documentId, sessionId);
+    }
+
+    @DeleteMapping("/{sessionId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Abort an upload session", description = "Aborts an upload session and discards the received content")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Upload session aborted successfully"),
+            @ApiResponse(responseCode = "404", description = "Upload session not found")
+    })
+    public Mono<Void> abortSession(
+            @Parameter(description = "ID of the document") @PathVariable UUID documentId,
+            @Parameter(description = "ID of the upload session") @PathVariable UUID sessionId) {
+        return uploadSessionService.abort(documentId, sessionId);
+    }
+}
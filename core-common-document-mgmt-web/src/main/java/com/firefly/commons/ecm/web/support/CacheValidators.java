@@ -0,0 +1,100 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.web.support;
+
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Derives HTTP cache validators for documents, versions and their content.
+ *
+ * Representations are tagged with the record version, which is incremented on every change,
+ * combined with the content checksum. Content is tagged with its checksum alone, so metadata
+ * changes do not invalidate cached downloads. Responses built here are answered with
+ * 304 Not Modified by Spring when the request validators still match.
+ */
+public final class CacheValidators {
+
+    private static final int CHECKSUM_TAG_LENGTH = 16;
+
+    private CacheValidators() {
+    }
+
+    /**
+     * Strong entity tag of a document or version representation.
+     *
+     * @param version The record version
+     * @param checksum The content checksum, or null if no content has been uploaded
+     * @return The quoted entity tag, or null if the record version is unknown
+     */
+    public static String representationTag(Long version, String checksum) {
+        if (version == null) {
+            return null;
+        }
+        String contentPart = checksum != null
+                ? checksum.substring(0, Math.min(CHECKSUM_TAG_LENGTH, checksum.length()))
+                : "0";
+        return "\"" + version + "-" + contentPart + "\"";
+    }
+
+    /**
+     * Strong entity tag of document or version content.
+     *
+     * @param version The record version, used when the content checksum is unknown
+     * @param checksum The content checksum
+     * @return The quoted entity tag, or null if neither value is known
+     */
+    public static String contentTag(Long version, String checksum) {
+        if (checksum != null) {
+            return "\"" + checksum + "\"";
+        }
+        return version != null ? "\"v" + version + "\"" : null;
+    }
+
+    /**
+     * Last modification time of a record.
+     *
+     * @param updatedAt The last update time, or null if never updated
+     * @param createdAt The creation time
+     * @return The last modification time, or null if unknown
+     */
+    public static LocalDateTime lastModified(LocalDateTime updatedAt, LocalDateTime createdAt) {
+        return updatedAt != null ? updatedAt : createdAt;
+    }
+
+    /**
+     * Build a 200 response carrying the given validators.
+     *
+     * @param body The response body
+     * @param etag The quoted entity tag, or null if none is available
+     * @param lastModified The last modification time, or null if unknown
+     * @return The response entity
+     */
+    public static <T> ResponseEntity<T> ok(T body, String etag, LocalDateTime lastModified) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        if (lastModified != null) {
+            builder.lastModified(lastModified.atZone(ZoneId.systemDefault()));
+        }
+        return builder.body(body);
+    }
+}
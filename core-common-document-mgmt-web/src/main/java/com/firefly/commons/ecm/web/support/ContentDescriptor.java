@@ -0,0 +1,61 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.web.support;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Describes a piece of downloadable content for building HTTP download responses.
+ */
+@Value
+@Builder
+public class ContentDescriptor {
+
+    /**
+     * File name sent in the Content-Disposition header
+     */
+    String fileName;
+
+    /**
+     * MIME type of the content, or null if unknown
+     */
+    String mimeType;
+
+    /**
+     * Size of the content in bytes, or null if unknown. Byte ranges are only served when the size is known.
+     */
+    Long size;
+
+    /**
+     * Strong entity tag of the content, or null if none is available
+     */
+    String etag;
+
+    /**
+     * Last modification time of the content, or null if unknown
+     */
+    LocalDateTime lastModified;
+
+    /**
+     * Content encoding the content is stored with, or null if it is stored unencoded
+     */
+    String encoding;
+}
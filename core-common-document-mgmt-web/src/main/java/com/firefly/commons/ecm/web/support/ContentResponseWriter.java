@@ -0,0 +1,431 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.commons.ecm.web.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ZeroCopyHttpOutputMessage;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Writes download responses for document and version content.
+ *
+ * Honours {@code Range} and {@code If-Range} request headers when the content size is known:
+ * a single satisfiable range is answered with 206 and a {@code Content-Range} header, several
+ * ranges with a 206 {@code multipart/byteranges} body. Only the requested bytes are read from
+ * the content port. Requests without a usable range receive the full content with 200.
+ * Conditional requests whose {@code If-None-Match} or {@code If-Modified-Since} validators
+ * still match are answered with 304 before any content is read.
+ *
+ * Content held in a local file is sent with zero-copy transfer when the server supports it,
+ * so full and single-range downloads go from the page cache to the socket without passing
+ * through the JVM heap.
+ *
+ * Content stored with a content encoding is sent as stored, with a {@code Content-Encoding}
+ * header, to clients whose {@code Accept-Encoding} accepts it. Range requests and other
+ * clients receive the decoded content. The encoded representation carries its own entity tag.
+ */
+@Slf4j
+@Component
+public class ContentResponseWriter {
+
+    private static final String BYTES_UNIT = "bytes";
+    private static final String CRLF = "\r\n";
+    private static final String WILDCARD_ENCODING = "*";
+
+    /**
+     * Reads a byte range of the content being served.
+     */
+    @FunctionalInterface
+    public interface RangeReader {
+
+        /**
+         * @param offset The zero-based offset of the first byte
+         * @param length The number of bytes to read
+         * @return A Flux of DataBuffer containing the requested range
+         */
+        Flux<DataBuffer> read(long offset, long length);
+    }
+
+    /**
+     * Write the download response for the current exchange.
+     *
+     * @param exchange The current server exchange
+     * @param descriptor The description of the content being served
+     * @param content Supplier of the full content stream
+     * @param rangeReader Reader for byte ranges of the content
+     * @param localFile The local file holding the content, or empty if it is not stored locally
+     * @return A Mono completing when the response has been written
+     */
+    public Mono<Void> write(ServerWebExchange exchange, ContentDescriptor descriptor,
+                            Supplier<Flux<DataBuffer>> content, RangeReader rangeReader, Mono<Path> localFile) {
+        return write(exchange, descriptor, content, rangeReader, localFile, null);
+    }
+
+    /**
+     * Write the download response for the current exchange, passing encoded content through to
+     * clients that accept its encoding.
+     *
+     * @param exchange The current server exchange
+     * @param descriptor The description of the content being served
+     * @param content Supplier of the full, decoded content stream
+     * @param rangeReader Reader for byte ranges of the decoded content
+     * @param localFile The local file holding the content, or empty if it is not stored locally
+     * @param storedContent Supplier of the content as stored, or null if it cannot be passed through
+     * @return A Mono completing when the response has been written
+     */
+    public Mono<Void> write(ServerWebExchange exchange, ContentDescriptor descriptor,
+                            Supplier<Flux<DataBuffer>> content, RangeReader rangeReader, Mono<Path> localFile,
+                            Supplier<Flux<DataBuffer>> storedContent) {
+        if (descriptor.getEncoding() != null) {
+            exchange.getResponse().getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        boolean passThrough = storedContent != null && isPassThrough(exchange.getRequest().getHeaders(), descriptor);
+        String etag = passThrough ? encodedTag(descriptor) : descriptor.getEtag();
+
+        Instant lastModified = descriptor.getLastModified() != null
+                ? toZonedDateTime(descriptor).toInstant()
+                : Instant.MIN;
+        if (exchange.checkNotModified(etag, lastModified)) {
+            log.debug("Content of {} not modified, skipping download", descriptor.getFileName());
+            return exchange.getResponse().setComplete();
+        }
+        if (passThrough) {
+            return writeEncoded(exchange, descriptor, etag, storedContent);
+        }
+
+        return localFile
+                .flatMap(path -> Mono.fromCallable(() -> new LocalFile(path, Files.size(path)))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .onErrorResume(error -> {
+                            log.debug("Local content file {} is not readable, streaming instead: {}", path, error.getMessage());
+                            return Mono.empty();
+                        }))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(local -> write(exchange, descriptor, content, rangeReader, local.orElse(null)));
+    }
+
+    /**
+     * Complete the exchange with 404 Not Found.
+     *
+     * @param exchange The current server exchange
+     * @return A Mono completing when the response has been written
+     */
+    public Mono<Void> notFound(ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+        return exchange.getResponse().setComplete();
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, ContentDescriptor descriptor,
+                             Supplier<Flux<DataBuffer>> content, RangeReader rangeReader, LocalFile localFile) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        setEntityHeaders(headers, descriptor, descriptor.getEtag());
+
+        Long size = localFile != null ? Long.valueOf(localFile.size()) : descriptor.getSize();
+        if (size == null || size < 0) {
+            response.setStatusCode(HttpStatus.OK);
+            return writeBody(exchange, content);
+        }
+        headers.set(HttpHeaders.ACCEPT_RANGES, BYTES_UNIT);
+
+        List<long[]> ranges = resolveRanges(exchange.getRequest().getHeaders(), descriptor, size);
+        if (ranges == null) {
+            response.setStatusCode(HttpStatus.OK);
+            headers.setContentLength(size);
+            return localFile != null
+                    ? writeFile(exchange, localFile.path(), 0, size, content)
+                    : writeBody(exchange, content);
+        }
+        if (ranges.isEmpty()) {
+            log.debug("Unsatisfiable range requested for {} ({} bytes)", descriptor.getFileName(), size);
+            response.setStatusCode(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            headers.remove(HttpHeaders.CONTENT_DISPOSITION);
+            headers.set(HttpHeaders.CONTENT_RANGE, BYTES_UNIT + " */" + size);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.PARTIAL_CONTENT);
+        if (ranges.size() == 1) {
+            long[] range = ranges.get(0);
+            long length = range[1] - range[0] + 1;
+            headers.set(HttpHeaders.CONTENT_RANGE, contentRange(range, size));
+            headers.setContentLength(length);
+            Supplier<Flux<DataBuffer>> rangeContent = () -> rangeReader.read(range[0], length);
+            return localFile != null
+                    ? writeFile(exchange, localFile.path(), range[0], length, rangeContent)
+                    : writeBody(exchange, rangeContent);
+        }
+
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+        List<byte[]> partHeaders = new ArrayList<>(ranges.size());
+        long contentLength = 0;
+        for (long[] range : ranges) {
+            byte[] partHeader = partHeader(boundary, descriptor.getMimeType(), contentRange(range, size));
+            partHeaders.add(partHeader);
+            contentLength += partHeader.length + range[1] - range[0] + 1;
+        }
+        byte[] closingBoundary = (CRLF + "--" + boundary + "--" + CRLF).getBytes(StandardCharsets.US_ASCII);
+        contentLength += closingBoundary.length;
+
+        Supplier<Flux<DataBuffer>> body = () -> Flux.range(0, ranges.size())
+                .concatMap(index -> {
+                    long[] range = ranges.get(index);
+                    return Flux.concat(wrap(partHeaders.get(index)), rangeReader.read(range[0], range[1] - range[0] + 1));
+                })
+                .concatWith(wrap(closingBoundary));
+
+        headers.set(HttpHeaders.CONTENT_TYPE, "multipart/byteranges; boundary=" + boundary);
+        headers.setContentLength(contentLength);
+        return writeBody(exchange, body);
+    }
+
+    private Mono<Void> writeEncoded(ServerWebExchange exchange, ContentDescriptor descriptor, String etag,
+                                    Supplier<Flux<DataBuffer>> storedContent) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        setEntityHeaders(headers, descriptor, etag);
+        headers.set(HttpHeaders.CONTENT_ENCODING, descriptor.getEncoding());
+        if (descriptor.getSize() != null) {
+            // Ranges are still served, from the decoded content
+            headers.set(HttpHeaders.ACCEPT_RANGES, BYTES_UNIT);
+        }
+        // The stored length is not recorded, so the encoded body is sent without a Content-Length
+        response.setStatusCode(HttpStatus.OK);
+        return writeBody(exchange, storedContent);
+    }
+
+    private void setEntityHeaders(HttpHeaders headers, ContentDescriptor descriptor, String etag) {
+        headers.set(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + descriptor.getFileName() + "\"");
+        if (descriptor.getMimeType() != null) {
+            headers.set(HttpHeaders.CONTENT_TYPE, descriptor.getMimeType());
+        }
+        if (etag != null) {
+            headers.setETag(etag);
+        }
+        if (descriptor.getLastModified() != null) {
+            headers.setLastModified(toZonedDateTime(descriptor));
+        }
+    }
+
+    private boolean isPassThrough(HttpHeaders requestHeaders, ContentDescriptor descriptor) {
+        return descriptor.getEncoding() != null
+                && !StringUtils.hasText(requestHeaders.getFirst(HttpHeaders.RANGE))
+                && acceptsEncoding(requestHeaders, descriptor.getEncoding());
+    }
+
+    /**
+     * Whether the Accept-Encoding request header accepts the given content coding, honouring
+     * quality values and the wildcard.
+     */
+    private boolean acceptsEncoding(HttpHeaders requestHeaders, String encoding) {
+        Double wildcardQuality = null;
+        for (String value : requestHeaders.getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String element : value.split(",")) {
+                String[] parts = element.split(";");
+                String coding = parts[0].trim();
+                if (coding.equalsIgnoreCase(encoding)) {
+                    return quality(parts) > 0;
+                }
+                if (WILDCARD_ENCODING.equals(coding)) {
+                    wildcardQuality = quality(parts);
+                }
+            }
+        }
+        return wildcardQuality != null && wildcardQuality > 0;
+    }
+
+    private double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Entity tag of the encoded representation, distinct from the tag of the decoded content.
+     */
+    private String encodedTag(ContentDescriptor descriptor) {
+        String etag = descriptor.getEtag();
+        if (etag == null || !etag.endsWith("\"")) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + "-" + descriptor.getEncoding() + "\"";
+    }
+
+    private Mono<Void> writeBody(ServerWebExchange exchange, Supplier<Flux<DataBuffer>> body) {
+        if (HttpMethod.HEAD.equals(exchange.getRequest().getMethod())) {
+            return exchange.getResponse().setComplete();
+        }
+        return exchange.getResponse().writeWith(body.get());
+    }
+
+    private Mono<Void> writeFile(ServerWebExchange exchange, Path file, long position, long count,
+                                 Supplier<Flux<DataBuffer>> fallback) {
+        if (exchange.getResponse() instanceof ZeroCopyHttpOutputMessage zeroCopyResponse
+                && !HttpMethod.HEAD.equals(exchange.getRequest().getMethod())) {
+            return zeroCopyResponse.writeWith(file, position, count);
+        }
+        return writeBody(exchange, fallback);
+    }
+
+    /**
+     * Resolve the requested ranges against the content size.
+     *
+     * @return null to serve the full content, an empty list if no range is satisfiable,
+     * or the satisfiable ranges as inclusive [first, last] pairs with overlapping ranges coalesced
+     */
+    private List<long[]> resolveRanges(HttpHeaders requestHeaders, ContentDescriptor descriptor, long size) {
+        String rangeHeader = requestHeaders.getFirst(HttpHeaders.RANGE);
+        if (!StringUtils.hasText(rangeHeader)) {
+            return null;
+        }
+        if (!isIfRangeSatisfied(requestHeaders.getFirst(HttpHeaders.IF_RANGE), descriptor)) {
+            log.debug("If-Range validator does not match {}, serving full content", descriptor.getFileName());
+            return null;
+        }
+
+        List<HttpRange> httpRanges;
+        try {
+            httpRanges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring invalid Range header '{}': {}", rangeHeader, e.getMessage());
+            return null;
+        }
+
+        List<long[]> ranges = new ArrayList<>(httpRanges.size());
+        for (HttpRange httpRange : httpRanges) {
+            long first = httpRange.getRangeStart(size);
+            long last = Math.min(httpRange.getRangeEnd(size), size - 1);
+            if (first < size && first <= last) {
+                ranges.add(new long[]{first, last});
+            }
+        }
+        return coalesce(ranges);
+    }
+
+    private List<long[]> coalesce(List<long[]> ranges) {
+        if (ranges.size() < 2) {
+            return ranges;
+        }
+        List<long[]> sorted = new ArrayList<>(ranges);
+        sorted.sort(Comparator.comparingLong(range -> range[0]));
+        boolean overlapping = false;
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i)[0] <= sorted.get(i - 1)[1] + 1) {
+                overlapping = true;
+                break;
+            }
+        }
+        if (!overlapping) {
+            return ranges;
+        }
+
+        List<long[]> merged = new ArrayList<>();
+        for (long[] range : sorted) {
+            long[] previous = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (previous != null && range[0] <= previous[1] + 1) {
+                previous[1] = Math.max(previous[1], range[1]);
+            } else {
+                merged.add(new long[]{range[0], range[1]});
+            }
+        }
+        return merged;
+    }
+
+    private boolean isIfRangeSatisfied(String ifRange, ContentDescriptor descriptor) {
+        if (!StringUtils.hasText(ifRange)) {
+            return true;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // If-Range requires a strong comparison, so weak tags never match
+            return descriptor.getEtag() != null && !ifRange.startsWith("W/") && ifRange.equals(descriptor.getEtag());
+        }
+        if (descriptor.getLastModified() == null) {
+            return false;
+        }
+        try {
+            ZonedDateTime date = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return date.toEpochSecond() == toZonedDateTime(descriptor).toEpochSecond();
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private ZonedDateTime toZonedDateTime(ContentDescriptor descriptor) {
+        return descriptor.getLastModified().atZone(ZoneId.systemDefault());
+    }
+
+    private String contentRange(long[] range, long size) {
+        return BYTES_UNIT + " " + range[0] + "-" + range[1] + "/" + size;
+    }
+
+    private byte[] partHeader(String boundary, String mimeType, String contentRange) {
+        StringBuilder header = new StringBuilder()
+                .append(CRLF).append("--").append(boundary).append(CRLF);
+        if (mimeType != null) {
+            header.append(HttpHeaders.CONTENT_TYPE).append(": ").append(mimeType).append(CRLF);
+        }
+        header.append(HttpHeaders.CONTENT_RANGE).append(": ").append(contentRange).append(CRLF).append(CRLF);
+        return header.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private Mono<DataBuffer> wrap(byte[] bytes) {
+        return Mono.fromSupplier(() -> DefaultDataBufferFactory.sharedInstance.wrap(bytes));
+    }
+
+    private record LocalFile(Path path, long size) {
+    }
+}
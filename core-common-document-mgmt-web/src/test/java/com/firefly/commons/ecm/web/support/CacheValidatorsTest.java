@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.web.support;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheValidatorsTest {
+
+    private static final String CHECKSUM = "b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9";
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 15, 10, 30, 0);
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 2, 1, 8, 0, 0);
+
+    @Test
+    void representationTag_CombinesVersionAndShortenedChecksum() {
+        assertThat(CacheValidators.representationTag(3L, CHECKSUM)).isEqualTo("\"3-b94d27b9934d3e08\"");
+        assertThat(CacheValidators.representationTag(3L, null)).isEqualTo("\"3-0\"");
+        assertThat(CacheValidators.representationTag(null, CHECKSUM)).isNull();
+    }
+
+    @Test
+    void representationTag_ChangesWithVersionButContentTagDoesNot() {
+        assertThat(CacheValidators.representationTag(4L, CHECKSUM))
+                .isNotEqualTo(CacheValidators.representationTag(3L, CHECKSUM));
+        assertThat(CacheValidators.contentTag(4L, CHECKSUM)).isEqualTo(CacheValidators.contentTag(3L, CHECKSUM));
+    }
+
+    @Test
+    void contentTag_FallsBackToVersion() {
+        assertThat(CacheValidators.contentTag(3L, CHECKSUM)).isEqualTo("\"" + CHECKSUM + "\"");
+        assertThat(CacheValidators.contentTag(3L, null)).isEqualTo("\"v3\"");
+        assertThat(CacheValidators.contentTag(null, null)).isNull();
+    }
+
+    @Test
+    void lastModified_PrefersUpdateTime() {
+        assertThat(CacheValidators.lastModified(UPDATED_AT, CREATED_AT)).isEqualTo(UPDATED_AT);
+        assertThat(CacheValidators.lastModified(null, CREATED_AT)).isEqualTo(CREATED_AT);
+    }
+
+    @Test
+    void ok_SetsValidatorHeaders() {
+        ResponseEntity<String> response = CacheValidators.ok("body", "\"3-0\"", UPDATED_AT);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo("body");
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"3-0\"");
+        assertThat(response.getHeaders().getLastModified()).isEqualTo(epochMillis(UPDATED_AT));
+    }
+
+    @Test
+    void ok_WithoutValidators_SetsNoHeaders() {
+        ResponseEntity<String> response = CacheValidators.ok("body", null, null);
+
+        assertThat(response.getHeaders().getETag()).isNull();
+        assertThat(response.getHeaders().getLastModified()).isEqualTo(-1);
+    }
+
+    @Test
+    void representationTag_MatchingIfNoneMatch_IsNotModified() {
+        String etag = CacheValidators.representationTag(3L, CHECKSUM);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/documents/1")
+                .ifNoneMatch(etag));
+
+        assertThat(exchange.checkNotModified(etag)).isTrue();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void representationTag_AfterUpdate_IsModified() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/documents/1")
+                .ifNoneMatch(CacheValidators.representationTag(3L, CHECKSUM)));
+
+        assertThat(exchange.checkNotModified(CacheValidators.representationTag(4L, CHECKSUM))).isFalse();
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+    }
+
+    @Test
+    void lastModified_NotChangedSinceIfModifiedSince_IsNotModified() {
+        LocalDateTime lastModified = CacheValidators.lastModified(UPDATED_AT, CREATED_AT);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/documents/1")
+                .ifModifiedSince(epochMillis(UPDATED_AT)));
+
+        assertThat(exchange.checkNotModified(lastModified.atZone(ZoneId.systemDefault()).toInstant())).isTrue();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void lastModified_ChangedSinceIfModifiedSince_IsModified() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/documents/1")
+                .ifModifiedSince(epochMillis(CREATED_AT)));
+
+        assertThat(exchange.checkNotModified(UPDATED_AT.atZone(ZoneId.systemDefault()).toInstant())).isFalse();
+    }
+
+    private long epochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,343 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.commons.ecm.web.support;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentResponseWriterTest {
+
+    private static final String CONTENT = "hello world";
+    private static final String ETAG = "\"abc123\"";
+    private static final LocalDateTime LAST_MODIFIED = LocalDateTime.of(2025, 1, 15, 10, 30, 0);
+
+    private final ContentResponseWriter writer = new ContentResponseWriter();
+    private AtomicInteger reads;
+
+    @BeforeEach
+    void setUp() {
+        reads = new AtomicInteger();
+    }
+
+    @Test
+    void write_WithoutRange_SendsFullContent() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/content"));
+
+        write(exchange, descriptor(null));
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(headers.getContentLength()).isEqualTo(11);
+        assertThat(headers.getFirst(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(headers.getETag()).isEqualTo(ETAG);
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_DISPOSITION)).isEqualTo("attachment; filename=\"hello.txt\"");
+        assertThat(body(exchange)).isEqualTo(CONTENT);
+        assertThat(headers.containsKey(HttpHeaders.VARY)).isFalse();
+    }
+
+    @Test
+    void write_SingleRange_SendsPartialContent() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/content")
+                .header(HttpHeaders.RANGE, "bytes=6-10"));
+
+        write(exchange, descriptor(null));
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 6-10/11");
+        assertThat(headers.getContentLength()).isEqualTo(5);
+        assertThat(body(exchange)).isEqualTo("world");
+    }
+
+    @Test
+    void write_SuffixRange_SendsLastBytes() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/content")
+                .header(HttpHeaders.RANGE, "bytes=-3"));
+
+        write(exchange, descriptor(null));
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 8-10/11");
+        assertThat(body(exchange)).isEqualTo("rld");
+    }
+
+    @Test
+    void write_MultipleRanges_SendsMultipartByteranges() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/content")
+                .header(HttpHeaders.RANGE, "bytes=0-1,6-7"));
+
+        write(exchange, descriptor(null));
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        String contentType = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+        assertThat(contentType).startsWith("multipart/byteranges; boundary=");
+        String boundary = contentType.substring(contentType.indexOf('=') + 1);
+
+        String body = body(exchange);
+        assertThat(body).isEqualTo("\r\n--" + boundary + "\r\n"
+                + "Content-Type: text/plain\r\nContent-Range: bytes 0-1/11\r\n\r\nhe"
+                + "\r\n--" + boundary + "\r\n"
+                + "Content-Type: text/plain\r\nContent-Range: bytes 6-7/11\r\n\r\nwo"
+                + "\r\n--" + boundary + "--\r\n");
+        assertThat(headers.getContentLength()).isEqualTo(body.getBytes(StandardCharsets.US_ASCII).length);
+    }
+
+    @Test
+    void write_OverlappingRanges_AreCoalesced() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/content")
+                .header(HttpHeaders.RANGE, "bytes=0-4,3-7"));
+
+        write(exchange, descriptor(null));
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 0-7/11");
+        assertThat(body(exchange)).isEqualTo("hello wo");
+    }
+
+    @Test
+    void write_UnsatisfiableRange_Responds416WithoutReadingContent() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/content")
+                .header(HttpHeaders.RANGE, "bytes=20-30"));
+
+        write(exchange, descriptor(null));
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */11");
+        assertThat(headers.containsKey(HttpHeaders.CONTENT_TYPE)).isFalse();
+        assertThat(reads).hasValue(0);
+    }
+
+    @Test
+    void write_IfRangeMatchingEtag_SendsPartialContent() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/content")
+                .header(HttpHeaders.RANGE, "bytes=0-4")
+                .header(HttpHeaders.IF_RANGE, ETAG));
+
+        write(exchange, descriptor(null));
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(body(exchange)).isEqualTo("hello");
+    }
+
+    @Test
+    void write_IfRangeMatchingDate_SendsPartialContent() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/content")
+                .header(HttpHeaders.RANGE, "bytes=0-4")
+                .header(HttpHeaders.IF_RANGE, httpDate(LAST_MODIFIED)));
+
+        write(exchange, descriptor(null));
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(body(exchange)).isEqualTo("hello");
+    }
+
+    @Test
+    void write_IfRangeMismatch_SendsFullContent() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/content")
+                .header(HttpHeaders.RANGE, "bytes=0-4")
+                .header(HttpHeaders.IF_RANGE, "\"stale\""));
+
+        write(exchange, descriptor(null));
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getHeaders().containsKey(HttpHeaders.CONTENT_RANGE)).isFalse();
+        assertThat(body(exchange)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void write_IfRangeWeakEtag_SendsFullContent() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/content")
+                .header(HttpHeaders.RANGE, "bytes=0-4")
+                .header(HttpHeaders.IF_RANGE, "W/" + ETAG));
+
+        write(exchange, descriptor(null));
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(body(exchange)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void write_IfNoneMatch_Responds304WithoutReadingContent() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/content").ifNoneMatch(ETAG));
+
+        write(exchange, descriptor(null));
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(exchange.getResponse().getHeaders().getETag()).isEqualTo(ETAG);
+        assertThat(reads).hasValue(0);
+    }
+
+    @Test
+    void write_IfModifiedSince_Responds304WithoutReadingContent() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/content")
+                .ifModifiedSince(LAST_MODIFIED.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+
+        write(exchange, ContentDescriptor.builder()
+                .fileName("hello.txt")
+                .mimeType("text/plain")
+                .size(11L)
+                .lastModified(LAST_MODIFIED)
+                .build());
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(reads).hasValue(0);
+    }
+
+    @Test
+    void write_IfNoneMatchStale_SendsFullContent() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/content").ifNoneMatch("\"stale\""));
+
+        write(exchange, descriptor(null));
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(body(exchange)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void write_EncodedContentAccepted_PassesStoredContentThrough() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/content")
+                .header(HttpHeaders.ACCEPT_ENCODING, "br;q=0.9, gzip"));
+
+        writer.write(exchange, descriptor("gzip"), this::content, this::read, Mono.empty(), () -> buffers("<gzip>"))
+                .block();
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(headers.getETag()).isEqualTo("\"abc123-gzip\"");
+        assertThat(headers.getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(body(exchange)).isEqualTo("<gzip>");
+        assertThat(reads).hasValue(0);
+    }
+
+    @Test
+    void write_EncodedContentIfNoneMatchEncodedTag_Responds304() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/content")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .ifNoneMatch("\"abc123-gzip\""));
+
+        writer.write(exchange, descriptor("gzip"), this::content, this::read, Mono.empty(), () -> buffers("<gzip>"))
+                .block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(exchange.getResponse().getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    @Test
+    void write_EncodedContentRejected_SendsDecodedContent() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/content")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, *"));
+
+        writer.write(exchange, descriptor("gzip"), this::content, this::read, Mono.empty(), () -> buffers("<gzip>"))
+                .block();
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertThat(headers.containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(headers.getETag()).isEqualTo(ETAG);
+        assertThat(headers.getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(body(exchange)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void write_EncodedContentWithRange_SendsDecodedRange() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/content")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.RANGE, "bytes=0-4"));
+
+        writer.write(exchange, descriptor("gzip"), this::content, this::read, Mono.empty(), () -> buffers("<gzip>"))
+                .block();
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(headers.containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(headers.getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(body(exchange)).isEqualTo("hello");
+    }
+
+    @Test
+    void write_HeadRequest_SendsHeadersOnly() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.head("/content"));
+
+        write(exchange, descriptor(null));
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getHeaders().getContentLength()).isEqualTo(11);
+        assertThat(reads).hasValue(0);
+    }
+
+    private void write(MockServerWebExchange exchange, ContentDescriptor descriptor) {
+        writer.write(exchange, descriptor, this::content, this::read, Mono.empty()).block();
+    }
+
+    private ContentDescriptor descriptor(String encoding) {
+        return ContentDescriptor.builder()
+                .fileName("hello.txt")
+                .mimeType("text/plain")
+                .size((long) CONTENT.length())
+                .etag(ETAG)
+                .lastModified(LAST_MODIFIED)
+                .encoding(encoding)
+                .build();
+    }
+
+    private Flux<DataBuffer> content() {
+        reads.incrementAndGet();
+        return buffers(CONTENT);
+    }
+
+    private Flux<DataBuffer> read(long offset, long length) {
+        reads.incrementAndGet();
+        return buffers(CONTENT.substring((int) offset, (int) (offset + length)));
+    }
+
+    private MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request);
+    }
+
+    private String body(MockServerWebExchange exchange) {
+        return exchange.getResponse().getBodyAsString().block();
+    }
+
+    private String httpDate(LocalDateTime time) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.of(time, ZoneId.systemDefault())
+                .withZoneSameInstant(ZoneId.of("GMT")));
+    }
+
+    private static Flux<DataBuffer> buffers(String... chunks) {
+        return Flux.fromArray(chunks)
+                .map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+}